@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.dataRepresentation.AttributeBaseValueDataFactory;
+import de.bsvrz.dav.daf.communication.dataRepresentation.AttributeHelper;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.byteArray.ByteArrayData;
+import de.bsvrz.dav.daf.main.Data;
+import de.bsvrz.dav.daf.main.config.AttributeGroup;
+import de.bsvrz.sys.funclib.dataSerializer.NoSuchVersionException;
+import de.bsvrz.sys.funclib.dataSerializer.Serializer;
+import de.bsvrz.sys.funclib.dataSerializer.SerializingFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Hilfsmethoden zur Erzeugung der Datenstze, die in den Benchmarks verwendet werden.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public final class BenchmarkData {
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Erzeugt einen vollstndig gefllten Datensatz zur Attributgruppe aus {@link StandInConfiguration#createMeasurementAttributeGroup()}.
+	 *
+	 * @param atg Attributgruppe
+	 *
+	 * @return Vernderbarer Datensatz
+	 */
+	public static Data createMeasurementData(final AttributeGroup atg) {
+		final Data data = AttributeBaseValueDataFactory.createAdapter(atg, AttributeHelper.getAttributesValues(atg));
+		data.getUnscaledValue("Zeitstempel").set(1234567890123L);
+		data.getUnscaledValue("Wert").set(4711);
+		data.getTextValue("Text").setText("Messwert Fahrstreifen 1");
+		final Data.NumberArray values = data.getUnscaledArray("Werte");
+		values.setLength(StandInConfiguration.NUMBER_OF_VALUES);
+		for(int i = 0; i < StandInConfiguration.NUMBER_OF_VALUES; i++) {
+			values.getValue(i).set(i * 7);
+		}
+		return data;
+	}
+
+	/**
+	 * Bestimmt die Byte-Darstellung eines Datensatzes, in der er in Datentelegrammen bertragen wird.
+	 *
+	 * @param data Datensatz
+	 *
+	 * @return Byte-Darstellung des Datensatzes
+	 */
+	static byte[] getTelegramBytes(final Data data) {
+		return ((ByteArrayData)data.createUnmodifiableCopy()).getBytes();
+	}
+
+	/**
+	 * Serialisiert einen Datensatz in ein Byte-Array.
+	 *
+	 * @param data    Datensatz
+	 * @param version Version des Serialisierers
+	 *
+	 * @return Serialisierter Datensatz
+	 */
+	public static byte[] serialize(final Data data, final int version) {
+		try {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final Serializer serializer = SerializingFactory.createSerializer(version, out);
+			serializer.writeData(data);
+			return out.toByteArray();
+		}
+		catch(NoSuchVersionException e) {
+			throw new IllegalArgumentException(e);
+		}
+		catch(IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
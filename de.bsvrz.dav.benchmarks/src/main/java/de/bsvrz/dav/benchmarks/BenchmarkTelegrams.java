@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.dataRepresentation.datavalue.SendDataObject;
+import de.bsvrz.dav.daf.communication.lowLevel.TelegramUtility;
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.ApplicationDataTelegram;
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.BaseSubscriptionInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Hilfsfunktionen zur Erzeugung von Datenstzen und Telegrammen fr die Benchmarks.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+final class BenchmarkTelegrams {
+
+	/** Schrittweite des Datenindex zwischen zwei Datenstzen (die unteren zwei Bits sind fr Kennungen reserviert). */
+	static final long DATA_INDEX_STEP = 4;
+
+	private BenchmarkTelegrams() {
+	}
+
+	/**
+	 * Erzeugt eine Datenidentifikation.
+	 *
+	 * @param objectId Objekt-Id der Datenidentifikation
+	 *
+	 * @return Datenidentifikation
+	 */
+	static BaseSubscriptionInfo createBaseSubscriptionInfo(final long objectId) {
+		return new BaseSubscriptionInfo(objectId, 4711, (short)0);
+	}
+
+	/**
+	 * Erzeugt zufllige Nutzdaten.
+	 *
+	 * @param size Gre in Bytes
+	 *
+	 * @return Nutzdaten
+	 */
+	static byte[] createPayload(final int size) {
+		final byte[] payload = new byte[size];
+		new Random(size).nextBytes(payload);
+		return payload;
+	}
+
+	/**
+	 * Zerlegt einen Datensatz wie die Applikationsfunktionen in Anwendungsdatentelegramme.
+	 *
+	 * @param baseSubscriptionInfo Datenidentifikation
+	 * @param dataIndex            Datenindex des Datensatzes
+	 * @param payload              Nutzdaten des Datensatzes
+	 *
+	 * @return Telegramme des Datensatzes
+	 */
+	static List<ApplicationDataTelegram> splitRecord(final BaseSubscriptionInfo baseSubscriptionInfo, final long dataIndex, final byte[] payload) {
+		final SendDataObject sendDataObject = new SendDataObject(
+				baseSubscriptionInfo, false, dataIndex, System.currentTimeMillis(), (byte)0, null, payload
+		);
+		return Arrays.asList(TelegramUtility.splitToApplicationTelegrams(sendDataObject));
+	}
+
+	/**
+	 * Erzeugt eine Kopie eines Telegramms mit einem anderen Datenindex. Die Nutzdaten werden nicht kopiert, die serialisierte Form der Kopie ist noch nicht
+	 * erzeugt.
+	 *
+	 * @param telegram  Telegramm
+	 * @param dataIndex Datenindex der Kopie
+	 *
+	 * @return Kopie des Telegramms
+	 */
+	static ApplicationDataTelegram copy(final ApplicationDataTelegram telegram, final long dataIndex) {
+		return new ApplicationDataTelegram(
+				telegram.getBaseSubscriptionInfo(),
+				dataIndex,
+				telegram.getDelayedDataFlag(),
+				telegram.getErrorFlag(),
+				telegram.getAttributesIndicator(),
+				telegram.getPriority(),
+				telegram.getData(),
+				telegram.getTotalTelegramsCount(),
+				telegram.getTelegramNumber(),
+				telegram.getDataTime()
+		);
+	}
+
+	/**
+	 * Erzeugt Kopien der Telegramme eines Datensatzes mit einem anderen Datenindex, wie sie ein Datenverteiler fr jeden neuen Datensatz empfngt.
+	 *
+	 * @param telegrams Telegramme eines Datensatzes
+	 * @param dataIndex Datenindex der Kopien
+	 *
+	 * @return Kopien der Telegramme
+	 */
+	static List<ApplicationDataTelegram> copy(final List<ApplicationDataTelegram> telegrams, final long dataIndex) {
+		final List<ApplicationDataTelegram> result = new ArrayList<ApplicationDataTelegram>(telegrams.size());
+		for(ApplicationDataTelegram telegram : telegrams) {
+			result.add(copy(telegram, dataIndex));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.dataRepresentation.datavalue.SendDataObject;
+import de.bsvrz.dav.daf.communication.lowLevel.ConnectionInterface;
+import de.bsvrz.dav.daf.communication.lowLevel.HighLevelCommunicationCallbackInterface;
+import de.bsvrz.dav.daf.communication.lowLevel.KeepAliveTimer;
+import de.bsvrz.dav.daf.communication.lowLevel.LowLevelCommunication;
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.DataTelegram;
+import de.bsvrz.dav.daf.main.ConnectionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst, wie der Aufbau vieler Verbindungen mit der Anzahl der Verbindungen skaliert, und gibt nach jeder Messung den Speicherbedarf und die Anzahl der
+ * Plattform-Threads je Verbindung aus. Verglichen werden eigene Threads je Verbindung, virtuelle Threads sowie virtuelle Threads mit gemeinsamem
+ * KeepAlive-Timer. Die Verbindungen sind Stellvertreter ohne Netzwerk, auf denen keine Telegramme eintreffen. Virtuelle Threads setzen eine Laufzeitumgebung ab Java 21 voraus, sonst werden normale Threads verwendet.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xss256k"})
+public class ConnectionScalingBenchmark {
+
+	/** Anzahl der gleichzeitig aufgebauten Verbindungen. */
+	@Param({"100", "1000", "5000"})
+	public int _connections;
+
+	/**
+	 * Ausfhrung der Threads einer Verbindung: <code>threads</code> (eigene Threads), <code>virtual</code> (virtuelle Threads) oder <code>virtualTimer</code>
+	 * (virtuelle Threads und gemeinsamer KeepAlive-Timer).
+	 */
+	@Param({"threads", "virtual", "virtualTimer"})
+	public String _threadMode;
+
+	private final List<LowLevelCommunication> _openConnections = new ArrayList<LowLevelCommunication>();
+
+	private long _usedMemoryBefore;
+
+	private int _threadsBefore;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		_usedMemoryBefore = getUsedMemory();
+		_threadsBefore = Thread.activeCount();
+	}
+
+	@Benchmark
+	public int openConnections() throws ConnectionException {
+		final HighLevelCommunicationCallbackInterface highLevelComponent = new DiscardingHighLevelComponent();
+		for(int i = 0; i < _connections; i++) {
+			final LowLevelCommunication lowLevelCommunication = new LowLevelCommunication(
+					new StandInConnection(i), 100000, 100000, 30000, 90000, LowLevelCommunication.NORMAL_MODE, true
+			);
+			lowLevelCommunication.setUseVirtualThreads(!"threads".equals(_threadMode));
+			if("virtualTimer".equals(_threadMode)) lowLevelCommunication.setKeepAliveTimer(KeepAliveTimer.getDefault());
+			lowLevelCommunication.setHighLevelComponent(highLevelComponent);
+			_openConnections.add(lowLevelCommunication);
+		}
+		return _openConnections.size();
+	}
+
+	@TearDown(Level.Iteration)
+	public void closeConnections() {
+		final long memoryPerConnection = (getUsedMemory() - _usedMemoryBefore) / _connections;
+		final double threadsPerConnection = (double)(Thread.activeCount() - _threadsBefore) / _connections;
+		System.out.println();
+		System.out.println(
+				_connections + " Verbindungen (" + _threadMode + "): " + memoryPerConnection + " Bytes Heap und " + threadsPerConnection
+				+ " Plattform-Threads je Verbindung"
+		);
+		for(LowLevelCommunication lowLevelCommunication : _openConnections) {
+			lowLevelCommunication.disconnect(true, "Benchmark beendet", null);
+		}
+		_openConnections.clear();
+	}
+
+	private static long getUsedMemory() {
+		final Runtime runtime = Runtime.getRuntime();
+		for(int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/** Verbindung ohne Netzwerk. Lesezugriffe blockieren bis zum Verbindungsabbau, geschriebene Bytes werden verworfen. */
+	private static final class StandInConnection implements ConnectionInterface {
+
+		private final int _port;
+
+		private final CountDownLatch _disconnected = new CountDownLatch(1);
+
+		private final InputStream _inputStream = new InputStream() {
+			@Override
+			public int read() {
+				try {
+					_disconnected.await();
+				}
+				catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return -1;
+			}
+
+			@Override
+			public int read(final byte[] b, final int off, final int len) {
+				return read();
+			}
+		};
+
+		private final OutputStream _outputStream = new OutputStream() {
+			@Override
+			public void write(final int b) {
+			}
+
+			@Override
+			public void write(final byte[] b, final int off, final int len) {
+			}
+		};
+
+		private StandInConnection(final int port) {
+			_port = port;
+		}
+
+		public String getMainAdress() {
+			return "stand-in";
+		}
+
+		public int getSubAdressNumber() {
+			return _port;
+		}
+
+		public OutputStream getOutputStream() {
+			return _outputStream;
+		}
+
+		public InputStream getInputStream() {
+			return _inputStream;
+		}
+
+		public void connect(final String mainAdress, final int subAdressNumber) {
+		}
+
+		public void disconnect() {
+			_disconnected.countDown();
+		}
+
+		public boolean isConnected() {
+			return _disconnected.getCount() > 0;
+		}
+	}
+
+	/** Verarbeitung empfangener Telegramme, die alle Telegramme verwirft. */
+	private static final class DiscardingHighLevelComponent implements HighLevelCommunicationCallbackInterface {
+
+		public void update(final DataTelegram telegram) {
+		}
+
+		public void disconnected(final boolean error, final String message) {
+		}
+
+		public void updateConfigData(final SendDataObject receivedData) {
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.byteArray.AttributeAccessor;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.ConcreteDataFactory;
+import de.bsvrz.dav.daf.main.Data;
+import de.bsvrz.dav.daf.main.config.AttributeGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Dekodieren eines empfangenen Datensatzes aus seiner Byte-Darstellung. Verglichen werden der unvernderbare Datensatz auf Basis von
+ * <code>ByteArrayData</code> und der vernderbare Datensatz, der ber den <code>AttributeBaseValueDataFactory</code> erzeugt wird. Die Attributgruppe stammt
+ * aus {@link StandInConfiguration}.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataDecodeBenchmark {
+
+	private AttributeGroup _atg;
+
+	private byte[] _bytes;
+
+	private AttributeAccessor _timestampAccessor;
+
+	private AttributeAccessor _valueAccessor;
+
+	private AttributeAccessor _lastValueAccessor;
+
+	@Setup
+	public void setUp() {
+		_atg = StandInConfiguration.createMeasurementAttributeGroup();
+		_bytes = BenchmarkData.getTelegramBytes(BenchmarkData.createMeasurementData(_atg));
+		_timestampAccessor = AttributeAccessor.compile(_atg, "Zeitstempel");
+		_valueAccessor = AttributeAccessor.compile(_atg, "Wert");
+		_lastValueAccessor = AttributeAccessor.compile(_atg, "Werte." + (StandInConfiguration.NUMBER_OF_VALUES - 1));
+	}
+
+	/** Erzeugt den unvernderbaren Datensatz aus der Byte-Darstellung eines Datentelegramms, ohne auf Attribute zuzugreifen. */
+	@Benchmark
+	public Data createByteArrayData() {
+		return ConcreteDataFactory.getInstance().createUnmodifiableData(_atg, _bytes);
+	}
+
+	/** Erzeugt den unvernderbaren Datensatz und liest alle Werte. */
+	@Benchmark
+	public long readByteArrayData() {
+		return readValues(ConcreteDataFactory.getInstance().createUnmodifiableData(_atg, _bytes));
+	}
+
+	/** Erzeugt den unvernderbaren Datensatz und liest einzelne Werte ber die Attributnamen. */
+	@Benchmark
+	public long readSelectedByName() {
+		final Data data = ConcreteDataFactory.getInstance().createUnmodifiableData(_atg, _bytes);
+		return data.getUnscaledValue("Zeitstempel").longValue() + data.getUnscaledValue("Wert").intValue()
+		       + data.getUnscaledArray("Werte").intValue(StandInConfiguration.NUMBER_OF_VALUES - 1);
+	}
+
+	/** Erzeugt den unvernderbaren Datensatz und liest dieselben Werte wie {@link #readSelectedByName()} ber vorbersetzte {@link AttributeAccessor}s. */
+	@Benchmark
+	public long readSelectedWithAccessors() {
+		final Data data = ConcreteDataFactory.getInstance().createUnmodifiableData(_atg, _bytes);
+		return _timestampAccessor.unscaledLongValue(data) + _valueAccessor.unscaledIntValue(data) + _lastValueAccessor.unscaledIntValue(data);
+	}
+
+	/** Erzeugt den vernderbaren Datensatz und liest alle Werte. */
+	@Benchmark
+	public long readAttributeBaseValueData() {
+		return readValues(ConcreteDataFactory.getInstance().createModifiableData(_atg, _bytes));
+	}
+
+	private static long readValues(final Data data) {
+		long sum = data.getUnscaledValue("Zeitstempel").longValue() + data.getUnscaledValue("Wert").intValue();
+		sum += data.getTextValue("Text").getText().length();
+		final Data.NumberArray values = data.getUnscaledArray("Werte");
+		final int length = values.getLength();
+		for(int i = 0; i < length; i++) {
+			sum += values.intValue(i);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.dataRepresentation.AttributeBaseValueDataFactory;
+import de.bsvrz.dav.daf.communication.dataRepresentation.AttributeHelper;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.byteArray.ByteArrayDataWriter;
+import de.bsvrz.dav.daf.main.Data;
+import de.bsvrz.dav.daf.main.config.AttributeGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Erstellen eines zu versendenden Datensatzes bis zu seiner Byte-Darstellung. Verglichen werden das Fllen einer vernderbaren Kopie des
+ * Default-Datensatzes (wie bei <code>ClientDavConnection.createData</code>) mit anschlieender Serialisierung und das direkte Schreiben der Werte mit einem
+ * {@link ByteArrayDataWriter}. Die Attributgruppe stammt aus {@link StandInConfiguration}.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataEncodeBenchmark {
+
+	private Data _defaultData;
+
+	private ByteArrayDataWriter _writer;
+
+	private ByteArrayDataWriter.Setter _timestampSetter;
+
+	private ByteArrayDataWriter.Setter _valueSetter;
+
+	private ByteArrayDataWriter.Setter _textSetter;
+
+	private ByteArrayDataWriter.ArrayLength _valuesLength;
+
+	private ByteArrayDataWriter.Setter[] _valueSetters;
+
+	@Setup
+	public void setUp() {
+		final AttributeGroup atg = StandInConfiguration.createMeasurementAttributeGroup();
+		final Data data = AttributeBaseValueDataFactory.createAdapter(atg, AttributeHelper.getAttributesValues(atg));
+		data.setToDefault();
+		_defaultData = data.createUnmodifiableCopy();
+		_writer = new ByteArrayDataWriter(_defaultData);
+		_timestampSetter = ByteArrayDataWriter.compileSetter(atg, "Zeitstempel");
+		_valueSetter = ByteArrayDataWriter.compileSetter(atg, "Wert");
+		_textSetter = ByteArrayDataWriter.compileSetter(atg, "Text");
+		_valuesLength = ByteArrayDataWriter.compileArrayLength(atg, "Werte");
+		_valueSetters = new ByteArrayDataWriter.Setter[StandInConfiguration.NUMBER_OF_VALUES];
+		for(int i = 0; i < _valueSetters.length; i++) {
+			_valueSetters[i] = ByteArrayDataWriter.compileSetter(atg, "Werte." + i);
+		}
+	}
+
+	/** Fllt eine vernderbare Kopie des Default-Datensatzes und erzeugt daraus die Byte-Darstellung. */
+	@Benchmark
+	public Data encodeModifiableData() {
+		final Data data = _defaultData.createModifiableCopy();
+		data.getUnscaledValue("Zeitstempel").set(1234567890123L);
+		data.getUnscaledValue("Wert").set(4711);
+		data.getTextValue("Text").setText("Messwert Fahrstreifen 1");
+		final Data.NumberArray values = data.getUnscaledArray("Werte");
+		values.setLength(StandInConfiguration.NUMBER_OF_VALUES);
+		for(int i = 0; i < StandInConfiguration.NUMBER_OF_VALUES; i++) {
+			values.getValue(i).set(i * 7);
+		}
+		return data.createUnmodifiableCopy();
+	}
+
+	/** Schreibt dieselben Werte wie {@link #encodeModifiableData()} mit vorbersetzten Attributen direkt in die Byte-Darstellung. */
+	@Benchmark
+	public Data encodeWithWriter() {
+		final ByteArrayDataWriter writer = _writer;
+		writer.reset();
+		writer.setUnscaled(_timestampSetter, 1234567890123L)
+				.setUnscaled(_valueSetter, 4711)
+				.setText(_textSetter, "Messwert Fahrstreifen 1")
+				.setLength(_valuesLength, StandInConfiguration.NUMBER_OF_VALUES);
+		for(int i = 0; i < StandInConfiguration.NUMBER_OF_VALUES; i++) {
+			writer.setUnscaled(_valueSetters[i], i * 7);
+		}
+		return writer.createData();
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.main.Data;
+import de.bsvrz.dav.daf.main.config.AttributeGroup;
+import de.bsvrz.sys.funclib.dataSerializer.Deserializer;
+import de.bsvrz.sys.funclib.dataSerializer.NoSuchVersionException;
+import de.bsvrz.sys.funclib.dataSerializer.Serializer;
+import de.bsvrz.sys.funclib.dataSerializer.SerializingFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Serialisieren und Deserialisieren eines Datensatzes mit <code>SerializerImplementationA</code> und <code>DeserializerImplementationA</code> in
+ * den Versionen 2 und 3.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataSerializerBenchmark {
+
+	/** Version des Serialisierers. */
+	@Param({"2", "3"})
+	public int _version;
+
+	private AttributeGroup _atg;
+
+	private Data _data;
+
+	private byte[] _bytes;
+
+	private final ByteArrayOutputStream _out = new ByteArrayOutputStream();
+
+	private Serializer _serializer;
+
+	@Setup
+	public void setUp() throws NoSuchVersionException {
+		_atg = StandInConfiguration.createMeasurementAttributeGroup();
+		_data = BenchmarkData.createMeasurementData(_atg);
+		_bytes = BenchmarkData.serialize(_data, _version);
+		_serializer = SerializingFactory.createSerializer(_version, _out);
+	}
+
+	@Benchmark
+	public int serialize() throws IOException {
+		_out.reset();
+		_serializer.writeData(_data);
+		return _out.size();
+	}
+
+	@Benchmark
+	public Data deserialize() throws NoSuchVersionException, IOException {
+		final Deserializer deserializer = SerializingFactory.createDeserializer(_version, new ByteArrayInputStream(_bytes));
+		return deserializer.readData(_atg);
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.ApplicationDataTelegram;
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.TransmitterDataTelegram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Kodieren und Dekodieren von Anwendungsdatentelegrammen (Verbindungen zu Applikationen) und Datenverteilertelegrammen (Verbindungen zwischen
+ * Datenverteilern). Die <code>encode</code>-Benchmarks erzeugen fr jeden Aufruf ein neues Telegramm und messen damit das erstmalige Kodieren, die
+ * <code>writeShared</code>-Benchmarks schreiben immer dasselbe Telegramm, wie es beim Versand eines Datensatzes an viele Verbindungen der Fall ist.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataTelegramCodecBenchmark {
+
+	/** Gre der Nutzdaten eines Telegramms in Bytes (3000 Bytes ist die Gre, ab der Datenstze auf mehrere Telegramme verteilt werden). */
+	@Param({"100", "1000", "3000"})
+	public int _payloadSize;
+
+	private ApplicationDataTelegram _applicationDataTelegram;
+
+	private TransmitterDataTelegram _transmitterDataTelegram;
+
+	private ByteArrayOutputStream _outputBuffer;
+
+	private DataOutputStream _out;
+
+	private ByteArrayInputStream _applicationDataInputBuffer;
+
+	private DataInputStream _applicationDataIn;
+
+	private ByteArrayInputStream _transmitterDataInputBuffer;
+
+	private DataInputStream _transmitterDataIn;
+
+	@Setup
+	public void setUp() throws IOException {
+		_applicationDataTelegram = BenchmarkTelegrams.splitRecord(
+				BenchmarkTelegrams.createBaseSubscriptionInfo(1), BenchmarkTelegrams.DATA_INDEX_STEP, BenchmarkTelegrams.createPayload(_payloadSize)
+		).get(0);
+		_transmitterDataTelegram = new TransmitterDataTelegram(_applicationDataTelegram, (byte)1);
+		_outputBuffer = new ByteArrayOutputStream(_payloadSize + 100);
+		_out = new DataOutputStream(_outputBuffer);
+
+		_applicationDataTelegram.write(_out);
+		_applicationDataInputBuffer = new ByteArrayInputStream(_outputBuffer.toByteArray());
+		_applicationDataIn = new DataInputStream(_applicationDataInputBuffer);
+
+		_outputBuffer.reset();
+		_transmitterDataTelegram.write(_out);
+		_transmitterDataInputBuffer = new ByteArrayInputStream(_outputBuffer.toByteArray());
+		_transmitterDataIn = new DataInputStream(_transmitterDataInputBuffer);
+	}
+
+	@Benchmark
+	public int encodeApplicationDataTelegram() throws IOException {
+		return write(BenchmarkTelegrams.copy(_applicationDataTelegram, _applicationDataTelegram.getDataNumber()));
+	}
+
+	@Benchmark
+	public int writeSharedApplicationDataTelegram() throws IOException {
+		return write(_applicationDataTelegram);
+	}
+
+	@Benchmark
+	public ApplicationDataTelegram decodeApplicationDataTelegram() throws IOException {
+		_applicationDataInputBuffer.reset();
+		final ApplicationDataTelegram telegram = new ApplicationDataTelegram();
+		telegram.read(_applicationDataIn);
+		return telegram;
+	}
+
+	@Benchmark
+	public int encodeTransmitterDataTelegram() throws IOException {
+		return write(new TransmitterDataTelegram(_applicationDataTelegram, (byte)1));
+	}
+
+	@Benchmark
+	public int writeSharedTransmitterDataTelegram() throws IOException {
+		return write(_transmitterDataTelegram);
+	}
+
+	@Benchmark
+	public TransmitterDataTelegram decodeTransmitterDataTelegram() throws IOException {
+		_transmitterDataInputBuffer.reset();
+		final TransmitterDataTelegram telegram = new TransmitterDataTelegram();
+		telegram.read(_transmitterDataIn);
+		return telegram;
+	}
+
+	private int write(final ApplicationDataTelegram telegram) throws IOException {
+		_outputBuffer.reset();
+		telegram.write(_out);
+		return _outputBuffer.size();
+	}
+
+	private int write(final TransmitterDataTelegram telegram) throws IOException {
+		_outputBuffer.reset();
+		telegram.write(_out);
+		return _outputBuffer.size();
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.ApplicationDataTelegram;
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.BaseSubscriptionInfo;
+import de.bsvrz.dav.daf.main.ReceiveOptions;
+import de.bsvrz.dav.dav.subscriptions.LocalReceivingSubscription;
+import de.bsvrz.dav.dav.subscriptions.LocalSendingSubscription;
+import de.bsvrz.dav.dav.subscriptions.SubscriptionInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst die Verteilung eines Datensatzes einer lokalen Quelle an viele lokale Empfnger mit {@link SubscriptionInfo#distributeTelegrams}. Die Verbindungen
+ * zu den Empfngern kodieren die Telegramme sofort (siehe {@link StandInApplicationConnection}), so dass die Messung neben der Verteilung auch das Kodieren
+ * der Telegramme fr alle Empfnger enthlt. Fr jeden Aufruf werden neue Telegrammobjekte erzeugt, wie sie ein Datenverteiler fr jeden Datensatz empfngt.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistributeTelegramsBenchmark {
+
+	/** Anzahl der Empfnger des Datensatzes. */
+	@Param({"1", "10", "100", "1000"})
+	public int _receivers;
+
+	/** Gre des Datensatzes in Bytes. */
+	@Param({"1024", "65536"})
+	public int _recordSize;
+
+	private SubscriptionInfo _subscriptionInfo;
+
+	private StandInApplicationConnection _sourceConnection;
+
+	private StandInApplicationConnection[] _receiverConnections;
+
+	private List<ApplicationDataTelegram> _record;
+
+	private long _dataIndex;
+
+	@Setup
+	public void setUp() {
+		final StandInSubscriptionsManager subscriptionsManager = new StandInSubscriptionsManager();
+		final BaseSubscriptionInfo baseSubscriptionInfo = BenchmarkTelegrams.createBaseSubscriptionInfo(1);
+		_subscriptionInfo = new SubscriptionInfo(subscriptionsManager, baseSubscriptionInfo);
+
+		_receiverConnections = new StandInApplicationConnection[_receivers];
+		for(int i = 0; i < _receivers; i++) {
+			_receiverConnections[i] = new StandInApplicationConnection(1000 + i);
+			_subscriptionInfo.addReceivingSubscription(
+					new LocalReceivingSubscription(subscriptionsManager, baseSubscriptionInfo, false, ReceiveOptions.normal(), _receiverConnections[i])
+			);
+		}
+		_sourceConnection = new StandInApplicationConnection(1);
+		_subscriptionInfo.addSendingSubscription(new LocalSendingSubscription(subscriptionsManager, baseSubscriptionInfo, true, false, _sourceConnection));
+
+		_dataIndex = BenchmarkTelegrams.DATA_INDEX_STEP;
+		_record = BenchmarkTelegrams.splitRecord(baseSubscriptionInfo, _dataIndex, BenchmarkTelegrams.createPayload(_recordSize));
+	}
+
+	@TearDown
+	public void checkDistribution() {
+		// Sicherstellen, dass tatschlich verteilt und nicht nur die Anmeldungen geprft wurden
+		for(StandInApplicationConnection connection : _receiverConnections) {
+			if(connection.getTelegramsSent() == 0) throw new IllegalStateException("Keine Telegramme an " + connection + " versendet");
+		}
+	}
+
+	@Benchmark
+	public long distributeRecord() {
+		_dataIndex += BenchmarkTelegrams.DATA_INDEX_STEP;
+		_subscriptionInfo.distributeTelegrams(BenchmarkTelegrams.copy(_record, _dataIndex), false, _sourceConnection);
+		return _dataIndex;
+	}
+}
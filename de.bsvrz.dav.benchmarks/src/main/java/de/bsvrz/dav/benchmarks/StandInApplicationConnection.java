@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.ApplicationDataTelegram;
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.BaseSubscriptionInfo;
+import de.bsvrz.dav.dav.subscriptions.ApplicationCommunicationInterface;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Verbindung zu einer Applikation fr Benchmarks. Statt die Telegramme in eine Sende-Queue einzutragen, werden sie sofort in einen Ausgabestrom geschrieben,
+ * der die Bytes verwirft. Damit wird der Aufwand des Sendethreads fr das Kodieren der Telegramme mitgemessen, nicht aber das Netzwerk.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+final class StandInApplicationConnection implements ApplicationCommunicationInterface {
+
+	private final long _id;
+
+	private final DataOutputStream _out = new DataOutputStream(
+			new OutputStream() {
+				@Override
+				public void write(final int b) {
+					_bytesWritten++;
+				}
+
+				@Override
+				public void write(final byte[] b, final int off, final int len) {
+					_bytesWritten += len;
+				}
+			}
+	);
+
+	private long _bytesWritten = 0;
+
+	private long _telegramsSent = 0;
+
+	/**
+	 * Erzeugt eine neue Verbindung.
+	 *
+	 * @param id Id der Applikation
+	 */
+	StandInApplicationConnection(final long id) {
+		_id = id;
+	}
+
+	public void triggerSender(final BaseSubscriptionInfo data, final byte state) {
+	}
+
+	public long getRemoteUserId() {
+		return 0;
+	}
+
+	public void sendData(final ApplicationDataTelegram telegram, final boolean toCentralDistributor) {
+		try {
+			_out.writeByte(telegram.getType());
+			telegram.write(_out);
+			_telegramsSent++;
+		}
+		catch(IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public long getId() {
+		return _id;
+	}
+
+	/**
+	 * Bestimmt die Anzahl der ber diese Verbindung versendeten Telegramme.
+	 *
+	 * @return Anzahl Telegramme
+	 */
+	long getTelegramsSent() {
+		return _telegramsSent;
+	}
+
+	/**
+	 * Bestimmt die Anzahl der ber diese Verbindung versendeten Bytes.
+	 *
+	 * @return Anzahl Bytes
+	 */
+	long getBytesWritten() {
+		return _bytesWritten;
+	}
+
+	@Override
+	public String toString() {
+		return "Applikation " + _id;
+	}
+}
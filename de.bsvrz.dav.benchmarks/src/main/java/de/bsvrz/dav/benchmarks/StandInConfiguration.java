@@ -0,0 +1,190 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.main.Data;
+import de.bsvrz.dav.daf.main.config.Attribute;
+import de.bsvrz.dav.daf.main.config.AttributeGroup;
+import de.bsvrz.dav.daf.main.config.DataModel;
+import de.bsvrz.dav.daf.main.config.IntegerAttributeType;
+import de.bsvrz.dav.daf.main.config.IntegerValueState;
+import de.bsvrz.dav.daf.main.config.StringAttributeType;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Konfigurationsobjekte ohne Konfiguration fr die Benchmarks der Datenstze. Die Objekte sind dynamische Proxies, die auf jede Methode mit einem fest
+ * eingetragenen Wert antworten. Ist der eingetragene Wert selbst ein {@link InvocationHandler}, dann wird der Aufruf an ihn weitergegeben. Fr nicht eingetragene Methoden wird eine {@link UnsupportedOperationException} erzeugt, damit ein Benchmark nicht
+ * unbemerkt mit unvollstndigen Objekten arbeitet.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public final class StandInConfiguration {
+
+	/** Anzahl der Elemente im Array <code>Werte</code> der Attributgruppe von {@link #createMeasurementAttributeGroup()}. */
+	public static final int NUMBER_OF_VALUES = 60;
+
+	private StandInConfiguration() {
+	}
+
+	/**
+	 * Erzeugt eine Attributgruppe mit den Attributen <code>Zeitstempel</code> (8 Byte Ganzzahl), <code>Wert</code> (4 Byte Ganzzahl), <code>Text</code>
+	 * (Zeichenkette) und <code>Werte</code> (Array variabler Gre mit 2 Byte Ganzzahlen). Jeder Aufruf liefert neue Objekte.
+	 *
+	 * @return Attributgruppe
+	 */
+	public static AttributeGroup createMeasurementAttributeGroup() {
+		final DataModel dataModel = create(DataModel.class, new HashMap<String, Object>());
+		final IntegerAttributeType longType = createIntegerAttributeType(dataModel, "att.zeitstempel", 8);
+		final IntegerAttributeType intType = createIntegerAttributeType(dataModel, "att.wert", 4);
+		final IntegerAttributeType shortType = createIntegerAttributeType(dataModel, "att.werteElement", 2);
+
+		final Map<String, Object> stringType = createConfigurationObject(dataModel, "att.text");
+		stringType.put("getMaxLength", 0);
+		stringType.put("isLengthLimited", false);
+		stringType.put("getEncodingName", "ISO-8859-1");
+		stringType.put("getEncodingValue", StringAttributeType.ISO_8859_1);
+		stringType.put(
+				"setToUndefined", new InvocationHandler() {
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						((Data)args[0]).asTextValue().setText("_Undefiniert_");
+						return null;
+					}
+				}
+		);
+		stringType.put(
+				"isDefined", new InvocationHandler() {
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						return !"_Undefiniert_".equals(((Data)args[0]).asTextValue().getText());
+					}
+				}
+		);
+
+		final List<Attribute> attributes = new ArrayList<Attribute>();
+		attributes.add(createAttribute(dataModel, "Zeitstempel", 1, longType, 1, false));
+		attributes.add(createAttribute(dataModel, "Wert", 2, intType, 1, false));
+		attributes.add(createAttribute(dataModel, "Text", 3, create(StringAttributeType.class, stringType), 1, false));
+		attributes.add(createAttribute(dataModel, "Werte", 4, shortType, 0, true));
+
+		final Map<String, Object> atg = createConfigurationObject(dataModel, "atg.benchmarkMesswerte");
+		atg.put("getAttributes", Collections.unmodifiableList(attributes));
+		atg.put("isConfigurating", false);
+		atg.put("isParameter", false);
+		return create(AttributeGroup.class, atg);
+	}
+
+	private static IntegerAttributeType createIntegerAttributeType(final DataModel dataModel, final String pid, final int byteCount) {
+		final Map<String, Object> type = createConfigurationObject(dataModel, pid);
+		type.put("getByteCount", byteCount);
+		type.put("getValueSize", (short)byteCount);
+		type.put("getRange", null);
+		type.put("getStates", Collections.<IntegerValueState>emptyList());
+		type.put(
+				"setToUndefined", new InvocationHandler() {
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						((Data)args[0]).asUnscaledValue().set(getUndefinedValue(byteCount));
+						return null;
+					}
+				}
+		);
+		type.put(
+				"isDefined", new InvocationHandler() {
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						return ((Data)args[0]).asUnscaledValue().longValue() != getUndefinedValue(byteCount);
+					}
+				}
+		);
+		return create(IntegerAttributeType.class, type);
+	}
+
+	private static long getUndefinedValue(final int byteCount) {
+		switch(byteCount) {
+			case 1:
+				return Byte.MIN_VALUE;
+			case 2:
+				return Short.MIN_VALUE;
+			case 4:
+				return Integer.MIN_VALUE;
+			default:
+				return Long.MIN_VALUE;
+		}
+	}
+
+	private static Attribute createAttribute(
+			final DataModel dataModel, final String name, final int position, final Object attributeType, final int maxCount, final boolean array) {
+		final Map<String, Object> attribute = createConfigurationObject(dataModel, name);
+		attribute.put("getName", name);
+		attribute.put("getPosition", position);
+		attribute.put("getAttributeType", attributeType);
+		attribute.put("getMaxCount", maxCount);
+		attribute.put("isArray", array);
+		attribute.put("isCountLimited", maxCount > 0);
+		attribute.put("isCountVariable", array);
+		attribute.put("getDefaultAttributeValue", null);
+		return create(Attribute.class, attribute);
+	}
+
+	private static Map<String, Object> createConfigurationObject(final DataModel dataModel, final String pid) {
+		final Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put("getPid", pid);
+		properties.put("getName", pid);
+		properties.put("getNameOrPidOrId", pid);
+		properties.put("getDataModel", dataModel);
+		properties.put("getDefaultAttributeValue", null);
+		return properties;
+	}
+
+	private static <T> T create(final Class<T> type, final Map<String, Object> properties) {
+		return type.cast(
+				Proxy.newProxyInstance(
+						StandInConfiguration.class.getClassLoader(), new Class<?>[]{type}, new InvocationHandler() {
+							public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+								final String name = method.getName();
+								if(name.equals("equals")) return proxy == args[0];
+								if(name.equals("hashCode")) return System.identityHashCode(proxy);
+								if(name.equals("toString")) return type.getSimpleName() + "[" + properties.get("getPid") + "]";
+								if(name.equals("getAttribute") && args != null && args.length == 1) {
+									for(Object attribute : (List<?>)properties.get("getAttributes")) {
+										if(((Attribute)attribute).getName().equals(args[0])) return attribute;
+									}
+									return null;
+								}
+								if(!properties.containsKey(name)) {
+									throw new UnsupportedOperationException(type.getSimpleName() + "." + name + " wird im Benchmark nicht untersttzt");
+								}
+								final Object value = properties.get(name);
+								if(value instanceof InvocationHandler) return ((InvocationHandler)value).invoke(proxy, method, args);
+								return value;
+							}
+						}
+				)
+		);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.BaseSubscriptionInfo;
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.TransmitterSubscriptionType;
+import de.bsvrz.dav.dav.main.ConnectionState;
+import de.bsvrz.dav.dav.main.SubscriptionsManager;
+import de.bsvrz.dav.dav.subscriptions.SubscriptionInfo;
+import de.bsvrz.dav.dav.subscriptions.TransmitterCommunicationInterface;
+import de.bsvrz.dav.dav.util.accessControl.UserAction;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Anmeldungsverwaltung fr Benchmarks, die nur lokale Anmeldungen eines einzelnen Datenverteilers ohne Rechteprfung kennt. Anmeldungen werden nicht
+ * verwaltet, die {@link SubscriptionInfo}-Objekte werden von den Benchmarks selbst erzeugt.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+final class StandInSubscriptionsManager implements SubscriptionsManager {
+
+	/** Objekt-Id des simulierten Datenverteilers */
+	private static final long TRANSMITTER_ID = 1;
+
+	public SubscriptionInfo openSubscriptionInfo(final BaseSubscriptionInfo baseSubscriptionInfo) {
+		throw new UnsupportedOperationException("openSubscriptionInfo");
+	}
+
+	public SubscriptionInfo openExistingSubscriptionInfo(final BaseSubscriptionInfo baseSubscriptionInfo) {
+		return null;
+	}
+
+	public SubscriptionInfo getSubscriptionInfo(final BaseSubscriptionInfo baseSubscriptionInfo) {
+		return null;
+	}
+
+	public boolean isActionAllowed(final long userId, final BaseSubscriptionInfo info, final UserAction action) {
+		return true;
+	}
+
+	public void handleUserRightsChanged(final long userId) {
+	}
+
+	public void notifyIsNewCentralDistributor(final BaseSubscriptionInfo baseSubscriptionInfo) {
+	}
+
+	public void notifyWasCentralDistributor(final BaseSubscriptionInfo baseSubscriptionInfo) {
+	}
+
+	public List<Long> getPotentialCentralDistributors(final BaseSubscriptionInfo baseSubscriptionInfo) {
+		return Collections.emptyList();
+	}
+
+	public TransmitterCommunicationInterface getBestConnectionToRemoteDav(final long remoteDav) {
+		return null;
+	}
+
+	public void removeSubscriptionInfo(final SubscriptionInfo subscriptionInfo) {
+	}
+
+	public Object getSubscriptionInfoLock(final BaseSubscriptionInfo baseSubscriptionInfo) {
+		return this;
+	}
+
+	public void connectToRemoteDrains(final SubscriptionInfo subscriptionInfo, final Set<Long> distributorsToUse) {
+	}
+
+	public void connectToRemoteSources(final SubscriptionInfo subscriptionInfo, final Set<Long> distributorsToUse) {
+	}
+
+	public String subscriptionToString(final BaseSubscriptionInfo baseSubscriptionInfo) {
+		return String.valueOf(baseSubscriptionInfo);
+	}
+
+	public String objectToString(final long objectId) {
+		return String.valueOf(objectId);
+	}
+
+	public long getThisTransmitterId() {
+		return TRANSMITTER_ID;
+	}
+
+	public void handleTransmitterSubscriptionReceipt(
+			final TransmitterCommunicationInterface communication,
+			final TransmitterSubscriptionType transmitterSubscriptionType,
+			final BaseSubscriptionInfo baseSubscriptionInfo,
+			final ConnectionState connectionState,
+			final long mainTransmitterId) {
+	}
+
+	public void updateDestinationRoute(
+			final long transmitterId, final TransmitterCommunicationInterface oldConnection, final TransmitterCommunicationInterface newConnection) {
+	}
+
+	public long getNextDataIndex(final BaseSubscriptionInfo baseSubscriptionInfo) {
+		return 0;
+	}
+
+	public long getCurrentDataIndex(final BaseSubscriptionInfo baseSubscriptionInfo) {
+		return 0;
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.ApplicationDataTelegram;
+import de.bsvrz.dav.dav.main.TelegramAggregator;
+import de.bsvrz.dav.dav.subscriptions.SubscriptionInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Zusammensetzen zerlegter Datenstze mit dem {@link TelegramAggregator}, wie es beim Empfang von Datenstzen im Datenverteiler erfolgt. Die
+ * Telegramme der Datenstze mehrerer Datenidentifikationen treffen dabei verschrnkt ein.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TelegramAggregatorBenchmark {
+
+	/** Anzahl der Datenidentifikationen, deren Telegramme verschrnkt eintreffen. */
+	@Param({"1", "100"})
+	public int _subscriptions;
+
+	/** Gre eines Datensatzes in Bytes. */
+	@Param({"1024", "65536"})
+	public int _recordSize;
+
+	private TelegramAggregator<ApplicationDataTelegram> _aggregator;
+
+	private SubscriptionInfo[] _subscriptionInfos;
+
+	private List<List<ApplicationDataTelegram>> _records;
+
+	@Setup
+	public void setUp() {
+		final StandInSubscriptionsManager subscriptionsManager = new StandInSubscriptionsManager();
+		final byte[] payload = BenchmarkTelegrams.createPayload(_recordSize);
+		_aggregator = new TelegramAggregator<ApplicationDataTelegram>();
+		_subscriptionInfos = new SubscriptionInfo[_subscriptions];
+		_records = new ArrayList<List<ApplicationDataTelegram>>(_subscriptions);
+		for(int i = 0; i < _subscriptions; i++) {
+			_subscriptionInfos[i] = new SubscriptionInfo(subscriptionsManager, BenchmarkTelegrams.createBaseSubscriptionInfo(i + 1));
+			_records.add(BenchmarkTelegrams.splitRecord(_subscriptionInfos[i].getBaseSubscriptionInfo(), BenchmarkTelegrams.DATA_INDEX_STEP, payload));
+		}
+	}
+
+	/**
+	 * Setzt je einen Datensatz aller Datenidentifikationen zusammen.
+	 *
+	 * @param blackhole Senke fr die zusammengesetzten Datenstze
+	 */
+	@Benchmark
+	public void aggregateRecords(final Blackhole blackhole) {
+		final int telegramCount = _records.get(0).size();
+		for(int telegramNumber = 0; telegramNumber < telegramCount; telegramNumber++) {
+			for(int i = 0; i < _subscriptions; i++) {
+				blackhole.consume(_aggregator.aggregate(_records.get(i).get(telegramNumber), _subscriptionInfos[i]));
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.benchmarks;
+
+import de.bsvrz.dav.daf.communication.lowLevel.TelegramQueueInterface;
+import de.bsvrz.dav.daf.communication.lowLevel.TelegramQueueType;
+import de.bsvrz.dav.daf.communication.lowLevel.telegrams.DataTelegram;
+import de.bsvrz.dav.daf.main.impl.CommunicationConstant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst den Durchsatz der Telegramm-Queues, wenn mehrere Threads (wie die Verteilung im Datenverteiler) Telegramme in die Sende-Queue einer Verbindung
+ * schreiben und ein Thread (wie der Sendethread) sie entnimmt.
+ * <p/>
+ * Damit am Ende einer Messung kein Thread in einer blockierenden Methode hngen bleibt, warten die Threads nicht in {@link TelegramQueueInterface#put} bzw.
+ * {@link TelegramQueueInterface#take}, sondern prfen selbst, ob Platz bzw. ein Telegramm vorhanden ist, und brechen das Warten am Ende der Messung ab.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TelegramQueueBenchmark {
+
+	/** Anzahl der Threads, die Telegramme in die Queue schreiben. */
+	private static final int PRODUCER_THREADS = 3;
+
+	/** Implementierung der Queue, siehe {@link TelegramQueueType#forName(String)}. */
+	@Param({"standard", "ringpuffer"})
+	public String _queueType;
+
+	/** Gre der Nutzdaten eines Telegramms in Bytes. */
+	@Param({"100", "3000"})
+	public int _payloadSize;
+
+	private TelegramQueueInterface<DataTelegram> _queue;
+
+	private DataTelegram _telegram;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		_queue = TelegramQueueType.forName(_queueType).createQueue(1000000, CommunicationConstant.MAX_PRIORITY);
+		_telegram = BenchmarkTelegrams.splitRecord(
+				BenchmarkTelegrams.createBaseSubscriptionInfo(1), BenchmarkTelegrams.DATA_INDEX_STEP, BenchmarkTelegrams.createPayload(_payloadSize)
+		).get(0);
+	}
+
+	@Benchmark
+	@Group("putTake")
+	@GroupThreads(PRODUCER_THREADS)
+	public void put(final Control control) throws InterruptedException {
+		// Platz fr die gleichzeitigen Aufrufe aller Schreiber freihalten, damit put() nie blockiert
+		final int requiredSpace = PRODUCER_THREADS * _telegram.getSize();
+		while(!control.stopMeasurement) {
+			if(_queue.getSize() + requiredSpace <= _queue.getCapacity()) {
+				_queue.put(_telegram);
+				return;
+			}
+			Thread.yield();
+		}
+	}
+
+	@Benchmark
+	@Group("putTake")
+	@GroupThreads(1)
+	public DataTelegram take(final Control control) {
+		while(!control.stopMeasurement) {
+			final DataTelegram telegram = _queue.poll();
+			if(telegram != null) return telegram;
+			Thread.yield();
+		}
+		return null;
+	}
+}
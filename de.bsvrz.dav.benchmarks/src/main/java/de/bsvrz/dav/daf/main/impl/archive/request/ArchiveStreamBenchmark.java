@@ -0,0 +1,351 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.daf.main.impl.archive.request;
+
+import de.bsvrz.dav.benchmarks.BenchmarkData;
+import de.bsvrz.dav.benchmarks.StandInConfiguration;
+import de.bsvrz.dav.daf.main.DataDescription;
+import de.bsvrz.dav.daf.main.Data;
+import de.bsvrz.dav.daf.main.DataState;
+import de.bsvrz.dav.daf.main.archive.ArchiveData;
+import de.bsvrz.dav.daf.main.archive.ArchiveDataKind;
+import de.bsvrz.dav.daf.main.archive.ArchiveDataKindCombination;
+import de.bsvrz.dav.daf.main.archive.ArchiveDataSpecification;
+import de.bsvrz.dav.daf.main.archive.ArchiveDataStream;
+import de.bsvrz.dav.daf.main.archive.ArchiveOrder;
+import de.bsvrz.dav.daf.main.archive.ArchiveQueryPriority;
+import de.bsvrz.dav.daf.main.archive.ArchiveRequestOption;
+import de.bsvrz.dav.daf.main.archive.ArchiveTimeSpecification;
+import de.bsvrz.dav.daf.main.archive.TimingType;
+import de.bsvrz.dav.daf.main.config.AttributeGroup;
+import de.bsvrz.dav.daf.main.impl.archive.ArchiveDataCompression;
+import de.bsvrz.dav.daf.main.impl.archive.ArchiveQueryID;
+import de.bsvrz.sys.funclib.communicationStreams.StreamDemultiplexer;
+import de.bsvrz.sys.funclib.communicationStreams.StreamDemultiplexerDirector;
+import de.bsvrz.sys.funclib.communicationStreams.StreamMultiplexer;
+import de.bsvrz.sys.funclib.communicationStreams.StreamMultiplexerDirector;
+import de.bsvrz.sys.funclib.dataSerializer.Deserializer;
+import de.bsvrz.sys.funclib.dataSerializer.Serializer;
+import de.bsvrz.sys.funclib.dataSerializer.SerializingFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Lesen einer Archivanfrage mit insgesamt {@value #TOTAL_RECORDS} Datenstzen, die auf mehrere Streams verteilt sind. Die Datenstze werden wie
+ * bei einer echten Anfrage ber einen {@link StreamDemultiplexer} und {@link DataStream} empfangen und vollstndig ausgewertet. Die Applikation liest die
+ * Streams reihum, wie es beim Zusammenfhren von Streams nach der Zeit geschieht. Verglichen werden verschiedene Blockungsfaktoren, die bei der automatischen
+ * Anpassung des Empfangspuffers aus der gemessenen Abnahmegeschwindigkeit folgen.
+ * <p/>
+ * Die Pakete des Archivs werden einmalig mit einem {@link StreamMultiplexer} erzeugt. Whrend der Messung gibt ein Archiv-Ersatz die fertigen Pakete nur noch
+ * entsprechend der Sendeerlaubnisse des {@link StreamDemultiplexer} weiter, so wie sie bei einer echten Anfrage vom Empfangsthread der
+ * Datenverteilerverbindung bergeben werden. Das Erzeugen der Pakete geht dadurch nicht in die Messung ein.
+ * <p/>
+ * Die Klasse liegt im Package der Archivanfragen, weil {@link Query} und {@link DataStream} nur innerhalb dieses Packages sichtbar sind.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArchiveStreamBenchmark {
+
+	/** Gesamtzahl der Datenstze aller Streams einer Anfrage. */
+	static final int TOTAL_RECORDS = 100000;
+
+	/** Gre des Sendepuffers des Archivs in Bytes. */
+	private static final int SEND_BUFFER_SIZE = 100000;
+
+	/** Blockungsfaktor der Streams, also die Anzahl Pakete, die das Archiv je Stream ohne neue Sendeerlaubnis versenden darf. */
+	@Param({"10", "100"})
+	public int _blockingFactor;
+
+	/** Anzahl der Streams der Anfrage. */
+	@Param({"1", "16"})
+	public int _numberOfStreams;
+
+	private AttributeGroup _atg;
+
+	/** Die vom Archiv versandten Pakete je Stream in der Reihenfolge ihrer Paketindizes. */
+	private byte[][][] _packets;
+
+	private ArchiveDataStream[] _streams;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		_atg = StandInConfiguration.createMeasurementAttributeGroup();
+		final int serializerVersion = SerializingFactory.getDefaultVersion();
+		final byte[] data = BenchmarkData.serialize(BenchmarkData.createMeasurementData(_atg), serializerVersion);
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final Serializer serializer = SerializingFactory.createSerializer(out);
+		serializer.writeInt(ArchiveDataKind.ONLINE.getCode());
+		serializer.writeLong(1234567890000L);
+		serializer.writeLong(1234567891000L);
+		serializer.writeLong(1234567890000L << 32);
+		serializer.writeInt(DataState.DATA.getCode());
+		serializer.writeInt(serializerVersion);
+		serializer.writeByte(ArchiveDataCompression.NONE.getCode());
+		serializer.writeInt(data.length);
+		serializer.writeBytes(data);
+		_packets = recordPackets(out.toByteArray());
+	}
+
+	/**
+	 * Lsst einen {@link StreamMultiplexer} alle Datenstze der Anfrage versenden und zeichnet die Pakete je Stream auf.
+	 *
+	 * @param record Ein Archivdatensatz so wie er vom Archiv in einem Stream bertragen wird
+	 *
+	 * @return Pakete je Stream
+	 */
+	private byte[][][] recordPackets(final byte[] record) throws Exception {
+		final int recordsPerStream = TOTAL_RECORDS / _numberOfStreams;
+		final int[] remainingRecords = new int[_numberOfStreams];
+		final List<List<byte[]>> packets = new ArrayList<List<byte[]>>(_numberOfStreams);
+		for(int i = 0; i < _numberOfStreams; i++) {
+			remainingRecords[i] = recordsPerStream;
+			packets.add(new ArrayList<byte[]>());
+		}
+		final StreamDemultiplexer[] demultiplexer = new StreamDemultiplexer[1];
+		final StreamMultiplexer multiplexer = new StreamMultiplexer(
+				_numberOfStreams, _blockingFactor, SEND_BUFFER_SIZE, SerializingFactory.getDefaultVersion(), new StreamMultiplexerDirector() {
+					public byte[] take(final int indexOfStream) {
+						if(remainingRecords[indexOfStream] == 0) return null;
+						remainingRecords[indexOfStream]--;
+						return record;
+					}
+
+					public void sendData(final byte[] streamDataPacket) {
+						try {
+							packets.get(getIndexOfStream(streamDataPacket)).add(streamDataPacket);
+							demultiplexer[0].receivedDataFromSender(streamDataPacket);
+						}
+						catch(IOException e) {
+							throw new IllegalStateException(e);
+						}
+					}
+
+					public void streamAborted(final int indexOfStream) {
+					}
+				}
+		);
+		demultiplexer[0] = new StreamDemultiplexer(
+				_numberOfStreams, _blockingFactor, new StreamDemultiplexerDirector() {
+					public void sendNewTicketIndexToSender(final byte[] streamTicketPacket) {
+						try {
+							multiplexer.setMaximumStreamTicketIndexForStream(streamTicketPacket);
+						}
+						catch(IOException e) {
+							throw new IllegalStateException(e);
+						}
+					}
+				}
+		);
+		final Thread sender = new Thread(
+				new Runnable() {
+					public void run() {
+						try {
+							multiplexer.sendAllStreamData();
+						}
+						catch(InterruptedException ignored) {
+						}
+					}
+				}, "Archiv"
+		);
+		sender.setDaemon(true);
+		sender.start();
+		for(int i = 0; i < _numberOfStreams; i++) {
+			while(demultiplexer[0].take(i) != null) {
+			}
+		}
+		sender.join();
+		final byte[][][] result = new byte[_numberOfStreams][][];
+		for(int i = 0; i < _numberOfStreams; i++) {
+			result[i] = packets.get(i).toArray(new byte[packets.get(i).size()][]);
+		}
+		return result;
+	}
+
+	private static int getIndexOfStream(final byte[] streamPacket) throws IOException {
+		final Deserializer deserializer = SerializingFactory.createDeserializer(new ByteArrayInputStream(streamPacket));
+		return deserializer.readInt();
+	}
+
+	/** Startet fr jede Messung eine neue Anfrage an den Archiv-Ersatz. */
+	@Setup(Level.Invocation)
+	public void startQuery() {
+		final List<ArchiveDataSpecification> specs = new ArrayList<ArchiveDataSpecification>(_numberOfStreams);
+		for(int i = 0; i < _numberOfStreams; i++) {
+			specs.add(
+					new ArchiveDataSpecification(
+							new ArchiveTimeSpecification(TimingType.DATA_TIME, false, 0, Long.MAX_VALUE),
+							new ArchiveDataKindCombination(ArchiveDataKind.ONLINE),
+							ArchiveOrder.BY_INDEX,
+							ArchiveRequestOption.NORMAL,
+							new DataDescription(_atg, null),
+							null
+					)
+			);
+		}
+		final Query query = new Query(new ArchiveQueryID(0, null), ArchiveQueryPriority.MEDIUM, specs, 0, null, (short)0) {
+			@Override
+			void countFinishedStream() {
+			}
+
+			@Override
+			void streamConsumed(final long numberOfRecords, final long numberOfBytes, final long duration) {
+			}
+		};
+		final StandInArchive archive = new StandInArchive();
+		final StreamDemultiplexer demultiplexer = new StreamDemultiplexer(_numberOfStreams, _blockingFactor, archive);
+		archive._demultiplexer = demultiplexer;
+		_streams = new ArchiveDataStream[_numberOfStreams];
+		for(int i = 0; i < _numberOfStreams; i++) {
+			_streams[i] = new DataStream(i, demultiplexer, specs.get(i), query);
+		}
+		final Thread sender = new Thread(archive, "Archiv-Ersatz");
+		sender.setDaemon(true);
+		sender.start();
+	}
+
+	/**
+	 * Liest alle Streams reihum bis zu ihrem Ende und wertet alle Attribute jedes Datensatzes aus.
+	 *
+	 * @return Summe der gelesenen Werte
+	 */
+	@Benchmark
+	public long readStreams() throws Exception {
+		long sum = 0;
+		int activeStreams = _streams.length;
+		final boolean[] finished = new boolean[_streams.length];
+		while(activeStreams > 0) {
+			for(int i = 0; i < _streams.length; i++) {
+				if(finished[i]) continue;
+				final ArchiveData archiveData = _streams[i].take();
+				if(archiveData == null) {
+					finished[i] = true;
+					activeStreams--;
+				}
+				else {
+					sum += evaluate(archiveData);
+				}
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Wertet einen Datensatz so aus, wie es eine Applikation bei der Verarbeitung von Messwerten tut: Alle Attribute werden gelesen.
+	 *
+	 * @param archiveData Archivdatensatz
+	 *
+	 * @return Summe der Werte
+	 */
+	private static long evaluate(final ArchiveData archiveData) {
+		final Data data = archiveData.getData();
+		long sum = archiveData.getDataTime() + data.getUnscaledValue("Zeitstempel").longValue() + data.getUnscaledValue("Wert").intValue();
+		sum += data.getTextValue("Text").getText().length();
+		final Data.NumberArray values = data.getUnscaledArray("Werte");
+		for(int i = 0; i < values.getLength(); i++) {
+			sum += values.intValue(i);
+		}
+		return sum;
+	}
+
+	/**
+	 * Archiv-Ersatz, der die aufgezeichneten Pakete im Rahmen der Sendeerlaubnisse an den {@link StreamDemultiplexer} bergibt. Am Anfang darf jeder Stream so
+	 * viele Pakete versenden, wie der Blockungsfaktor angibt, jede weitere Sendeerlaubnis erhht den hchsten Paketindex, bis zu dem versendet werden darf.
+	 */
+	private final class StandInArchive implements StreamDemultiplexerDirector, Runnable {
+
+		/** Sendeerlaubnisse des {@link StreamDemultiplexer}, jeweils Index des Streams und neuer hchster Paketindex. */
+		private final BlockingQueue<int[]> _tickets = new LinkedBlockingQueue<int[]>();
+
+		/** Index des nchsten zu versendenden Pakets je Stream. */
+		private final int[] _nextPacket = new int[_numberOfStreams];
+
+		private volatile StreamDemultiplexer _demultiplexer;
+
+		public void sendNewTicketIndexToSender(final byte[] streamTicketPacket) {
+			try {
+				final Deserializer deserializer = SerializingFactory.createDeserializer(new ByteArrayInputStream(streamTicketPacket));
+				_tickets.add(new int[]{deserializer.readInt(), deserializer.readInt()});
+			}
+			catch(IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		public void run() {
+			try {
+				int openStreams = _numberOfStreams;
+				for(int i = 0; i < _numberOfStreams; i++) {
+					if(send(i, _blockingFactor)) openStreams--;
+				}
+				while(openStreams > 0) {
+					final int[] ticket = _tickets.take();
+					if(send(ticket[0], ticket[1])) openStreams--;
+				}
+			}
+			catch(InterruptedException ignored) {
+			}
+			catch(IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		/**
+		 * Versendet die Pakete eines Streams bis ausschlielich zum angegebenen Paketindex.
+		 *
+		 * @return <code>true</code>, wenn dabei das letzte Paket des Streams versendet wurde.
+		 */
+		private boolean send(final int indexOfStream, final int maximumPacketIndex) throws IOException {
+			final byte[][] packets = _packets[indexOfStream];
+			if(_nextPacket[indexOfStream] == packets.length) return false;
+			while(_nextPacket[indexOfStream] < maximumPacketIndex && _nextPacket[indexOfStream] < packets.length) {
+				_demultiplexer.receivedDataFromSender(packets[_nextPacket[indexOfStream]++]);
+			}
+			return _nextPacket[indexOfStream] == packets.length;
+		}
+	}
+}
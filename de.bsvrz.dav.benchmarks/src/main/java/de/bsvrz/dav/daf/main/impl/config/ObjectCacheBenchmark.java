@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.benchmarks.
+ * 
+ * de.bsvrz.dav.benchmarks is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.benchmarks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.dav.benchmarks; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.daf.main.impl.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst die Zeit fr {@value #TOTAL_LOOKUPS} Objektzugriffe ber die ID im Objekt-Cache des {@link DafDataModel}, die gleichmig auf {@value #THREADS}
+ * gleichzeitig zugreifende Threads verteilt werden.
+ * <p/>
+ * Die Klasse liegt im Package des Caches, weil {@link SystemObjectCache} nur innerhalb dieses Packages sichtbar ist.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(ObjectCacheBenchmark.THREADS)
+public class ObjectCacheBenchmark {
+
+	/** Anzahl der gleichzeitig zugreifenden Threads. */
+	static final int THREADS = 16;
+
+	/** Gesamtzahl der Zugriffe aller Threads in einer Messung. */
+	static final int TOTAL_LOOKUPS = 10000000;
+
+	/** Anzahl der Zugriffe eines Threads in einer Messung. */
+	private static final int LOOKUPS_PER_THREAD = TOTAL_LOOKUPS / THREADS;
+
+	/** Anzahl der im Cache gespeicherten Objekte. */
+	@Param({"10000", "1000000"})
+	public int _numberOfObjects;
+
+	/**
+	 * Maximale Anzahl von fest referenzierten Objekten im Cache oder <code>0</code> fr einen Cache ohne Verdrngung. Bei einer Begrenzung werden verdrngte
+	 * Objekte whrend der Messung ber Zugriffe wieder fest referenziert.
+	 */
+	@Param({"0", "5000"})
+	public int _maxSize;
+
+	private SystemObjectCache _cache;
+
+	/** Die gespeicherten Objekte, damit verdrngte Objekte nicht von der Garbage-Collection entfernt werden. */
+	private DafSystemObject[] _objects;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		_cache = new SystemObjectCache(_maxSize, 0);
+		_objects = new DafSystemObject[_numberOfObjects];
+		for(int i = 0; i < _numberOfObjects; i++) {
+			final long id = i + 1;
+			final DafConfigurationObject object = new DafConfigurationObject(
+					id, "objekt." + id, "Objekt " + id, 1, DafSystemObject.OBJECT_EXISTS, "", null, (short)1, (short)0, 0, new long[0]
+			);
+			_objects[i] = object;
+			_cache.putIfAbsent(id, object);
+			_cache.putPid(object.getPid(), object);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS_PER_THREAD)
+	public int getById() {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		int found = 0;
+		for(int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+			if(_cache.get(random.nextInt(_numberOfObjects) + 1) != null) found++;
+		}
+		return found;
+	}
+}
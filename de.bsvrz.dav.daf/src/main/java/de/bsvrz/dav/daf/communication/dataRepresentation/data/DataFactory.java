@@ -58,6 +58,15 @@ public abstract class DataFactory {
 		ConcreteDataFactory.forgetDataModel(dataModel);
 	}
 
+	/**
+	 * Erzeugt vorab die zum Zugriff auf Datenstze einer Attributgruppe bentigten Datenstrukturen. Diese Methode wird bei der Anmeldung von Daten aufgerufen,
+	 * damit die Datenstrukturen nicht erst beim Empfang des ersten Datensatzes im Empfangsthread der Datenverteilerverbindung erzeugt werden mssen.
+	 * @param atg Attributgruppe
+	 */
+	public static void prepare(AttributeGroup atg) {
+		ConcreteDataFactory.prepare(atg);
+	}
+
 	/**
 	 * Erzeugt ein nicht modifizierbares Data-Objekt einer vorgegebenen Attributgruppe aus einem serialisierten Datensatz.
 	 * @param atg Attributgruppe des Datensatzes
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.dataRepresentation.data.byteArray;
+
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.AttributeDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.AttributeInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.AttributeGroupInfo;
+import de.bsvrz.dav.daf.main.Data;
+import de.bsvrz.dav.daf.main.config.AttributeGroup;
+import de.bsvrz.dav.daf.main.config.IntegerValueState;
+import de.bsvrz.dav.daf.main.config.SystemObject;
+
+/**
+ * Vorbersetzter Zugriff auf ein einzelnes Attribut in Datenstzen einer Attributgruppe. Der Pfad zum Attribut (z.B. <code>"qKfz.Wert"</code>) wird einmalig
+ * gegen die Attributgruppe aufgelst. Beim Zugriff auf einen Datensatz, der als {@link ByteArrayData} vorliegt, wird der Wert dann direkt an der berechneten
+ * Position aus dem Byte-Array gelesen, ohne den Pfad erneut aufzulsen und ohne dabei Zwischenobjekte vom Typ {@link Data} zu erzeugen.
+ * <p/>
+ * Die Elemente des Pfads werden durch Punkte getrennt. Ein Element ist entweder der Name eines Unterattributs oder bei Arrays der Index eines Elements, z.B.
+ * <code>"Werte.3"</code>. Solange alle Attribute vor dem gesuchten Attribut eine feste Gre haben, ist die Position eine Konstante. Nur wenn Attribute
+ * variabler Gre (Zeichenketten, Arrays variabler Lnge) vorausgehen, werden deren Gren beim Zugriff aus dem Byte-Array bestimmt.
+ * <p/>
+ * Datenstze, die nicht als {@link ByteArrayData} zur angegebenen Attributgruppe vorliegen (z.B. vernderbare Datenstze), werden ber die normalen Methoden
+ * von {@link Data} ausgewertet. Objekte dieser Klasse sind unvernderlich und knnen von mehreren Threads gleichzeitig benutzt werden.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public final class AttributeAccessor {
+
+	/** Der gegen die Attributgruppe aufgelste Pfad zum Attribut. */
+	private final AttributePath _attributePath;
+
+	/** Beschreibung des Attributtyps des Attributs. */
+	private final AttributeDefinitionInfo _definitionInfo;
+
+	/**
+	 * Lst den angegebenen Pfad gegen die Attributgruppe auf.
+	 *
+	 * @param attributeGroup Attributgruppe der Datenstze, auf die zugegriffen werden soll.
+	 * @param path           Pfad zum Attribut, Elemente werden durch Punkte getrennt.
+	 *
+	 * @return Zugriffsobjekt fr das Attribut
+	 *
+	 * @throws IllegalArgumentException Wenn der Pfad nicht zu einem einfachen Attribut (kein Array und keine Attributliste) der Attributgruppe fhrt.
+	 */
+	public static AttributeAccessor compile(final AttributeGroup attributeGroup, final String path) {
+		return compile(AttributeGroupInfo.forAttributeGroup(attributeGroup), path);
+	}
+
+	/**
+	 * Lst den angegebenen Pfad gegen die Beschreibung einer Attributgruppe auf.
+	 *
+	 * @param attributeGroupInfo Beschreibung der Attributgruppe, siehe {@link AttributeGroupInfo#forAttributeGroup(AttributeGroup)}.
+	 * @param path               Pfad zum Attribut, Elemente werden durch Punkte getrennt.
+	 *
+	 * @return Zugriffsobjekt fr das Attribut
+	 *
+	 * @throws IllegalArgumentException Wenn der Pfad nicht zu einem einfachen Attribut (kein Array und keine Attributliste) der Attributgruppe fhrt.
+	 */
+	public static AttributeAccessor compile(final AttributeInfo attributeGroupInfo, final String path) {
+		return new AttributeAccessor(attributeGroupInfo, path);
+	}
+
+	private AttributeAccessor(final AttributeInfo attributeGroupInfo, final String path) {
+		_attributePath = new AttributePath(attributeGroupInfo, path);
+		final AttributeInfo info = _attributePath.getInfo();
+		if(info.isArray() || info.getDefinitionInfo().isList()) {
+			throw new IllegalArgumentException("Ungltiger Pfad " + path + ": Das Attribut " + info.getName() + " ist kein einfaches Attribut");
+		}
+		_definitionInfo = info.getDefinitionInfo();
+	}
+
+	/**
+	 * Liefert den Pfad zum Attribut.
+	 *
+	 * @return Pfad, wie er beim Erzeugen angegeben wurde.
+	 */
+	public String getPath() {
+		return _attributePath.getPath();
+	}
+
+	/**
+	 * Bestimmt, ob der angegebene Datensatz direkt ber das Byte-Array ausgewertet werden kann.
+	 *
+	 * @param data Datensatz
+	 *
+	 * @return <code>true</code>, wenn der Datensatz als {@link ByteArrayData} zur Attributgruppe dieses Zugriffsobjekts vorliegt.
+	 */
+	private boolean isDirect(final Data data) {
+		return data instanceof ByteArrayData && ((ByteArrayData)data).getInfo() == _attributePath.getAttributeGroupInfo();
+	}
+
+	/**
+	 * Bestimmt die Position des Attributs im Byte-Array eines Datensatzes.
+	 *
+	 * @param data Datensatz, fr den {@link #isDirect(Data)} <code>true</code> liefert.
+	 *
+	 * @return Position des Attributs im Byte-Array.
+	 */
+	private int getOffset(final ByteArrayData data) {
+		return _attributePath.getOffset(data.getBytes(), data.getOffset());
+	}
+
+	/**
+	 * Ermittelt das Attribut ber die normalen Methoden von {@link Data}.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Attribut
+	 */
+	private Data resolve(final Data data) {
+		return _attributePath.resolve(data);
+	}
+
+	/**
+	 * Liefert den unskalierten Wert des Attributs als <code>int</code>.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Unskalierter Wert
+	 *
+	 * @see Data.NumberValue#intValue()
+	 */
+	public int unscaledIntValue(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.unscaledIntValue(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asUnscaledValue().intValue();
+	}
+
+	/**
+	 * Liefert den unskalierten Wert des Attributs als <code>long</code>.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Unskalierter Wert
+	 *
+	 * @see Data.NumberValue#longValue()
+	 */
+	public long unscaledLongValue(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.unscaledLongValue(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asUnscaledValue().longValue();
+	}
+
+	/**
+	 * Liefert den unskalierten Wert des Attributs als <code>double</code>.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Unskalierter Wert
+	 *
+	 * @see Data.NumberValue#doubleValue()
+	 */
+	public double unscaledDoubleValue(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.unscaledDoubleValue(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asUnscaledValue().doubleValue();
+	}
+
+	/**
+	 * Liefert den skalierten Wert des Attributs als <code>int</code>.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Skalierter Wert
+	 *
+	 * @see Data.NumberValue#intValue()
+	 */
+	public int intValue(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.intValue(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asScaledValue().intValue();
+	}
+
+	/**
+	 * Liefert den skalierten Wert des Attributs als <code>long</code>.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Skalierter Wert
+	 *
+	 * @see Data.NumberValue#longValue()
+	 */
+	public long longValue(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.longValue(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asScaledValue().longValue();
+	}
+
+	/**
+	 * Liefert den skalierten Wert des Attributs als <code>double</code>.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Skalierter Wert
+	 *
+	 * @see Data.NumberValue#doubleValue()
+	 */
+	public double doubleValue(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.doubleValue(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asScaledValue().doubleValue();
+	}
+
+	/**
+	 * Bestimmt, ob der Wert des Attributs einem Zustand seines Attributtyps entspricht.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return <code>true</code>, wenn der Wert einem Zustand entspricht.
+	 *
+	 * @see Data.NumberValue#isState()
+	 */
+	public boolean isState(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.isState(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asUnscaledValue().isState();
+	}
+
+	/**
+	 * Liefert den Zustand, dem der Wert des Attributs entspricht.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Zustand oder <code>null</code>, wenn der Wert keinem Zustand entspricht.
+	 *
+	 * @see Data.NumberValue#getState()
+	 */
+	public IntegerValueState getState(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.getState(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asUnscaledValue().getState();
+	}
+
+	/**
+	 * Liefert den Wert eines Zeitattributs in Millisekunden.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Zeitwert in Millisekunden
+	 *
+	 * @see Data.TimeValue#getMillis()
+	 */
+	public long getMillis(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.getMillis(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asTimeValue().getMillis();
+	}
+
+	/**
+	 * Liefert die Objekt-ID eines Referenzattributs.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Objekt-ID oder <code>0</code>, wenn kein Objekt referenziert wird.
+	 *
+	 * @see Data.ReferenceValue#getId()
+	 */
+	public long getId(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.getId(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asReferenceValue().getId();
+	}
+
+	/**
+	 * Liefert das von einem Referenzattribut referenzierte Objekt.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Referenziertes Objekt oder <code>null</code>, wenn kein Objekt referenziert wird.
+	 *
+	 * @see Data.ReferenceValue#getSystemObject()
+	 */
+	public SystemObject getSystemObject(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.getSystemObject(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asReferenceValue().getSystemObject();
+	}
+
+	/**
+	 * Liefert den Wert des Attributs als Text ohne Einheit.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Text des Werts
+	 *
+	 * @see Data.TextValue#getValueText()
+	 */
+	public String getValueText(final Data data) {
+		if(isDirect(data)) {
+			final ByteArrayData byteArrayData = (ByteArrayData)data;
+			return _definitionInfo.getValueText(byteArrayData.getBytes(), getOffset(byteArrayData));
+		}
+		return resolve(data).asTextValue().getValueText();
+	}
+
+	public String toString() {
+		return "AttributeAccessor{" + _attributePath + "}";
+	}
+}
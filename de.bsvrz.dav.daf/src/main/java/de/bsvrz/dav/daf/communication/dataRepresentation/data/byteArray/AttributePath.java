@@ -0,0 +1,272 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.dataRepresentation.data.byteArray;
+
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.AttributeInfo;
+import de.bsvrz.dav.daf.main.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gegen die Beschreibung einer Attributgruppe aufgelster Pfad zu einem Attribut. Die Elemente des Pfads werden durch Punkte getrennt. Ein Element ist
+ * entweder der Name eines Unterattributs oder bei Arrays der Index eines Elements, z.B. <code>"Werte.3"</code>. Solange alle Attribute vor dem Attribut eine
+ * feste Gre haben, ist seine Position im Byte-Array eines Datensatzes eine Konstante. Nur wenn Attribute variabler Gre (Zeichenketten, Arrays variabler
+ * Lnge) vorausgehen, werden deren Gren bei der Bestimmung der Position aus dem Byte-Array gelesen.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ * @see AttributeAccessor
+ * @see ByteArrayDataWriter
+ */
+final class AttributePath {
+
+	/** Beschreibung der Attributgruppe, gegen die der Pfad aufgelst wurde. */
+	private final AttributeInfo _attributeGroupInfo;
+
+	/** Der Pfad zum Attribut, so wie er angegeben wurde. */
+	private final String _path;
+
+	/** Die einzelnen Elemente des Pfads. */
+	private final String[] _elements;
+
+	/** Schritte zur Bestimmung der Position des Attributs oder <code>null</code>, wenn die Position konstant ist. */
+	private final OffsetStep[] _steps;
+
+	/** Position des Attributs relativ zum Anfang des Datensatzes, falls sie konstant ist. */
+	private final int _fixedOffset;
+
+	/** Beschreibung des Attributs, zu dem der Pfad fhrt. */
+	private final AttributeInfo _info;
+
+	/**
+	 * Lst den angegebenen Pfad gegen die Beschreibung einer Attributgruppe auf.
+	 *
+	 * @param attributeGroupInfo Beschreibung der Attributgruppe
+	 * @param path               Pfad zum Attribut, Elemente werden durch Punkte getrennt.
+	 *
+	 * @throws IllegalArgumentException Wenn der Pfad nicht zu einem Attribut der Attributgruppe fhrt.
+	 */
+	AttributePath(final AttributeInfo attributeGroupInfo, final String path) {
+		_attributeGroupInfo = attributeGroupInfo;
+		_path = path;
+		_elements = path.split("\\.");
+		final List<OffsetStep> steps = new ArrayList<OffsetStep>();
+		int pendingOffset = 0;
+		AttributeInfo info = attributeGroupInfo;
+		for(final String element : _elements) {
+			if(info.isArray()) {
+				final int index;
+				try {
+					index = Integer.parseInt(element);
+				}
+				catch(NumberFormatException e) {
+					throw new IllegalArgumentException("Ungltiger Pfad " + path + ": " + info.getName() + " ist ein Array, erwartet wurde ein Index statt " + element);
+				}
+				if(index < 0) throw new IllegalArgumentException("Ungltiger Pfad " + path + ": negativer Index " + index);
+				if(pendingOffset != 0) {
+					steps.add(new ConstantStep(pendingOffset));
+					pendingOffset = 0;
+				}
+				steps.add(new ArrayElementStep(info, index));
+				info = info.getElementInfo();
+			}
+			else if(info.getDefinitionInfo().isList()) {
+				final AttributeInfo itemInfo = info.getDefinitionInfo().getItem(element);
+				if(itemInfo.getOffsetReferral() == null) {
+					pendingOffset += itemInfo.getRelativeOffset();
+				}
+				else {
+					if(pendingOffset != 0) {
+						steps.add(new ConstantStep(pendingOffset));
+						pendingOffset = 0;
+					}
+					steps.add(new ReferralStep(itemInfo));
+				}
+				info = itemInfo;
+			}
+			else {
+				throw new IllegalArgumentException("Ungltiger Pfad " + path + ": Das Attribut " + info.getName() + " hat keine Unterattribute");
+			}
+		}
+		if(steps.isEmpty()) {
+			_steps = null;
+			_fixedOffset = pendingOffset;
+		}
+		else {
+			if(pendingOffset != 0) steps.add(new ConstantStep(pendingOffset));
+			_steps = steps.toArray(new OffsetStep[steps.size()]);
+			_fixedOffset = 0;
+		}
+		_info = info;
+	}
+
+	/**
+	 * Liefert die Beschreibung der Attributgruppe, gegen die der Pfad aufgelst wurde.
+	 *
+	 * @return Beschreibung der Attributgruppe
+	 */
+	AttributeInfo getAttributeGroupInfo() {
+		return _attributeGroupInfo;
+	}
+
+	/**
+	 * Liefert den Pfad.
+	 *
+	 * @return Pfad, wie er beim Erzeugen angegeben wurde.
+	 */
+	String getPath() {
+		return _path;
+	}
+
+	/**
+	 * Liefert die Beschreibung des Attributs, zu dem der Pfad fhrt.
+	 *
+	 * @return Beschreibung des Attributs
+	 */
+	AttributeInfo getInfo() {
+		return _info;
+	}
+
+	/**
+	 * Bestimmt die Position des Attributs im Byte-Array eines Datensatzes.
+	 *
+	 * @param bytes        Byte-Array mit dem Datensatz
+	 * @param recordOffset Position des Datensatzes im Byte-Array
+	 *
+	 * @return Position des Attributs im Byte-Array.
+	 */
+	int getOffset(final byte[] bytes, final int recordOffset) {
+		int offset = recordOffset + _fixedOffset;
+		if(_steps == null) return offset;
+		for(final OffsetStep step : _steps) {
+			offset = step.apply(bytes, offset);
+		}
+		return offset;
+	}
+
+	/**
+	 * Ermittelt das Attribut in einem Datensatz ber die normalen Methoden von {@link Data}.
+	 *
+	 * @param data Datensatz der Attributgruppe
+	 *
+	 * @return Attribut
+	 */
+	Data resolve(final Data data) {
+		Data item = data;
+		for(final String element : _elements) {
+			if(item.isArray()) {
+				item = item.asArray().getItem(Integer.parseInt(element));
+			}
+			else {
+				item = item.getItem(element);
+			}
+		}
+		return item;
+	}
+
+	/**
+	 * Ermittelt das Array, zu dem der Pfad fhrt, in einem vernderbaren Datensatz. Arrays auf dem Weg dorthin werden bei Bedarf so vergrert, dass die im Pfad
+	 * angegebenen Elemente existieren.
+	 *
+	 * @param data Vernderbarer Datensatz der Attributgruppe
+	 *
+	 * @return Array
+	 */
+	Data.Array resolveArrayForWriting(final Data data) {
+		Data item = data;
+		for(final String element : _elements) {
+			if(item.isArray()) {
+				final int index = Integer.parseInt(element);
+				final Data.Array array = item.asArray();
+				if(array.getLength() <= index) array.setLength(index + 1);
+				item = array.getItem(index);
+			}
+			else {
+				item = item.getItem(element);
+			}
+		}
+		return item.asArray();
+	}
+
+	public String toString() {
+		return _attributeGroupInfo.getName() + ":" + _path + (_steps == null ? ", offset=" + _fixedOffset : ", variableOffset");
+	}
+
+	/** Ein Schritt bei der Bestimmung der Position eines Attributs im Byte-Array. */
+	private abstract static class OffsetStep {
+
+		/**
+		 * Berechnet die nchste Position.
+		 *
+		 * @param bytes  Byte-Array des Datensatzes
+		 * @param offset Bisher bestimmte Position
+		 *
+		 * @return Neue Position
+		 */
+		abstract int apply(byte[] bytes, int offset);
+	}
+
+	/** Verschiebt die Position um einen konstanten Wert. */
+	private static final class ConstantStep extends OffsetStep {
+
+		private final int _delta;
+
+		private ConstantStep(final int delta) {
+			_delta = delta;
+		}
+
+		int apply(final byte[] bytes, final int offset) {
+			return offset + _delta;
+		}
+	}
+
+	/** Bestimmt die Position eines Unterattributs, dem ein Attribut variabler Gre vorausgeht. */
+	private static final class ReferralStep extends OffsetStep {
+
+		private final AttributeInfo _itemInfo;
+
+		private ReferralStep(final AttributeInfo itemInfo) {
+			_itemInfo = itemInfo;
+		}
+
+		int apply(final byte[] bytes, final int offset) {
+			return _itemInfo.getAbsoluteOffset(bytes, offset);
+		}
+	}
+
+	/** Bestimmt die Position eines Array-Elements. */
+	private static final class ArrayElementStep extends OffsetStep {
+
+		private final AttributeInfo _arrayInfo;
+
+		private final int _index;
+
+		private ArrayElementStep(final AttributeInfo arrayInfo, final int index) {
+			_arrayInfo = arrayInfo;
+			_index = index;
+		}
+
+		int apply(final byte[] bytes, final int offset) {
+			return _arrayInfo.getAbsoluteElementOffset(bytes, offset, _index);
+		}
+	}
+}
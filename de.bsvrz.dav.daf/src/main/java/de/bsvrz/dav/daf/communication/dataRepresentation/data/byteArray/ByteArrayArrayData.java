@@ -282,8 +282,19 @@ public class ByteArrayArrayData extends ByteArrayStructuredData implements Data.
 
 	public SystemObject[] getSystemObjectArray() {
 		SystemObject[] result = new SystemObject[_length];
+		if(_length == 0) return result;
+		// Alle referenzierten Objekte werden gemeinsam aufgelst, damit nicht lokal vorhandene Objekte mit einer einzigen Anfrage von der Konfiguration
+		// geladen werden und nicht jedes Objekt einzeln angefragt wird.
+		final long[] ids = new long[_length];
 		for(int i = 0; i < _length; ++i) {
-			result[i] = getReferenceValue(i).getSystemObject();
+			ids[i] = getReferenceValue(i).getId();
+		}
+		final List<SystemObject> objects = _info.getDefinitionInfo().getAttributeType().getDataModel().getObjects(ids);
+		for(int i = 0; i < _length; ++i) {
+			if(ids[i] == 0) continue;
+			final SystemObject object = objects.get(i);
+			// Nicht auflsbare Referenzen werden wie bisher einzeln behandelt, damit sich die Fehlerbehandlung nicht ndert
+			result[i] = object != null ? object : getReferenceValue(i).getSystemObject();
 		}
 		return result;
 	}
@@ -0,0 +1,575 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.dataRepresentation.data.byteArray;
+
+import de.bsvrz.dav.daf.communication.dataRepresentation.AttributeBaseValueDataFactory;
+import de.bsvrz.dav.daf.communication.dataRepresentation.AttributeHelper;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.AttributeDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.AttributeInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.AbsoluteMillisecondsDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.AbsoluteSecondsDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.AttributeGroupInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.DoubleDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.FloatDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.NumberDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.ReferenceDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.RelativeMillisecondsDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.RelativeSecondsDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.StringDefinitionInfo;
+import de.bsvrz.dav.daf.main.Data;
+import de.bsvrz.dav.daf.main.config.AttributeGroup;
+import de.bsvrz.dav.daf.main.config.ConfigurationException;
+import de.bsvrz.dav.daf.main.config.IntegerAttributeType;
+import de.bsvrz.dav.daf.main.config.IntegerValueRange;
+import de.bsvrz.dav.daf.main.config.SystemObject;
+
+import java.util.Arrays;
+
+/**
+ * Erzeugt unvernderbare Datenstze einer Attributgruppe, indem die Werte direkt in die Byte-Darstellung geschrieben werden, in der Datenstze bertragen
+ * werden. Anders als bei Datenstzen, die mit {@link de.bsvrz.dav.daf.main.ClientDavInterface#createData(AttributeGroup)} erzeugt werden, wird dabei kein
+ * Objektbaum aus <code>AttributeBaseValue</code>-Objekten aufgebaut, der beim Versand erst noch serialisiert werden muss.
+ * <p/>
+ * Die zu setzenden Attribute werden einmalig mit {@link #compileSetter(AttributeGroup, String)} bzw. die Gre von Arrays mit {@link
+ * #compileArrayLength(AttributeGroup, String)} ber ihren Pfad (z.B. <code>"qKfz.Wert"</code> oder <code>"Werte.3"</code>, siehe {@link AttributeAccessor})
+ * vorbersetzt. Ein Writer beginnt mit einer Kopie eines Vorlage-Datensatzes, blicherweise des Datensatzes mit den Default-Werten der Attributgruppe. Die
+ * Gre von Arrays muss gesetzt werden, bevor Werte von Array-Elementen gesetzt werden. Mit {@link #createData()} wird ein Datensatz erzeugt, der
+ * anschlieend unabhngig vom Writer ist, so dass derselbe Writer fr weitere Datenstze verwendet werden kann.
+ * <p/>
+ * Die Methoden dieser Klasse sind nicht synchronisiert. Die vorbersetzten {@link Setter}- und {@link ArrayLength}-Objekte sind dagegen unvernderlich und
+ * knnen von mehreren Threads und Writern gleichzeitig benutzt werden.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public final class ByteArrayDataWriter {
+
+	/** Beschreibung der Attributgruppe der erzeugten Datenstze. */
+	private final AttributeInfo _attributeGroupInfo;
+
+	/** Byte-Darstellung des Vorlage-Datensatzes. */
+	private final byte[] _templateBytes;
+
+	/** Puffer mit der Byte-Darstellung des aktuellen Datensatzes. */
+	private byte[] _bytes;
+
+	/** Gre des aktuellen Datensatzes in Bytes. */
+	private int _size;
+
+	/**
+	 * Erzeugt einen neuen Writer, der mit einer Kopie des angegebenen Datensatzes beginnt.
+	 *
+	 * @param template Vollstndiger Datensatz einer Attributgruppe, z.B. ein mit {@link de.bsvrz.dav.daf.main.ClientDavInterface#createData(AttributeGroup)}
+	 *                 erzeugter Datensatz mit Default-Werten.
+	 */
+	public ByteArrayDataWriter(final Data template) {
+		final Data unmodifiableCopy = template.createUnmodifiableCopy();
+		if(!(unmodifiableCopy instanceof ByteArrayData) || ((ByteArrayData)unmodifiableCopy).getOffset() != 0) {
+			throw new IllegalArgumentException("Vorlage ist kein vollstndiger Datensatz einer Attributgruppe: " + template.getName());
+		}
+		final ByteArrayData byteArrayData = (ByteArrayData)unmodifiableCopy;
+		_attributeGroupInfo = byteArrayData.getInfo();
+		_templateBytes = byteArrayData.getBytes();
+		_bytes = _templateBytes.clone();
+		_size = _bytes.length;
+	}
+
+	/**
+	 * bersetzt den Pfad zu einem einfachen Attribut (kein Array und keine Attributliste) fr das Setzen von Werten.
+	 *
+	 * @param attributeGroup Attributgruppe
+	 * @param path           Pfad zum Attribut, Elemente werden durch Punkte getrennt.
+	 *
+	 * @return Vorbersetztes Attribut
+	 *
+	 * @throws IllegalArgumentException Wenn der Pfad nicht zu einem einfachen Attribut der Attributgruppe fhrt.
+	 */
+	public static Setter compileSetter(final AttributeGroup attributeGroup, final String path) {
+		return new Setter(new AttributePath(AttributeGroupInfo.forAttributeGroup(attributeGroup), path));
+	}
+
+	/**
+	 * bersetzt den Pfad zu einem Array fr das Setzen der Array-Gre.
+	 *
+	 * @param attributeGroup Attributgruppe
+	 * @param path           Pfad zum Array, Elemente werden durch Punkte getrennt.
+	 *
+	 * @return Vorbersetztes Array
+	 *
+	 * @throws IllegalArgumentException Wenn der Pfad nicht zu einem Array der Attributgruppe fhrt.
+	 */
+	public static ArrayLength compileArrayLength(final AttributeGroup attributeGroup, final String path) {
+		return new ArrayLength(attributeGroup, new AttributePath(AttributeGroupInfo.forAttributeGroup(attributeGroup), path));
+	}
+
+	/**
+	 * Setzt einen unskalierten Zahlwert.
+	 *
+	 * @param setter Vorbersetztes Attribut
+	 * @param value  Unskalierter Wert
+	 *
+	 * @return Dieser Writer
+	 *
+	 * @see Data.NumberValue#set(long)
+	 */
+	public ByteArrayDataWriter setUnscaled(final Setter setter, final long value) {
+		final int offset = getOffset(setter._attributePath);
+		switch(setter._kind) {
+			case Setter.INTEGER:
+				writeInteger(setter, offset, value);
+				break;
+			case Setter.FLOAT:
+				writeInt(offset, Float.floatToIntBits(value));
+				break;
+			case Setter.DOUBLE:
+				writeLong(offset, Double.doubleToLongBits(value));
+				break;
+			default:
+				throw setter.unsupported("kein Zahl-Attribut");
+		}
+		return this;
+	}
+
+	/**
+	 * Setzt einen skalierten Zahlwert. Bei Ganzzahlattributen wird der Wert mit dem Skalierungsfaktor des Wertebereichs umgerechnet und gerundet.
+	 *
+	 * @param setter Vorbersetztes Attribut
+	 * @param value  Skalierter Wert
+	 *
+	 * @return Dieser Writer
+	 *
+	 * @see Data.NumberValue#set(double)
+	 */
+	public ByteArrayDataWriter setScaled(final Setter setter, final double value) {
+		final int offset = getOffset(setter._attributePath);
+		switch(setter._kind) {
+			case Setter.INTEGER:
+				final double conversionFactor = setter._conversionFactor;
+				if(Double.isNaN(conversionFactor)) throw setter.unsupported("kein Zahlenbereich definiert");
+				// Wie in AttributeBaseValueDataFactory wird bei Faktoren kleiner 1 mit dem Kehrwert multipliziert, um Rundungsfehler zu vermeiden
+				final long unscaledValue;
+				if(conversionFactor < 1.0) {
+					unscaledValue = Math.round(value * (1 / conversionFactor));
+				}
+				else if(conversionFactor > 1.0) {
+					unscaledValue = Math.round(value / conversionFactor);
+				}
+				else {
+					unscaledValue = Math.round(value);
+				}
+				writeInteger(setter, offset, unscaledValue);
+				break;
+			case Setter.FLOAT:
+				writeInt(offset, Float.floatToIntBits((float)value));
+				break;
+			case Setter.DOUBLE:
+				writeLong(offset, Double.doubleToLongBits(value));
+				break;
+			default:
+				throw setter.unsupported("kein Zahl-Attribut");
+		}
+		return this;
+	}
+
+	/**
+	 * Setzt den Wert eines Zeitattributs.
+	 *
+	 * @param setter Vorbersetztes Attribut
+	 * @param millis Zeitwert in Millisekunden, bei sekundengenauen Attributen wird auf ganze Sekunden abgeschnitten.
+	 *
+	 * @return Dieser Writer
+	 *
+	 * @see Data.TimeValue#setMillis(long)
+	 */
+	public ByteArrayDataWriter setMillis(final Setter setter, final long millis) {
+		final int offset = getOffset(setter._attributePath);
+		switch(setter._kind) {
+			case Setter.ABSOLUTE_MILLIS:
+				if(millis < 0) throw new IllegalArgumentException("Negative Zeitangaben sind bei absoluten Zeitstempeln nicht erlaubt");
+				writeLong(offset, millis);
+				break;
+			case Setter.ABSOLUTE_SECONDS:
+				if(millis < 0) throw new IllegalArgumentException("Negative Zeitangaben sind bei absoluten Zeitstempeln nicht erlaubt");
+				if(millis / 1000 > 0xffffffffL) {
+					throw new IllegalArgumentException(
+							"Zeitangabe liegt nach dem grten darstellbaren Wert von absoluten sekundengenauen Zeitstempeln (07.02.2106 07:28:15)"
+					);
+				}
+				writeInt(offset, (int)(millis / 1000));
+				break;
+			case Setter.RELATIVE_MILLIS:
+				writeLong(offset, millis);
+				break;
+			case Setter.RELATIVE_SECONDS:
+				final long seconds = millis / 1000;
+				if(seconds > Integer.MAX_VALUE || seconds < Integer.MIN_VALUE) {
+					throw new IllegalArgumentException("Zeitangabe ist nicht in einem relativen sekundengenauen Zeitstempel darstellbar");
+				}
+				writeInt(offset, (int)seconds);
+				break;
+			default:
+				throw setter.unsupported("kein Zeitattribut");
+		}
+		return this;
+	}
+
+	/**
+	 * Setzt die Objekt-ID eines Referenzattributs.
+	 *
+	 * @param setter Vorbersetztes Attribut
+	 * @param id     Objekt-ID oder <code>0</code>, wenn kein Objekt referenziert werden soll.
+	 *
+	 * @return Dieser Writer
+	 */
+	public ByteArrayDataWriter setId(final Setter setter, final long id) {
+		if(setter._kind != Setter.REFERENCE) throw setter.unsupported("kein Referenzattribut");
+		writeLong(getOffset(setter._attributePath), id);
+		return this;
+	}
+
+	/**
+	 * Setzt das von einem Referenzattribut referenzierte Objekt.
+	 *
+	 * @param setter Vorbersetztes Attribut
+	 * @param object Referenziertes Objekt oder <code>null</code>, wenn kein Objekt referenziert werden soll.
+	 *
+	 * @return Dieser Writer
+	 *
+	 * @see Data.ReferenceValue#setSystemObject(SystemObject)
+	 */
+	public ByteArrayDataWriter setSystemObject(final Setter setter, final SystemObject object) {
+		return setId(setter, object == null ? 0 : object.getId());
+	}
+
+	/**
+	 * Setzt den Wert eines Zeichenkettenattributs.
+	 *
+	 * @param setter Vorbersetztes Attribut
+	 * @param text   Zeichenkette
+	 *
+	 * @return Dieser Writer
+	 *
+	 * @see Data.TextValue#setText(String)
+	 */
+	public ByteArrayDataWriter setText(final Setter setter, final String text) {
+		if(setter._kind != Setter.STRING) throw setter.unsupported("kein Zeichenkettenattribut");
+		// Zeichenketten werden wie bei DataOutputStream.writeUTF mit einer vorangestellten 2 Byte Lngenangabe kodiert
+		final int textLength = text.length();
+		int utfLength = 0;
+		for(int i = 0; i < textLength; i++) {
+			final char c = text.charAt(i);
+			if(c >= 0x0001 && c <= 0x007f) {
+				utfLength++;
+			}
+			else if(c <= 0x07ff) {
+				utfLength += 2;
+			}
+			else {
+				utfLength += 3;
+			}
+		}
+		if(utfLength > 0xffff) throw new IllegalArgumentException("Zeichenkette ist zu lang: " + utfLength + " Bytes");
+		final int offset = getOffset(setter._attributePath);
+		final int oldSize = setter._attributePath.getInfo().getSize(_bytes, offset);
+		resize(offset, oldSize, 2 + utfLength);
+		final byte[] bytes = _bytes;
+		bytes[offset] = (byte)(utfLength >>> 8);
+		bytes[offset + 1] = (byte)utfLength;
+		int position = offset + 2;
+		for(int i = 0; i < textLength; i++) {
+			final char c = text.charAt(i);
+			if(c >= 0x0001 && c <= 0x007f) {
+				bytes[position++] = (byte)c;
+			}
+			else if(c <= 0x07ff) {
+				bytes[position++] = (byte)(0xc0 | ((c >> 6) & 0x1f));
+				bytes[position++] = (byte)(0x80 | (c & 0x3f));
+			}
+			else {
+				bytes[position++] = (byte)(0xe0 | ((c >> 12) & 0x0f));
+				bytes[position++] = (byte)(0x80 | ((c >> 6) & 0x3f));
+				bytes[position++] = (byte)(0x80 | (c & 0x3f));
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Setzt die Gre eines Arrays. Neue Elemente erhalten die Default-Werte bzw. undefinierten Werte ihres Attributtyps, berzhlige Elemente werden entfernt.
+	 *
+	 * @param arrayLength Vorbersetztes Array
+	 * @param length      Neue Anzahl der Elemente
+	 *
+	 * @return Dieser Writer
+	 *
+	 * @throws IllegalArgumentException Wenn die Gre bei diesem Array nicht erlaubt ist.
+	 * @see Data.Array#setLength(int)
+	 */
+	public ByteArrayDataWriter setLength(final ArrayLength arrayLength, final int length) {
+		final AttributeInfo info = arrayLength._attributePath.getInfo();
+		if(length < 0 || (!info.isCountVariable() && length != info.getMaxCount()) || (info.isCountLimited() && length > info.getMaxCount())) {
+			throw new IllegalArgumentException("Arraygre " + length + " ist beim Attribut " + info.getName() + " nicht erlaubt");
+		}
+		final int offset = getOffset(arrayLength._attributePath);
+		final int oldLength = info.getElementCount(_bytes, offset);
+		if(length == oldLength) return this;
+		final int keptEnd = getEndOfElements(info, offset, Math.min(length, oldLength));
+		final int oldEnd = offset + info.getSize(_bytes, offset);
+		final byte[] elementBytes = arrayLength._elementBytes;
+		final int addedSize = length > oldLength ? (length - oldLength) * elementBytes.length : 0;
+		resize(keptEnd, oldEnd - keptEnd, addedSize);
+		for(int position = keptEnd; position < keptEnd + addedSize; position += elementBytes.length) {
+			System.arraycopy(elementBytes, 0, _bytes, position, elementBytes.length);
+		}
+		writeInt(offset, length);
+		return this;
+	}
+
+	/**
+	 * Erzeugt einen unvernderbaren Datensatz mit den bisher gesetzten Werten. Der Datensatz ist unabhngig von spteren nderungen an diesem Writer.
+	 *
+	 * @return Datensatz
+	 */
+	public Data createData() {
+		return ByteArrayData.create(Arrays.copyOf(_bytes, _size), _attributeGroupInfo);
+	}
+
+	/** Setzt alle Werte auf die Werte des Vorlage-Datensatzes zurck. */
+	public void reset() {
+		if(_bytes.length < _templateBytes.length) _bytes = new byte[_templateBytes.length];
+		System.arraycopy(_templateBytes, 0, _bytes, 0, _templateBytes.length);
+		_size = _templateBytes.length;
+	}
+
+	private int getOffset(final AttributePath attributePath) {
+		if(attributePath.getAttributeGroupInfo() != _attributeGroupInfo) {
+			throw new IllegalArgumentException("Das Attribut " + attributePath.getPath() + " gehrt nicht zur Attributgruppe " + _attributeGroupInfo.getName());
+		}
+		return attributePath.getOffset(_bytes, 0);
+	}
+
+	private int getEndOfElements(final AttributeInfo arrayInfo, final int offset, final int numberOfElements) {
+		if(numberOfElements == 0) return offset + 4;
+		final int lastElementOffset = arrayInfo.getAbsoluteElementOffset(_bytes, offset, numberOfElements - 1);
+		return lastElementOffset + arrayInfo.getElementInfo().getSize(_bytes, lastElementOffset);
+	}
+
+	/**
+	 * Ersetzt einen Bereich des Datensatzes durch einen Bereich anderer Gre. Die nachfolgenden Bytes werden entsprechend verschoben, der Inhalt des neuen
+	 * Bereichs ist anschlieend undefiniert.
+	 *
+	 * @param offset  Anfang des Bereichs
+	 * @param oldSize Bisherige Gre des Bereichs
+	 * @param newSize Neue Gre des Bereichs
+	 */
+	private void resize(final int offset, final int oldSize, final int newSize) {
+		if(oldSize == newSize) return;
+		final int newTotalSize = _size - oldSize + newSize;
+		if(newTotalSize > _bytes.length) {
+			_bytes = Arrays.copyOf(_bytes, Math.max(newTotalSize, _bytes.length * 2));
+		}
+		System.arraycopy(_bytes, offset + oldSize, _bytes, offset + newSize, _size - offset - oldSize);
+		_size = newTotalSize;
+	}
+
+	private void writeInteger(final Setter setter, final int offset, final long value) {
+		switch(setter._size) {
+			case 1:
+				if(value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) throw new IllegalArgumentException("Wert " + value + " nicht in einem Byte darstellbar");
+				_bytes[offset] = (byte)value;
+				break;
+			case 2:
+				if(value < Short.MIN_VALUE || value > Short.MAX_VALUE) throw new IllegalArgumentException("Wert " + value + " nicht in einem Short darstellbar");
+				_bytes[offset] = (byte)(value >>> 8);
+				_bytes[offset + 1] = (byte)value;
+				break;
+			case 4:
+				if(value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+					throw new IllegalArgumentException("Wert " + value + " nicht in einem Integer darstellbar");
+				}
+				writeInt(offset, (int)value);
+				break;
+			default:
+				writeLong(offset, value);
+		}
+	}
+
+	private void writeInt(final int offset, final int value) {
+		final byte[] bytes = _bytes;
+		bytes[offset] = (byte)(value >>> 24);
+		bytes[offset + 1] = (byte)(value >>> 16);
+		bytes[offset + 2] = (byte)(value >>> 8);
+		bytes[offset + 3] = (byte)value;
+	}
+
+	private void writeLong(final int offset, final long value) {
+		writeInt(offset, (int)(value >>> 32));
+		writeInt(offset + 4, (int)value);
+	}
+
+	public String toString() {
+		return "ByteArrayDataWriter{" + _attributeGroupInfo.getName() + ", " + _size + " Bytes}";
+	}
+
+	/** Vorbersetztes einfaches Attribut, dessen Wert mit einem {@link ByteArrayDataWriter} gesetzt werden kann. */
+	public static final class Setter {
+
+		private static final int INTEGER = 0;
+
+		private static final int FLOAT = 1;
+
+		private static final int DOUBLE = 2;
+
+		private static final int ABSOLUTE_MILLIS = 3;
+
+		private static final int ABSOLUTE_SECONDS = 4;
+
+		private static final int RELATIVE_MILLIS = 5;
+
+		private static final int RELATIVE_SECONDS = 6;
+
+		private static final int REFERENCE = 7;
+
+		private static final int STRING = 8;
+
+		private final AttributePath _attributePath;
+
+		/** Art des Attributtyps, bestimmt die Kodierung des Werts. */
+		private final int _kind;
+
+		/** Gre des Werts in Bytes bei Attributen fester Gre. */
+		private final int _size;
+
+		/** Skalierungsfaktor bei Ganzzahlattributen oder <code>NaN</code>, wenn kein Wertebereich definiert ist. */
+		private final double _conversionFactor;
+
+		private Setter(final AttributePath attributePath) {
+			_attributePath = attributePath;
+			final AttributeInfo info = attributePath.getInfo();
+			if(info.isArray() || info.getDefinitionInfo().isList()) {
+				throw new IllegalArgumentException("Ungltiger Pfad " + attributePath.getPath() + ": Das Attribut " + info.getName() + " ist kein einfaches Attribut");
+			}
+			final AttributeDefinitionInfo definitionInfo = info.getDefinitionInfo();
+			_size = definitionInfo.isSizeFixed() ? definitionInfo.getFixedSize() : 0;
+			double conversionFactor = Double.NaN;
+			if(definitionInfo instanceof NumberDefinitionInfo) {
+				_kind = INTEGER;
+				try {
+					final IntegerValueRange range = ((IntegerAttributeType)definitionInfo.getAttributeType()).getRange();
+					if(range != null) conversionFactor = range.getConversionFactor();
+				}
+				catch(ConfigurationException e) {
+					throw new RuntimeException(e);
+				}
+			}
+			else if(definitionInfo instanceof FloatDefinitionInfo) {
+				_kind = FLOAT;
+			}
+			else if(definitionInfo instanceof DoubleDefinitionInfo) {
+				_kind = DOUBLE;
+			}
+			else if(definitionInfo instanceof AbsoluteMillisecondsDefinitionInfo) {
+				_kind = ABSOLUTE_MILLIS;
+			}
+			else if(definitionInfo instanceof AbsoluteSecondsDefinitionInfo) {
+				_kind = ABSOLUTE_SECONDS;
+			}
+			else if(definitionInfo instanceof RelativeMillisecondsDefinitionInfo) {
+				_kind = RELATIVE_MILLIS;
+			}
+			else if(definitionInfo instanceof RelativeSecondsDefinitionInfo) {
+				_kind = RELATIVE_SECONDS;
+			}
+			else if(definitionInfo instanceof ReferenceDefinitionInfo) {
+				_kind = REFERENCE;
+			}
+			else if(definitionInfo instanceof StringDefinitionInfo) {
+				_kind = STRING;
+			}
+			else {
+				throw new IllegalArgumentException("Attributtyp des Attributs " + attributePath.getPath() + " wird nicht untersttzt: " + definitionInfo);
+			}
+			_conversionFactor = conversionFactor;
+		}
+
+		/**
+		 * Liefert den Pfad zum Attribut.
+		 *
+		 * @return Pfad, wie er beim bersetzen angegeben wurde.
+		 */
+		public String getPath() {
+			return _attributePath.getPath();
+		}
+
+		private UnsupportedOperationException unsupported(final String reason) {
+			return new UnsupportedOperationException("Das Attribut " + _attributePath.getPath() + " ist " + reason);
+		}
+
+		public String toString() {
+			return "Setter{" + _attributePath + "}";
+		}
+	}
+
+	/** Vorbersetztes Array, dessen Gre mit einem {@link ByteArrayDataWriter} gesetzt werden kann. */
+	public static final class ArrayLength {
+
+		private final AttributePath _attributePath;
+
+		/** Byte-Darstellung eines Array-Elements mit Default-Werten bzw. undefinierten Werten. */
+		private final byte[] _elementBytes;
+
+		private ArrayLength(final AttributeGroup attributeGroup, final AttributePath attributePath) {
+			_attributePath = attributePath;
+			final AttributeInfo info = attributePath.getInfo();
+			if(!info.isArray()) throw new IllegalArgumentException("Ungltiger Pfad " + attributePath.getPath() + ": Das Attribut " + info.getName() + " ist kein Array");
+
+			// Ein neues Array-Element wird wie bei Data.Array.setLength mit Default-Werten initialisiert. Dessen Byte-Darstellung wird einmalig ber einen
+			// Datensatz mit einem Element bestimmt.
+			final Data data = AttributeBaseValueDataFactory.createAdapter(attributeGroup, AttributeHelper.getAttributesValues(attributeGroup));
+			data.setToDefault();
+			final Data.Array array = attributePath.resolveArrayForWriting(data);
+			if(array.getLength() == 0 && info.isCountVariable() && (!info.isCountLimited() || info.getMaxCount() > 0)) array.setLength(1);
+			if(array.getLength() == 0) {
+				_elementBytes = new byte[0];
+			}
+			else {
+				final ByteArrayData byteArrayData = (ByteArrayData)data.createUnmodifiableCopy();
+				final byte[] bytes = byteArrayData.getBytes();
+				final int offset = attributePath.getOffset(bytes, 0);
+				final int elementOffset = info.getAbsoluteElementOffset(bytes, offset, 0);
+				_elementBytes = Arrays.copyOfRange(bytes, elementOffset, elementOffset + info.getElementInfo().getSize(bytes, elementOffset));
+			}
+		}
+
+		/**
+		 * Liefert den Pfad zum Array.
+		 *
+		 * @return Pfad, wie er beim bersetzen angegeben wurde.
+		 */
+		public String getPath() {
+			return _attributePath.getPath();
+		}
+
+		public String toString() {
+			return "ArrayLength{" + _attributePath + "}";
+		}
+	}
+}
@@ -42,49 +42,48 @@ import java.util.*;
  * @version $Revision: 5084 $ / $Date: 2007-09-03 10:42:50 +0200 (Mon, 03 Sep 2007) $ / ($Author: rs $)
  */
 public abstract class AbstractAttributeDefinitionInfo implements AttributeDefinitionInfo {
-	private static final Map<AttributeSet, AttributeDefinitionInfo> _AttributSet2InfoMap = new IdentityHashMap<AttributeSet, AttributeDefinitionInfo>();
-	private static final Map<AttributeType, AttributeDefinitionInfo> _AttributType2DefinitionInfoMap = new IdentityHashMap<AttributeType, AttributeDefinitionInfo>();
-
-	public static void forgetDataModel(DataModel dataModel) {
-		synchronized(_AttributSet2InfoMap) {
-			List<AttributeSet> attributeSets = new ArrayList<AttributeSet>(_AttributSet2InfoMap.keySet());
-			for(AttributeSet attributeSet : attributeSets) {
-				if(attributeSet.getDataModel() == dataModel) {
-					_AttributSet2InfoMap.remove(attributeSet);
-				}
-			}
+	private static final InfoRegistry<AttributeSet, AttributeDefinitionInfo> _AttributSet2InfoMap = new InfoRegistry<AttributeSet, AttributeDefinitionInfo>() {
+		@Override
+		protected AttributeDefinitionInfo create(final AttributeSet attributeSet) {
+			return new AttributeSetDefinitionInfo(attributeSet);
 		}
-		synchronized(_AttributType2DefinitionInfoMap) {
-			List<AttributeType> attributeTypes = new ArrayList<AttributeType>(_AttributType2DefinitionInfoMap.keySet());
-			for(AttributeType attributeType : attributeTypes) {
-				if(attributeType.getDataModel() == dataModel) {
-					_AttributType2DefinitionInfoMap.remove(attributeType);
-				}
-			}
+	};
+	private static final InfoRegistry<AttributeType, AttributeDefinitionInfo> _AttributType2DefinitionInfoMap = new InfoRegistry<AttributeType, AttributeDefinitionInfo>() {
+		@Override
+		protected AttributeDefinitionInfo create(final AttributeType attributeType) {
+			return createDefinition(attributeType);
 		}
+	};
+
+	public static void forgetDataModel(DataModel dataModel) {
+		_AttributSet2InfoMap.forgetDataModel(dataModel);
+		_AttributType2DefinitionInfoMap.forgetDataModel(dataModel);
 	}
 
 	public static AttributeDefinitionInfo forAttributSet(final AttributeSet attributeSet) {
-		synchronized(_AttributSet2InfoMap) {
-			AttributeDefinitionInfo definitionInfo = _AttributSet2InfoMap.get(attributeSet);
-			if(definitionInfo == null) {
-				definitionInfo = new AttributeSetDefinitionInfo(attributeSet);
-				_AttributSet2InfoMap.put(attributeSet, definitionInfo);
-			}
-			return definitionInfo;
-		}
+		return _AttributSet2InfoMap.get(attributeSet);
 	}
 
 	public static AttributeDefinitionInfo forAttributeType(AttributeType attributeType) {
-		synchronized(_AttributType2DefinitionInfoMap) {
-			AttributeDefinitionInfo definitionInfo;
-			definitionInfo = _AttributType2DefinitionInfoMap.get(attributeType);
-			if(definitionInfo == null) {
-				definitionInfo = createDefinition(attributeType);
-				_AttributType2DefinitionInfoMap.put(attributeType, definitionInfo);
-			}
-			return definitionInfo;
-		}
+		return _AttributType2DefinitionInfoMap.get(attributeType);
+	}
+
+	/**
+	 * Erzeugt eine Momentaufnahme der Zhler des Zwischenspeichers fr die Strukturinformationen von Attributlisten.
+	 *
+	 * @return Momentaufnahme der Zhler
+	 */
+	public static AttributeInfoStatistics getAttributeSetStatistics() {
+		return _AttributSet2InfoMap.getStatistics();
+	}
+
+	/**
+	 * Erzeugt eine Momentaufnahme der Zhler des Zwischenspeichers fr die Strukturinformationen von Attributtypen.
+	 *
+	 * @return Momentaufnahme der Zhler
+	 */
+	public static AttributeInfoStatistics getAttributeTypeStatistics() {
+		return _AttributType2DefinitionInfoMap.getStatistics();
 	}
 
 	private static AttributeDefinitionInfo createDefinition(AttributeType attributeType) {
@@ -24,8 +24,6 @@ import de.bsvrz.dav.daf.main.config.AttributeGroup;
 import de.bsvrz.dav.daf.main.config.DataModel;
 import de.bsvrz.dav.daf.main.Data;
 
-import java.util.*;
-
 import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.AttributeInfo;
 import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.AttributeDefinitionInfo;
 
@@ -37,7 +35,12 @@ import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.AttributeDefi
  */
 public class AttributeGroupInfo implements AttributeInfo {
 
-	private static final Map<AttributeGroup, AttributeInfo> _Atg2AttributeInfo = new IdentityHashMap<AttributeGroup, AttributeInfo>();
+	private static final InfoRegistry<AttributeGroup, AttributeInfo> _Atg2AttributeInfo = new InfoRegistry<AttributeGroup, AttributeInfo>() {
+		@Override
+		protected AttributeInfo create(final AttributeGroup atg) {
+			return new AttributeGroupInfo(atg);
+		}
+	};
 
 	private final AttributeGroup _atg;
 	private final AttributeDefinitionInfo _definitionInfo;
@@ -49,25 +52,20 @@ public class AttributeGroupInfo implements AttributeInfo {
 	}
 
 	public static AttributeInfo forAttributeGroup(final AttributeGroup atg) {
-		synchronized(_Atg2AttributeInfo) {
-			AttributeInfo info = _Atg2AttributeInfo.get(atg);
-			if(info == null) {
-				info = new AttributeGroupInfo(atg);
-				_Atg2AttributeInfo.put(atg,info);
-			}
-			return info;
-		}
+		return _Atg2AttributeInfo.get(atg);
 	}
 
 	public static void forgetDataModel(DataModel dataModel) {
-		synchronized(_Atg2AttributeInfo) {
-			List<AttributeGroup> atgs = new ArrayList<AttributeGroup>(_Atg2AttributeInfo.keySet());
-			for(AttributeGroup attributeGroup : atgs) {
-				if(attributeGroup.getDataModel() == dataModel) {
-					_Atg2AttributeInfo.remove(attributeGroup);
-				}
-			}
-		}
+		_Atg2AttributeInfo.forgetDataModel(dataModel);
+	}
+
+	/**
+	 * Erzeugt eine Momentaufnahme der Zhler des Zwischenspeichers fr die Strukturinformationen von Attributgruppen.
+	 *
+	 * @return Momentaufnahme der Zhler
+	 */
+	public static AttributeInfoStatistics getStatistics() {
+		return _Atg2AttributeInfo.getStatistics();
 	}
 
 	public String getName() {
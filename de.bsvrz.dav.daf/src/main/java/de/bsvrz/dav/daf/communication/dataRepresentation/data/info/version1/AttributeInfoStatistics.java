@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1;
+
+/**
+ * Momentaufnahme der Zhler eines Zwischenspeichers fr Strukturinformationen von Attributgruppen, Attributlisten oder Attributtypen.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ * @see AttributeGroupInfo#getStatistics()
+ * @see AbstractAttributeDefinitionInfo#getAttributeSetStatistics()
+ * @see AbstractAttributeDefinitionInfo#getAttributeTypeStatistics()
+ */
+public final class AttributeInfoStatistics {
+
+	private final long _hits;
+
+	private final long _builds;
+
+	private final long _buildTime;
+
+	private final int _size;
+
+	private final int _dataModelCount;
+
+	AttributeInfoStatistics(final long hits, final long builds, final long buildTime, final int size, final int dataModelCount) {
+		_hits = hits;
+		_builds = builds;
+		_buildTime = buildTime;
+		_size = size;
+		_dataModelCount = dataModelCount;
+	}
+
+	/**
+	 * Liefert die Anzahl der Zugriffe, bei denen die Strukturinformation bereits im Zwischenspeicher vorhanden war.
+	 *
+	 * @return Anzahl Treffer
+	 */
+	public long getHits() {
+		return _hits;
+	}
+
+	/**
+	 * Liefert die Anzahl der Zugriffe, bei denen die Strukturinformation erzeugt werden musste.
+	 *
+	 * @return Anzahl erzeugter Strukturinformationen
+	 */
+	public long getBuilds() {
+		return _builds;
+	}
+
+	/**
+	 * Liefert die Summe der Zeiten, die zur Erzeugung der Strukturinformationen bentigt wurden. Darin enthalten ist auch die Zeit fr die Erzeugung von
+	 * untergeordneten Strukturinformationen und fr dabei erforderliche Konfigurationsanfragen.
+	 *
+	 * @return Zeit in Nanosekunden
+	 */
+	public long getBuildTime() {
+		return _buildTime;
+	}
+
+	/**
+	 * Liefert die Anzahl der aktuell gespeicherten Strukturinformationen.
+	 *
+	 * @return Anzahl Eintrge
+	 */
+	public int getSize() {
+		return _size;
+	}
+
+	/**
+	 * Liefert die Anzahl der Datenmodelle, fr die aktuell Strukturinformationen gespeichert sind.
+	 *
+	 * @return Anzahl Datenmodelle
+	 */
+	public int getDataModelCount() {
+		return _dataModelCount;
+	}
+
+	/**
+	 * Bestimmt den Anteil der Treffer an allen Zugriffen.
+	 *
+	 * @return Trefferquote zwischen 0 und 1 oder <code>0</code>, wenn noch keine Zugriffe erfolgt sind.
+	 */
+	public double getHitRatio() {
+		final long total = _hits + _builds;
+		return total == 0 ? 0 : (double)_hits / total;
+	}
+
+	@Override
+	public String toString() {
+		return "AttributeInfoStatistics{" + "Treffer=" + _hits + ", erzeugt=" + _builds + ", Erzeugungszeit=" + (_buildTime / 1000000) + "ms" + ", Eintrge=" + _size
+		       + ", Datenmodelle=" + _dataModelCount + '}';
+	}
+}
@@ -58,6 +58,14 @@ public final class ConcreteDataFactory extends DataFactory {
 		AbstractAttributeDefinitionInfo.forgetDataModel(dataModel);
 	}
 
+	/**
+	 * Erzeugt vorab die zum Zugriff auf Datenstze einer Attributgruppe bentigten Datenstrukturen, falls diese noch nicht zwischengespeichert sind.
+	 * @param atg Attributgruppe
+	 */
+	public static void prepare(AttributeGroup atg) {
+		AttributeGroupInfo.forAttributeGroup(atg);
+	}
+
 	/**
 	 * Liefert die einzige Objekt dieser Klasse zurck.
 	 * @return Einziges Objekt dieser Klasse.
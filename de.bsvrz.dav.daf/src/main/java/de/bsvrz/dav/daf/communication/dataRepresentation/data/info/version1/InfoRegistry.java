@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1;
+
+import de.bsvrz.dav.daf.main.config.DataModel;
+import de.bsvrz.dav.daf.main.config.SystemObject;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Zwischenspeicher fr die aus Konfigurationsobjekten erzeugten Strukturinformationen. Die Eintrge werden je {@link DataModel} getrennt verwaltet, so dass die
+ * Eintrge eines nicht mehr bentigten Datenmodells mit {@link #forgetDataModel(DataModel)} in konstanter Zeit freigegeben werden knnen.
+ * <p/>
+ * Lesende Zugriffe erfolgen ohne Sperre. Fehlende Eintrge werden auerhalb jeder Sperre erzeugt und danach mit <code>putIfAbsent</code> eingetragen. Wenn
+ * mehrere Threads gleichzeitig denselben Eintrag erzeugen, dann wird von allen Threads der zuerst eingetragene Eintrag verwendet. Da bei der Erzeugung eines
+ * Eintrags rekursiv weitere Eintrge desselben oder eines anderen Zwischenspeichers erzeugt werden, wird hier bewusst nicht
+ * <code>computeIfAbsent</code> verwendet.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+abstract class InfoRegistry<K extends SystemObject, V> {
+
+	/** Schlssel fr Konfigurationsobjekte, die keinem Datenmodell zugeordnet sind. */
+	private static final Object NO_DATA_MODEL = new Object();
+
+	/** Eintrge je Datenmodell. */
+	private final ConcurrentHashMap<Object, ConcurrentHashMap<K, V>> _dataModel2Infos = new ConcurrentHashMap<Object, ConcurrentHashMap<K, V>>();
+
+	private final LongAdder _hits = new LongAdder();
+
+	private final LongAdder _builds = new LongAdder();
+
+	/** Summe der Zeiten in Nanosekunden, die zur Erzeugung der Eintrge bentigt wurden. */
+	private final LongAdder _buildTime = new LongAdder();
+
+	/**
+	 * Erzeugt die Strukturinformation zu einem Konfigurationsobjekt.
+	 *
+	 * @param key Konfigurationsobjekt
+	 *
+	 * @return Strukturinformation
+	 */
+	protected abstract V create(K key);
+
+	/**
+	 * Liefert die Strukturinformation zu einem Konfigurationsobjekt. Wenn noch keine Strukturinformation vorliegt, wird sie erzeugt und gespeichert.
+	 *
+	 * @param key Konfigurationsobjekt
+	 *
+	 * @return Strukturinformation
+	 */
+	final V get(final K key) {
+		final ConcurrentHashMap<K, V> infos = getInfos(key.getDataModel());
+		V info = infos.get(key);
+		if(info != null) {
+			_hits.increment();
+			return info;
+		}
+		final long start = System.nanoTime();
+		info = create(key);
+		_buildTime.add(System.nanoTime() - start);
+		_builds.increment();
+		final V previous = infos.putIfAbsent(key, info);
+		return previous == null ? info : previous;
+	}
+
+	private ConcurrentHashMap<K, V> getInfos(final DataModel dataModel) {
+		final Object dataModelKey = dataModel == null ? NO_DATA_MODEL : dataModel;
+		ConcurrentHashMap<K, V> infos = _dataModel2Infos.get(dataModelKey);
+		if(infos == null) {
+			infos = new ConcurrentHashMap<K, V>();
+			final ConcurrentHashMap<K, V> previous = _dataModel2Infos.putIfAbsent(dataModelKey, infos);
+			if(previous != null) infos = previous;
+		}
+		return infos;
+	}
+
+	/**
+	 * Entfernt alle Eintrge eines Datenmodells.
+	 *
+	 * @param dataModel Datenmodell
+	 */
+	final void forgetDataModel(final DataModel dataModel) {
+		_dataModel2Infos.remove(dataModel == null ? NO_DATA_MODEL : dataModel);
+	}
+
+	/**
+	 * Erzeugt eine Momentaufnahme der Zhler dieses Zwischenspeichers.
+	 *
+	 * @return Momentaufnahme der Zhler
+	 */
+	final AttributeInfoStatistics getStatistics() {
+		int size = 0;
+		for(ConcurrentHashMap<K, V> infos : _dataModel2Infos.values()) {
+			size += infos.size();
+		}
+		return new AttributeInfoStatistics(_hits.sum(), _builds.sum(), _buildTime.sum(), size, _dataModel2Infos.size());
+	}
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.lowLevel;
+
+import de.bsvrz.sys.funclib.debug.Debug;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gemeinsamer Timer, ber den die KeepAlive-Prfungen vieler {@link LowLevelCommunication}-Objekte von einem einzigen Thread ausgefhrt werden, anstatt je
+ * Verbindung einen eigenen KeepAlive-Thread zu starten.
+ * <p/>
+ * Die Termine werden in einem Zeitrad mit {@value #WHEEL_SIZE} Fchern verwaltet, die im Abstand von {@value #TICK_DURATION} ms nacheinander abgearbeitet
+ * werden. Termine, die weiter als eine Umdrehung in der Zukunft liegen, werden mit der Anzahl der noch abzuwartenden Umdrehungen eingetragen. Eintragen,
+ * Verschieben und Entfernen von Terminen erfolgt dadurch unabhngig von der Anzahl der Verbindungen in konstanter Zeit. Ein Termin wird hchstens um die
+ * Dauer eines Fachs versptet ausgefhrt.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public final class KeepAliveTimer {
+
+	/** Der Debug-Logger. */
+	private static final Debug _debug = Debug.getLogger();
+
+	/** Zeitspanne in Millisekunden, die ein Fach des Zeitrads abdeckt. */
+	private static final long TICK_DURATION = 100;
+
+	/** Anzahl der Fcher des Zeitrads (muss eine Zweierpotenz sein). */
+	private static final int WHEEL_SIZE = 512;
+
+	/** Gemeinsam von allen Verbindungen genutzter Timer oder <code>null</code>, wenn er noch nicht bentigt wurde. */
+	private static KeepAliveTimer _defaultTimer = null;
+
+	/** Erster Eintrag je Fach des Zeitrads oder <code>null</code>, wenn das Fach leer ist. */
+	private final Entry[] _wheel = new Entry[WHEEL_SIZE];
+
+	/** Index des Fachs, das als nchstes abgearbeitet wird. */
+	private int _cursor = 0;
+
+	/** Zeitpunkt, zu dem das Fach <code>_cursor</code> abgearbeitet wird. */
+	private long _nextTickTime;
+
+	/** Anzahl der aktuell eingetragenen Termine. */
+	private int _numberOfEntries = 0;
+
+	/**
+	 * Liefert den gemeinsam genutzten Timer.
+	 *
+	 * @return Gemeinsam genutzter Timer
+	 */
+	public static synchronized KeepAliveTimer getDefault() {
+		if(_defaultTimer == null) {
+			_defaultTimer = new KeepAliveTimer("KeepAliveTimer");
+		}
+		return _defaultTimer;
+	}
+
+	/**
+	 * Erzeugt einen neuen Timer und startet dessen Thread.
+	 *
+	 * @param threadName Name des Threads, der die Termine abarbeitet.
+	 */
+	public KeepAliveTimer(final String threadName) {
+		_nextTickTime = System.currentTimeMillis() + TICK_DURATION;
+		final Thread thread = new Thread(
+				new Runnable() {
+					public void run() {
+						processEntries();
+					}
+				}, threadName
+		);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Trgt eine Aufgabe ein, die nach Ablauf der angegebenen Zeit ausgefhrt wird.
+	 *
+	 * @param task  Auszufhrende Aufgabe
+	 * @param delay Zeit in Millisekunden bis zur ersten Ausfhrung
+	 *
+	 * @return Eintrag, mit dem die Aufgabe spter verschoben oder entfernt werden kann.
+	 */
+	synchronized Entry schedule(final Task task, final long delay) {
+		final Entry entry = new Entry(task);
+		insert(entry, delay);
+		return entry;
+	}
+
+	/**
+	 * Verschiebt die nchste Ausfhrung einer Aufgabe. Wenn die Aufgabe gerade ausgefhrt wird, dann wird sie nach der Ausfhrung sofort erneut eingetragen.
+	 *
+	 * @param entry Eintrag der Aufgabe
+	 * @param delay Zeit in Millisekunden bis zur nchsten Ausfhrung
+	 */
+	synchronized void reschedule(final Entry entry, final long delay) {
+		if(entry._cancelled) return;
+		if(entry._running) {
+			entry._rerun = true;
+			return;
+		}
+		if(entry._slot >= 0) unlink(entry);
+		insert(entry, delay);
+	}
+
+	/**
+	 * Entfernt eine Aufgabe aus dem Timer. Eine gerade laufende Ausfhrung wird nicht unterbrochen, die Aufgabe wird danach aber nicht wieder eingetragen.
+	 *
+	 * @param entry Eintrag der Aufgabe
+	 */
+	synchronized void cancel(final Entry entry) {
+		entry._cancelled = true;
+		if(entry._slot >= 0) unlink(entry);
+	}
+
+	/**
+	 * Bestimmt die Anzahl der aktuell eingetragenen Termine.
+	 *
+	 * @return Anzahl Termine
+	 */
+	public synchronized int getNumberOfEntries() {
+		return _numberOfEntries;
+	}
+
+	private void insert(final Entry entry, final long delay) {
+		final long now = System.currentTimeMillis();
+		long ticks = (now + delay - _nextTickTime + TICK_DURATION - 1) / TICK_DURATION;
+		if(ticks < 0) ticks = 0;
+		final int slot = (int)((_cursor + ticks) & (WHEEL_SIZE - 1));
+		entry._rounds = ticks / WHEEL_SIZE;
+		entry._slot = slot;
+		entry._prev = null;
+		entry._next = _wheel[slot];
+		if(entry._next != null) entry._next._prev = entry;
+		_wheel[slot] = entry;
+		_numberOfEntries++;
+	}
+
+	private void unlink(final Entry entry) {
+		if(entry._prev != null) {
+			entry._prev._next = entry._next;
+		}
+		else {
+			_wheel[entry._slot] = entry._next;
+		}
+		if(entry._next != null) entry._next._prev = entry._prev;
+		entry._prev = null;
+		entry._next = null;
+		entry._slot = -1;
+		_numberOfEntries--;
+	}
+
+	/** Arbeitet die Fcher des Zeitrads nacheinander ab. Die flligen Aufgaben werden auerhalb der Sperre des Timers ausgefhrt. */
+	private void processEntries() {
+		_debug.fine("Thread " + Thread.currentThread().getName() + " startet");
+		final List<Entry> dueEntries = new ArrayList<Entry>();
+		try {
+			while(true) {
+				synchronized(this) {
+					long now = System.currentTimeMillis();
+					while(now < _nextTickTime) {
+						// Bei Zurckstellen der Systemuhr wird nicht entsprechend lange gewartet
+						if(_nextTickTime - now > TICK_DURATION) _nextTickTime = now + TICK_DURATION;
+						wait(_nextTickTime - now);
+						now = System.currentTimeMillis();
+					}
+					Entry entry = _wheel[_cursor];
+					while(entry != null) {
+						final Entry next = entry._next;
+						if(entry._rounds > 0) {
+							entry._rounds--;
+						}
+						else {
+							unlink(entry);
+							entry._running = true;
+							dueEntries.add(entry);
+						}
+						entry = next;
+					}
+					_cursor = (_cursor + 1) & (WHEEL_SIZE - 1);
+					_nextTickTime += TICK_DURATION;
+				}
+				for(Entry entry : dueEntries) {
+					long delay;
+					try {
+						delay = entry._task.run();
+					}
+					catch(RuntimeException e) {
+						_debug.error("Unerwarteter Fehler bei der Ausfhrung einer KeepAlive-Prfung", e);
+						delay = -1;
+					}
+					synchronized(this) {
+						entry._running = false;
+						if(delay < 0) entry._cancelled = true;
+						if(entry._cancelled) continue;
+						if(entry._rerun) {
+							entry._rerun = false;
+							delay = 0;
+						}
+						insert(entry, delay);
+					}
+				}
+				dueEntries.clear();
+			}
+		}
+		catch(InterruptedException e) {
+			_debug.warning("Thread " + Thread.currentThread().getName() + " wurde unterbrochen");
+		}
+	}
+
+	/** Schnittstelle fr Aufgaben, die vom Timer ausgefhrt werden. */
+	interface Task {
+
+		/**
+		 * Fhrt die Aufgabe aus.
+		 *
+		 * @return Zeit in Millisekunden bis zur nchsten Ausfhrung oder ein negativer Wert, wenn die Aufgabe nicht mehr ausgefhrt werden soll.
+		 */
+		long run();
+	}
+
+	/** Eintrag einer Aufgabe im Zeitrad. Zugriffe erfolgen nur unter der Sperre des Timers. */
+	static final class Entry {
+
+		private final Task _task;
+
+		/** Fach, in dem der Eintrag gespeichert ist, oder <code>-1</code>, wenn er aktuell nicht im Zeitrad gespeichert ist. */
+		private int _slot = -1;
+
+		/** Anzahl der Umdrehungen des Zeitrads, die noch abgewartet werden mssen. */
+		private long _rounds;
+
+		private Entry _prev;
+
+		private Entry _next;
+
+		/** <code>true</code>, whrend die Aufgabe ausgefhrt wird. */
+		private boolean _running = false;
+
+		/** <code>true</code>, wenn die Aufgabe nach der laufenden Ausfhrung sofort erneut ausgefhrt werden soll. */
+		private boolean _rerun = false;
+
+		private boolean _cancelled = false;
+
+		private Entry(final Task task) {
+			_task = task;
+		}
+	}
+}
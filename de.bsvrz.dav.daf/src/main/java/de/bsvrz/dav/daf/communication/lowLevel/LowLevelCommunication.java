@@ -36,12 +36,18 @@ import de.bsvrz.sys.funclib.hexdump.HexDumper;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Klasse zur Verwaltung der unteren Ebene von Datenverteilerverbindungen.
@@ -63,7 +69,7 @@ import java.io.OutputStream;
  * Telegramms ein normales Telegramm empfangen/gesendet, so wird der KeepAlive-Telegrammzhler wieder auf 0 gesetzt. Anmerkung: Das KeepAlive Paket wird nicht
  * ber den SendingChannel-Thread verschickt, sondern direkt ber den Outputstream.)
  * <p/>
- * Alle vollstndigen Telegramme werden in zwei TelegramQueue-Objekten gespeichert (eine fr den Empfang, eine fr den Versand). Die oben beschriebenen Threads (ausser
+ * Alle vollstndigen Telegramme werden in zwei Queues (siehe {@link TelegramQueueType}) gespeichert (eine fr den Empfang, eine fr den Versand). Die oben beschriebenen Threads (ausser
  * der KeepAlive-Thread) arbeiten und synchronisieren sich auf den jeweiligen "PriorityTables".
  * <p/>
  * <p/>
@@ -95,6 +101,9 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 	/** Der Outputstream dieser Verbindung */
 	private DataOutputStream _outStream;
 
+	/** Sperre fr Schreibzugriffe auf den Outputstream */
+	private final ReentrantLock _outStreamLock = new ReentrantLock();
+
 	/** Der Empfangsthread dieser Kommunikation */
 	private ReceivingChannel _receivingChannel;
 
@@ -105,10 +114,10 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 	private WorkerThread _updater;
 
 	/** Queue, in der zu versendende Telegramme zwischengespeichert werden. */
-	private TelegramQueue<DataTelegram> _sendQueue;
+	private TelegramQueueInterface<DataTelegram> _sendQueue;
 
 	/** Queue, in der empfangene Telegramme zwischengespeichert werden. */
-	private TelegramQueue<DataTelegram> _receiveQueue;
+	private TelegramQueueInterface<DataTelegram> _receiveQueue;
 
 	/** Der Komponente die benachrichtigt werden soll, wenn eine neues Telegramm ankommt. */
 	private HighLevelCommunicationCallbackInterface _highLevelComponent;
@@ -116,6 +125,15 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 	/** Der KeepAlivethread */
 	private KeepAliveThread _keepAliveThread;
 
+	/**
+	 * Gemeinsamer Timer, ber den die KeepAlive-Prfungen dieser Verbindung ausgefhrt werden, oder <code>null</code>, wenn dafr ein eigener Thread gestartet
+	 * wird.
+	 */
+	private KeepAliveTimer _keepAliveTimer = null;
+
+	/** <code>true</code>, wenn die Threads dieser Verbindung als virtuelle Threads gestartet werden sollen. */
+	private boolean _useVirtualThreads = false;
+
 	/** Die Zeit nach der sptestens ein KeepAlive-Telegramm gesendet werden muss, wenn in dieser Zeit kein sonstiges Telegramm gesendet wurde. */
 	private long _keepAliveSendTimeOut;
 
@@ -151,6 +169,15 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 
 	private String _remoteAddress = "[-:-]";
 
+	/**
+	 * Maximale Anzahl Bytes, die im gebndelten Sendemodus vor dem Versand aus der Sende-Queue gesammelt werden. Der Wert <code>0</code> deaktiviert die
+	 * Bndelung, dann wird jedes Telegramm einzeln versendet.
+	 */
+	private volatile int _sendBatchMaxBytes = 0;
+
+	/** Maximale Zeit in Millisekunden, die im gebndelten Sendemodus mit dem Sammeln von Telegrammen fr einen gemeinsamen Versand verbracht wird. */
+	private volatile long _sendBatchMaxDelay = 0;
+
 	/**
 	 * @param connection              Verbindungsobjekt ber dass die Kommunikation mit dem Kommunikationspartner realisiert wird.
 	 * @param sendBufferSize          Sendetabellenkapazitt (in Byte)
@@ -173,6 +200,31 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 			long keepAliveReceiveTimeOut,
 			byte mode,
 			boolean connected) throws ConnectionException {
+		this(connection, sendBufferSize, receiveBufferSize, keepAliveSendTimeOut, keepAliveReceiveTimeOut, mode, connected, TelegramQueueType.STANDARD);
+	}
+
+	/**
+	 * @param connection              Verbindungsobjekt ber dass die Kommunikation mit dem Kommunikationspartner realisiert wird.
+	 * @param sendBufferSize          Sendetabellenkapazitt (in Byte)
+	 * @param receiveBufferSize       Empfangstabellenkapazitt (in Byte)
+	 * @param keepAliveSendTimeOut    Zeitspanne in ms. Wird solange kein Telegramm verschickt, wird ein KeepAlive-Telegramm verschickt.
+	 * @param keepAliveReceiveTimeOut Zeitspanne in ms. Wird solange keine Telegramm empfangen, wird ein Zhler herabgesetzt. Erreicht der Zhler 0 wird die
+	 *                                Verbindung terminiert. Wird zwischendurch ein Telegramm empfangen, wird der Zhler auf das maximum gesetzt.
+	 * @param mode                    Modus fr das Konfigurationsdatenverhalten (siehe {@link #HANDLE_CONFIG_RESPONCES_MODE} und {@link #NORMAL_MODE}).
+	 * @param connected               Information, ob die Verbindung bereits erfolgt ist oder nicht (connected)
+	 * @param telegramQueueType       Implementierung, die fr die Sende- und die Empfangs-Queue verwendet werden soll.
+	 *
+	 * @throws de.bsvrz.dav.daf.main.ConnectionException Wenn das Verbindungsobjekt sich nicht im erwarteten Zustand befindet.
+	 */
+	public LowLevelCommunication(
+			ConnectionInterface connection,
+			int sendBufferSize,
+			int receiveBufferSize,
+			long keepAliveSendTimeOut,
+			long keepAliveReceiveTimeOut,
+			byte mode,
+			boolean connected,
+			TelegramQueueType telegramQueueType) throws ConnectionException {
 		if(connection == null) {
 			throw new ConnectionException("Keine Kommunikationskomponente vorhanden.");
 		}
@@ -181,9 +233,10 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 		if(_mode == HANDLE_CONFIG_RESPONCES_MODE) {
 			_splittedTelegramsTable = new SplittedApplicationTelegramsTable();
 		}
-		_sendQueue = new TelegramQueue<DataTelegram>(sendBufferSize, CommunicationConstant.MAX_PRIORITY);
+		if(telegramQueueType == null) throw new IllegalArgumentException("telegramQueueType darf nicht null sein");
+		_sendQueue = telegramQueueType.createQueue(sendBufferSize, CommunicationConstant.MAX_PRIORITY);
 		_throughputChecker = new ThroughputChecker();
-		_receiveQueue = new TelegramQueue<DataTelegram>(receiveBufferSize, CommunicationConstant.MAX_PRIORITY);
+		_receiveQueue = telegramQueueType.createQueue(receiveBufferSize, CommunicationConstant.MAX_PRIORITY);
 		_keepAliveSendTimeOut = keepAliveSendTimeOut;
 		_keepAliveReceiveTimeOut = keepAliveReceiveTimeOut;
 		if(connected) {
@@ -255,10 +308,10 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 		_sendingChannel = new SendingChannel();
 		_keepAliveThread = new KeepAliveThread();
 
-		_updater.start();
-		_receivingChannel.start();
-		_sendingChannel.start();
-		_keepAliveThread.start();
+		_updater.startThread(_useVirtualThreads);
+		_receivingChannel.startThread(_useVirtualThreads);
+		_sendingChannel.startThread(_useVirtualThreads);
+		_keepAliveThread.startKeepAlive();
 	}
 
 	public HighLevelCommunicationCallbackInterface getHighLevelComponent() {
@@ -277,6 +330,46 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 		_throughputChecker.setThroughputParameters(throughputControlSendBufferFactor, throughputControlInterval, minimumThroughput);
 	}
 
+	/**
+	 * Aktiviert oder deaktiviert den gebndelten Sendemodus. Im gebndelten Sendemodus werden alle bereits in der Sende-Queue befindlichen Telegramme bis zur
+	 * angegebenen Anzahl Bytes bzw. bis zum Ablauf der angegebenen Zeit in einem Puffer gesammelt und mit einem einzigen Schreibzugriff auf die Verbindung
+	 * versendet. Die Einstellung kann jederzeit gendert werden und wird beim nchsten Versand bercksichtigt.
+	 *
+	 * @param maxBytes Maximale Anzahl Bytes, die vor dem Versand gesammelt werden. Der Wert <code>0</code> deaktiviert die Bndelung.
+	 * @param maxDelay Maximale Zeit in Millisekunden, die mit dem Sammeln von Telegrammen verbracht wird.
+	 */
+	public final void setSendBatching(int maxBytes, long maxDelay) {
+		if(maxBytes < 0) throw new IllegalArgumentException("maxBytes darf nicht negativ sein: " + maxBytes);
+		if(maxDelay < 0) throw new IllegalArgumentException("maxDelay darf nicht negativ sein: " + maxDelay);
+		_sendBatchMaxDelay = maxDelay;
+		_sendBatchMaxBytes = maxBytes;
+	}
+
+	/**
+	 * Legt fest, dass die KeepAlive-Prfungen dieser Verbindung ber den angegebenen gemeinsamen Timer statt mit einem eigenen Thread ausgefhrt werden. Die
+	 * Methode muss vor {@link #setHighLevelComponent} aufgerufen werden.
+	 *
+	 * @param keepAliveTimer Gemeinsamer Timer oder <code>null</code>, wenn ein eigener KeepAlive-Thread gestartet werden soll.
+	 */
+	public final void setKeepAliveTimer(KeepAliveTimer keepAliveTimer) {
+		if(_keepAliveThread != null) throw new IllegalStateException("Der KeepAlive-Mechanismus wurde bereits gestartet");
+		_keepAliveTimer = keepAliveTimer;
+	}
+
+	/**
+	 * Legt fest, ob die Sende-, Empfangs-, Worker- und KeepAlive-Threads dieser Verbindung als virtuelle Threads gestartet werden. Wenn die Laufzeitumgebung
+	 * keine virtuellen Threads untersttzt, werden normale Threads verwendet. Die Methode muss vor {@link #setHighLevelComponent} aufgerufen werden.
+	 *
+	 * @param useVirtualThreads <code>true</code>, wenn virtuelle Threads verwendet werden sollen.
+	 */
+	public final void setUseVirtualThreads(boolean useVirtualThreads) {
+		if(_keepAliveThread != null) throw new IllegalStateException("Die Threads der Verbindung wurden bereits gestartet");
+		if(useVirtualThreads && !LowLevelThread.isVirtualThreadSupported()) {
+			_debug.warning(getRemotePrefix() + "Die Laufzeitumgebung untersttzt keine virtuellen Threads, es werden normale Threads verwendet");
+		}
+		_useVirtualThreads = useVirtualThreads;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p/>
@@ -384,7 +477,7 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 
 		try {
 			_waitingForSendingChannel = true;
-			while(_sendQueue.getSize() > 0 && _connection.isConnected() && _sendingChannel != null && _sendingChannel.isAlive()) {
+			while(_sendQueue.getSize() > 0 && _connection.isConnected() && _sendingChannel != null && _sendingChannel.isThreadAlive()) {
 				_debug.fine("Warte auf den Versand von gepufferten Telegrammen");
 				Thread.sleep(200);
 			}
@@ -396,7 +489,7 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 
 		if(_sendingChannel != null) {
 			try {
-				_sendingChannel.join(2000);
+				_sendingChannel.joinThread(2000);
 			}
 			catch(InterruptedException ignored) {
 			}
@@ -404,7 +497,7 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 		}
 
 		if(_keepAliveThread != null) {
-			_keepAliveThread.interrupt();
+			_keepAliveThread.stopKeepAlive();
 		}
 
 		if(_receivingChannel != null) {
@@ -462,7 +555,10 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 
 	public String getSendBufferState() {
 		try {
-			return _throughputChecker.getSendBufferState();
+			final String sendBufferState = _throughputChecker.getSendBufferState();
+			final SendingChannel sendingChannel = _sendingChannel;
+			if(_sendBatchMaxBytes > 0 && sendingChannel != null) return sendBufferState + ", " + sendingChannel.getBatchStatistics();
+			return sendBufferState;
 		}
 		catch(Exception e) {
 			_debug.fine(getRemotePrefix() + "Fehler", e);
@@ -470,6 +566,37 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 		}
 	}
 
+	/**
+	 * Liefert einen beschreibenden Text mit der Statistik des Empfangs. Neben der Anzahl der empfangenen Telegramme enthlt der Text, soweit die
+	 * Laufzeitumgebung dies untersttzt, die Allokationsrate des Empfangsthreads.
+	 *
+	 * @return Statistik des Empfangs oder <code>?</code>, wenn der Empfangsthread noch nicht erzeugt wurde
+	 */
+	public String getReceiveStatistics() {
+		final ReceivingChannel receivingChannel = _receivingChannel;
+		if(receivingChannel == null) return "?";
+		return receivingChannel.getReceiveStatistics();
+	}
+
+	/**
+	 * Bestimmt die Anzahl der Bytes, die der angegebene Thread seit seinem Start auf dem Heap alloziert hat.
+	 *
+	 * @param threadId Id des Threads
+	 *
+	 * @return Anzahl allozierter Bytes oder <code>-1</code>, wenn die Laufzeitumgebung die Messung fr den Thread nicht untersttzt (z.B. bei virtuellen
+	 *         Threads).
+	 */
+	private static long getThreadAllocatedBytes(final long threadId) {
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if(!(threadMXBean instanceof com.sun.management.ThreadMXBean)) return -1;
+		try {
+			return ((com.sun.management.ThreadMXBean)threadMXBean).getThreadAllocatedBytes(threadId);
+		}
+		catch(UnsupportedOperationException e) {
+			return -1;
+		}
+	}
+
 	public void setRemoteName(final String name) {
 		_remoteName = name;
 		setRemotePrefix();
@@ -494,6 +621,20 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 	 */
 	class SendingChannel extends LowLevelThread {
 
+		/** Puffer, in dem im gebndelten Sendemodus die Telegramme gesammelt werden. Der Puffer wird wiederverwendet und wchst bei Bedarf. */
+		private final ByteArrayOutputStream _batchBuffer = new ByteArrayOutputStream(8192);
+
+		private final DataOutputStream _batchStream = new DataOutputStream(_batchBuffer);
+
+		/** Anzahl der im gebndelten Sendemodus durchgefhrten Schreibzugriffe mit anschlieendem flush. */
+		private volatile long _batchFlushCount = 0;
+
+		/** Anzahl der im gebndelten Sendemodus versendeten Telegramme. */
+		private volatile long _batchTelegramCount = 0;
+
+		/** Maximale Anzahl von Telegrammen, die im gebndelten Sendemodus mit einem Schreibzugriff versendet wurden. */
+		private volatile int _maxTelegramsPerFlush = 0;
+
 		public SendingChannel() {
 			super("SendingChannel");
 		}
@@ -503,12 +644,21 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 			try {
 				DataTelegram telegram = null;
 				while(!interrupted() && (telegram = _sendQueue.take()) != null) {
-					synchronized(_outStream) {
+					final int sendBatchMaxBytes = _sendBatchMaxBytes;
+					if(sendBatchMaxBytes > 0) {
+						sendBatch(telegram, sendBatchMaxBytes, _sendBatchMaxDelay);
+						continue;
+					}
+					_outStreamLock.lock();
+					try {
 //						_debug.info(">>>>>Telegram wird gesendet", telegram);
 						_outStream.writeByte(telegram.getType());
 						telegram.write(_outStream);
 						_outStream.flush();
 					}
+					finally {
+						_outStreamLock.unlock();
+					}
 					_keepAliveThread.sentTelegram();
 					_throughputChecker.sentTelegram(telegram.getSize());
 				}
@@ -518,6 +668,7 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 					_terminationTelegram.write(_outStream);
 					_outStream.flush();
 				}
+				if(_batchFlushCount > 0) _debug.info(getRemotePrefix() + "Statistik des gebndelten Versands: " + getBatchStatistics());
 				_debug.info(getRemotePrefix() + Thread.currentThread().getName() + " beendet sich jetzt weil die Sende-Queue geschlossen wurde");
 			}
 			catch(InterruptedException e) {
@@ -535,6 +686,58 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 			return;
 		}
 
+		/**
+		 * Versendet das bergebene Telegramm zusammen mit den bereits in der Sende-Queue befindlichen Telegrammen mit einem einzigen Schreibzugriff. Es werden
+		 * solange weitere Telegramme aus der Sende-Queue entnommen, bis die Queue leer ist, die angegebene Anzahl Bytes erreicht wurde oder die angegebene Zeit
+		 * abgelaufen ist.
+		 *
+		 * @param firstTelegram Erstes zu versendendes Telegramm
+		 * @param maxBytes      Maximale Anzahl Bytes, die vor dem Versand gesammelt werden.
+		 * @param maxDelay      Maximale Zeit in Millisekunden, die mit dem Sammeln von Telegrammen verbracht wird.
+		 *
+		 * @throws IOException Wenn beim Versand Fehler aufgetreten sind.
+		 */
+		private void sendBatch(final DataTelegram firstTelegram, final int maxBytes, final long maxDelay) throws IOException {
+			final long batchEndTime = System.nanoTime() + maxDelay * 1000000L;
+			_batchBuffer.reset();
+			int telegramCount = 0;
+			int telegramBytes = 0;
+			DataTelegram telegram = firstTelegram;
+			while(telegram != null) {
+				_batchStream.writeByte(telegram.getType());
+				telegram.write(_batchStream);
+				telegramCount++;
+				telegramBytes += telegram.getSize();
+				if(_batchBuffer.size() >= maxBytes || System.nanoTime() - batchEndTime >= 0) break;
+				telegram = _sendQueue.poll();
+			}
+			_outStreamLock.lock();
+			try {
+				_batchBuffer.writeTo(_outStream);
+				_outStream.flush();
+			}
+			finally {
+				_outStreamLock.unlock();
+			}
+			_keepAliveThread.sentTelegram();
+			_throughputChecker.sentTelegram(telegramBytes);
+			_batchFlushCount++;
+			_batchTelegramCount += telegramCount;
+			if(telegramCount > _maxTelegramsPerFlush) _maxTelegramsPerFlush = telegramCount;
+		}
+
+		/**
+		 * Liefert einen beschreibenden Text mit der Statistik des gebndelten Sendemodus.
+		 *
+		 * @return Durchschnittliche und maximale Anzahl von Telegrammen je Schreibzugriff.
+		 */
+		public String getBatchStatistics() {
+			final long flushCount = _batchFlushCount;
+			final long telegramCount = _batchTelegramCount;
+			final double average = flushCount == 0 ? 0.0 : (double)telegramCount / flushCount;
+			return String.format("%.1f Tel./Flush (max. %d, %d Flushs)", average, _maxTelegramsPerFlush, flushCount);
+		}
+
 		@Override
 		public LowLevelCommunication getLowLevelCommunication() {
 			return LowLevelCommunication.this;
@@ -543,6 +746,21 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 
 	class ReceivingChannel extends LowLevelThread {
 
+		/** Anzahl der bisher empfangenen Telegramme. Wird nur vom Empfangsthread geschrieben. */
+		private volatile long _receivedTelegramCount = 0;
+
+		/** Gesamtgre der bisher empfangenen Telegramme in Bytes. Wird nur vom Empfangsthread geschrieben. */
+		private volatile long _receivedBytes = 0;
+
+		/** Id des Threads, der die Telegramme empfngt. */
+		private volatile long _receivingThreadId = -1;
+
+		/** Zeitpunkt, an dem der Empfang gestartet wurde. */
+		private volatile long _receiveStartTime = 0;
+
+		/** Vom Empfangsthread vor dem Empfang des ersten Telegramms allozierte Bytes oder <code>-1</code>, wenn die Messung nicht untersttzt wird. */
+		private volatile long _allocatedBytesAtStart = -1;
+
 		private ReceivingChannel() {
 			super("ReceivingChannel");
 		}
@@ -608,6 +826,9 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 		/** Empfngt Telegramme von der Kommunikationsverbindung und gibt sie zur Verarbeitung weiter */
 		public final void run() {
 			_debug.fine(getRemotePrefix() + "Thread LowLevelCommunication.ReceivingChannel startet");
+			_receivingThreadId = Thread.currentThread().getId();
+			_receiveStartTime = System.currentTimeMillis();
+			_allocatedBytesAtStart = getThreadAllocatedBytes(_receivingThreadId);
 			try {
 				while(!interrupted()) {
 					if(_inStream == null) {
@@ -616,6 +837,8 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 					try {
 						_keepAliveThread.startReceiving();
 						DataTelegram telegram = readNextTelegram();
+						_receivedTelegramCount++;
+						_receivedBytes += telegram.getSize();
 						_keepAliveThread.receivedTelegram();
 						if(handleWithoutQueueing(telegram)) continue;
 						_receiveQueue.put(telegram);
@@ -648,10 +871,31 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 				}
 			}
 			finally {
-				_debug.fine(getRemotePrefix() + "Thread LowLevelCommunication.ReceivingChannel beendet sich");
+				_debug.fine(getRemotePrefix() + "Thread LowLevelCommunication.ReceivingChannel beendet sich, " + getReceiveStatistics());
 			}
 		}
 
+		/**
+		 * Liefert einen beschreibenden Text mit der Statistik des Empfangs. Wenn die Laufzeitumgebung es untersttzt, enthlt der Text auch die Allokationsrate
+		 * des Empfangsthreads.
+		 *
+		 * @return Anzahl und Gre der empfangenen Telegramme sowie die vom Empfangsthread je Sekunde und je Telegramm allozierten Bytes.
+		 */
+		public String getReceiveStatistics() {
+			final long telegramCount = _receivedTelegramCount;
+			final long receivedBytes = _receivedBytes;
+			final long duration = Math.max(1, System.currentTimeMillis() - _receiveStartTime);
+			final String statistics = String.format("%d Tel. empfangen (%d Bytes)", telegramCount, receivedBytes);
+			final long allocatedBytesAtStart = _allocatedBytesAtStart;
+			final long allocatedBytesNow = allocatedBytesAtStart < 0 ? -1 : getThreadAllocatedBytes(_receivingThreadId);
+			if(allocatedBytesNow < 0) return statistics;
+			final long allocatedBytes = allocatedBytesNow - allocatedBytesAtStart;
+			final double allocatedBytesPerTelegram = telegramCount == 0 ? 0.0 : (double)allocatedBytes / telegramCount;
+			return statistics + String.format(
+					", Allokation: %d Bytes/s, %.1f Bytes/Tel.", allocatedBytes * 1000 / duration, allocatedBytesPerTelegram
+			);
+		}
+
 		@Override
 		public LowLevelCommunication getLowLevelCommunication() {
 			return LowLevelCommunication.this;
@@ -720,6 +964,9 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 
 		private long _lastCheckedThroughput;
 
+		/** Sperre zum Schutz des Zustands der Durchsatzprfung. */
+		private final ReentrantLock _lock = new ReentrantLock();
+
 		public ThroughputChecker() {
 			setThroughputParameters(
 					CommunicationConstant.FLOW_CONTROL_FACTOR, CommunicationConstant.THROUGHPUT_CONTROL_INTERVAL, CommunicationConstant.MINIMUM_THROUGHPUT
@@ -735,22 +982,28 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 		 * @param throughputControlInterval Zeit zwischen zwei Durchsatzprfungen in Millisekunden
 		 * @param minimumThroughput         Minimal zulssiger Verbindungsdurchsatz in Bytes pro Sekunde
 		 */
-		public synchronized final void setThroughputParameters(float throughputControlSendBufferFactor, long throughputControlInterval, int minimumThroughput) {
-			if(throughputControlInterval <= 0) {
-				throw new IllegalArgumentException(getRemotePrefix() + "Prfintervall fr Durchsatzprfung ist zu klein: " + throughputControlInterval + " ms");
-			}
-			if(minimumThroughput <= 0) {
-				throw new IllegalArgumentException(getRemotePrefix() + "Minimal Durchsatz fr Durchsatzprfung ist zu klein: " + _controlInterval + " Byte/s");
-			}
-			if(throughputControlSendBufferFactor <= 0.0) {
-				throw new IllegalArgumentException(getRemotePrefix() + "Pufferfllgrad fr Durchsatzprfung ist zu klein: " + throughputControlSendBufferFactor);
+		public final void setThroughputParameters(float throughputControlSendBufferFactor, long throughputControlInterval, int minimumThroughput) {
+			_lock.lock();
+			try {
+				if(throughputControlInterval <= 0) {
+					throw new IllegalArgumentException(getRemotePrefix() + "Prfintervall fr Durchsatzprfung ist zu klein: " + throughputControlInterval + " ms");
+				}
+				if(minimumThroughput <= 0) {
+					throw new IllegalArgumentException(getRemotePrefix() + "Minimal Durchsatz fr Durchsatzprfung ist zu klein: " + _controlInterval + " Byte/s");
+				}
+				if(throughputControlSendBufferFactor <= 0.0) {
+					throw new IllegalArgumentException(getRemotePrefix() + "Pufferfllgrad fr Durchsatzprfung ist zu klein: " + throughputControlSendBufferFactor);
+				}
+				if(throughputControlSendBufferFactor >= 1.0) {
+					throw new IllegalArgumentException(getRemotePrefix() + "Pufferfllgrad fr Durchsatzprfung ist zu gro: " + throughputControlSendBufferFactor);
+				}
+				_buffersizeThreshold = (int)(throughputControlSendBufferFactor * _sendQueue.getCapacity());
+				_controlInterval = throughputControlInterval;
+				_minimumThroughput = minimumThroughput;
 			}
-			if(throughputControlSendBufferFactor >= 1.0) {
-				throw new IllegalArgumentException(getRemotePrefix() + "Pufferfllgrad fr Durchsatzprfung ist zu gro: " + throughputControlSendBufferFactor);
+			finally {
+				_lock.unlock();
 			}
-			_buffersizeThreshold = (int)(throughputControlSendBufferFactor * _sendQueue.getCapacity());
-			_controlInterval = throughputControlInterval;
-			_minimumThroughput = minimumThroughput;
 		}
 
 		private void setState(final ThroughputCheckerState state) {
@@ -762,39 +1015,51 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 			_lastCheckedThroughput = -1;
 		}
 
-		public synchronized void queuedTelegram() {
-			switch(_state) {
-				case EMPTY_BUFFER:
-					if(_sendQueue.getSize() > _buffersizeThreshold) {
-						setState(ThroughputCheckerState.FULL_BUFFER);
-					}
-					break;
-				case FULL_BUFFER:
-					// fall through
-				case CHECKING_THROUGHPUT:
-					if(_sendQueue.getSize() < _buffersizeThreshold) {
-						setState(ThroughputCheckerState.EMPTY_BUFFER);
-					}
-					break;
+		public void queuedTelegram() {
+			_lock.lock();
+			try {
+				switch(_state) {
+					case EMPTY_BUFFER:
+						if(_sendQueue.getSize() > _buffersizeThreshold) {
+							setState(ThroughputCheckerState.FULL_BUFFER);
+						}
+						break;
+					case FULL_BUFFER:
+						// fall through
+					case CHECKING_THROUGHPUT:
+						if(_sendQueue.getSize() < _buffersizeThreshold) {
+							setState(ThroughputCheckerState.EMPTY_BUFFER);
+						}
+						break;
+				}
+			}
+			finally {
+				_lock.unlock();
 			}
 		}
 
-		public synchronized void sentTelegram(int telegramSize) {
-			switch(_state) {
-				case EMPTY_BUFFER:
-					break;
-				case FULL_BUFFER:
-					if(_sendQueue.getSize() < _buffersizeThreshold) {
-						setState(ThroughputCheckerState.EMPTY_BUFFER);
-					}
-				case CHECKING_THROUGHPUT:
-					if(_sendQueue.getSize() < _buffersizeThreshold) {
-						setState(ThroughputCheckerState.EMPTY_BUFFER);
-					}
-					else {
-						_numberOfBytesSent += telegramSize;
-					}
-					break;
+		public void sentTelegram(int telegramSize) {
+			_lock.lock();
+			try {
+				switch(_state) {
+					case EMPTY_BUFFER:
+						break;
+					case FULL_BUFFER:
+						if(_sendQueue.getSize() < _buffersizeThreshold) {
+							setState(ThroughputCheckerState.EMPTY_BUFFER);
+						}
+					case CHECKING_THROUGHPUT:
+						if(_sendQueue.getSize() < _buffersizeThreshold) {
+							setState(ThroughputCheckerState.EMPTY_BUFFER);
+						}
+						else {
+							_numberOfBytesSent += telegramSize;
+						}
+						break;
+				}
+			}
+			finally {
+				_lock.unlock();
 			}
 		}
 
@@ -805,55 +1070,67 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 		 *
 		 * @throws IllegalStateException wenn ein zu geringer Durchsatz festgestellt wurde.
 		 */
-		public synchronized long checkThroughput() {
-			switch(_state) {
-				case EMPTY_BUFFER:
-					break;
-				case FULL_BUFFER:
-					long bufferfullTimeout = _controlInterval - (System.currentTimeMillis() - _stateChangeTime);
-					if(bufferfullTimeout > 0) {
-						return bufferfullTimeout;
-					}
-					setState(ThroughputCheckerState.CHECKING_THROUGHPUT);
-					break;
-				case CHECKING_THROUGHPUT:
-					long checkingTime = System.currentTimeMillis() - _stateChangeTime;
-					long checkingTimeout = _controlInterval - checkingTime;
-					if(checkingTimeout > 0) {
-						return checkingTimeout;
-					}
-					final long throughput = (long)_numberOfBytesSent * 1000L / checkingTime;
-					_debug.info(getRemotePrefix() + "Sendedurchsatz: " + throughput + " Byte/s");
-					if(throughput < _minimumThroughput) {
+		public long checkThroughput() {
+			_lock.lock();
+			try {
+				switch(_state) {
+					case EMPTY_BUFFER:
+						break;
+					case FULL_BUFFER:
+						long bufferfullTimeout = _controlInterval - (System.currentTimeMillis() - _stateChangeTime);
+						if(bufferfullTimeout > 0) {
+							return bufferfullTimeout;
+						}
+						setState(ThroughputCheckerState.CHECKING_THROUGHPUT);
+						break;
+					case CHECKING_THROUGHPUT:
+						long checkingTime = System.currentTimeMillis() - _stateChangeTime;
+						long checkingTimeout = _controlInterval - checkingTime;
+						if(checkingTimeout > 0) {
+							return checkingTimeout;
+						}
+						final long throughput = (long)_numberOfBytesSent * 1000L / checkingTime;
+						_debug.info(getRemotePrefix() + "Sendedurchsatz: " + throughput + " Byte/s");
+						if(throughput < _minimumThroughput) {
+							_lastCheckedThroughput = throughput;
+							throw new IllegalStateException(getRemotePrefix() + "Sendedurchsatz war in den letzten " + checkingTime + " ms zu gering: " + throughput + " Byte/s");
+						}
+						setState(ThroughputCheckerState.CHECKING_THROUGHPUT);
 						_lastCheckedThroughput = throughput;
-						throw new IllegalStateException(getRemotePrefix() + "Sendedurchsatz war in den letzten " + checkingTime + " ms zu gering: " + throughput + " Byte/s");
-					}
-					setState(ThroughputCheckerState.CHECKING_THROUGHPUT);
-					_lastCheckedThroughput = throughput;
-					break;
+						break;
+				}
+				return _controlInterval;
+			}
+			finally {
+				_lock.unlock();
 			}
-			return _controlInterval;
 		}
 
 		/**
 		 * Liefert einen beschreibenden Text mit dem Zustand des Sendepuffers
 		 * @return Zustand des Sendepuffers
 		 */
-		public synchronized String getSendBufferState() {
-			final StringBuilder text = new StringBuilder();
-			text.append(_sendQueue.getSize()).append(" Byte");
-			switch(_state) {
-				case EMPTY_BUFFER:
-					break;
-				case FULL_BUFFER:
-					text.append(", Puffer voll");
-					break;
-				case CHECKING_THROUGHPUT:
-					text.append(", Durchsatzprfung");
-					if(_lastCheckedThroughput >= 0) text.append(" ").append(_lastCheckedThroughput).append("Byte/s"); 
-					break;
+		public String getSendBufferState() {
+			_lock.lock();
+			try {
+				final StringBuilder text = new StringBuilder();
+				text.append(_sendQueue.getSize()).append(" Byte");
+				switch(_state) {
+					case EMPTY_BUFFER:
+						break;
+					case FULL_BUFFER:
+						text.append(", Puffer voll");
+						break;
+					case CHECKING_THROUGHPUT:
+						text.append(", Durchsatzprfung");
+						if(_lastCheckedThroughput >= 0) text.append(" ").append(_lastCheckedThroughput).append("Byte/s"); 
+						break;
+				}
+				return text.toString();
+			}
+			finally {
+				_lock.unlock();
 			}
-			return text.toString();
 		}
 	}
 
@@ -892,6 +1169,18 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 
 		private boolean _waitingForData;
 
+		/**
+		 * Sperre zum Schutz der Zeitstempel und Zhler. Es wird eine Sperre aus <code>java.util.concurrent</code> statt <code>synchronized</code> verwendet,
+		 * damit beim Warten in virtuellen Threads der Trgerthread nicht blockiert wird.
+		 */
+		private final ReentrantLock _stateLock = new ReentrantLock();
+
+		/** Bedingung, auf der der Thread bis zur nchsten Prfung oder bis zur nderung der Timeoutparameter wartet. */
+		private final Condition _stateChanged = _stateLock.newCondition();
+
+		/** Eintrag beim gemeinsamen Timer oder <code>null</code>, wenn die Prfungen von diesem Thread ausgefhrt werden. */
+		private KeepAliveTimer.Entry _timerEntry = null;
+
 		public KeepAliveThread() {
 			super("KeepAlive");
 			_souls = MAX_SOULS;
@@ -902,34 +1191,92 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 		}
 
 		public void startReceiving() {
-			synchronized(this) {
+			_stateLock.lock();
+			try {
 				_lastStartReceivingTime = System.currentTimeMillis();
 				_waitingForData = true;
 				_souls = MAX_SOULS;
 			}
+			finally {
+				_stateLock.unlock();
+			}
 		}
 
 		public void receivedTelegram() {
-			synchronized(this) {
+			_stateLock.lock();
+			try {
 				_lastReceivingTime = System.currentTimeMillis();
 				_waitingForData = false;
 				_souls = MAX_SOULS * NOT_RECEIVING_MULTIPLIER;
 			}
+			finally {
+				_stateLock.unlock();
+			}
 		}
 
 		public void sentTelegram() {
-			synchronized(this) {
+			_stateLock.lock();
+			try {
 				_lastSendingTime = System.currentTimeMillis();
 			}
+			finally {
+				_stateLock.unlock();
+			}
 		}
 
 		public void timeoutsChanged() {
-			synchronized(this) {
-				// run-Methode s.u. soll das wait vorzeitig verlassen und die neuen Einstellungen bercksichtigen
-				this.notifyAll();
+			_stateLock.lock();
+			try {
+				if(_timerEntry != null) {
+					// Prfung ber den gemeinsamen Timer mit den neuen Einstellungen sofort wiederholen
+					_keepAliveTimer.reschedule(_timerEntry, 0);
+				}
+				else {
+					// run-Methode s.u. soll das Warten vorzeitig beenden und die neuen Einstellungen bercksichtigen
+					_stateChanged.signalAll();
+				}
+			}
+			finally {
+				_stateLock.unlock();
+			}
+		}
+
+		/** Startet den KeepAlive-Mechanismus entweder als eigenen Thread oder ber den gemeinsamen Timer der Verbindung. */
+		void startKeepAlive() {
+			if(_keepAliveTimer == null) {
+				startThread(_useVirtualThreads);
+				return;
+			}
+			_stateLock.lock();
+			try {
+				_timerEntry = _keepAliveTimer.schedule(
+						new KeepAliveTimer.Task() {
+							public long run() {
+								return checkFromTimer();
+							}
+						}, 0
+				);
+			}
+			finally {
+				_stateLock.unlock();
 			}
 		}
 
+		/** Beendet den KeepAlive-Mechanismus. */
+		void stopKeepAlive() {
+			_stateLock.lock();
+			try {
+				if(_timerEntry != null) {
+					_keepAliveTimer.cancel(_timerEntry);
+					return;
+				}
+			}
+			finally {
+				_stateLock.unlock();
+			}
+			interrupt();
+		}
+
 		/**
 		 * Diese Methode dient dazu JUnit-Tests zu untersttzen.
 		 *
@@ -937,92 +1284,37 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 		 *         gesetzt.
 		 */
 		int getSouls() {
-			synchronized(this) {
+			_stateLock.lock();
+			try {
 				return _souls;
 			}
+			finally {
+				_stateLock.unlock();
+			}
 		}
 
 		public final void run() {
 			_debug.fine(getRemotePrefix(), "Thread LowLevelCommunication.KeepAliveThread startet");
 			try {
 				while(!interrupted()) {
-					synchronized(this) {
+					_stateLock.lock();
+					try {
 						try {
-							long lastSendOrQueuedTime = _lastSendingTime < _lastQueuedKeepAliveTime ? _lastQueuedKeepAliveTime : _lastSendingTime;
-							long sendingRemainingTime = _keepAliveSendTimeOut - (System.currentTimeMillis() - lastSendOrQueuedTime);
-							if(sendingRemainingTime <= 0) {
-								// Wenn noch ein Telegramm in der sendQueue ist, dann wird das KeepAliveTelegramm unterdrckt, weil berflssig
-								if(_connection.isConnected() && (_outStream != null) && _sendQueue.getSize() == 0) {
-									DataTelegram telegram = new KeepAliveTelegram();
-									_sendQueue.put(telegram);
-									_throughputChecker.queuedTelegram();
-								}
-								_lastQueuedKeepAliveTime = System.currentTimeMillis();
-								sendingRemainingTime = _keepAliveSendTimeOut;
-							}
-
-							long receivingRemainingTime = _keepAliveReceiveTimeOut - (System.currentTimeMillis() - _lastReceivingTime);
-
-							if(receivingRemainingTime <= 0) {
-								final long now = System.currentTimeMillis();
-								final long deltaSinceLastReceive = now - _lastReceivingTime;
-								final long deltaSinceLastStartReceive = now - _lastStartReceivingTime;
-								_lastReceivingTime = now;
-								receivingRemainingTime = _keepAliveReceiveTimeOut;
-								--_souls;
-								if(_waitingForData) {
-									_debug.fine(
-											getRemotePrefix() + "Seit " + deltaSinceLastReceive + " ms wurden keine Telegramme mehr empfangen, verbleibende Versuche: " + _souls
-									);
-								}
-								else {
-									_debug.fine(
-											getRemotePrefix() + "Seit " + deltaSinceLastStartReceive
-											+ " ms konnten keine Telegramme mehr empfangen werden, weil die Empfangswarteschlange voll ist, verbleibende Versuche: "
-											+ _souls
-									);
-								}
-							}
-							if(_souls <= 0) {
-								_debug.error(getRemotePrefix() + "Die Verbindung wird terminiert, weil keine Telegramme mehr empfangen werden.");
-								if(_waitingForData) {
-									handleAbnormalBehaviour(
-											false,
-											"Es wurden " + MAX_SOULS + " mal in Folge fr jeweils " + (_keepAliveReceiveTimeOut / 1000)
-											+ " Sekunden keine KeepAlive- oder sonstige Telegramme empfangen"
-									);
-								} else {
-									handleAbnormalBehaviour(
-											false,
-											"Es wurden " + (MAX_SOULS * NOT_RECEIVING_MULTIPLIER) + " mal in Folge fr jeweils " + (_keepAliveReceiveTimeOut / 1000)
-											+ " Sekunden keine KeepAlive- oder sonstige Telegramme empfangen, weil die Empfangswarteschlange voll ist"
-									);
-								}
-								return;
-							}
-							long waitTime = sendingRemainingTime < receivingRemainingTime ? sendingRemainingTime : receivingRemainingTime;
-
-							// Durchsatzprfung durchfhren und Zeit bis zur nchsten Prfung ermitteln
-							try {
-								final long throughputCheckWaitTime = _throughputChecker.checkThroughput();
-								if(throughputCheckWaitTime < waitTime) waitTime = throughputCheckWaitTime;
-							}
-							catch(IllegalStateException e) {
-								// Durchsatz zu gering
-								_debug.error(getRemotePrefix() + "Die Verbindung wird terminiert: " + e.getMessage());
-								handleAbnormalBehaviour(false, e.getMessage());
-								return;
-							}
+							final long waitTime = check();
+							if(waitTime < 0) return;
 
 							// Hier wird gewartet, bis eine der Restzeiten abgelaufen ist.
-							// Wenn die Timeoutparameter sich ndern, wird durch ein notify aus der Methode timeoutsChanged
-							// das wait() vorzeitig beendet.
-							if(waitTime > 0) this.wait(waitTime);
+							// Wenn die Timeoutparameter sich ndern, wird durch ein signalAll aus der Methode timeoutsChanged
+							// das Warten vorzeitig beendet.
+							if(waitTime > 0) _stateChanged.await(waitTime, TimeUnit.MILLISECONDS);
 						}
 						catch(InterruptedException e) {
 							return;
 						}
 					}
+					finally {
+						_stateLock.unlock();
+					}
 				}
 			}
 			catch(Exception e) {
@@ -1033,6 +1325,107 @@ public class LowLevelCommunication implements LowLevelCommunicationInterface {
 			}
 		}
 
+		/**
+		 * Wird vom gemeinsamen Timer aufgerufen und fhrt eine Prfung durch.
+		 *
+		 * @return Zeit in Millisekunden bis zur nchsten Prfung oder <code>-1</code>, wenn keine weitere Prfung erfolgen soll.
+		 */
+		private long checkFromTimer() {
+			_stateLock.lock();
+			try {
+				try {
+					return check();
+				}
+				catch(InterruptedException e) {
+					return -1;
+				}
+				catch(Exception e) {
+					_debug.error(getRemotePrefix() + "unerwartete Ausnahme bei der KeepAlive-Prfung", e);
+					return -1;
+				}
+			}
+			finally {
+				_stateLock.unlock();
+			}
+		}
+
+		/**
+		 * Verschickt bei Bedarf ein KeepAlive-Telegramm, prft den Empfang von Telegrammen sowie den Durchsatz und veranlasst bei Fehlern den Verbindungsabbau.
+		 * Der Aufrufer muss die Sperre <code>_stateLock</code> halten.
+		 *
+		 * @return Zeit in Millisekunden bis zur nchsten Prfung oder <code>-1</code>, wenn die Verbindung terminiert wird.
+		 *
+		 * @throws InterruptedException Wenn der Thread beim Eintragen eines KeepAlive-Telegramms unterbrochen wurde.
+		 */
+		private long check() throws InterruptedException {
+			long lastSendOrQueuedTime = _lastSendingTime < _lastQueuedKeepAliveTime ? _lastQueuedKeepAliveTime : _lastSendingTime;
+			long sendingRemainingTime = _keepAliveSendTimeOut - (System.currentTimeMillis() - lastSendOrQueuedTime);
+			if(sendingRemainingTime <= 0) {
+				// Wenn noch ein Telegramm in der sendQueue ist, dann wird das KeepAliveTelegramm unterdrckt, weil berflssig
+				if(_connection.isConnected() && (_outStream != null) && _sendQueue.getSize() == 0) {
+					DataTelegram telegram = new KeepAliveTelegram();
+					_sendQueue.put(telegram);
+					_throughputChecker.queuedTelegram();
+				}
+				_lastQueuedKeepAliveTime = System.currentTimeMillis();
+				sendingRemainingTime = _keepAliveSendTimeOut;
+			}
+
+			long receivingRemainingTime = _keepAliveReceiveTimeOut - (System.currentTimeMillis() - _lastReceivingTime);
+
+			if(receivingRemainingTime <= 0) {
+				final long now = System.currentTimeMillis();
+				final long deltaSinceLastReceive = now - _lastReceivingTime;
+				final long deltaSinceLastStartReceive = now - _lastStartReceivingTime;
+				_lastReceivingTime = now;
+				receivingRemainingTime = _keepAliveReceiveTimeOut;
+				--_souls;
+				if(_waitingForData) {
+					_debug.fine(
+							getRemotePrefix() + "Seit " + deltaSinceLastReceive + " ms wurden keine Telegramme mehr empfangen, verbleibende Versuche: " + _souls
+					);
+				}
+				else {
+					_debug.fine(
+							getRemotePrefix() + "Seit " + deltaSinceLastStartReceive
+							+ " ms konnten keine Telegramme mehr empfangen werden, weil die Empfangswarteschlange voll ist, verbleibende Versuche: "
+							+ _souls
+					);
+				}
+			}
+			if(_souls <= 0) {
+				_debug.error(getRemotePrefix() + "Die Verbindung wird terminiert, weil keine Telegramme mehr empfangen werden.");
+				if(_waitingForData) {
+					handleAbnormalBehaviour(
+							false,
+							"Es wurden " + MAX_SOULS + " mal in Folge fr jeweils " + (_keepAliveReceiveTimeOut / 1000)
+							+ " Sekunden keine KeepAlive- oder sonstige Telegramme empfangen"
+					);
+				} else {
+					handleAbnormalBehaviour(
+							false,
+							"Es wurden " + (MAX_SOULS * NOT_RECEIVING_MULTIPLIER) + " mal in Folge fr jeweils " + (_keepAliveReceiveTimeOut / 1000)
+							+ " Sekunden keine KeepAlive- oder sonstige Telegramme empfangen, weil die Empfangswarteschlange voll ist"
+					);
+				}
+				return -1;
+			}
+			long waitTime = sendingRemainingTime < receivingRemainingTime ? sendingRemainingTime : receivingRemainingTime;
+
+			// Durchsatzprfung durchfhren und Zeit bis zur nchsten Prfung ermitteln
+			try {
+				final long throughputCheckWaitTime = _throughputChecker.checkThroughput();
+				if(throughputCheckWaitTime < waitTime) waitTime = throughputCheckWaitTime;
+			}
+			catch(IllegalStateException e) {
+				// Durchsatz zu gering
+				_debug.error(getRemotePrefix() + "Die Verbindung wird terminiert: " + e.getMessage());
+				handleAbnormalBehaviour(false, e.getMessage());
+				return -1;
+			}
+			return waitTime < 0 ? 0 : waitTime;
+		}
+
 		@Override
 		public LowLevelCommunication getLowLevelCommunication() {
 			return LowLevelCommunication.this;
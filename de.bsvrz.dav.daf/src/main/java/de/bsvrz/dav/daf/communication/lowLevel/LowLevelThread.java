@@ -20,16 +20,132 @@
 
 package de.bsvrz.dav.daf.communication.lowLevel;
 
+import de.bsvrz.sys.funclib.debug.Debug;
+
+import java.lang.reflect.Method;
+
 /**
+ * Basisklasse der Threads einer {@link LowLevelCommunication}. Die Threads knnen wahlweise als normale Threads oder, wenn die Laufzeitumgebung dies
+ * untersttzt, als virtuelle Threads gestartet werden. Im zweiten Fall wird die {@link #run()}-Methode dieses Objekts von einem virtuellen Thread ausgefhrt,
+ * auf den {@link #interrupt()}, {@link #isThreadAlive()} und {@link #joinThread(long)} umgeleitet werden.
+ *
  * @author Kappich Systemberatung
  * @version $Revision: 0000 $
  */
 public abstract class LowLevelThread extends Thread {
 
+	/** Der Debug-Logger. */
+	private static final Debug _debug = Debug.getLogger();
+
+	/** Methode <code>Thread.ofVirtual()</code> oder <code>null</code>, wenn die Laufzeitumgebung keine virtuellen Threads untersttzt. */
+	private static final Method _ofVirtualMethod;
+
+	/** Methode <code>Thread.Builder.name(String)</code> */
+	private static final Method _builderNameMethod;
+
+	/** Methode <code>Thread.Builder.unstarted(Runnable)</code> */
+	private static final Method _builderUnstartedMethod;
+
+	static {
+		Method ofVirtualMethod = null;
+		Method builderNameMethod = null;
+		Method builderUnstartedMethod = null;
+		try {
+			final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+			builderNameMethod = builderClass.getMethod("name", String.class);
+			builderUnstartedMethod = builderClass.getMethod("unstarted", Runnable.class);
+		}
+		catch(Exception ignored) {
+			ofVirtualMethod = null;
+		}
+		_ofVirtualMethod = ofVirtualMethod;
+		_builderNameMethod = builderNameMethod;
+		_builderUnstartedMethod = builderUnstartedMethod;
+	}
+
+	/** Virtueller Thread, der die run-Methode ausfhrt, oder <code>null</code>, wenn dieses Objekt selbst als Thread gestartet wurde. */
+	private volatile Thread _virtualThread = null;
+
 	protected LowLevelThread(final String name) {
 		super(name);
 	}
 
 	public abstract LowLevelCommunication getLowLevelCommunication();
 
+	/**
+	 * Bestimmt, ob die Laufzeitumgebung virtuelle Threads untersttzt.
+	 *
+	 * @return <code>true</code>, wenn virtuelle Threads erzeugt werden knnen.
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return _ofVirtualMethod != null;
+	}
+
+	/**
+	 * Startet den Thread. Wenn ein virtueller Thread verlangt wird, die Laufzeitumgebung aber keine virtuellen Threads untersttzt, wird ein normaler Thread
+	 * gestartet.
+	 *
+	 * @param virtual <code>true</code>, wenn die run-Methode von einem virtuellen Thread ausgefhrt werden soll.
+	 */
+	final void startThread(final boolean virtual) {
+		if(virtual && _ofVirtualMethod != null) {
+			try {
+				final Object builder = _builderNameMethod.invoke(_ofVirtualMethod.invoke(null), getName());
+				final Thread virtualThread = (Thread)_builderUnstartedMethod.invoke(builder, this);
+				// Referenz vor dem Start setzen, damit ein sofortiges interrupt() den virtuellen Thread erreicht
+				_virtualThread = virtualThread;
+				virtualThread.start();
+				return;
+			}
+			catch(Exception e) {
+				_virtualThread = null;
+				_debug.warning("Virtueller Thread " + getName() + " konnte nicht gestartet werden, es wird ein normaler Thread verwendet", e);
+			}
+		}
+		start();
+	}
+
+	@Override
+	public void interrupt() {
+		final Thread virtualThread = _virtualThread;
+		if(virtualThread != null) {
+			virtualThread.interrupt();
+		}
+		else {
+			super.interrupt();
+		}
+	}
+
+	/**
+	 * Prft, ob die run-Methode noch ausgefhrt wird, unabhngig davon, ob sie von diesem Objekt oder einem virtuellen Thread ausgefhrt wird. Bei
+	 * Verwendung eines virtuellen Threads liefert {@link #isAlive()} immer <code>false</code>, weil dieses Objekt selbst nie gestartet wird.
+	 *
+	 * @return <code>true</code>, wenn der ausfhrende Thread gestartet und noch nicht beendet wurde, sonst <code>false</code>.
+	 */
+	public final boolean isThreadAlive() {
+		final Thread virtualThread = _virtualThread;
+		if(virtualThread != null) {
+			return virtualThread.isAlive();
+		}
+		return isAlive();
+	}
+
+	/**
+	 * Wartet hchstens die angegebene Zeit auf das Ende der run-Methode, unabhngig davon, ob sie von diesem Objekt oder einem virtuellen Thread ausgefhrt
+	 * wird.
+	 *
+	 * @param millis Maximale Wartezeit in Millisekunden
+	 *
+	 * @throws InterruptedException Wenn der wartende Thread unterbrochen wurde.
+	 */
+	public final void joinThread(final long millis) throws InterruptedException {
+		final Thread virtualThread = _virtualThread;
+		if(virtualThread != null) {
+			virtualThread.join(millis);
+		}
+		else {
+			join(millis);
+		}
+	}
 }
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.lowLevel;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Alternative Implementierung einer {@link TelegramQueueInterface Telegramm-Queue}, die sich gegenber der {@link TelegramQueue} bei vielen gleichzeitig
+ * aktiven Verbindungen durch geringere Konkurrenz um Sperren auszeichnet.
+ * <p/>
+ * Je Prioritt wird ein Ringpuffer auf Basis eines Arrays verwendet, der bei Bedarf vergrert, aber nie verkleinert wird. Dadurch entstehen nach einer
+ * Anlaufphase beim Einfgen von Telegrammen keine neuen Objekte mehr. Schreibende und lesende Threads warten auf getrennten Bedingungen und werden nur
+ * geweckt, wenn tatschlich ein Thread der jeweiligen Art wartet. Die Gesamtgre der gepufferten Telegramme wird wie bei der {@link TelegramQueue} in Bytes
+ * beschrnkt und kann mit {@link #getSize()} ohne Sperre abgefragt werden.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public class RingBufferTelegramQueue<Telegram extends QueueableTelegram> implements TelegramQueueInterface<Telegram> {
+
+	/** Anfangsgre der Ringpuffer je Prioritt (Anzahl Telegramme, muss eine Zweierpotenz sein). */
+	private static final int INITIAL_RING_SIZE = 64;
+
+	/** Maximale Gesamtgre fr zwischengespeicherte Telegramme. */
+	private final int _capacity;
+
+	/** Sperre, die den Zugriff auf die Ringpuffer schtzt. */
+	private final ReentrantLock _lock = new ReentrantLock();
+
+	/** Bedingung, auf der lesende Threads warten, bis ein Telegramm verfgbar ist. */
+	private final Condition _notEmpty = _lock.newCondition();
+
+	/** Bedingung, auf der schreibende Threads warten, bis gengend Platz fr ein Telegramm verfgbar ist. */
+	private final Condition _notFull = _lock.newCondition();
+
+	/** Ringpuffer je mglicher Prioritt. */
+	private final Ring[] _rings;
+
+	/** Gesamtgre der aktuell zwischengespeicherten Telegramme. Wird nur unter der Sperre gendert, kann aber ohne Sperre gelesen werden. */
+	private volatile int _size;
+
+	/** Anzahl der aktuell zwischengespeicherten Telegramme. */
+	private int _count;
+
+	/** Anzahl der Threads, die in {@link #take} auf ein Telegramm warten. */
+	private int _waitingConsumers;
+
+	/** Anzahl der Threads, die in {@link #put} auf freien Platz warten. */
+	private int _waitingProducers;
+
+	private volatile boolean _closed = false;
+
+	/**
+	 * Erzeugt eine neue Queue mit den angegebenen Eigenschaften.
+	 *
+	 * @param capacity        Maximale Gesamtgre der gepufferten Telegramme.
+	 * @param maximumPriority Maximale von Telegrammen verwendete Prioritt.
+	 */
+	public RingBufferTelegramQueue(int capacity, int maximumPriority) {
+		if(capacity <= 0) throw new IllegalArgumentException("capacity muss positiv sein: " + capacity);
+		if(maximumPriority < 0) throw new IllegalArgumentException("maximumPriority darf nicht negativ sein: " + maximumPriority);
+		if(maximumPriority > 127) throw new IllegalArgumentException("maximumPriority darf nicht grer als 127 sein: " + maximumPriority);
+		_capacity = capacity;
+		_size = 0;
+		_rings = new Ring[maximumPriority + 1];
+		for(int i = 0; i < _rings.length; i++) {
+			_rings[i] = new Ring();
+		}
+	}
+
+	public Telegram take() throws InterruptedException {
+		final ReentrantLock lock = _lock;
+		lock.lockInterruptibly();
+		try {
+			while(_count == 0) {
+				// Wenn die Queue leer ist und geschlossen wurde, wird null zurckgegeben
+				if(_closed) return null;
+				// Wenn die Queue leer ist und nicht geschlossen wurde, wird gewartet
+				_waitingConsumers++;
+				try {
+					_notEmpty.await();
+				}
+				finally {
+					_waitingConsumers--;
+				}
+			}
+			return removeNext();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public Telegram poll() {
+		final ReentrantLock lock = _lock;
+		lock.lock();
+		try {
+			if(_count == 0) return null;
+			return removeNext();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Entfernt das lteste gespeicherte Telegramm mit der hchsten Prioritt aus der Queue. Der Aufrufer muss die Sperre der Queue halten und sicherstellen,
+	 * dass die Queue nicht leer ist.
+	 *
+	 * @return Entferntes Telegramm
+	 */
+	private Telegram removeNext() {
+		for(int i = _rings.length - 1; i >= 0; i--) {
+			final Ring ring = _rings[i];
+			if(ring._count != 0) {
+				@SuppressWarnings("unchecked") final Telegram telegram = (Telegram)ring.poll();
+				_count--;
+				_size -= telegram.getSize();
+				// Es werden alle schreibenden Threads geweckt, weil nicht bekannt ist, wessen Telegramm jetzt in die Queue passt
+				if(_waitingProducers != 0) _notFull.signalAll();
+				return telegram;
+			}
+		}
+		throw new IllegalStateException("Interner Fehler: Es wurde kein Telegramm gefunden, obwohl die Gesamtgre " + _size + " ist");
+	}
+
+	public void put(Telegram telegram) throws InterruptedException {
+		if(_closed) return;
+		final int length = telegram.getSize();
+		if(length <= 0) throw new IllegalArgumentException("Telegrammlnge muss grer 0 sein, ist aber " + length + ": " + telegram);
+		final byte priority = telegram.getPriority();
+		final ReentrantLock lock = _lock;
+		lock.lockInterruptibly();
+		try {
+			// Telegramme, die nicht in die Queue passen, werden erst eingetragen, wenn die Queue leer ist
+			final int maximumSize = length > _capacity ? 0 : _capacity - length;
+			while(!_closed && _size > maximumSize) {
+				_waitingProducers++;
+				try {
+					_notFull.await();
+				}
+				finally {
+					_waitingProducers--;
+				}
+			}
+			if(_closed) return;
+			_rings[priority].add(telegram);
+			_count++;
+			_size += length;
+			if(_waitingConsumers != 0) _notEmpty.signal();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public int getCapacity() {
+		return _capacity;
+	}
+
+	public int getSize() {
+		return _size;
+	}
+
+	public void close() {
+		final ReentrantLock lock = _lock;
+		lock.lock();
+		try {
+			_closed = true;
+			_notEmpty.signalAll();
+			_notFull.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public void abort() {
+		final ReentrantLock lock = _lock;
+		lock.lock();
+		try {
+			_closed = true;
+			for(Ring ring : _rings) {
+				ring.clear();
+			}
+			_count = 0;
+			_size = 0;
+			_notEmpty.signalAll();
+			_notFull.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Ringpuffer fr die Telegramme einer Prioritt. Zugriffe erfolgen nur unter der Sperre der umgebenden Queue. */
+	private static final class Ring {
+
+		/** Gespeicherte Telegramme. Die Lnge ist immer eine Zweierpotenz. */
+		private Object[] _elements = new Object[INITIAL_RING_SIZE];
+
+		/** Index des ltesten gespeicherten Telegramms. */
+		private int _head = 0;
+
+		/** Anzahl gespeicherter Telegramme. */
+		private int _count = 0;
+
+		void add(final Object telegram) {
+			if(_count == _elements.length) grow();
+			_elements[(_head + _count) & (_elements.length - 1)] = telegram;
+			_count++;
+		}
+
+		Object poll() {
+			final Object telegram = _elements[_head];
+			_elements[_head] = null;
+			_head = (_head + 1) & (_elements.length - 1);
+			_count--;
+			return telegram;
+		}
+
+		void clear() {
+			while(_count != 0) poll();
+			_head = 0;
+		}
+
+		/** Verdoppelt die Gre des Ringpuffers unter Beibehaltung der Reihenfolge der gespeicherten Telegramme. */
+		private void grow() {
+			final Object[] elements = new Object[_elements.length * 2];
+			final int firstPart = _elements.length - _head;
+			System.arraycopy(_elements, _head, elements, 0, firstPart);
+			System.arraycopy(_elements, 0, elements, firstPart, _head);
+			_elements = elements;
+			_head = 0;
+		}
+	}
+}
@@ -21,6 +21,8 @@
 package de.bsvrz.dav.daf.communication.lowLevel;
 
 import java.util.LinkedList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Klasse, die zum gepufferten Austausch von Telegrammen zwischen verschiedenen Threads verwendet werden kann. Die Gesamtgre der gepufferten Telegramme ist
@@ -32,8 +34,9 @@ import java.util.LinkedList;
  *
  * @author Kappich Systemberatung
  * @version $Revision: 12968 $
+ * @see RingBufferTelegramQueue
  */
-public class TelegramQueue<Telegram extends QueueableTelegram> {
+public class TelegramQueue<Telegram extends QueueableTelegram> implements TelegramQueueInterface<Telegram> {
 
 	/** Maximale Gesamtgre fr zwischengespeicherte Telegramme. */
 	final private int _capacity;
@@ -41,11 +44,17 @@ public class TelegramQueue<Telegram extends QueueableTelegram> {
 	/** Gesamtgre der aktuell zwischengespeicherten Telegramme. */
 	private int _size;
 
+	/** Array, das je mgliche Prioritt eine verkettete Liste mit den zwischengespeicherten Telegrammen enthlt. */
+	final private LinkedList<Telegram>[] _priorityLists;
+
 	/**
-	 * Array, das je mgliche Prioritt eine verkettete Liste mit den zwischengespeicherten Telegrammen enthlt. Es dient auerdem der Synchronisation von Threads
-	 * beim lesenden und schreibenden Zugriff.
+	 * Sperre zur Synchronisation von Threads beim lesenden und schreibenden Zugriff. Es wird eine Sperre aus <code>java.util.concurrent</code> statt
+	 * <code>synchronized</code> verwendet, damit wartende virtuelle Threads ihren Trgerthread freigeben.
 	 */
-	final private LinkedList<Telegram>[] _priorityLists;
+	final private ReentrantLock _lock = new ReentrantLock();
+
+	/** Bedingung, auf der Threads auf nderungen des Inhalts der Queue warten. */
+	final private Condition _changed = _lock.newCondition();
 
 	private boolean _closed = false;
 
@@ -77,21 +86,51 @@ public class TelegramQueue<Telegram extends QueueableTelegram> {
 	 * @throws InterruptedException Wenn der Thread whrend des Wartens unterbrochen wurde.
 	 */
 	public Telegram take() throws InterruptedException {
-		synchronized(this) {
+		_lock.lock();
+		try {
 			while(_size == 0) {
 				// Wenn die Queue leer ist und geschlossen wurde, wird null zurckgegeben
 				if(_closed) return null;
 				// Wenn die Queue leer ist und nicht geschlossen wurde, wird gewartet
-				wait();
+				_changed.await();
 			}
-			for(int i = _priorityLists.length - 1; i >= 0; i--) {
-				LinkedList<Telegram> priorityList = _priorityLists[i];
-				if(!priorityList.isEmpty()) {
-					final Telegram telegram = priorityList.removeFirst();
-					_size -= telegram.getSize();
-					notifyAll();
-					return telegram;
-				}
+			return removeNext();
+		}
+		finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * Gibt das lteste in der Queue gespeicherte Telegramm mit der hchsten Prioritt zurck, ohne auf ein Telegramm zu warten.
+	 *
+	 * @return Nchstes gespeicherte Telegramm mit der hchsten Prioritt oder <code>null</code>, wenn aktuell kein Telegramm in der Queue gespeichert ist.
+	 */
+	public Telegram poll() {
+		_lock.lock();
+		try {
+			if(_size == 0) return null;
+			return removeNext();
+		}
+		finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * Entfernt das lteste gespeicherte Telegramm mit der hchsten Prioritt aus der Queue. Der Aufrufer muss die Sperre der Queue halten und sicherstellen,
+	 * dass die Queue nicht leer ist.
+	 *
+	 * @return Entferntes Telegramm
+	 */
+	private Telegram removeNext() {
+		for(int i = _priorityLists.length - 1; i >= 0; i--) {
+			LinkedList<Telegram> priorityList = _priorityLists[i];
+			if(!priorityList.isEmpty()) {
+				final Telegram telegram = priorityList.removeFirst();
+				_size -= telegram.getSize();
+				_changed.signalAll();
+				return telegram;
 			}
 		}
 		throw new IllegalStateException("Interner Fehler: Es wurde kein Telegramm gefunden, obwohl die Gesamtgre " + _size + " ist");
@@ -110,22 +149,26 @@ public class TelegramQueue<Telegram extends QueueableTelegram> {
 		final int length = telegram.getSize();
 		if(length <= 0) throw new IllegalArgumentException("Telegrammlnge muss grer 0 sein, ist aber " + length + ": " + telegram);
 		final byte priority = telegram.getPriority();
-		synchronized(this) {
+		_lock.lock();
+		try {
 			if(length > _capacity){
 				// Telegramm passt nicht in Queue, solange warten bis _size == 0 und dann senden
 				while(!_closed && _size > 0) {
-					wait();
+					_changed.await();
 				}
 			}
 			else {
 				while(!_closed && _size + length > _capacity) {
-					wait();
+					_changed.await();
 				}
 			}
 			if(_closed) return;
 			_priorityLists[priority].add(telegram);
 			_size += length;
-			notifyAll();
+			_changed.signalAll();
+		}
+		finally {
+			_lock.unlock();
 		}
 	}
 
@@ -144,9 +187,13 @@ public class TelegramQueue<Telegram extends QueueableTelegram> {
 	 * @return Gesamtgre der aktuell zwischengespeicherten Telegramme.
 	 */
 	public int getSize() {
-		synchronized(this) {
+		_lock.lock();
+		try {
 			return _size;
 		}
+		finally {
+			_lock.unlock();
+		}
 	}
 
 
@@ -155,9 +202,13 @@ public class TelegramQueue<Telegram extends QueueableTelegram> {
 	 * liefert noch alle bisher gespeicherten Telegramme und danach <code>null</code> zurck. Eventuell blockierte Threads werden geweckt.
 	 */
 	public void close() {
-		synchronized(this) {
+		_lock.lock();
+		try {
 			_closed = true;
-			notifyAll();
+			_changed.signalAll();
+		}
+		finally {
+			_lock.unlock();
 		}
 	}
 
@@ -166,14 +217,18 @@ public class TelegramQueue<Telegram extends QueueableTelegram> {
 	 * speichernde Telegramme und die Methode {@link #take} liefert anschlieend immer <code>null</code> zurck. Eventuell blockierte Threads werden geweckt.
 	 */
 	public void abort() {
-		synchronized(this) {
+		_lock.lock();
+		try {
 			_closed = true;
-			notifyAll();
+			_changed.signalAll();
 			try {
 				while(take() != null) ;
 			}
 			catch(InterruptedException ignored) {
 			}
 		}
+		finally {
+			_lock.unlock();
+		}
 	}
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.lowLevel;
+
+/**
+ * Schnittstelle fr Queues, die zum gepufferten Austausch von priorisierten Telegrammen zwischen verschiedenen Threads verwendet werden. Die Gesamtgre der
+ * gepufferten Telegramme ist beschrnkt.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ * @see TelegramQueue
+ * @see RingBufferTelegramQueue
+ * @see TelegramQueueType
+ */
+public interface TelegramQueueInterface<Telegram extends QueueableTelegram> {
+
+	/**
+	 * Gibt das lteste in der Queue gespeicherte Telegramm mit der hchsten Prioritt zurck. Wenn die Queue noch nicht geschlossen wurde, wartet diese Methode,
+	 * bis ein Telegramm in der Queue zur Verfgung steht.
+	 *
+	 * @return Nchstes gespeicherte Telegramm mit der hchsten Prioritt. Wenn die Queue geschlossen wurde und kein gespeichertes Telegramm mehr verfgbar ist
+	 *         wird <code>null</code> zurckgegeben.
+	 *
+	 * @throws InterruptedException Wenn der Thread whrend des Wartens unterbrochen wurde.
+	 */
+	Telegram take() throws InterruptedException;
+
+	/**
+	 * Gibt das lteste in der Queue gespeicherte Telegramm mit der hchsten Prioritt zurck, ohne auf ein Telegramm zu warten.
+	 *
+	 * @return Nchstes gespeicherte Telegramm mit der hchsten Prioritt oder <code>null</code>, wenn aktuell kein Telegramm in der Queue gespeichert ist.
+	 */
+	Telegram poll();
+
+	/**
+	 * Speichert das angegebene Telegramm in der Queue. Bei Bedarf wartet diese Methode bis gengend Platz in der Queue fr das zu speichernde Telegramm zur
+	 * Verfgung steht.
+	 *
+	 * @param telegram Das zu speichernde Telegramm
+	 *
+	 * @throws InterruptedException Wenn der Thread whrend des Wartens unterbrochen wurde.
+	 */
+	void put(Telegram telegram) throws InterruptedException;
+
+	/**
+	 * Bestimmt die maximale Gesamtgre fr zwischengespeicherte Telegramme.
+	 *
+	 * @return Maximale Gesamtgre fr zwischengespeicherte Telegramme.
+	 */
+	int getCapacity();
+
+	/**
+	 * Bestimmt die Gesamtgre der aktuell zwischengespeicherten Telegramme.
+	 *
+	 * @return Gesamtgre der aktuell zwischengespeicherten Telegramme.
+	 */
+	int getSize();
+
+	/**
+	 * Schliet die Queue. Danach ignoriert die Methode {@link #put} smtliche weitere zu speichernde Telegramme und die Methode {@link #take} liefert noch alle
+	 * bisher gespeicherten Telegramme und danach <code>null</code> zurck. Eventuell blockierte Threads werden geweckt.
+	 */
+	void close();
+
+	/**
+	 * Schliet die Queue und lscht alle noch gespeicherten Telegramme. Danach ignoriert die Methode {@link #put} smtliche weitere zu speichernde Telegramme
+	 * und die Methode {@link #take} liefert anschlieend immer <code>null</code> zurck. Eventuell blockierte Threads werden geweckt.
+	 */
+	void abort();
+}
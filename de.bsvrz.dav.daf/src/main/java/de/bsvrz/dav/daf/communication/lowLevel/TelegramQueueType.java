@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.lowLevel;
+
+/**
+ * Auswahl der Implementierung, die von einer {@link LowLevelCommunication} fr die Sende- und Empfangs-Queue verwendet wird.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public enum TelegramQueueType {
+
+	/** Bisherige Implementierung {@link TelegramQueue} mit einer Sperre und verketteten Listen je Prioritt. */
+	STANDARD("standard") {
+		@Override
+		public <Telegram extends QueueableTelegram> TelegramQueueInterface<Telegram> createQueue(final int capacity, final int maximumPriority) {
+			return new TelegramQueue<Telegram>(capacity, maximumPriority);
+		}
+	},
+
+	/** Implementierung {@link RingBufferTelegramQueue} mit Ringpuffern je Prioritt und getrennten Wartebedingungen fr Leser und Schreiber. */
+	RING_BUFFER("ringpuffer") {
+		@Override
+		public <Telegram extends QueueableTelegram> TelegramQueueInterface<Telegram> createQueue(final int capacity, final int maximumPriority) {
+			return new RingBufferTelegramQueue<Telegram>(capacity, maximumPriority);
+		}
+	};
+
+	private final String _name;
+
+	TelegramQueueType(final String name) {
+		_name = name;
+	}
+
+	/**
+	 * Erzeugt eine neue Queue dieses Typs.
+	 *
+	 * @param capacity        Maximale Gesamtgre der gepufferten Telegramme.
+	 * @param maximumPriority Maximale von Telegrammen verwendete Prioritt.
+	 *
+	 * @return Neue Queue
+	 */
+	public abstract <Telegram extends QueueableTelegram> TelegramQueueInterface<Telegram> createQueue(int capacity, int maximumPriority);
+
+	/**
+	 * Liefert den Namen, mit dem dieser Typ in Aufrufargumenten angegeben wird.
+	 *
+	 * @return Name des Typs
+	 */
+	public String getName() {
+		return _name;
+	}
+
+	@Override
+	public String toString() {
+		return _name;
+	}
+
+	/**
+	 * Bestimmt den Typ zu einem in einem Aufrufargument angegebenen Namen.
+	 *
+	 * @param name Name des Typs, Gro-/Kleinschreibung wird nicht bercksichtigt.
+	 *
+	 * @return Typ mit dem angegebenen Namen
+	 *
+	 * @throws IllegalArgumentException Wenn es keinen Typ mit dem angegebenen Namen gibt.
+	 */
+	public static TelegramQueueType forName(final String name) {
+		for(TelegramQueueType type : values()) {
+			if(type._name.equalsIgnoreCase(name.trim())) return type;
+		}
+		throw new IllegalArgumentException("Unbekannter Typ der Telegramm-Queue: " + name + ", erlaubt sind 'standard' und 'ringpuffer'");
+	}
+}
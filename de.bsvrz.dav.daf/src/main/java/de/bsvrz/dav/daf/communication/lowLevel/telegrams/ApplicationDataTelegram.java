@@ -76,6 +76,15 @@ public class ApplicationDataTelegram extends DataTelegram implements DataTelegra
 
 	private byte data[];
 
+	/** Serialisierte Form dieses Telegramms oder <code>null</code>, wenn sie noch nicht erzeugt wurde. */
+	private volatile byte[] _encodedTelegram;
+
+	/** Aus diesem Telegramm erzeugtes Datenverteilertelegramm in Richtung Zentraldatenverteiler oder <code>null</code>, wenn es noch nicht erzeugt wurde. */
+	private volatile TransmitterDataTelegram _transmitterDataTelegramToCentralDistributor;
+
+	/** Aus diesem Telegramm erzeugtes Datenverteilertelegramm in Richtung Empfnger oder <code>null</code>, wenn es noch nicht erzeugt wurde. */
+	private volatile TransmitterDataTelegram _transmitterDataTelegramToReceivers;
+
 	public ApplicationDataTelegram() {
 		type = APPLICATION_DATA_TELEGRAM_TYPE;
 	}
@@ -238,6 +247,7 @@ public class ApplicationDataTelegram extends DataTelegram implements DataTelegra
 		if(telegramNumber == 0) {
 			length += tmp;
 		}
+		invalidateEncodedTelegram();
 	}
 
 	/**
@@ -274,6 +284,66 @@ public class ApplicationDataTelegram extends DataTelegram implements DataTelegra
 	 */
 	public final void setDataIndex(long _dataNumber) {
 		dataNumber = _dataNumber;
+		invalidateEncodedTelegram();
+	}
+
+	/**
+	 * Liefert ein Datenverteilertelegramm mit dem Inhalt dieses Telegramms. Fr jede Datenflussrichtung wird das Datenverteilertelegramm nur einmal erzeugt und
+	 * beim Versand an mehrere Datenverteiler gemeinsam genutzt, so dass auch dessen serialisierte Form nur einmal erzeugt wird.
+	 *
+	 * @param direction Information ber die Datenflussrichtung 0: Sender zum Zentraldatenverteiler 1: Zentraldatenverteiler an die Empfnger
+	 *
+	 * @return Datenverteilertelegramm
+	 */
+	public final TransmitterDataTelegram getTransmitterDataTelegram(byte direction) {
+		// Bei gleichzeitigen Aufrufen wird das Telegramm eventuell mehrfach erzeugt, die erzeugten Telegramme sind aber gleichwertig
+		TransmitterDataTelegram transmitterDataTelegram;
+		if(direction == 0) {
+			transmitterDataTelegram = _transmitterDataTelegramToCentralDistributor;
+			if(transmitterDataTelegram == null) {
+				transmitterDataTelegram = new TransmitterDataTelegram(this, direction);
+				_transmitterDataTelegramToCentralDistributor = transmitterDataTelegram;
+			}
+		}
+		else {
+			transmitterDataTelegram = _transmitterDataTelegramToReceivers;
+			if(transmitterDataTelegram == null) {
+				transmitterDataTelegram = new TransmitterDataTelegram(this, direction);
+				_transmitterDataTelegramToReceivers = transmitterDataTelegram;
+			}
+		}
+		return transmitterDataTelegram;
+	}
+
+	/**
+	 * Liefert die serialisierte Form dieses Telegramms, wie sie von {@link #write(java.io.DataOutputStream)} ausgegeben wird. Die serialisierte Form wird beim
+	 * ersten Aufruf erzeugt und danach wiederverwendet. Ein Telegramm, das an viele Verbindungen verschickt wird, wird dadurch nur einmal kodiert und alle
+	 * Sendequeues schreiben denselben Puffer. Das zurckgegebene Array darf nicht verndert werden.
+	 *
+	 * @return Serialisierte Form des Telegramms
+	 */
+	public final byte[] getEncodedTelegram() {
+		byte[] encodedTelegram = _encodedTelegram;
+		if(encodedTelegram == null) {
+			// Die serialisierte Form ist um die Lngenangabe und die nicht in der Telegrammlnge bercksichtigten 4 Bytes der Basisanmeldeinformation lnger
+			final TelegramEncodingStream encodingStream = new TelegramEncodingStream(length + 6);
+			try {
+				writeFields(new DataOutputStream(encodingStream));
+			}
+			catch(IOException e) {
+				throw new IllegalStateException("Fehler beim Kodieren des Telegramms", e);
+			}
+			encodedTelegram = encodingStream.getEncodedBytes();
+			_encodedTelegram = encodedTelegram;
+		}
+		return encodedTelegram;
+	}
+
+	/** Verwirft die serialisierte Form und die daraus erzeugten Datenverteilertelegramme nach einer nderung des Telegramms. */
+	private void invalidateEncodedTelegram() {
+		_encodedTelegram = null;
+		_transmitterDataTelegramToCentralDistributor = null;
+		_transmitterDataTelegramToReceivers = null;
 	}
 
 	public String toShortDebugParamString() {
@@ -331,6 +401,10 @@ public class ApplicationDataTelegram extends DataTelegram implements DataTelegra
 	}
 
 	public final void write(DataOutputStream out) throws IOException {
+		out.write(getEncodedTelegram());
+	}
+
+	private void writeFields(DataOutputStream out) throws IOException {
 		out.writeShort(length);
 		out.writeShort(telegramNumber);
 		out.writeShort(totalTelegramCount);
@@ -348,9 +422,7 @@ public class ApplicationDataTelegram extends DataTelegram implements DataTelegra
 			}
 			else {
 				out.writeByte(attributesIndicator.length);
-				for(int i = 0; i < attributesIndicator.length; ++i) {
-					out.writeByte(attributesIndicator[i]);
-				}
+				out.write(attributesIndicator);
 			}
 		}
 
@@ -359,14 +431,12 @@ public class ApplicationDataTelegram extends DataTelegram implements DataTelegra
 		}
 		else {
 			out.writeInt(data.length);
-			for(int i = 0; i < data.length; i++) {
-				byte aData = data[i];
-				out.writeByte(aData);
-			}
+			out.write(data);
 		}
 	}
 
 	public final void read(DataInputStream in) throws IOException {
+		invalidateEncodedTelegram();
 		int _length = in.readShort();
 		telegramNumber = in.readShort();
 		totalTelegramCount = in.readShort();
@@ -383,18 +453,14 @@ public class ApplicationDataTelegram extends DataTelegram implements DataTelegra
 			length += 10;
 			if(size > 0) {
 				attributesIndicator = new byte[size];
-				for(int i = 0; i < size; ++i) {
-					attributesIndicator[i] = in.readByte();
-				}
+				in.readFully(attributesIndicator);
 				length += attributesIndicator.length;
 			}
 		}
 		size = in.readInt();
 		if(size > 0) {
 			data = new byte[size];
-			for(int i = 0; i < size; ++i) {
-				data[i] = in.readByte();
-			}
+			in.readFully(data);
 			length += data.length;
 		}
 		if(length != _length) {
@@ -97,6 +97,9 @@ public abstract class DataTelegram implements QueueableTelegram {
 	/** Telegrammtyp: Austausch von Datenstzen */
 	public static final byte APPLICATION_DATA_TELEGRAM_TYPE = 19;
 
+	/** Telegrammtyp: Sammelan- oder -abmeldung mehrerer Datenidentifikationen (ab Protokollversion 4) */
+	public static final byte SUBSCRIPTION_BATCH_TYPE = 20;
+
 	/* Die DAV-DAV Typen */
 	/** Telegrammtyp: Verhandlung der Protokollversion (Client) */
 	public static final byte TRANSMITTER_PROTOCOL_VERSION_REQUEST_TYPE = 65;
@@ -294,6 +297,9 @@ public abstract class DataTelegram implements QueueableTelegram {
 			case SEND_UNSUBSCRIPTION_TYPE: {
 				return new SendUnsubscriptionTelegram();
 			}
+			case SUBSCRIPTION_BATCH_TYPE: {
+				return new SubscriptionBatchTelegram();
+			}
 			case TERMINATE_ORDER_TYPE: {
 				return new TerminateOrderTelegram();
 			}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.lowLevel.telegrams;
+
+import de.bsvrz.dav.daf.main.impl.CommunicationConstant;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Die Applikation meldet mehrere Datenidentifikationen in einem Telegramm an oder ab. Ein Telegramm enthlt entweder nur Empfangsanmeldungen, nur
+ * Sendeanmeldungen, nur Empfangsabmeldungen oder nur Sendeabmeldungen. Der Datenverteiler behandelt die enthaltenen Eintrge genauso wie die entsprechende
+ * Folge von {@link ReceiveSubscriptionTelegram}, {@link SendSubscriptionTelegram}, {@link ReceiveUnsubscriptionTelegram} bzw. {@link
+ * SendUnsubscriptionTelegram}.
+ * <p/>
+ * Das Telegramm wird nur verwendet, wenn bei der Verhandlung der Protokollversion mindestens die Version {@link #PROTOCOL_VERSION} vereinbart wurde.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public class SubscriptionBatchTelegram extends DataTelegram {
+
+	/** Protokollversion zwischen Applikation und Datenverteiler, ab der dieses Telegramm untersttzt wird. */
+	public static final int PROTOCOL_VERSION = 4;
+
+	/** Art der Eintrge: Empfangsanmeldungen */
+	public static final byte RECEIVE_SUBSCRIPTIONS = 1;
+
+	/** Art der Eintrge: Sendeanmeldungen */
+	public static final byte SEND_SUBSCRIPTIONS = 2;
+
+	/** Art der Eintrge: Empfangsabmeldungen */
+	public static final byte RECEIVE_UNSUBSCRIPTIONS = 3;
+
+	/** Art der Eintrge: Sendeabmeldungen */
+	public static final byte SEND_UNSUBSCRIPTIONS = 4;
+
+	/** Maximale Lnge des Telegramminhalts in Bytes. */
+	private static final int MAX_LENGTH = 30000;
+
+	/** Lnge der Kopfdaten (Art der Eintrge und Anzahl) */
+	private static final int HEADER_LENGTH = 5;
+
+	/** Art der enthaltenen Eintrge */
+	private byte _batchType;
+
+	/** Empfangsanmeldungen oder <code>null</code>, falls das Telegramm andere Eintrge enthlt */
+	private ReceiveSubscriptionInfo[] _receiveSubscriptionInfos;
+
+	/** Sendeanmeldungen oder <code>null</code>, falls das Telegramm andere Eintrge enthlt */
+	private SendSubscriptionInfo[] _sendSubscriptionInfos;
+
+	/** Abgemeldete Datenidentifikationen oder <code>null</code>, falls das Telegramm Anmeldungen enthlt */
+	private BaseSubscriptionInfo[] _unsubscriptionInfos;
+
+	/** Erzeugt ein leeres Telegramm, das anschlieend mit {@link #read} gefllt wird. */
+	public SubscriptionBatchTelegram() {
+		type = SUBSCRIPTION_BATCH_TYPE;
+		priority = CommunicationConstant.SYSTEM_TELEGRAM_PRIORITY;
+	}
+
+	/**
+	 * Erzeugt ein Telegramm mit Empfangsanmeldungen.
+	 *
+	 * @param receiveSubscriptionInfos Empfangsanmeldungen, hchstens {@link #getMaxEntries(byte)} Stck
+	 */
+	public SubscriptionBatchTelegram(final ReceiveSubscriptionInfo[] receiveSubscriptionInfos) {
+		this();
+		checkNumberOfEntries(RECEIVE_SUBSCRIPTIONS, receiveSubscriptionInfos.length);
+		_batchType = RECEIVE_SUBSCRIPTIONS;
+		_receiveSubscriptionInfos = receiveSubscriptionInfos;
+		length = computeLength();
+	}
+
+	/**
+	 * Erzeugt ein Telegramm mit Sendeanmeldungen.
+	 *
+	 * @param sendSubscriptionInfos Sendeanmeldungen, hchstens {@link #getMaxEntries(byte)} Stck
+	 */
+	public SubscriptionBatchTelegram(final SendSubscriptionInfo[] sendSubscriptionInfos) {
+		this();
+		checkNumberOfEntries(SEND_SUBSCRIPTIONS, sendSubscriptionInfos.length);
+		_batchType = SEND_SUBSCRIPTIONS;
+		_sendSubscriptionInfos = sendSubscriptionInfos;
+		length = computeLength();
+	}
+
+	/**
+	 * Erzeugt ein Telegramm mit Abmeldungen.
+	 *
+	 * @param batchType           {@link #RECEIVE_UNSUBSCRIPTIONS} oder {@link #SEND_UNSUBSCRIPTIONS}
+	 * @param unsubscriptionInfos Abzumeldende Datenidentifikationen, hchstens {@link #getMaxEntries(byte)} Stck
+	 */
+	public SubscriptionBatchTelegram(final byte batchType, final BaseSubscriptionInfo[] unsubscriptionInfos) {
+		this();
+		if(batchType != RECEIVE_UNSUBSCRIPTIONS && batchType != SEND_UNSUBSCRIPTIONS) {
+			throw new IllegalArgumentException("Ungltige Art der Abmeldungen: " + batchType);
+		}
+		checkNumberOfEntries(batchType, unsubscriptionInfos.length);
+		_batchType = batchType;
+		_unsubscriptionInfos = unsubscriptionInfos;
+		length = computeLength();
+	}
+
+	/**
+	 * Bestimmt die maximale Anzahl von Eintrgen, die in einem Telegramm bertragen werden knnen.
+	 *
+	 * @param batchType Art der Eintrge
+	 *
+	 * @return Maximale Anzahl von Eintrgen
+	 */
+	public static int getMaxEntries(final byte batchType) {
+		return (MAX_LENGTH - HEADER_LENGTH) / getEntryLength(batchType);
+	}
+
+	/**
+	 * Bestimmt die Anzahl der Bytes, die ein Eintrag tatschlich im Stream belegt. Diese weicht von den in den Einzeltelegrammen angegebenen Lngen ab.
+	 *
+	 * @param batchType Art der Eintrge
+	 *
+	 * @return Lnge eines Eintrags in Bytes
+	 */
+	private static int getEntryLength(final byte batchType) {
+		switch(batchType) {
+			case RECEIVE_SUBSCRIPTIONS:
+				return 22;
+			case SEND_SUBSCRIPTIONS:
+				return 20;
+			case RECEIVE_UNSUBSCRIPTIONS:
+			case SEND_UNSUBSCRIPTIONS:
+				return 18;
+			default:
+				throw new IllegalArgumentException("Unbekannte Art der Eintrge: " + batchType);
+		}
+	}
+
+	private static void checkNumberOfEntries(final byte batchType, final int numberOfEntries) {
+		if(numberOfEntries < 0 || numberOfEntries > getMaxEntries(batchType)) {
+			throw new IllegalArgumentException("Ungltige Anzahl von Eintrgen: " + numberOfEntries);
+		}
+	}
+
+	private int computeLength() {
+		return HEADER_LENGTH + getNumberOfEntries() * getEntryLength(_batchType);
+	}
+
+	/**
+	 * Gibt die Art der enthaltenen Eintrge zurck.
+	 *
+	 * @return {@link #RECEIVE_SUBSCRIPTIONS}, {@link #SEND_SUBSCRIPTIONS}, {@link #RECEIVE_UNSUBSCRIPTIONS} oder {@link #SEND_UNSUBSCRIPTIONS}
+	 */
+	public final byte getBatchType() {
+		return _batchType;
+	}
+
+	/**
+	 * Gibt die Anzahl der enthaltenen Eintrge zurck.
+	 *
+	 * @return Anzahl Eintrge
+	 */
+	public final int getNumberOfEntries() {
+		if(_receiveSubscriptionInfos != null) return _receiveSubscriptionInfos.length;
+		if(_sendSubscriptionInfos != null) return _sendSubscriptionInfos.length;
+		if(_unsubscriptionInfos != null) return _unsubscriptionInfos.length;
+		return 0;
+	}
+
+	/** @return Empfangsanmeldungen oder <code>null</code>, falls das Telegramm keine Empfangsanmeldungen enthlt */
+	public final ReceiveSubscriptionInfo[] getReceiveSubscriptionInfos() {
+		return _receiveSubscriptionInfos;
+	}
+
+	/** @return Sendeanmeldungen oder <code>null</code>, falls das Telegramm keine Sendeanmeldungen enthlt */
+	public final SendSubscriptionInfo[] getSendSubscriptionInfos() {
+		return _sendSubscriptionInfos;
+	}
+
+	/** @return Abgemeldete Datenidentifikationen oder <code>null</code>, falls das Telegramm keine Abmeldungen enthlt */
+	public final BaseSubscriptionInfo[] getUnsubscriptionInfos() {
+		return _unsubscriptionInfos;
+	}
+
+	public String parseToString() {
+		String str = "Sammelanmeldung Systemtelegramm: Art " + _batchType + ", " + getNumberOfEntries() + " Eintrge\n";
+		if(_receiveSubscriptionInfos != null) {
+			for(ReceiveSubscriptionInfo receiveSubscriptionInfo : _receiveSubscriptionInfos) {
+				str += receiveSubscriptionInfo.parseToString();
+			}
+		}
+		if(_sendSubscriptionInfos != null) {
+			for(SendSubscriptionInfo sendSubscriptionInfo : _sendSubscriptionInfos) {
+				str += sendSubscriptionInfo.parseToString();
+			}
+		}
+		if(_unsubscriptionInfos != null) {
+			for(BaseSubscriptionInfo unsubscriptionInfo : _unsubscriptionInfos) {
+				str += unsubscriptionInfo.toString() + "\n";
+			}
+		}
+		return str;
+	}
+
+	public void write(DataOutputStream out) throws IOException {
+		out.writeShort(length);
+		out.writeByte(_batchType);
+		out.writeInt(getNumberOfEntries());
+		if(_receiveSubscriptionInfos != null) {
+			for(ReceiveSubscriptionInfo receiveSubscriptionInfo : _receiveSubscriptionInfos) {
+				receiveSubscriptionInfo.write(out);
+			}
+		}
+		else if(_sendSubscriptionInfos != null) {
+			for(SendSubscriptionInfo sendSubscriptionInfo : _sendSubscriptionInfos) {
+				sendSubscriptionInfo.write(out);
+			}
+		}
+		else if(_unsubscriptionInfos != null) {
+			for(BaseSubscriptionInfo unsubscriptionInfo : _unsubscriptionInfos) {
+				unsubscriptionInfo.write(out);
+			}
+		}
+	}
+
+	public void read(DataInputStream in) throws IOException {
+		int _length = in.readShort();
+		_batchType = in.readByte();
+		final int numberOfEntries = in.readInt();
+		try {
+			checkNumberOfEntries(_batchType, numberOfEntries);
+		}
+		catch(IllegalArgumentException e) {
+			throw new IOException("Fehlerhafte Sammelanmeldung: " + e.getMessage());
+		}
+		switch(_batchType) {
+			case RECEIVE_SUBSCRIPTIONS:
+				_receiveSubscriptionInfos = new ReceiveSubscriptionInfo[numberOfEntries];
+				for(int i = 0; i < numberOfEntries; i++) {
+					_receiveSubscriptionInfos[i] = new ReceiveSubscriptionInfo();
+					_receiveSubscriptionInfos[i].read(in);
+				}
+				break;
+			case SEND_SUBSCRIPTIONS:
+				_sendSubscriptionInfos = new SendSubscriptionInfo[numberOfEntries];
+				for(int i = 0; i < numberOfEntries; i++) {
+					_sendSubscriptionInfos[i] = new SendSubscriptionInfo();
+					_sendSubscriptionInfos[i].read(in);
+				}
+				break;
+			default:
+				_unsubscriptionInfos = new BaseSubscriptionInfo[numberOfEntries];
+				for(int i = 0; i < numberOfEntries; i++) {
+					_unsubscriptionInfos[i] = new BaseSubscriptionInfo();
+					_unsubscriptionInfos[i].read(in);
+				}
+				break;
+		}
+		length = computeLength();
+		if(length != _length) {
+			throw new IOException("Falsche Telegrammlnge");
+		}
+	}
+
+	@Override
+	public String toShortDebugParamString() {
+		return "batchType=" + _batchType + ", entries=" + getNumberOfEntries();
+	}
+}
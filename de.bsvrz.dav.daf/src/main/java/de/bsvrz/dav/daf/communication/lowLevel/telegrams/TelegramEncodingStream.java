@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.communication.lowLevel.telegrams;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Ausgabestrom, mit dem die serialisierte Form eines Telegramms einmalig erzeugt wird. Wenn die vorab angegebene Gre genau der tatschlichen Gre
+ * entspricht, dann wird der interne Puffer ohne weitere Kopie als Ergebnis bernommen.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ * @see ApplicationDataTelegram#getEncodedTelegram()
+ * @see TransmitterDataTelegram#getEncodedTelegram()
+ */
+final class TelegramEncodingStream extends ByteArrayOutputStream {
+
+	/**
+	 * Erzeugt einen neuen Ausgabestrom.
+	 *
+	 * @param expectedSize Erwartete Gre der serialisierten Form in Bytes.
+	 */
+	TelegramEncodingStream(final int expectedSize) {
+		super(expectedSize);
+	}
+
+	/**
+	 * Liefert die geschriebenen Bytes. Der interne Puffer wird direkt zurckgegeben, wenn er vollstndig gefllt ist, ansonsten wird eine Kopie der
+	 * geschriebenen Bytes erzeugt.
+	 *
+	 * @return Geschriebene Bytes
+	 */
+	byte[] getEncodedBytes() {
+		if(count == buf.length) return buf;
+		return toByteArray();
+	}
+}
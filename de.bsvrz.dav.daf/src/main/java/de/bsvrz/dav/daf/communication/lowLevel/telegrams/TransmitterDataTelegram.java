@@ -74,6 +74,9 @@ public class TransmitterDataTelegram extends DataTelegram implements DataTelegra
 	/** Die Information ber die Datenflurichtung 0: Sender zum Zentraldatenverteiler 1: Zentraldatenverteiler an die Empfnger */
 	private byte _direction;
 
+	/** Serialisierte Form dieses Telegramms oder <code>null</code>, wenn sie noch nicht erzeugt wurde. */
+	private volatile byte[] _encodedTelegram;
+
 	public TransmitterDataTelegram() {
 		type = TRANSMITTER_DATA_TELEGRAM_TYPE;
 	}
@@ -309,6 +312,7 @@ public class TransmitterDataTelegram extends DataTelegram implements DataTelegra
 	 */
 	public final void setDirection(byte newDirection) {
 		_direction = newDirection;
+		_encodedTelegram = null;
 	}
 
 	/**
@@ -318,6 +322,33 @@ public class TransmitterDataTelegram extends DataTelegram implements DataTelegra
 	 */
 	public final void setDataIndex(long dataNumber) {
 		_dataNumber = dataNumber;
+		_encodedTelegram = null;
+	}
+
+	/**
+	 * Liefert die serialisierte Form dieses Telegramms, wie sie von {@link #write(java.io.DataOutputStream)} ausgegeben wird. Die serialisierte Form wird beim
+	 * ersten Aufruf erzeugt und danach wiederverwendet. Ein Telegramm, das an viele Datenverteiler verschickt wird, wird dadurch nur einmal kodiert und alle
+	 * Sendequeues schreiben denselben Puffer. Das zurckgegebene Array darf nicht verndert werden.
+	 *
+	 * @return Serialisierte Form des Telegramms
+	 *
+	 * @see ApplicationDataTelegram#getTransmitterDataTelegram(byte)
+	 */
+	public final byte[] getEncodedTelegram() {
+		byte[] encodedTelegram = _encodedTelegram;
+		if(encodedTelegram == null) {
+			// Die serialisierte Form ist um die Lngenangabe und die nicht in der Telegrammlnge bercksichtigten 4 Bytes der Basisanmeldeinformation lnger
+			final TelegramEncodingStream encodingStream = new TelegramEncodingStream(length + 6);
+			try {
+				writeFields(new DataOutputStream(encodingStream));
+			}
+			catch(IOException e) {
+				throw new IllegalStateException("Fehler beim Kodieren des Telegramms", e);
+			}
+			encodedTelegram = encodingStream.getEncodedBytes();
+			_encodedTelegram = encodedTelegram;
+		}
+		return encodedTelegram;
 	}
 
 	/**
@@ -393,6 +424,10 @@ public class TransmitterDataTelegram extends DataTelegram implements DataTelegra
 	}
 
 	public final void write(DataOutputStream out) throws IOException {
+		out.write(getEncodedTelegram());
+	}
+
+	private void writeFields(DataOutputStream out) throws IOException {
 		out.writeShort(length);
 		out.writeShort(_telegramNumber);
 		out.writeShort(_totalTelegramCount);
@@ -408,9 +443,7 @@ public class TransmitterDataTelegram extends DataTelegram implements DataTelegra
 			}
 			else {
 				out.writeByte(_attributesIndicator.length);
-				for(int i = 0; i < _attributesIndicator.length; ++i) {
-					out.writeByte(_attributesIndicator[i]);
-				}
+				out.write(_attributesIndicator);
 			}
 		}
 		if(_data == null) {
@@ -418,13 +451,12 @@ public class TransmitterDataTelegram extends DataTelegram implements DataTelegra
 		}
 		else {
 			out.writeInt(_data.length);
-			for(int i = 0; i < _data.length; ++i) {
-				out.writeByte(_data[i]);
-			}
+			out.write(_data);
 		}
 	}
 
 	public final void read(DataInputStream in) throws IOException {
+		_encodedTelegram = null;
 		int _length = in.readShort();
 		_telegramNumber = in.readShort();
 		_totalTelegramCount = in.readShort();
@@ -442,18 +474,14 @@ public class TransmitterDataTelegram extends DataTelegram implements DataTelegra
 			length += 10;
 			if(size > 0) {
 				_attributesIndicator = new byte[size];
-				for(int i = 0; i < size; ++i) {
-					_attributesIndicator[i] = in.readByte();
-				}
+				in.readFully(_attributesIndicator);
 				length += _attributesIndicator.length;
 			}
 		}
 		size = in.readInt();
 		if(size > 0) {
 			_data = new byte[size];
-			for(int i = 0; i < size; ++i) {
-				_data[i] = in.readByte();
-			}
+			in.readFully(_data);
 			length += _data.length;
 		}
 		if(length != _length) {
@@ -77,17 +77,19 @@ public class ClientConnectionProperties extends ConnectionProperties {
 				throw new InitialisationNotCompleteException("Unbekannter Kommunikationsprotokollname.");
 			}
 			ConnectionInterface connection = (ConnectionInterface)aClass.newInstance();
-			setLowLevelCommunication(
-					new LowLevelCommunication(
-							connection,
-							clientDavParameters.getAdjustedOutputBufferSize(),
-							clientDavParameters.getAdjustedInputBufferSize(),
-							clientDavParameters.getCommunicationParameters().getSendKeepAliveTimeout(),
-							clientDavParameters.getCommunicationParameters().getReceiveKeepAliveTimeout(),
-							LowLevelCommunication.HANDLE_CONFIG_RESPONCES_MODE,
-							false
-					)
+			final LowLevelCommunication lowLevelCommunication = new LowLevelCommunication(
+					connection,
+					clientDavParameters.getAdjustedOutputBufferSize(),
+					clientDavParameters.getAdjustedInputBufferSize(),
+					clientDavParameters.getCommunicationParameters().getSendKeepAliveTimeout(),
+					clientDavParameters.getCommunicationParameters().getReceiveKeepAliveTimeout(),
+					LowLevelCommunication.HANDLE_CONFIG_RESPONCES_MODE,
+					false,
+					clientDavParameters.getTelegramQueueType()
 			);
+			lowLevelCommunication.setSendBatching(clientDavParameters.getSendBatchMaxBytes(), clientDavParameters.getSendBatchMaxDelay());
+			lowLevelCommunication.setUseVirtualThreads(clientDavParameters.getUseVirtualThreads());
+			setLowLevelCommunication(lowLevelCommunication);
 
 			String authentificationName = clientDavParameters.getAuthentificationProcessName();
 			if(authentificationName == null) {
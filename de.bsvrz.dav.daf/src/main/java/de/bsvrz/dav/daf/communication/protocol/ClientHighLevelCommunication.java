@@ -86,6 +86,12 @@ public class ClientHighLevelCommunication implements HighLevelCommunicationCallb
 	/** Die eingestellte Protokollversion */
 	private int _dafVersion = 3;
 
+	/**
+	 * <code>true</code>, wenn mit dem Datenverteiler eine Protokollversion vereinbart wurde, die {@link SubscriptionBatchTelegram Sammelanmeldungen}
+	 * untersttzt.
+	 */
+	private volatile boolean _subscriptionBatchSupported = false;
+
 	/** Die Id des Benutzers */
 	private long _userId;
 
@@ -180,7 +186,10 @@ public class ClientHighLevelCommunication implements HighLevelCommunicationCallb
 		}
 		else {
 			int davVersion = protocolVersionAnswer.getPreferredVersion();
-			if(davVersion != _dafVersion) {
+			if(davVersion == SubscriptionBatchTelegram.PROTOCOL_VERSION) {
+				_subscriptionBatchSupported = true;
+			}
+			else if(davVersion != _dafVersion) {
 				errorMessage = "Die lokale Protokollversion (" + _dafVersion + ") wird vom Datenverteiler nicht untersttzt.";
 			}
 		}
@@ -393,6 +402,27 @@ public class ClientHighLevelCommunication implements HighLevelCommunicationCallb
 		lowLevelCommunication.send(receiveSubscriptionTelegram);
 	}
 
+	/**
+	 * Sendet mehrere Empfangsanmeldungen zum Datenverteiler. Wenn der Datenverteiler Sammelanmeldungen untersttzt, werden die Anmeldungen in mglichst wenigen
+	 * {@link SubscriptionBatchTelegram Sammelanmeldungstelegrammen} bertragen, sonst einzeln mit {@link #sendReceiveSubscription}.
+	 *
+	 * @param subscriptions die Empfangsanmeldeinformationen
+	 */
+	public void sendReceiveSubscriptions(List<ReceiveSubscriptionInfo> subscriptions) {
+		if(!_subscriptionBatchSupported || subscriptions.size() <= 1) {
+			for(ReceiveSubscriptionInfo subscription : subscriptions) {
+				sendReceiveSubscription(subscription);
+			}
+			return;
+		}
+		final int maxEntries = SubscriptionBatchTelegram.getMaxEntries(SubscriptionBatchTelegram.RECEIVE_SUBSCRIPTIONS);
+		LowLevelCommunicationInterface lowLevelCommunication = properties.getLowLevelCommunication();
+		for(int from = 0; from < subscriptions.size(); from += maxEntries) {
+			final List<ReceiveSubscriptionInfo> part = subscriptions.subList(from, Math.min(from + maxEntries, subscriptions.size()));
+			lowLevelCommunication.send(new SubscriptionBatchTelegram(part.toArray(new ReceiveSubscriptionInfo[part.size()])));
+		}
+	}
+
 	/**
 	 * Es wird ein {@link de.bsvrz.dav.daf.communication.lowLevel.telegrams.ReceiveUnsubscriptionTelegram Empfangsabmeldungstelegramm} erstellt und zum Datenverteiler gesendet.
 	 *
@@ -404,6 +434,22 @@ public class ClientHighLevelCommunication implements HighLevelCommunicationCallb
 		lowLevelCommunication.send(receiveUnsubscriptionTelegram);
 	}
 
+	/**
+	 * Sendet mehrere Empfangsabmeldungen zum Datenverteiler. Wenn der Datenverteiler Sammelanmeldungen untersttzt, werden die Abmeldungen in mglichst wenigen
+	 * {@link SubscriptionBatchTelegram Sammeltelegrammen} bertragen, sonst einzeln mit {@link #sendReceiveUnsubscription}.
+	 *
+	 * @param unsubscriptions die Empfangsabmeldeinformationen
+	 */
+	public final void sendReceiveUnsubscriptions(List<BaseSubscriptionInfo> unsubscriptions) {
+		if(!_subscriptionBatchSupported || unsubscriptions.size() <= 1) {
+			for(BaseSubscriptionInfo unsubscription : unsubscriptions) {
+				sendReceiveUnsubscription(unsubscription);
+			}
+			return;
+		}
+		sendUnsubscriptionBatches(SubscriptionBatchTelegram.RECEIVE_UNSUBSCRIPTIONS, unsubscriptions);
+	}
+
 	/**
 	 * Es wird ein {@link de.bsvrz.dav.daf.communication.lowLevel.telegrams.SendSubscriptionTelegram Sendeanmeldetelegramm} erstellt und zum Datenverteiler gesendet.
 	 *
@@ -416,6 +462,27 @@ public class ClientHighLevelCommunication implements HighLevelCommunicationCallb
 		lowLevelCommunication.send(sendSubscriptionTelegram);
 	}
 
+	/**
+	 * Sendet mehrere Sendeanmeldungen zum Datenverteiler. Wenn der Datenverteiler Sammelanmeldungen untersttzt, werden die Anmeldungen in mglichst wenigen
+	 * {@link SubscriptionBatchTelegram Sammelanmeldungstelegrammen} bertragen, sonst einzeln mit {@link #sendSendSubscription}.
+	 *
+	 * @param subscriptions die Sendeanmeldeinformationen
+	 */
+	public void sendSendSubscriptions(List<SendSubscriptionInfo> subscriptions) {
+		if(!_subscriptionBatchSupported || subscriptions.size() <= 1) {
+			for(SendSubscriptionInfo subscription : subscriptions) {
+				sendSendSubscription(subscription);
+			}
+			return;
+		}
+		final int maxEntries = SubscriptionBatchTelegram.getMaxEntries(SubscriptionBatchTelegram.SEND_SUBSCRIPTIONS);
+		LowLevelCommunicationInterface lowLevelCommunication = properties.getLowLevelCommunication();
+		for(int from = 0; from < subscriptions.size(); from += maxEntries) {
+			final List<SendSubscriptionInfo> part = subscriptions.subList(from, Math.min(from + maxEntries, subscriptions.size()));
+			lowLevelCommunication.send(new SubscriptionBatchTelegram(part.toArray(new SendSubscriptionInfo[part.size()])));
+		}
+	}
+
 	/**
 	 * Es wird ein {@link de.bsvrz.dav.daf.communication.lowLevel.telegrams.SendUnsubscriptionTelegram Sendeabmeldetelegramm} erstellt und zum Datenverteiler gesendet.
 	 *
@@ -427,6 +494,31 @@ public class ClientHighLevelCommunication implements HighLevelCommunicationCallb
 		lowLevelCommunication.send(sendUnsubscriptionTelegram);
 	}
 
+	/**
+	 * Sendet mehrere Sendeabmeldungen zum Datenverteiler. Wenn der Datenverteiler Sammelanmeldungen untersttzt, werden die Abmeldungen in mglichst wenigen
+	 * {@link SubscriptionBatchTelegram Sammeltelegrammen} bertragen, sonst einzeln mit {@link #sendSendUnsubscription}.
+	 *
+	 * @param unsubscriptions die Sendeabmeldeinformationen
+	 */
+	public final void sendSendUnsubscriptions(List<BaseSubscriptionInfo> unsubscriptions) {
+		if(!_subscriptionBatchSupported || unsubscriptions.size() <= 1) {
+			for(BaseSubscriptionInfo unsubscription : unsubscriptions) {
+				sendSendUnsubscription(unsubscription);
+			}
+			return;
+		}
+		sendUnsubscriptionBatches(SubscriptionBatchTelegram.SEND_UNSUBSCRIPTIONS, unsubscriptions);
+	}
+
+	private void sendUnsubscriptionBatches(final byte batchType, final List<BaseSubscriptionInfo> unsubscriptions) {
+		final int maxEntries = SubscriptionBatchTelegram.getMaxEntries(batchType);
+		LowLevelCommunicationInterface lowLevelCommunication = properties.getLowLevelCommunication();
+		for(int from = 0; from < unsubscriptions.size(); from += maxEntries) {
+			final List<BaseSubscriptionInfo> part = unsubscriptions.subList(from, Math.min(from + maxEntries, unsubscriptions.size()));
+			lowLevelCommunication.send(new SubscriptionBatchTelegram(batchType, part.toArray(new BaseSubscriptionInfo[part.size()])));
+		}
+	}
+
 	/**
 	 * Versendet ein Applikationsdatentelegramm an den Datenverteiler. Falls der zu sendende Datensatz grer ist, als die im System gesetzte maximale Lnge eines
 	 * Telegramms, wird er in Teiltelegramme zerstckelt und zum Datenverteiler gesendet.
@@ -640,7 +732,8 @@ public class ClientHighLevelCommunication implements HighLevelCommunicationCallb
 	 * @return Die Protokollversion-Telegramm-Antwort des Datenverteilers oder <code>null</code>, falls die Antwort nicht ermittelt werden konnte.
 	 */
 	private ProtocolVersionAnswer getProtocolVersions() {
-		int versions[] = {_dafVersion};
+		// Die neuere Version wird bevorzugt, ltere Datenverteiler antworten mit der Basisversion
+		int versions[] = {SubscriptionBatchTelegram.PROTOCOL_VERSION, _dafVersion};
 		ProtocolVersionRequest protocolVersionRequest = new ProtocolVersionRequest(versions);
 		LowLevelCommunicationInterface lowLevelCommunication = properties.getLowLevelCommunication();
 		lowLevelCommunication.send(protocolVersionRequest);
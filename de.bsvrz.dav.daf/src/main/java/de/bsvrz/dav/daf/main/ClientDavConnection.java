@@ -26,6 +26,7 @@ package de.bsvrz.dav.daf.main;
 import de.bsvrz.dav.daf.communication.dataRepresentation.AttributeBaseValueDataFactory;
 import de.bsvrz.dav.daf.communication.dataRepresentation.AttributeHelper;
 import de.bsvrz.dav.daf.communication.dataRepresentation.data.DataFactory;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.byteArray.ByteArrayDataWriter;
 import de.bsvrz.dav.daf.communication.lowLevel.telegrams.BaseSubscriptionInfo;
 import de.bsvrz.dav.daf.communication.lowLevel.telegrams.SendSubscriptionInfo;
 import de.bsvrz.dav.daf.communication.protocol.ClientConnectionProperties;
@@ -36,6 +37,7 @@ import de.bsvrz.dav.daf.main.impl.*;
 import de.bsvrz.dav.daf.main.impl.archive.request.StreamedRequestManager;
 import de.bsvrz.dav.daf.main.impl.config.AttributeGroupUsageIdentifications;
 import de.bsvrz.dav.daf.main.impl.config.DafDataModel;
+import de.bsvrz.dav.daf.main.impl.config.ObjectCacheStatistics;
 import de.bsvrz.sys.funclib.debug.Debug;
 import de.bsvrz.sys.funclib.timeout.TimeoutTimer;
 
@@ -813,6 +815,20 @@ public class ClientDavConnection implements ClientDavInterface {
 		return _dataModel;
 	}
 
+	/**
+	 * Liefert die Zhler des Zwischenspeichers fr Systemobjekte des Datenmodells dieser Verbindung (Treffer, Fehlzugriffe, Verdrngungen).
+	 *
+	 * @return Momentaufnahme der Zhler oder <code>null</code>, wenn das Datenmodell keinen solchen Zwischenspeicher verwendet oder noch nicht zur Verfgung
+	 *         steht.
+	 *
+	 * @see DafDataModel#getObjectCacheStatistics()
+	 */
+	public ObjectCacheStatistics getObjectCacheStatistics() {
+		final DataModel dataModel = _dataModel;
+		if(dataModel instanceof DafDataModel) return ((DafDataModel)dataModel).getObjectCacheStatistics();
+		return null;
+	}
+
 	@Override
 	public DataModel getDataModel(final SystemObject configAuthority) throws ConfigurationTaskException {
 		if(configAuthority == null) throw new IllegalArgumentException("configAuthority ist null");
@@ -1300,6 +1316,32 @@ public class ClientDavConnection implements ClientDavInterface {
 
 	@Override
 	public Data createData(AttributeGroup attributeGroup) {
+		// Die Kopiervorlage steht nun zur Verfgung. Eine modifizierbare Kopie anlegen und zurckgeben
+		return getDefaultData(attributeGroup).createModifiableCopy();
+	}
+
+	/**
+	 * Erzeugt einen Writer, mit dem Datenstze der angegebenen Attributgruppe direkt in ihrer Byte-Darstellung erstellt werden knnen. Der Writer beginnt mit
+	 * denselben Default-Werten wie ein mit {@link #createData(AttributeGroup)} erzeugter Datensatz, baut aber keinen Objektbaum aus Attributwerten auf.
+	 *
+	 * @param attributeGroup Attributgruppe der zu erzeugenden Datenstze
+	 *
+	 * @return Neuer Writer
+	 *
+	 * @see ByteArrayDataWriter
+	 */
+	public ByteArrayDataWriter createDataWriter(AttributeGroup attributeGroup) {
+		return new ByteArrayDataWriter(getDefaultData(attributeGroup));
+	}
+
+	/**
+	 * Liefert den unvernderbaren Datensatz mit den Default-Werten der angegebenen Attributgruppe, der als Kopiervorlage fr neue Datenstze dient.
+	 *
+	 * @param attributeGroup Attributgruppe
+	 *
+	 * @return Unvernderbarer Datensatz mit Default-Werten bzw. undefinierten Werten
+	 */
+	private Data getDefaultData(AttributeGroup attributeGroup) {
 		// Es soll ein neuer Datensatz erzeugt werden. In dem Datensatz muss jedes Attribut entweder auf den Default-Wert
 		// gesetzt werden oder aber auf den "undefiniert Wert", wenn kein Default-Wert definiert wurde.
 		// Damit diese Prozedure nicht immer wiederholt werden muss (Datensatz anfordern, Default-Werte setzen)
@@ -1324,9 +1366,7 @@ public class ClientDavConnection implements ClientDavInterface {
 				_defaultData.put(attributeGroup, masterCopy);
 			}
 		} // synchronized
-
-		// Die Kopiervorlage steht nun zur Verfgung. Eine modifizierbare Kopie anlegen und zurckgeben
-		return masterCopy.createModifiableCopy();
+		return masterCopy;
 	}
 
 	@Override
@@ -24,6 +24,7 @@ package de.bsvrz.dav.daf.main;
 
 import de.bsvrz.dav.daf.communication.lowLevel.CommunicationParameters;
 import de.bsvrz.dav.daf.communication.lowLevel.ServerConnectionInterface;
+import de.bsvrz.dav.daf.communication.lowLevel.TelegramQueueType;
 import de.bsvrz.dav.daf.main.impl.ArgumentParser;
 import de.bsvrz.dav.daf.main.impl.CommunicationConstant;
 import de.bsvrz.dav.daf.main.impl.InvalidArgumentException;
@@ -106,6 +107,36 @@ public class ClientDavParameters implements Cloneable{
 	/** Parameter Schlssel */
 	private static final String TEST_CONNECTION_KEY = "-anmeldungFuerTestzwecke=";
 
+	/** Aufrufargument zur Auswahl der Implementierung der Sende- und Empfangs-Queue (<code>standard</code> oder <code>ringpuffer</code>). */
+	private static final String TELEGRAM_QUEUE_KEY = "-telegrammQueue=";
+
+	/**
+	 * Aufrufargument zur Aktivierung des gebndelten Versands von Telegrammen. Es wird die maximale Anzahl Bytes je Schreibzugriff und optional durch
+	 * Doppelpunkt getrennt die maximale Sammelzeit in Millisekunden angegeben:
+	 * <p/>
+	 * <code>-sendeBuendelung=bytes[:millisekunden]</code>
+	 * <p/>
+	 * Der Wert <code>0</code> fr die Anzahl Bytes deaktiviert die Bndelung.
+	 */
+	private static final String SEND_BATCHING_KEY = "-sendeBuendelung";
+
+	/** Maximale Sammelzeit in Millisekunden fr den gebndelten Versand, wenn beim Aufrufargument {@link #SEND_BATCHING_KEY} keine Zeit angegeben wurde. */
+	private static final long DEFAULT_SEND_BATCH_MAX_DELAY = 10;
+
+	/** Aufrufargument, mit dem die Threads der Datenverteilerverbindung als virtuelle Threads gestartet werden (<code>ja</code> oder <code>nein</code>). */
+	private static final String VIRTUAL_THREADS_KEY = "-virtuelleThreads=";
+
+	/**
+	 * Aufrufargument zur Begrenzung des Zwischenspeichers fr Systemobjekte im Datenmodell. Es wird die maximale Anzahl stark referenzierter
+	 * Konfigurationsobjekte und optional durch Doppelpunkt getrennt die Zeit in Sekunden angegeben, nach der nicht benutzte Objekte verdrngt werden:
+	 * <p/>
+	 * <code>-objektCache=anzahl[:sekunden]</code>
+	 * <p/>
+	 * Der Wert <code>0</code> deaktiviert das jeweilige Kriterium. Verdrngte Objekte werden nur noch schwach referenziert und bleiben erhalten, solange die
+	 * Applikation sie referenziert.
+	 */
+	private static final String OBJECT_CACHE_KEY = "-objektCache";
+
 	/** Die Ressourcen des Clients. */
 	private ResourceBundle _resourceBundle = ResourceBundle.getBundle("de.bsvrz.dav.daf.main.impl.clientResourceBundle", Locale.getDefault());
 
@@ -221,6 +252,24 @@ public class ClientDavParameters implements Cloneable{
 	 */
 	private double _secondaryConnectionBufferRatio = 0.01;
 
+	/** Implementierung der Queues, in denen zu sendende und empfangene Telegramme zwischengespeichert werden. */
+	private TelegramQueueType _telegramQueueType = TelegramQueueType.STANDARD;
+
+	/** Maximale Anzahl Bytes je Schreibzugriff im gebndelten Sendemodus oder <code>0</code>, wenn Telegramme einzeln versendet werden. */
+	private int _sendBatchMaxBytes = 0;
+
+	/** Maximale Sammelzeit in Millisekunden im gebndelten Sendemodus. */
+	private long _sendBatchMaxDelay = DEFAULT_SEND_BATCH_MAX_DELAY;
+
+	/** <code>true</code>, wenn die Threads der Datenverteilerverbindung als virtuelle Threads gestartet werden. */
+	private boolean _useVirtualThreads = false;
+
+	/** Maximale Anzahl stark referenzierter Konfigurationsobjekte im Zwischenspeicher des Datenmodells oder <code>0</code>, wenn sie nicht begrenzt ist. */
+	private int _objectCacheMaxSize = 0;
+
+	/** Zeit in Millisekunden ohne Zugriff, nach der Konfigurationsobjekte im Datenmodell verdrngt werden, oder <code>0</code>, wenn nicht nach Zeit verdrngt wird. */
+	private long _objectCacheMaxIdleTime = 0;
+
 	/**
 	 * True falls das Objekt schreibgeschtzt ist. Die ClientDavConnection erstellt eine schreibgeschtze Kopie
 	 * dieses Objekts damit Parameter wie Simulationsvariante nicht im laufenden Betrieb gendert werden knnen
@@ -725,6 +774,47 @@ public class ClientDavParameters implements Cloneable{
 
 			_secondaryConnectionBufferRatio = argumentList.fetchArgument("-zweiteVerbindungPufferAnteil=0.01").doubleValueBetween(0, 1);
 
+			try {
+				_telegramQueueType = TelegramQueueType.forName(argumentList.fetchArgument(TELEGRAM_QUEUE_KEY + TelegramQueueType.STANDARD.getName()).asNonEmptyString());
+			}
+			catch(IllegalArgumentException e) {
+				throw new MissingParameterException("Aufrufargument " + TELEGRAM_QUEUE_KEY + " ist ungltig: " + e.getMessage());
+			}
+
+			if(argumentList.hasArgument(SEND_BATCHING_KEY)) {
+				try {
+					final String[] batchArgStrings = argumentList.fetchArgument(SEND_BATCHING_KEY).asNonEmptyString().split(PARAMETER_SEPARATOR);
+					if(batchArgStrings.length > 2) throw new IllegalArgumentException("Es sollten hchstens zwei durch Doppelpunkt getrennte Werte angegeben sein");
+					final int maxBytes = Integer.parseInt(batchArgStrings[0].trim());
+					final long maxDelay = batchArgStrings.length > 1 ? Long.parseLong(batchArgStrings[1].trim()) : DEFAULT_SEND_BATCH_MAX_DELAY;
+					setSendBatching(maxBytes, maxDelay);
+				}
+				catch(Exception e) {
+					throw new MissingParameterException(
+							"Aufrufargument " + SEND_BATCHING_KEY + " sollte folgendes Format haben: " + SEND_BATCHING_KEY + "=bytes[:millisekunden]\n"
+							+ "Die Werte spezifizieren die maximale Anzahl Bytes je Schreibzugriff und die maximale Sammelzeit. " + e
+					);
+				}
+			}
+
+			_useVirtualThreads = argumentList.fetchArgument(VIRTUAL_THREADS_KEY + "nein").booleanValue();
+
+			if(argumentList.hasArgument(OBJECT_CACHE_KEY)) {
+				try {
+					final String[] cacheArgStrings = argumentList.fetchArgument(OBJECT_CACHE_KEY).asNonEmptyString().split(PARAMETER_SEPARATOR);
+					if(cacheArgStrings.length > 2) throw new IllegalArgumentException("Es sollten hchstens zwei durch Doppelpunkt getrennte Werte angegeben sein");
+					final int maxSize = Integer.parseInt(cacheArgStrings[0].trim());
+					final long maxIdleSeconds = cacheArgStrings.length > 1 ? Long.parseLong(cacheArgStrings[1].trim()) : 0;
+					setObjectCachePolicy(maxSize, maxIdleSeconds * 1000);
+				}
+				catch(Exception e) {
+					throw new MissingParameterException(
+							"Aufrufargument " + OBJECT_CACHE_KEY + " sollte folgendes Format haben: " + OBJECT_CACHE_KEY + "=anzahl[:sekunden]\n"
+							+ "Die Werte spezifizieren die maximale Anzahl zwischengespeicherter Konfigurationsobjekte und die Zeit ohne Zugriff, nach der Objekte verdrngt werden. " + e
+					);
+				}
+			}
+
 			//Durchsatzprfung
 			float throughputControlSendBufferFactor;
 			int throughputControlInterval;
@@ -1653,6 +1743,113 @@ public class ClientDavParameters implements Cloneable{
 		_secondaryConnectionBufferRatio = secondaryConnectionBufferRatio;
 	}
 
+	/**
+	 * Liefert die Implementierung der Queues, in denen zu sendende und empfangene Telegramme zwischengespeichert werden.
+	 *
+	 * @return Typ der Telegramm-Queues
+	 */
+	public TelegramQueueType getTelegramQueueType() {
+		return _telegramQueueType;
+	}
+
+	/**
+	 * Legt die Implementierung der Queues fest, in denen zu sendende und empfangene Telegramme zwischengespeichert werden.
+	 *
+	 * @param telegramQueueType Typ der Telegramm-Queues
+	 */
+	public void setTelegramQueueType(final TelegramQueueType telegramQueueType) {
+		checkReadonly();
+		if(telegramQueueType == null) throw new IllegalArgumentException("telegramQueueType darf nicht null sein");
+		_telegramQueueType = telegramQueueType;
+	}
+
+	/**
+	 * Liefert die maximale Anzahl Bytes, die im gebndelten Sendemodus mit einem Schreibzugriff versendet werden.
+	 *
+	 * @return Maximale Anzahl Bytes je Schreibzugriff oder <code>0</code>, wenn Telegramme einzeln versendet werden.
+	 */
+	public int getSendBatchMaxBytes() {
+		return _sendBatchMaxBytes;
+	}
+
+	/**
+	 * Liefert die maximale Zeit, die im gebndelten Sendemodus mit dem Sammeln von Telegrammen verbracht wird.
+	 *
+	 * @return Maximale Sammelzeit in Millisekunden.
+	 */
+	public long getSendBatchMaxDelay() {
+		return _sendBatchMaxDelay;
+	}
+
+	/**
+	 * Legt fest, ob und wie zu versendende Telegramme gebndelt werden. Im gebndelten Sendemodus werden alle bereits zum Versand gepufferten Telegramme bis zur
+	 * angegebenen Anzahl Bytes bzw. bis zum Ablauf der angegebenen Zeit gesammelt und mit einem Schreibzugriff versendet.
+	 *
+	 * @param maxBytes Maximale Anzahl Bytes je Schreibzugriff. Der Wert <code>0</code> deaktiviert die Bndelung.
+	 * @param maxDelay Maximale Sammelzeit in Millisekunden.
+	 */
+	public void setSendBatching(final int maxBytes, final long maxDelay) {
+		checkReadonly();
+		if(maxBytes < 0) throw new IllegalArgumentException("Die maximale Anzahl Bytes darf nicht negativ sein: " + maxBytes);
+		if(maxDelay < 0) throw new IllegalArgumentException("Die maximale Sammelzeit darf nicht negativ sein: " + maxDelay);
+		_sendBatchMaxBytes = maxBytes;
+		_sendBatchMaxDelay = maxDelay;
+	}
+
+	/**
+	 * Bestimmt, ob die Sende-, Empfangs-, Worker- und KeepAlive-Threads der Datenverteilerverbindung als virtuelle Threads gestartet werden.
+	 *
+	 * @return <code>true</code>, wenn virtuelle Threads verwendet werden.
+	 */
+	public boolean getUseVirtualThreads() {
+		return _useVirtualThreads;
+	}
+
+	/**
+	 * Legt fest, ob die Sende-, Empfangs-, Worker- und KeepAlive-Threads der Datenverteilerverbindung als virtuelle Threads gestartet werden. Wenn die
+	 * Laufzeitumgebung keine virtuellen Threads untersttzt, werden normale Threads verwendet.
+	 *
+	 * @param useVirtualThreads <code>true</code>, wenn virtuelle Threads verwendet werden sollen.
+	 */
+	public void setUseVirtualThreads(final boolean useVirtualThreads) {
+		checkReadonly();
+		_useVirtualThreads = useVirtualThreads;
+	}
+
+	/**
+	 * Liefert die maximale Anzahl stark referenzierter Konfigurationsobjekte im Zwischenspeicher des Datenmodells.
+	 *
+	 * @return Maximale Anzahl oder <code>0</code>, wenn die Anzahl nicht begrenzt ist.
+	 */
+	public int getObjectCacheMaxSize() {
+		return _objectCacheMaxSize;
+	}
+
+	/**
+	 * Liefert die Zeit ohne Zugriff, nach der Konfigurationsobjekte im Zwischenspeicher des Datenmodells verdrngt werden.
+	 *
+	 * @return Zeit in Millisekunden oder <code>0</code>, wenn nicht nach Zeit verdrngt wird.
+	 */
+	public long getObjectCacheMaxIdleTime() {
+		return _objectCacheMaxIdleTime;
+	}
+
+	/**
+	 * Legt fest, wann Konfigurationsobjekte aus dem Zwischenspeicher des Datenmodells verdrngt werden. Verdrngte Objekte werden nur noch schwach referenziert;
+	 * solange die Applikation sie noch referenziert, liefert das Datenmodell weiterhin dieselben Objekte. Metaobjekte wie Typen und Attributgruppen, dynamische
+	 * Mengen und dynamische Objekte werden nie verdrngt.
+	 *
+	 * @param maxSize     Maximale Anzahl stark referenzierter Konfigurationsobjekte. Der Wert <code>0</code> deaktiviert die Begrenzung.
+	 * @param maxIdleTime Zeit in Millisekunden ohne Zugriff, nach der ein Objekt verdrngt wird. Der Wert <code>0</code> deaktiviert die Verdrngung nach Zeit.
+	 */
+	public void setObjectCachePolicy(final int maxSize, final long maxIdleTime) {
+		checkReadonly();
+		if(maxSize < 0) throw new IllegalArgumentException("Die maximale Anzahl darf nicht negativ sein: " + maxSize);
+		if(maxIdleTime < 0) throw new IllegalArgumentException("Die maximale Zeit ohne Zugriff darf nicht negativ sein: " + maxIdleTime);
+		_objectCacheMaxSize = maxSize;
+		_objectCacheMaxIdleTime = maxIdleTime;
+	}
+
 	/**
 	 * Bestimmt die maximale Gre von Datentelegrammen. Grere Telegramme werden in mehrere Telegramme zerlegt.
 	 *
@@ -1924,5 +2121,9 @@ public class ClientDavParameters implements Cloneable{
 		System.out.println("-aspekt=Attributesgruppepid(Zeichenkette):Aspektspid(Zeichenkette):Ersatzaspektpid(Zeichenkette)");
 		System.out.println("-simVariante=Ersatzsimulationsvariante(Zahl)");
 		System.out.println("-zweiteVerbindung=ja/nein");
+		System.out.println("-telegrammQueue=standard/ringpuffer");
+		System.out.println("-sendeBuendelung=Bytes(Zahl)[:Sammelzeit(Zahl in Millisekunden)]");
+		System.out.println("-virtuelleThreads=ja/nein");
+		System.out.println("-objektCache=Anzahl(Zahl)[:Zeit ohne Zugriff(Zahl in Sekunden)]");
 	}
 }
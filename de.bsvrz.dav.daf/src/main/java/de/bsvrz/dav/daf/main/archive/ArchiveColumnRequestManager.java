@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.daf.main.archive;
+
+import java.util.List;
+
+/**
+ * Erweiterung von {@link ArchiveRequestManager} um spaltenweise Archivanfragen. Die Methode ist in einer eigenen Schnittstelle definiert, damit bestehende
+ * Implementierungen von {@link ArchiveRequestManager} unverndert bleiben knnen. Ob ein mit {@link de.bsvrz.dav.daf.main.ClientDavInterface#getArchive}
+ * bestimmtes Objekt spaltenweise Anfragen untersttzt, kann mit <code>instanceof ArchiveColumnRequestManager</code> geprft werden.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public interface ArchiveColumnRequestManager extends ArchiveRequestManager {
+
+	/**
+	 * Ruft Archivdaten von einem Archivsystem in spaltenweiser Darstellung ab. Die Anfrage entspricht {@link
+	 * ArchiveRequestManager#request(ArchiveQueryPriority, java.util.List)}, die Ergebnisdatenstrme liefern die Datenstze aber blockweise als {@link
+	 * ArchiveDataColumns}. Statt vollstndiger Datenstze enthlt ein Block nur die Zeitstempel, die Datensatzart und die Werte der angegebenen Attribute in
+	 * primitiven Arrays. Die Werte werden direkt aus der bertragenen Darstellung der Datenstze gelesen, ohne dass dafr {@link de.bsvrz.dav.daf.main.Data}-Objekte
+	 * erzeugt werden. Diese Methode ist deshalb fr Auswertungen groer Datenmengen gedacht, bei denen nur wenige numerische Attribute je Datensatz bentigt
+	 * werden.
+	 * <p/>
+	 * Die Elemente eines Attributpfads werden durch Punkte getrennt. Ein Element ist entweder der Name eines Unterattributs oder bei Arrays der Index eines
+	 * Elements, z.B. <code>"Werte.3.Wert"</code>. Ein Pfad muss zu einem Ganzzahl-, Zeit-, Referenz- oder Fliekommaattribut fhren.
+	 *
+	 * @param priority       Prioritt der Anfrage
+	 * @param specs          Liste mit Spezifikationen der gewnschten Archivdaten.
+	 * @param attributePaths Pfade der Attribute, deren Werte in den Blcken enthalten sein sollen. Die Pfade mssen in den Attributgruppen aller
+	 *                       Spezifikationen auflsbar sein.
+	 * @param batchSize      Maximale Anzahl Datenstze je Block
+	 *
+	 * @return Ergebnisobjekt ber das asynchron auf die Ergebnisdatenstrme zugegriffen werden kann.
+	 *
+	 * @throws IllegalStateException    Das Archivsystem ist nicht erreichbar.
+	 * @throws IllegalArgumentException Wenn ein Attributpfad nicht aufgelst werden kann oder nicht zu einem untersttzten Attribut fhrt.
+	 * @see ArchiveDataColumnStream
+	 */
+	ArchiveDataColumnQueryResult requestColumns(ArchiveQueryPriority priority, List<ArchiveDataSpecification> specs, String[] attributePaths, int batchSize)
+			throws IllegalStateException;
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.daf.main.archive;
+
+import java.io.IOException;
+
+/**
+ * Schnittstelle zum spaltenweisen Zugriff auf einen einzelnen Ergebnisdatenstrom einer Archivanfrage. Anders als bei {@link ArchiveDataStream} werden die
+ * Datenstze nicht einzeln als {@link ArchiveData} mit vollstndigem Datensatz geliefert, sondern in Blcken, die zu jedem Datensatz nur die Zeitstempel, die
+ * Datensatzart und die Werte der bei der Anfrage ausgewhlten Attribute in primitiven Arrays enthalten.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ * @see ArchiveColumnRequestManager#requestColumns
+ * @see ArchiveDataColumnQueryResult#getStreams
+ */
+public interface ArchiveDataColumnStream {
+
+	/**
+	 * Bestimmt die Archivdatenspezifikation, die zu diesem Ergebnisdatenstrom gefhrt hat.
+	 *
+	 * @return Archivdatenspezifikation, die zu diesem Ergebnisdatenstrom gefhrt hat.
+	 */
+	ArchiveDataSpecification getDataSpecification();
+
+	/**
+	 * Bestimmt die bei der Anfrage angegebenen Attributpfade. Die Reihenfolge entspricht der Reihenfolge der Spalten in den gelieferten Blcken.
+	 *
+	 * @return Attributpfade
+	 */
+	String[] getAttributePaths();
+
+	/**
+	 * Entfernt den nchsten Block von Datenstzen vom Ergebnisdatenstrom und gibt ihn zurck. Die Datenstze werden in der gleichen Reihenfolge wie bei {@link
+	 * ArchiveDataStream#take} geliefert. Ein Block enthlt hchstens so viele Datenstze, wie bei der Anfrage angegeben wurde, der letzte Block eines Streams
+	 * kann auch weniger enthalten.
+	 *
+	 * @return Der nchste Block oder <code>null</code>, wenn alle Datenstze dieses Ergebnisdatenstroms abgefragt wurden.
+	 *
+	 * @throws IllegalStateException Falls der Ergebnisdatenstrom mit der Methode {@link #abort} abgebrochen wurde.
+	 * @throws InterruptedException  Falls der aufrufende Thread unterbrochen wurde, whrend auf den nchsten Datensatz gewartet wurde.
+	 * @throws IOException           Falls Probleme in der Kommunikation mit dem Archivsystem aufgetreten sind und noch nicht alle Datenstze bertragen wurden.
+	 */
+	ArchiveDataColumns take() throws InterruptedException, IOException, IllegalStateException;
+
+	/**
+	 * Bricht die bertragung von Datenstzen fr diesen Ergebnisdatenstrom ab. Anschlieende Aufrufe der Methode {@link #take} werden mit einer entsprechenden
+	 * Exception quittiert.
+	 */
+	void abort();
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.daf.main.archive;
+
+import de.bsvrz.dav.daf.main.DataState;
+
+import java.util.Arrays;
+
+/**
+ * Block von Archivdatenstzen in spaltenweiser Darstellung, wie er von {@link ArchiveDataColumnStream#take} geliefert wird. Zu jedem Datensatz des Blocks
+ * enthalten die Arrays dieses Objekts an der gleichen Position den Datenzeitstempel, den Archivzeitstempel, den Datensatzindex, die Datensatzart, den
+ * Datensatztyp sowie die Werte der bei der Anfrage ausgewhlten Attribute. Alle Arrays haben genau die Lnge {@link #size()} und gehren nach der bergabe dem
+ * Empfnger.
+ * <p/>
+ * Die Werte der ausgewhlten Attribute werden je nach Attributtyp in einem <code>long</code>- oder einem <code>double</code>-Array dargestellt:
+ * <ul>
+ * <li>Ganzzahlattribute als unskalierter Wert in einem <code>long</code>-Array,</li>
+ * <li>Zeitattribute in Millisekunden in einem <code>long</code>-Array,</li>
+ * <li>Referenzattribute als Id des referenzierten Objekts in einem <code>long</code>-Array, wobei <code>0</code> fr undefinierte oder nicht auflsbare
+ * Referenzen steht,</li>
+ * <li>Fliekommaattribute in einem <code>double</code>-Array.</li>
+ * </ul>
+ * Fr Datenstze ohne Nutzdaten (siehe {@link #getDataStates()}) und fr Array-Elemente, die im jeweiligen Datensatz nicht vorhanden sind, enthalten die
+ * Spalten den Wert <code>0</code> bzw. {@link Double#NaN}.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public final class ArchiveDataColumns {
+
+	private final String[] _attributePaths;
+
+	private final long[] _dataTimes;
+
+	private final long[] _archiveTimes;
+
+	private final long[] _dataIndices;
+
+	private final ArchiveDataKind[] _dataKinds;
+
+	private final DataState[] _dataStates;
+
+	/** Werte der ausgewhlten Attribute, je Attributpfad ein <code>long[]</code> oder ein <code>double[]</code>. */
+	private final Object[] _columns;
+
+	/**
+	 * Erzeugt einen neuen Block. Die bergebenen Arrays werden nicht kopiert.
+	 *
+	 * @param attributePaths Ausgewhlte Attributpfade
+	 * @param dataTimes      Datenzeitstempel der Datenstze
+	 * @param archiveTimes   Archivzeitstempel der Datenstze
+	 * @param dataIndices    Datensatzindizes der Datenstze
+	 * @param dataKinds      Datensatzarten der Datenstze
+	 * @param dataStates     Datensatztypen der Datenstze
+	 * @param columns        Werte der ausgewhlten Attribute, je Attributpfad ein <code>long[]</code> oder ein <code>double[]</code>
+	 *
+	 * @throws IllegalArgumentException Wenn die Arrays nicht zusammenpassen.
+	 */
+	public ArchiveDataColumns(
+			final String[] attributePaths,
+			final long[] dataTimes,
+			final long[] archiveTimes,
+			final long[] dataIndices,
+			final ArchiveDataKind[] dataKinds,
+			final DataState[] dataStates,
+			final Object[] columns) {
+		final int size = dataTimes.length;
+		if(archiveTimes.length != size || dataIndices.length != size || dataKinds.length != size || dataStates.length != size) {
+			throw new IllegalArgumentException("Die Arrays fr Zeitstempel, Datensatzindizes, Datensatzarten und Datensatztypen mssen gleich lang sein");
+		}
+		if(columns.length != attributePaths.length) throw new IllegalArgumentException("Zu jedem Attributpfad muss es genau eine Spalte geben");
+		for(int i = 0; i < columns.length; i++) {
+			final Object column = columns[i];
+			final int length;
+			if(column instanceof long[]) {
+				length = ((long[])column).length;
+			}
+			else if(column instanceof double[]) {
+				length = ((double[])column).length;
+			}
+			else {
+				throw new IllegalArgumentException("Die Spalte zum Attributpfad " + attributePaths[i] + " ist weder ein long[] noch ein double[]");
+			}
+			if(length != size) throw new IllegalArgumentException("Die Spalte zum Attributpfad " + attributePaths[i] + " hat die falsche Lnge " + length);
+		}
+		_attributePaths = attributePaths;
+		_dataTimes = dataTimes;
+		_archiveTimes = archiveTimes;
+		_dataIndices = dataIndices;
+		_dataKinds = dataKinds;
+		_dataStates = dataStates;
+		_columns = columns;
+	}
+
+	/**
+	 * Bestimmt die Anzahl der Datenstze in diesem Block.
+	 *
+	 * @return Anzahl Datenstze
+	 */
+	public int size() {
+		return _dataTimes.length;
+	}
+
+	/**
+	 * Bestimmt die ausgewhlten Attributpfade. Die Position eines Pfads entspricht dem Index der zugehrigen Spalte.
+	 *
+	 * @return Attributpfade
+	 */
+	public String[] getAttributePaths() {
+		return _attributePaths;
+	}
+
+	/**
+	 * Bestimmt den Index der Spalte zu einem Attributpfad.
+	 *
+	 * @param attributePath Attributpfad, wie er bei der Anfrage angegeben wurde
+	 *
+	 * @return Index der Spalte oder <code>-1</code>, wenn der Pfad nicht ausgewhlt wurde.
+	 */
+	public int getColumnIndex(final String attributePath) {
+		for(int i = 0; i < _attributePaths.length; i++) {
+			if(_attributePaths[i].equals(attributePath)) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Liefert die Datenzeitstempel der Datenstze.
+	 *
+	 * @return Datenzeitstempel in Millisekunden seit 1970
+	 */
+	public long[] getDataTimes() {
+		return _dataTimes;
+	}
+
+	/**
+	 * Liefert die Archivzeitstempel der Datenstze.
+	 *
+	 * @return Archivzeitstempel in Millisekunden seit 1970
+	 */
+	public long[] getArchiveTimes() {
+		return _archiveTimes;
+	}
+
+	/**
+	 * Liefert die Datensatzindizes der Datenstze.
+	 *
+	 * @return Datensatzindizes
+	 */
+	public long[] getDataIndices() {
+		return _dataIndices;
+	}
+
+	/**
+	 * Liefert die Datensatzarten der Datenstze.
+	 *
+	 * @return Datensatzarten
+	 */
+	public ArchiveDataKind[] getDataKinds() {
+		return _dataKinds;
+	}
+
+	/**
+	 * Liefert die Datensatztypen der Datenstze. Nur Datenstze vom Typ {@link DataState#DATA} enthalten Nutzdaten.
+	 *
+	 * @return Datensatztypen
+	 */
+	public DataState[] getDataStates() {
+		return _dataStates;
+	}
+
+	/**
+	 * Prft, ob die Werte einer Spalte in einem <code>double</code>-Array dargestellt werden.
+	 *
+	 * @param columnIndex Index der Spalte
+	 *
+	 * @return <code>true</code> bei einer Spalte mit Fliekommawerten, <code>false</code> bei einer Spalte mit <code>long</code>-Werten.
+	 */
+	public boolean isDoubleColumn(final int columnIndex) {
+		return _columns[columnIndex] instanceof double[];
+	}
+
+	/**
+	 * Liefert die Werte einer Spalte mit <code>long</code>-Werten.
+	 *
+	 * @param columnIndex Index der Spalte
+	 *
+	 * @return Werte der Spalte
+	 *
+	 * @throws IllegalArgumentException Wenn die Spalte Fliekommawerte enthlt.
+	 */
+	public long[] getLongColumn(final int columnIndex) {
+		final Object column = _columns[columnIndex];
+		if(!(column instanceof long[])) throw new IllegalArgumentException("Die Spalte zum Attributpfad " + _attributePaths[columnIndex] + " enthlt Fliekommawerte");
+		return (long[])column;
+	}
+
+	/**
+	 * Liefert die Werte einer Spalte mit Fliekommawerten.
+	 *
+	 * @param columnIndex Index der Spalte
+	 *
+	 * @return Werte der Spalte
+	 *
+	 * @throws IllegalArgumentException Wenn die Spalte <code>long</code>-Werte enthlt.
+	 */
+	public double[] getDoubleColumn(final int columnIndex) {
+		final Object column = _columns[columnIndex];
+		if(!(column instanceof double[])) throw new IllegalArgumentException("Die Spalte zum Attributpfad " + _attributePaths[columnIndex] + " enthlt keine Fliekommawerte");
+		return (double[])column;
+	}
+
+	@Override
+	public String toString() {
+		return "ArchiveDataColumns{" + "size=" + size() + ", attributePaths=" + Arrays.toString(_attributePaths) + '}';
+	}
+}
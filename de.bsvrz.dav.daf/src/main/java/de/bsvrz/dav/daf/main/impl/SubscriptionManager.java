@@ -22,6 +22,7 @@
 
 package de.bsvrz.dav.daf.main.impl;
 
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.DataFactory;
 import de.bsvrz.dav.daf.communication.dataRepresentation.data.byteArray.ByteArrayData;
 import de.bsvrz.dav.daf.communication.dataRepresentation.datavalue.SendDataObject;
 import de.bsvrz.dav.daf.communication.lowLevel.telegrams.BaseSubscriptionInfo;
@@ -262,13 +263,15 @@ public class SubscriptionManager {
 
 	
 	/**
-	 * Anmeldung zum Empfangen von Daten fr eine Datenidentifikation.
+	 * Anmeldung zum Empfangen von Daten fr eine Datenidentifikation. Die Anmeldung beim Datenverteiler wird nicht hier verschickt, sondern vom Aufrufer.
 	 *
 	 * @param receiverSubscription Anmeldeinformationen
 	 *
+	 * @return Anmeldeinformation, die zum Datenverteiler gesendet werden muss, oder <code>null</code>, falls keine Anmeldung verschickt werden muss.
+	 *
 	 * @throws DataNotSubscribedException
 	 */
-	private final void subscribeReceiver(ReceiverSubscription receiverSubscription) throws DataNotSubscribedException {
+	private final ReceiveSubscriptionInfo subscribeReceiver(ReceiverSubscription receiverSubscription) throws DataNotSubscribedException {
 		if((_highLevelCommunication == null) || (_cacheManager == null) /*|| (archiveManager == null)*/) {
 			throw new InitialisationNotCompleteException(
 					"Die Datenverteiler-Applikationsfunktionen sind noch nicht initialisiert."
@@ -345,8 +348,9 @@ public class SubscriptionManager {
 			_receiverManager.removeReceiverReference(receiver);
 		}
 		if(shouldSend) {
-			_highLevelCommunication.sendReceiveSubscription(receiveSubscriptionObject.getReceiveSubscriptionInfo());
+			return receiveSubscriptionObject.getReceiveSubscriptionInfo();
 		}
+		return null;
 	}
 
 	/**
@@ -382,6 +386,9 @@ public class SubscriptionManager {
 			);
 		}
 
+		// Strukturinformationen der Attributgruppe schon bei der Anmeldung erzeugen, damit der erste Datensatz ohne Konfigurationsanfragen dekodiert werden kann
+		DataFactory.prepare(dataDescription.getAttributeGroup());
+
 		// Wenn in der Datadescription keine Simulationsvariante explizit vorgegeben wurde, dann muss fr die Anmeldung beim Datenverteiler die ber
 		// Aufrufparameter von auen vorgebbare Simulationsvariante benutzt werden
 		short externalSimulationVariant = dataDescription.getSimulationVariant();
@@ -389,11 +396,21 @@ public class SubscriptionManager {
 			externalSimulationVariant = _dafParameters.getSimulationVariant();
 		}
 
-		for(int i = 0; i < objects.length; ++i) {
-			ReceiverSubscription subscription = new ReceiverSubscription(
-					receiver, objects[i], dataDescription, externalSimulationVariant, options, role, cacheTime
-			);
-			subscribeReceiver(subscription);
+		// Die Anmeldungen werden gesammelt und gemeinsam verschickt, damit sie bei entsprechender Protokollversion in Sammeltelegrammen bertragen werden
+		final List<ReceiveSubscriptionInfo> subscriptionsToSend = new ArrayList<ReceiveSubscriptionInfo>(objects.length);
+		try {
+			for(int i = 0; i < objects.length; ++i) {
+				ReceiverSubscription subscription = new ReceiverSubscription(
+						receiver, objects[i], dataDescription, externalSimulationVariant, options, role, cacheTime
+				);
+				final ReceiveSubscriptionInfo subscriptionToSend = subscribeReceiver(subscription);
+				if(subscriptionToSend != null) subscriptionsToSend.add(subscriptionToSend);
+			}
+		}
+		finally {
+			if(_highLevelCommunication != null) {
+				_highLevelCommunication.sendReceiveSubscriptions(subscriptionsToSend);
+			}
 		}
 	}
 
@@ -537,6 +554,8 @@ public class SubscriptionManager {
 			externalSimulationVariant = _dafParameters.getSimulationVariant();
 		}
 
+		final List<ReceiveSubscriptionInfo> subscriptionsToSend = new ArrayList<ReceiveSubscriptionInfo>();
+		final List<BaseSubscriptionInfo> unsubscriptionsToSend = new ArrayList<BaseSubscriptionInfo>(objects.length);
 		for(int i = 0; i < objects.length; ++i) {
 			BaseSubscriptionInfo baseSubscriptionInfo = new BaseSubscriptionInfo(
 					objects[i].getId(), dataDescription.getAttributeGroup().getAttributeGroupUsage(dataDescription.getAspect()), externalSimulationVariant
@@ -549,19 +568,19 @@ public class SubscriptionManager {
 			}
 			if(receiveSubscriptionObject.removeSubscription(receiver, _receiverManager)) {
 				if(receiveSubscriptionObject.isValidSubscription()) {
-					if(_highLevelCommunication != null) {
-						_highLevelCommunication.sendReceiveSubscription(receiveSubscriptionObject.getReceiveSubscriptionInfo());
-					}
+					subscriptionsToSend.add(receiveSubscriptionObject.getReceiveSubscriptionInfo());
 				}
 				else {
 					_receiverObjectTable.remove(baseSubscriptionInfo);
 					_cacheManager.cleanCache(baseSubscriptionInfo);
-					if(_highLevelCommunication != null) {
-						_highLevelCommunication.sendReceiveUnsubscription(baseSubscriptionInfo);
-					}
+					unsubscriptionsToSend.add(baseSubscriptionInfo);
 				}
 			}
 		}
+		if(_highLevelCommunication != null) {
+			_highLevelCommunication.sendReceiveSubscriptions(subscriptionsToSend);
+			_highLevelCommunication.sendReceiveUnsubscriptions(unsubscriptionsToSend);
+		}
 	}
 
 	/**
@@ -596,6 +615,9 @@ public class SubscriptionManager {
 			);
 		}
 
+		// Strukturinformationen der Attributgruppe schon bei der Anmeldung erzeugen, damit der erste Datensatz ohne Konfigurationsanfragen dekodiert werden kann
+		DataFactory.prepare(dataDescription.getAttributeGroup());
+
 		// Wenn in der Datadescription keine Simulationsvariante explizit vorgegeben wurde, dann muss fr die Anmeldung beim Datenverteiler die ber
 		// Aufrufparameter von auen vorgebbare Simulationsvariante benutzt werden
 		short externalSimulationVariant = dataDescription.getSimulationVariant();
@@ -603,29 +625,37 @@ public class SubscriptionManager {
 			externalSimulationVariant = _dafParameters.getSimulationVariant();
 		}
 
-		for(int i = 0; i < objects.length; ++i) {
-			SenderSubscription _senderSubscription = new SenderSubscription(sender, objects[i], dataDescription, externalSimulationVariant, role);
-			BaseSubscriptionInfo baseSubscriptionInfo = _senderSubscription.getBaseSubscriptionInfo();
-			if(baseSubscriptionInfo == null) {
-				continue;
-			}
-			SendSubscriptionObject sendSubscriptionObject = _senderObjectTable.get(baseSubscriptionInfo);
-			if(sendSubscriptionObject == null) {
-				sendSubscriptionObject = new SendSubscriptionObject(_senderSubscription);
-				_senderObjectTable.put(baseSubscriptionInfo, sendSubscriptionObject);
-				SendSubscriptionInfo _sendSubscriptionInfo = _senderSubscription.getSendSubscriptionInfo();
-				if((_sendSubscriptionInfo != null) && (_highLevelCommunication != null)) {
-					_highLevelCommunication.sendSendSubscription(_sendSubscriptionInfo);
+		// Die Anmeldungen werden gesammelt und gemeinsam verschickt, damit sie bei entsprechender Protokollversion in Sammeltelegrammen bertragen werden.
+		// Bei einem Fehler werden die bis dahin lokal eingetragenen Anmeldungen trotzdem verschickt.
+		final List<SendSubscriptionInfo> subscriptionsToSend = new ArrayList<SendSubscriptionInfo>(objects.length);
+		try {
+			for(int i = 0; i < objects.length; ++i) {
+				SenderSubscription _senderSubscription = new SenderSubscription(sender, objects[i], dataDescription, externalSimulationVariant, role);
+				BaseSubscriptionInfo baseSubscriptionInfo = _senderSubscription.getBaseSubscriptionInfo();
+				if(baseSubscriptionInfo == null) {
+					continue;
+				}
+				SendSubscriptionObject sendSubscriptionObject = _senderObjectTable.get(baseSubscriptionInfo);
+				if(sendSubscriptionObject == null) {
+					sendSubscriptionObject = new SendSubscriptionObject(_senderSubscription);
+					_senderObjectTable.put(baseSubscriptionInfo, sendSubscriptionObject);
+					SendSubscriptionInfo _sendSubscriptionInfo = _senderSubscription.getSendSubscriptionInfo();
+					if(_sendSubscriptionInfo != null) {
+						subscriptionsToSend.add(_sendSubscriptionInfo);
+					}
+				}
+				else if(role.equals(SenderRole.sender()) && !sendSubscriptionObject.isSource()){
+					// Mehrere Sender drfen sich auf eine Identifikation anmelden
+					sendSubscriptionObject.addSender(_senderSubscription);
+				}
+				else {
+					// ... aber nicht mehrere Quellen
+					throw new OneSubscriptionPerSendData("Ein Datum kann nur von einer Quelle angemeldet sein.");
 				}
 			}
-			else if(role.equals(SenderRole.sender()) && !sendSubscriptionObject.isSource()){
-				// Mehrere Sender drfen sich auf eine Identifikation anmelden
-				sendSubscriptionObject.addSender(_senderSubscription);
-			}
-			else {
-				// ... aber nicht mehrere Quellen
-				throw new OneSubscriptionPerSendData("Ein Datum kann nur von einer Quelle angemeldet sein.");
-			}
+		}
+		finally {
+			_highLevelCommunication.sendSendSubscriptions(subscriptionsToSend);
 		}
 	}
 
@@ -654,6 +684,7 @@ public class SubscriptionManager {
 			externalSimulationVariant = _dafParameters.getSimulationVariant();
 		}
 
+		final List<BaseSubscriptionInfo> unsubscriptionsToSend = new ArrayList<BaseSubscriptionInfo>(objects.length);
 		for(int i = 0; i < objects.length; ++i) {
 			BaseSubscriptionInfo baseSubscriptionInfo = new BaseSubscriptionInfo(
 					objects[i].getId(), dataDescription.getAttributeGroup().getAttributeGroupUsage(dataDescription.getAspect()), externalSimulationVariant
@@ -663,12 +694,13 @@ public class SubscriptionManager {
 				sendSubscriptionObject.removeSender(sender);
 				if(sendSubscriptionObject.isEmpty()) {
 					_senderObjectTable.remove(baseSubscriptionInfo);
-					if(_highLevelCommunication != null) {
-						_highLevelCommunication.sendSendUnsubscription(baseSubscriptionInfo);
-					}
+					unsubscriptionsToSend.add(baseSubscriptionInfo);
 				}
 			}
 		}
+		if(_highLevelCommunication != null) {
+			_highLevelCommunication.sendSendUnsubscriptions(unsubscriptionsToSend);
+		}
 	}
 
 	/**
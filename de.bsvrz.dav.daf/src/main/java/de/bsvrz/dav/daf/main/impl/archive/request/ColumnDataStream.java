@@ -0,0 +1,335 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.daf.main.impl.archive.request;
+
+import de.bsvrz.dav.daf.main.DataState;
+import de.bsvrz.dav.daf.main.archive.ArchiveDataColumnStream;
+import de.bsvrz.dav.daf.main.archive.ArchiveDataColumns;
+import de.bsvrz.dav.daf.main.archive.ArchiveDataKind;
+import de.bsvrz.dav.daf.main.archive.ArchiveDataSpecification;
+import de.bsvrz.dav.daf.main.config.AttributeGroup;
+import de.bsvrz.dav.daf.main.impl.archive.ArchiveDataCompression;
+import de.bsvrz.sys.funclib.dataSerializer.SerializingFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Implementierung von {@link ArchiveDataColumnStream}, die die Datenstze eines oder mehrerer {@link DataStream}s in der bertragenen Form entnimmt und nur die
+ * bentigten Werte mit einem {@link SerializedColumnDecoder} daraus liest. Werden bei Anfragen nach Pids mehrere Streams (pro historischem Objekt) zu einem
+ * Stream zusammengefasst, dann geschieht das wie im {@link ArchiveStreamCombiner}.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+final class ColumnDataStream implements ArchiveDataColumnStream {
+
+	/** Lnge des Kopfs eines bertragenen Datensatzes: Datensatzart, drei Zeitstempel, Datensatztyp, Serialisiererversion, Kompression und Gre. */
+	private static final int HEADER_SIZE = 4 + 8 + 8 + 8 + 4 + 4 + 1 + 4;
+
+	/** Zusammenzufassende Streams, aus denen nacheinander gelesen wird. */
+	private final DataStream[] _streams;
+
+	private final ArchiveDataSpecification _spec;
+
+	private final String[] _attributePaths;
+
+	private final int _batchSize;
+
+	/** Nach Serialisiererversion indizierte Decoder, die bei Bedarf erzeugt werden. */
+	private final SerializedColumnDecoder[] _decoders = new SerializedColumnDecoder[4];
+
+	/** Index des Streams, aus dem aktuell gelesen wird. */
+	private int _currentIndex = 0;
+
+	/** <code>true</code>, wenn bereits ein Datensatz geliefert wurde, der keine potentielle Datenlcke ist. */
+	private boolean _hasSentData = false;
+
+	private boolean _finished = false;
+
+	private boolean _aborted = false;
+
+	/** Bei Relativanfragen ber mehrere Streams die vollstndig gelesenen und bereits gekrzten Blcke, sonst <code>null</code>. */
+	private ArrayDeque<ArchiveDataColumns> _relativeBuffer = null;
+
+	/** Wird zum Entpacken komprimierter Datenstze benutzt oder ist <code>null</code>, solange kein komprimierter Datensatz empfangen wurde. */
+	private Inflater _inflater = null;
+
+	private byte[] _inflated = null;
+
+	/**
+	 * Erzeugt einen neuen Stream.
+	 *
+	 * @param streams        Zusammenzufassende Streams, bei Anfragen ohne Pid genau einer
+	 * @param spec           Originale Spezifikation der Anfrage
+	 * @param attributePaths Pfade der zu lesenden Attribute
+	 * @param batchSize      Maximale Anzahl Datenstze je Block
+	 */
+	ColumnDataStream(final DataStream[] streams, final ArchiveDataSpecification spec, final String[] attributePaths, final int batchSize) {
+		_streams = streams;
+		_spec = spec;
+		_attributePaths = attributePaths;
+		_batchSize = batchSize;
+	}
+
+	public ArchiveDataSpecification getDataSpecification() {
+		return _spec;
+	}
+
+	public String[] getAttributePaths() {
+		return _attributePaths.clone();
+	}
+
+	public ArchiveDataColumns take() throws InterruptedException, IOException, IllegalStateException {
+		if(_aborted) throw new IllegalStateException("Der Stream wurde mit 'abort' abgebrochen und dann erneut mit 'take' aufgerufen");
+		if(_streams.length > 1 && _spec.getTimeSpec().isStartRelative()) {
+			if(_relativeBuffer == null) _relativeBuffer = readRelative();
+			return _relativeBuffer.pollFirst();
+		}
+		return readBatch();
+	}
+
+	public void abort() {
+		_aborted = true;
+		if(_finished) return;
+		_finished = true;
+		// Noch nicht abgeschlossene Streams abbrechen
+		for(int i = _currentIndex; i < _streams.length; i++) {
+			_streams[i].abort();
+		}
+		releaseInflater();
+	}
+
+	/**
+	 * Liest bei Relativanfragen ber mehrere Streams alle Datenstze und behlt wie {@link ArchiveStreamCombiner} nur die aktuellsten, sodass die angefragte
+	 * Anzahl Datenstze nicht berschritten wird.
+	 *
+	 * @return Blcke mit den zu liefernden Datenstzen
+	 */
+	private ArrayDeque<ArchiveDataColumns> readRelative() throws InterruptedException, IOException {
+		// Siehe de.bsvrz.ars.ars.mgmt.tasks.ArchiveQueryTask.Query.maxInterval
+		final long maxSize = Math.min(_spec.getTimeSpec().getIntervalStart(), 16000);
+		final ArrayDeque<ArchiveDataColumns> batches = new ArrayDeque<ArchiveDataColumns>();
+		long counted = 0;
+		ArchiveDataColumns batch;
+		while((batch = readBatch()) != null) {
+			batches.addLast(batch);
+			for(final DataState dataState : batch.getDataStates()) {
+				if(dataState != DataState.END_OF_ARCHIVE) counted++;
+			}
+		}
+		// Von vorne so viele Datenstze entfernen, bis nur noch maxSize mitgezhlte Datenstze brig sind
+		while(counted > maxSize) {
+			final ArchiveDataColumns first = batches.removeFirst();
+			final DataState[] dataStates = first.getDataStates();
+			int removed = 0;
+			while(removed < dataStates.length && counted > maxSize) {
+				if(dataStates[removed++] != DataState.END_OF_ARCHIVE) counted--;
+			}
+			if(removed < dataStates.length) batches.addFirst(slice(first, removed));
+		}
+		return batches;
+	}
+
+	/**
+	 * Liest den nchsten Block.
+	 *
+	 * @return Block oder <code>null</code>, wenn alle Datenstze gelesen wurden.
+	 */
+	private ArchiveDataColumns readBatch() throws InterruptedException, IOException {
+		if(_finished) return null;
+		final int batchSize = _batchSize;
+		final long[] dataTimes = new long[batchSize];
+		final long[] archiveTimes = new long[batchSize];
+		final long[] dataIndices = new long[batchSize];
+		final ArchiveDataKind[] dataKinds = new ArchiveDataKind[batchSize];
+		final DataState[] dataStates = new DataState[batchSize];
+		final long[][] longColumns = new long[_attributePaths.length][];
+		final double[][] doubleColumns = new double[_attributePaths.length][];
+		final SerializedColumnDecoder columnTypes = getDecoder(SerializingFactory.getDefaultVersion());
+		for(int i = 0; i < _attributePaths.length; i++) {
+			if(columnTypes.isDoubleColumn(i)) {
+				doubleColumns[i] = new double[batchSize];
+				Arrays.fill(doubleColumns[i], Double.NaN);
+			}
+			else {
+				longColumns[i] = new long[batchSize];
+			}
+		}
+		int size = 0;
+		while(size < batchSize) {
+			final byte[] record = takeRecord();
+			if(record == null) break;
+
+			DataState dataState = DataState.getInstance(SerializedColumnDecoder.readInt(record, 28));
+			if(_currentIndex + 1 < _streams.length && dataState == DataState.END_OF_ARCHIVE) {
+				// Ende-Archiv-Datenstze, die sich nicht am Ende befinden, in potentielle Datenlcken umwandeln und bei komplett leeren Streams ignorieren
+				if(!_hasSentData) continue;
+				dataState = DataState.POSSIBLE_GAP;
+			}
+			if(dataState != DataState.POSSIBLE_GAP) _hasSentData = true;
+
+			dataKinds[size] = ArchiveDataKind.getInstance(SerializedColumnDecoder.readInt(record, 0));
+			dataTimes[size] = SerializedColumnDecoder.readLong(record, 4);
+			archiveTimes[size] = SerializedColumnDecoder.readLong(record, 12);
+			dataIndices[size] = SerializedColumnDecoder.readLong(record, 20);
+			dataStates[size] = dataState;
+			final int sizeOfData = SerializedColumnDecoder.readInt(record, 37);
+			if(dataState == DataState.DATA && sizeOfData > 0) {
+				final SerializedColumnDecoder decoder = getDecoder(SerializedColumnDecoder.readInt(record, 32));
+				final ArchiveDataCompression compression = ArchiveDataCompression.getInstance(record[36]);
+				if(compression == ArchiveDataCompression.ZIP) {
+					final int length = inflate(record, HEADER_SIZE, sizeOfData);
+					decoder.decode(_inflated, 0, length, longColumns, doubleColumns, size);
+				}
+				else {
+					decoder.decode(record, HEADER_SIZE, sizeOfData, longColumns, doubleColumns, size);
+				}
+			}
+			size++;
+		}
+		if(size == 0) return null;
+		final Object[] columns = new Object[_attributePaths.length];
+		for(int i = 0; i < columns.length; i++) {
+			if(doubleColumns[i] != null) {
+				columns[i] = size < batchSize ? Arrays.copyOf(doubleColumns[i], size) : doubleColumns[i];
+			}
+			else {
+				columns[i] = size < batchSize ? Arrays.copyOf(longColumns[i], size) : longColumns[i];
+			}
+		}
+		if(size < batchSize) {
+			return new ArchiveDataColumns(
+					_attributePaths,
+					Arrays.copyOf(dataTimes, size),
+					Arrays.copyOf(archiveTimes, size),
+					Arrays.copyOf(dataIndices, size),
+					Arrays.copyOf(dataKinds, size),
+					Arrays.copyOf(dataStates, size),
+					columns
+			);
+		}
+		return new ArchiveDataColumns(_attributePaths, dataTimes, archiveTimes, dataIndices, dataKinds, dataStates, columns);
+	}
+
+	/**
+	 * Entnimmt den nchsten Datensatz aus dem aktuellen Stream und wechselt bei Bedarf zum nchsten Stream.
+	 *
+	 * @return bertragener Datensatz oder <code>null</code>, wenn alle Streams vollstndig gelesen wurden.
+	 */
+	private byte[] takeRecord() throws InterruptedException, IOException {
+		while(true) {
+			final byte[] record = _streams[_currentIndex].takeRecord();
+			if(record != null) return record;
+			if(_currentIndex + 1 < _streams.length) {
+				// Nchsten Stream ffnen
+				_currentIndex++;
+			}
+			else {
+				_finished = true;
+				releaseInflater();
+				return null;
+			}
+		}
+	}
+
+	private SerializedColumnDecoder getDecoder(final int serializerVersion) {
+		if(serializerVersion < 2 || serializerVersion >= _decoders.length) {
+			throw new IllegalStateException(
+					"Ein Archivdatensatz kann nicht deserialisiert werden, da das Archiv eine fr die Applikation unbekannte Version zum serialisieren benutzt hat. "
+					+ "Serializer-Version: " + serializerVersion
+			);
+		}
+		SerializedColumnDecoder decoder = _decoders[serializerVersion];
+		if(decoder == null) {
+			final AttributeGroup attributeGroup = _spec.getDataDescription().getAttributeGroup();
+			decoder = new SerializedColumnDecoder(attributeGroup, serializerVersion, _attributePaths, attributeGroup.getDataModel());
+			_decoders[serializerVersion] = decoder;
+		}
+		return decoder;
+	}
+
+	/**
+	 * Entpackt einen komprimierten Datensatz nach <code>_inflated</code>.
+	 *
+	 * @return Lnge des entpackten Datensatzes
+	 */
+	private int inflate(final byte[] bytes, final int offset, final int length) throws IOException {
+		if(_inflater == null) {
+			_inflater = new Inflater();
+			_inflated = new byte[Math.max(1024, 4 * length)];
+		}
+		else {
+			_inflater.reset();
+		}
+		_inflater.setInput(bytes, offset, length);
+		int inflatedLength = 0;
+		try {
+			while(!_inflater.finished()) {
+				if(inflatedLength == _inflated.length) _inflated = Arrays.copyOf(_inflated, 2 * _inflated.length);
+				final int count = _inflater.inflate(_inflated, inflatedLength, _inflated.length - inflatedLength);
+				if(count == 0 && (_inflater.needsInput() || _inflater.needsDictionary())) {
+					throw new IOException("Unvollstndiger komprimierter Archivdatensatz");
+				}
+				inflatedLength += count;
+			}
+		}
+		catch(DataFormatException e) {
+			throw new IOException("Fehler beim Entpacken eines Archivdatensatzes: " + e.getMessage());
+		}
+		return inflatedLength;
+	}
+
+	private void releaseInflater() {
+		if(_inflater != null) {
+			_inflater.end();
+			_inflater = null;
+			_inflated = null;
+		}
+	}
+
+	/** Liefert die Datenstze eines Blocks ab der angegebenen Position als neuen Block. */
+	private static ArchiveDataColumns slice(final ArchiveDataColumns batch, final int from) {
+		final int to = batch.size();
+		final Object[] columns = new Object[batch.getAttributePaths().length];
+		for(int i = 0; i < columns.length; i++) {
+			if(batch.isDoubleColumn(i)) {
+				columns[i] = Arrays.copyOfRange(batch.getDoubleColumn(i), from, to);
+			}
+			else {
+				columns[i] = Arrays.copyOfRange(batch.getLongColumn(i), from, to);
+			}
+		}
+		return new ArchiveDataColumns(
+				batch.getAttributePaths(),
+				Arrays.copyOfRange(batch.getDataTimes(), from, to),
+				Arrays.copyOfRange(batch.getArchiveTimes(), from, to),
+				Arrays.copyOfRange(batch.getDataIndices(), from, to),
+				Arrays.copyOfRange(batch.getDataKinds(), from, to),
+				Arrays.copyOfRange(batch.getDataStates(), from, to),
+				columns
+		);
+	}
+}
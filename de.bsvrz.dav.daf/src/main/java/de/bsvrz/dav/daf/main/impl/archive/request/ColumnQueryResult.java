@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.daf.main.impl.archive.request;
+
+import de.bsvrz.dav.daf.main.archive.ArchiveDataColumnQueryResult;
+import de.bsvrz.dav.daf.main.archive.ArchiveDataColumnStream;
+import de.bsvrz.dav.daf.main.archive.ArchiveDataSpecification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ergebnis einer spaltenweisen Archivanfrage. Die Streams der zugrundeliegenden Archivanfrage werden wie beim {@link ArchiveStreamCombiner} bei Anfragen nach
+ * Pids eventuell zu einem Stream pro Pid gebndelt.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ * @see StreamedArchiveRequester#requestColumns
+ */
+class ColumnQueryResult implements ArchiveDataColumnQueryResult {
+
+	/** Zugrundeliegende Archivanfrage oder <code>null</code>, wenn keine Daten angefragt wurden. */
+	private Query _rawQuery = null;
+
+	private final List<Integer> _numStreamsToCombine = new ArrayList<Integer>();
+
+	private final List<ArchiveDataSpecification> _originalSpecs = new ArrayList<ArchiveDataSpecification>();
+
+	private final String[] _attributePaths;
+
+	private final int _batchSize;
+
+	/** Bereits erzeugte Streams oder <code>null</code>, wenn sie noch nicht abgefragt wurden. */
+	private ArchiveDataColumnStream[] _streams = null;
+
+	/**
+	 * Erzeugt ein neues Ergebnisobjekt.
+	 *
+	 * @param attributePaths Pfade der zu lesenden Attribute
+	 * @param batchSize      Maximale Anzahl Datenstze je Block
+	 */
+	ColumnQueryResult(final String[] attributePaths, final int batchSize) {
+		_attributePaths = attributePaths;
+		_batchSize = batchSize;
+	}
+
+	public synchronized ArchiveDataColumnStream[] getStreams() throws InterruptedException, IllegalStateException {
+		if(_streams == null) {
+			final DataStream[] streams = _rawQuery == null ? new DataStream[0] : _rawQuery.getDataStreams(); // wirft Exception, falls nicht erfolgreich
+			final ArchiveDataColumnStream[] result = new ArchiveDataColumnStream[_numStreamsToCombine.size()];
+			int streamIndex = 0;
+			for(int i = 0; i < result.length; i++) {
+				final int count = _numStreamsToCombine.get(i);
+				result[i] = new ColumnDataStream(Arrays.copyOfRange(streams, streamIndex, streamIndex + count), _originalSpecs.get(i), _attributePaths, _batchSize);
+				streamIndex += count;
+			}
+			_streams = result;
+		}
+		return _streams.clone();
+	}
+
+	public boolean isRequestSuccessful() throws InterruptedException {
+		return _rawQuery == null || _rawQuery.isRequestSuccessful();
+	}
+
+	public String getErrorMessage() throws InterruptedException {
+		return _rawQuery == null ? "" : _rawQuery.getErrorMessage();
+	}
+
+	void setRawQuery(final Query rawQuery) {
+		_rawQuery = rawQuery;
+	}
+
+	/**
+	 * Wird mehrmals aufgerufen. Vermerkt jeweils, wie zusammengehrige Streams zu bndeln sind.
+	 *
+	 * @param size Anzahl zu bndelnder Streams, bei Anfragen ohne Pid 1
+	 * @param spec Originale Anfrage
+	 */
+	void addQuery(final int size, final ArchiveDataSpecification spec) {
+		_numStreamsToCombine.add(size);
+		_originalSpecs.add(spec);
+	}
+}
@@ -65,6 +65,18 @@ class DataStream implements ArchiveDataStream {
 
 	private final ArchiveDataSpecification _archiveDataSpecification;
 
+	/**
+	 * Zeitpunkt, zu dem der erste Datensatz aus dem Stream entnommen wurde, oder <code>0</code>, wenn noch kein Datensatz entnommen wurde. Wird zusammen mit
+	 * den folgenden Zhlern benutzt, um die Geschwindigkeit zu messen, mit der die Datenstze abgenommen werden.
+	 */
+	private long _firstTakeTime = 0;
+
+	/** Anzahl der bisher aus dem Stream entnommenen Datenstze. */
+	private long _numberOfRecords = 0;
+
+	/** Gre der bisher aus dem Stream entnommenen Datenstze in Bytes, so wie sie bertragen wurden. */
+	private long _numberOfBytes = 0;
+
 	/**
 	 * DebugLogger fr Debug-Ausgaben
 	 */
@@ -102,10 +114,9 @@ class DataStream implements ArchiveDataStream {
 	public ArchiveData take() throws ClosedChannelException, InterruptedException, ProtocolException {
 
 		// Das ArchiveData Objekt ist in dem Byte-Array kodiert.
-		byte[] dataByteArray = _streamDemultiplexer.take(_indexOfStream);
+		byte[] dataByteArray = takeRecord();
 
 		if (dataByteArray != null) {
-			// Es wurde ein Datensatz empfangen
 			InputStream in = new ByteArrayInputStream(dataByteArray);
 
 			//deserialisieren
@@ -213,11 +224,34 @@ class DataStream implements ArchiveDataStream {
 			}
 			return streamedArchiveData;
 		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Entnimmt den nchsten Datensatz in der Form, in der er vom Archiv bertragen wurde, ohne ihn zu dekodieren. Wird auch von {@link ColumnDataStream}
+	 * benutzt, der die bentigten Attribute direkt aus dem Byte-Array liest.
+	 *
+	 * @return bertragener Datensatz oder <code>null</code>, wenn das Archiv alle Datenstze des Streams versandt hat.
+	 *
+	 * @throws ClosedChannelException Die Verbindung zum DaV wurde unterbrochen
+	 * @throws InterruptedException   Der Thread wurde beim Warten auf den Datensatz unterbrochen
+	 * @throws ProtocolException      Ein Datensatz wurde entweder doppelt empfangen oder fehlt
+	 */
+	byte[] takeRecord() throws ClosedChannelException, InterruptedException, ProtocolException {
+		final byte[] dataByteArray = _streamDemultiplexer.take(_indexOfStream);
+		if(dataByteArray != null) {
+			// Es wurde ein Datensatz empfangen
+			if(_numberOfRecords++ == 0) _firstTakeTime = System.currentTimeMillis();
+			_numberOfBytes += dataByteArray.length;
+		}
+		else {
 			// Das null-Paket wurde empfangen, somit hat das Archiv alle Datenstze versandt, die zu der Archivanfrage
 			// gehrten.
+			if(_numberOfRecords > 0) _query.streamConsumed(_numberOfRecords, _numberOfBytes, System.currentTimeMillis() - _firstTakeTime);
 			_query.countFinishedStream();
-			return null;
 		}
+		return dataByteArray;
 	}
 
 	/**
@@ -432,6 +432,19 @@ class Query implements ArchiveDataQueryResult {
 		}
 	}
 
+	/**
+	 * Liefert wie {@link #getStreams()} alle Streams dieser Archivanfrage, aber mit dem konkreten Typ {@link DataStream}. Wird fr
+	 * spaltenweise Anfragen benutzt, bei denen die Datenstze nicht in {@link de.bsvrz.dav.daf.main.archive.ArchiveData}-Objekte umgewandelt werden.
+	 *
+	 * @return Alle Streams, die zu einer Archivanfrage gehren
+	 *
+	 * @throws IllegalStateException Die Archivanfrage konnte nicht vom Archiv bearbeitet werden
+	 */
+	DataStream[] getDataStreams() throws IllegalStateException, InterruptedException {
+		getStreams();
+		return _arrayOfStreams;
+	}
+
 	/**
 	 * Diese Methode wird vom StreamedArchivRequester aufgerufen, sobald das Archiv auf die erste Archivanfrage eines Auftrags antwortet. Diese Antwort bedeutet,
 	 * dass die Anfrage bearbeitet werden kann oder das ein Fehler aufgetreten ist.
@@ -538,6 +551,18 @@ class Query implements ArchiveDataQueryResult {
 		}
 	}
 
+	/**
+	 * Wird von einem Stream aufgerufen, nachdem er vollstndig gelesen wurde. Die Angaben werden an den {@link StreamedArchiveRequester} weitergegeben, der
+	 * daraus die Gre des Empfangspuffers fr folgende Anfragen bestimmen kann.
+	 *
+	 * @param numberOfRecords Anzahl der entnommenen Datenstze
+	 * @param numberOfBytes   Gre der entnommenen Datenstze in Bytes
+	 * @param duration        Zeit in Millisekunden zwischen der Entnahme des ersten Datensatzes und dem Ende des Streams
+	 */
+	void streamConsumed(final long numberOfRecords, final long numberOfBytes, final long duration) {
+		_streamedArchiveRequester.streamConsumed(numberOfRecords, numberOfBytes, duration);
+	}
+
 	/**
 	 * Diese Methode benachrichtigt den StreamDemultiplexer, dass ein Fehler aufgetreten ist und das alle Streams beendet werden mssen. Jeder aufruf der
 	 * take-Methode liefert eine entsprechende Exception.
@@ -0,0 +1,539 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.dav.daf.main.impl.archive.request;
+
+import de.bsvrz.dav.daf.main.config.Attribute;
+import de.bsvrz.dav.daf.main.config.AttributeGroup;
+import de.bsvrz.dav.daf.main.config.AttributeListDefinition;
+import de.bsvrz.dav.daf.main.config.AttributeSet;
+import de.bsvrz.dav.daf.main.config.AttributeType;
+import de.bsvrz.dav.daf.main.config.DoubleAttributeType;
+import de.bsvrz.dav.daf.main.config.IntegerAttributeType;
+import de.bsvrz.dav.daf.main.config.ObjectLookup;
+import de.bsvrz.dav.daf.main.config.ReferenceAttributeType;
+import de.bsvrz.dav.daf.main.config.ReferenceType;
+import de.bsvrz.dav.daf.main.config.StringAttributeType;
+import de.bsvrz.dav.daf.main.config.SystemObject;
+import de.bsvrz.dav.daf.main.config.TimeAttributeType;
+
+import java.io.EOFException;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Liest die Werte ausgewhlter Attribute direkt aus der serialisierten Darstellung eines Datensatzes, so wie sie von {@link
+ * de.bsvrz.sys.funclib.dataSerializer.SerializerImplementationA} in den Versionen 2 und 3 erzeugt wird, ohne dafr ein {@link de.bsvrz.dav.daf.main.Data}-Objekt
+ * anzulegen. Beim Erzeugen wird die Attributgruppe in einen Baum von Leseschritten bersetzt. Aufeinanderfolgende Attribute fester Gre, die keine
+ * ausgewhlten Attribute enthalten, werden dabei zu einem einzigen Schritt zusammengefasst, der sie ohne weitere Auswertung berspringt. Nur Attribute
+ * variabler Gre (Zeichenketten, Arrays variabler Lnge und bei Version 3 die als Pid serialisierten Referenzen) mssen beim Lesen ausgewertet werden.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ * @see ColumnDataStream
+ */
+final class SerializedColumnDecoder {
+
+	/** Wurzel des Baums von Leseschritten. */
+	private final Node _root;
+
+	/** Kennzeichnet je Spalte, ob ihre Werte Fliekommawerte sind. */
+	private final boolean[] _doubleColumns;
+
+	/**
+	 * bersetzt eine Attributgruppe in Leseschritte fr die angegebenen Attributpfade.
+	 *
+	 * @param attributeGroup    Attributgruppe der zu lesenden Datenstze
+	 * @param serializerVersion Version des Serialisierers, mit dem die Datenstze serialisiert wurden
+	 * @param attributePaths    Pfade der zu lesenden Attribute, Elemente werden durch Punkte getrennt. Der Index eines Pfads ist der Index seiner Spalte.
+	 * @param objectLookup      Wird fr die Auflsung von als Pid serialisierten Objektreferenzen benutzt.
+	 *
+	 * @throws IllegalArgumentException Wenn ein Pfad nicht aufgelst werden kann oder nicht zu einem untersttzten Attribut fhrt.
+	 */
+	SerializedColumnDecoder(
+			final AttributeGroup attributeGroup, final int serializerVersion, final String[] attributePaths, final ObjectLookup objectLookup) {
+		final PathTree selection = new PathTree();
+		for(int column = 0; column < attributePaths.length; column++) {
+			selection.add(attributePaths[column], column);
+		}
+		_doubleColumns = new boolean[attributePaths.length];
+		final Compiler compiler = new Compiler(serializerVersion, objectLookup, _doubleColumns);
+		_root = compiler.compileList(attributeGroup, selection, "");
+	}
+
+	/**
+	 * Bestimmt, ob die Werte einer Spalte Fliekommawerte sind.
+	 *
+	 * @param column Index der Spalte
+	 *
+	 * @return <code>true</code>, wenn die Werte in einem <code>double</code>-Array abgelegt werden, <code>false</code> bei einem <code>long</code>-Array.
+	 */
+	boolean isDoubleColumn(final int column) {
+		return _doubleColumns[column];
+	}
+
+	/**
+	 * Liest die ausgewhlten Attribute eines serialisierten Datensatzes und legt ihre Werte in den Spalten ab. Werte von Array-Elementen, die im Datensatz
+	 * nicht vorhanden sind, werden nicht geschrieben.
+	 *
+	 * @param bytes         Byte-Array mit dem serialisierten Datensatz
+	 * @param offset        Position des Datensatzes im Byte-Array
+	 * @param length        Lnge des serialisierten Datensatzes
+	 * @param longColumns   Spalten mit <code>long</code>-Werten, bei Spalten mit Fliekommawerten <code>null</code>
+	 * @param doubleColumns Spalten mit Fliekommawerten, bei Spalten mit <code>long</code>-Werten <code>null</code>
+	 * @param row           Zeile, in die die Werte geschrieben werden
+	 *
+	 * @throws EOFException Wenn der Datensatz krzer ist, als es die Attributgruppe erfordert.
+	 */
+	void decode(final byte[] bytes, final int offset, final int length, final long[][] longColumns, final double[][] doubleColumns, final int row)
+			throws EOFException {
+		final int end;
+		try {
+			end = _root.read(bytes, offset, longColumns, doubleColumns, row);
+		}
+		catch(ArrayIndexOutOfBoundsException e) {
+			throw new EOFException("Unerwartetes Ende eines serialisierten Datensatzes");
+		}
+		if(end > offset + length) throw new EOFException("Unerwartetes Ende eines serialisierten Datensatzes");
+	}
+
+	static int readInt(final byte[] bytes, final int pos) {
+		return (bytes[pos] << 24) | ((bytes[pos + 1] & 0xff) << 16) | ((bytes[pos + 2] & 0xff) << 8) | (bytes[pos + 3] & 0xff);
+	}
+
+	static long readLong(final byte[] bytes, final int pos) {
+		return ((long)readInt(bytes, pos) << 32) | (readInt(bytes, pos + 4) & 0xffffffffL);
+	}
+
+	/**
+	 * Bestimmt die Anzahl Bytes, mit der die Lnge einer Zeichenkette oder eines Arrays variabler Lnge serialisiert wird.
+	 *
+	 * @param max Maximale Lnge oder <code>0</code>, wenn keine Begrenzung vorgegeben ist.
+	 *
+	 * @return 1, 2 oder 4
+	 */
+	private static int getLengthSize(final int max) {
+		if(max <= 0 || max > 65535) return 4;
+		if(max > 255) return 2;
+		return 1;
+	}
+
+	private static int readLength(final byte[] bytes, final int pos, final int lengthSize) {
+		switch(lengthSize) {
+			case 1:
+				return bytes[pos] & 0xff;
+			case 2:
+				return ((bytes[pos] & 0xff) << 8) | (bytes[pos + 1] & 0xff);
+			default:
+				return readInt(bytes, pos);
+		}
+	}
+
+	/** Baum der ausgewhlten Attributpfade. Ein Knoten, an dem ein Pfad endet, enthlt den Index der zugehrigen Spalte. */
+	private static final class PathTree {
+
+		private final Map<String, PathTree> _children = new LinkedHashMap<String, PathTree>();
+
+		private int _column = -1;
+
+		private void add(final String path, final int column) {
+			PathTree tree = this;
+			for(final String element : path.split("\\.")) {
+				PathTree child = tree._children.get(element);
+				if(child == null) {
+					child = new PathTree();
+					tree._children.put(element, child);
+				}
+				tree = child;
+			}
+			if(tree._column >= 0) throw new IllegalArgumentException("Der Attributpfad " + path + " wurde mehrfach angegeben");
+			tree._column = column;
+		}
+	}
+
+	/** bersetzt die Beschreibung einer Attributgruppe in Leseschritte. */
+	private static final class Compiler {
+
+		private final int _serializerVersion;
+
+		private final ObjectLookup _objectLookup;
+
+		private final boolean[] _doubleColumns;
+
+		private Compiler(final int serializerVersion, final ObjectLookup objectLookup, final boolean[] doubleColumns) {
+			_serializerVersion = serializerVersion;
+			_objectLookup = objectLookup;
+			_doubleColumns = doubleColumns;
+		}
+
+		private Node compileList(final AttributeSet attributeSet, final PathTree selection, final String prefix) {
+			final Map<String, PathTree> unresolved = new HashMap<String, PathTree>(selection._children);
+			final List<Node> nodes = new ArrayList<Node>();
+			int pendingSkip = 0;
+			boolean fixedSize = true;
+			int size = 0;
+			for(final Attribute attribute : attributeSet.getAttributes()) {
+				final Node node = compileAttribute(attribute, unresolved.remove(attribute.getName()), prefix + attribute.getName());
+				if(node._fixedSize >= 0) {
+					size += node._fixedSize;
+				}
+				else {
+					fixedSize = false;
+				}
+				if(!node._selected && node._fixedSize >= 0) {
+					pendingSkip += node._fixedSize;
+				}
+				else {
+					if(pendingSkip > 0) nodes.add(new SkipNode(pendingSkip));
+					pendingSkip = 0;
+					nodes.add(node);
+				}
+			}
+			if(!unresolved.isEmpty()) {
+				final String element = unresolved.keySet().iterator().next();
+				throw new IllegalArgumentException("Ungltiger Attributpfad " + prefix + element + ": Das Attribut existiert nicht");
+			}
+			if(nodes.isEmpty()) return new SkipNode(pendingSkip);
+			if(pendingSkip > 0) nodes.add(new SkipNode(pendingSkip));
+			if(nodes.size() == 1) return nodes.get(0);
+			return new ListNode(nodes.toArray(new Node[nodes.size()]), fixedSize ? size : -1);
+		}
+
+		private Node compileAttribute(final Attribute attribute, final PathTree selection, final String path) {
+			if(!attribute.isArray()) return compileType(attribute.getAttributeType(), selection, path);
+			if(selection != null && selection._column >= 0) {
+				throw new IllegalArgumentException("Ungltiger Attributpfad " + path + ": Das Attribut ist ein Array, erwartet wurde zustzlich ein Index");
+			}
+			final Node element = compileType(attribute.getAttributeType(), null, path);
+			final int maxCount = attribute.getMaxCount();
+			final int lengthSize = attribute.isCountVariable() ? getLengthSize(maxCount) : 0;
+			if(selection == null) return new ArrayNode(element, maxCount, lengthSize, new int[0], new Node[0]);
+			final Map<Integer, Node> selectedElements = new HashMap<Integer, Node>();
+			for(final Map.Entry<String, PathTree> entry : selection._children.entrySet()) {
+				final int index;
+				try {
+					index = Integer.parseInt(entry.getKey());
+				}
+				catch(NumberFormatException e) {
+					throw new IllegalArgumentException(
+							"Ungltiger Attributpfad " + path + "." + entry.getKey() + ": " + attribute.getName() + " ist ein Array, erwartet wurde ein Index"
+					);
+				}
+				if(index < 0 || (!attribute.isCountVariable() && index >= maxCount)) {
+					throw new IllegalArgumentException("Ungltiger Attributpfad " + path + "." + entry.getKey() + ": Index auerhalb des Arrays");
+				}
+				selectedElements.put(index, compileType(attribute.getAttributeType(), entry.getValue(), path + "." + entry.getKey()));
+			}
+			final int[] indices = new int[selectedElements.size()];
+			int i = 0;
+			for(final Integer index : selectedElements.keySet()) {
+				indices[i++] = index;
+			}
+			Arrays.sort(indices);
+			final Node[] nodes = new Node[indices.length];
+			for(i = 0; i < indices.length; i++) {
+				nodes[i] = selectedElements.get(indices[i]);
+			}
+			return new ArrayNode(element, maxCount, lengthSize, indices, nodes);
+		}
+
+		private Node compileType(final AttributeType type, final PathTree selection, final String path) {
+			if(type instanceof AttributeListDefinition) {
+				if(selection != null && selection._column >= 0) {
+					throw new IllegalArgumentException("Ungltiger Attributpfad " + path + ": Das Attribut ist eine Attributliste");
+				}
+				return compileList((AttributeListDefinition)type, selection == null ? new PathTree() : selection, path + ".");
+			}
+			if(selection != null && !selection._children.isEmpty()) {
+				throw new IllegalArgumentException("Ungltiger Attributpfad " + path + ": Das Attribut hat keine Unterattribute");
+			}
+			final int column = selection == null ? -1 : selection._column;
+			if(type instanceof IntegerAttributeType) {
+				final int byteCount = ((IntegerAttributeType)type).getByteCount();
+				if(byteCount != 1 && byteCount != 2 && byteCount != 4 && byteCount != 8) {
+					throw new RuntimeException("Ganzzahlattribut mit ungltiger Byte-Anzahl: " + type.getNameOrPidOrId());
+				}
+				return new IntegerNode(byteCount, column);
+			}
+			if(type instanceof TimeAttributeType) {
+				return new TimeNode(((TimeAttributeType)type).getAccuracy() == TimeAttributeType.MILLISECONDS, column);
+			}
+			if(type instanceof DoubleAttributeType) {
+				if(column >= 0) _doubleColumns[column] = true;
+				return new DoubleNode(((DoubleAttributeType)type).getAccuracy() == DoubleAttributeType.DOUBLE, column);
+			}
+			if(type instanceof ReferenceAttributeType) {
+				if(_serializerVersion >= 3 && ((ReferenceAttributeType)type).getReferenceType() == ReferenceType.ASSOCIATION) {
+					return new PidReferenceNode(column, _objectLookup);
+				}
+				return new IntegerNode(8, column);
+			}
+			if(type instanceof StringAttributeType) {
+				if(column >= 0) throw new IllegalArgumentException("Ungltiger Attributpfad " + path + ": Zeichenketten werden nicht untersttzt");
+				return new StringNode(getLengthSize(((StringAttributeType)type).getMaxLength()));
+			}
+			throw new RuntimeException("Deserialisierung einer unbekannten Attributart nicht mglich");
+		}
+	}
+
+	/** Leseschritt fr ein Attribut oder eine Folge von Attributen. */
+	private abstract static class Node {
+
+		/** Gre in Bytes oder <code>-1</code>, wenn die Gre vom Inhalt abhngt. */
+		final int _fixedSize;
+
+		/** <code>true</code>, wenn der Schritt mindestens ein ausgewhltes Attribut liest. */
+		final boolean _selected;
+
+		Node(final int fixedSize, final boolean selected) {
+			_fixedSize = fixedSize;
+			_selected = selected;
+		}
+
+		/**
+		 * Liest die ausgewhlten Attribute dieses Schritts und bestimmt die Position des folgenden Attributs.
+		 *
+		 * @return Position des folgenden Attributs
+		 */
+		abstract int read(byte[] bytes, int pos, long[][] longColumns, double[][] doubleColumns, int row);
+	}
+
+	/** berspringt eine feste Anzahl Bytes. */
+	private static final class SkipNode extends Node {
+
+		SkipNode(final int size) {
+			super(size, false);
+		}
+
+		@Override
+		int read(final byte[] bytes, final int pos, final long[][] longColumns, final double[][] doubleColumns, final int row) {
+			return pos + _fixedSize;
+		}
+	}
+
+	private static final class ListNode extends Node {
+
+		private final Node[] _nodes;
+
+		ListNode(final Node[] nodes, final int fixedSize) {
+			super(fixedSize, isAnySelected(nodes));
+			_nodes = nodes;
+		}
+
+		private static boolean isAnySelected(final Node[] nodes) {
+			for(final Node node : nodes) {
+				if(node._selected) return true;
+			}
+			return false;
+		}
+
+		@Override
+		int read(final byte[] bytes, int pos, final long[][] longColumns, final double[][] doubleColumns, final int row) {
+			for(final Node node : _nodes) {
+				pos = node.read(bytes, pos, longColumns, doubleColumns, row);
+			}
+			return pos;
+		}
+	}
+
+	private static final class ArrayNode extends Node {
+
+		private final Node _element;
+
+		private final int _maxCount;
+
+		/** Anzahl Bytes der serialisierten Lnge oder <code>0</code> bei Arrays fester Lnge. */
+		private final int _lengthSize;
+
+		/** Aufsteigend sortierte Indizes der ausgewhlten Elemente. */
+		private final int[] _indices;
+
+		/** Leseschritte der ausgewhlten Elemente in der Reihenfolge von <code>_indices</code>. */
+		private final Node[] _selectedElements;
+
+		ArrayNode(final Node element, final int maxCount, final int lengthSize, final int[] indices, final Node[] selectedElements) {
+			super(lengthSize == 0 && element._fixedSize >= 0 ? maxCount * element._fixedSize : -1, indices.length > 0);
+			_element = element;
+			_maxCount = maxCount;
+			_lengthSize = lengthSize;
+			_indices = indices;
+			_selectedElements = selectedElements;
+		}
+
+		@Override
+		int read(final byte[] bytes, int pos, final long[][] longColumns, final double[][] doubleColumns, final int row) {
+			final int count;
+			if(_lengthSize == 0) {
+				count = _maxCount;
+			}
+			else {
+				count = readLength(bytes, pos, _lengthSize);
+				pos += _lengthSize;
+			}
+			final int elementSize = _element._fixedSize;
+			if(elementSize >= 0) {
+				for(int i = 0; i < _indices.length && _indices[i] < count; i++) {
+					_selectedElements[i].read(bytes, pos + _indices[i] * elementSize, longColumns, doubleColumns, row);
+				}
+				return pos + count * elementSize;
+			}
+			int next = 0;
+			for(int index = 0; index < count; index++) {
+				if(next < _indices.length && _indices[next] == index) {
+					pos = _selectedElements[next++].read(bytes, pos, longColumns, doubleColumns, row);
+				}
+				else {
+					pos = _element.read(bytes, pos, longColumns, doubleColumns, row);
+				}
+			}
+			return pos;
+		}
+	}
+
+	/** Ganzzahlattribute und als Id serialisierte Referenzattribute. */
+	private static final class IntegerNode extends Node {
+
+		private final int _column;
+
+		IntegerNode(final int byteCount, final int column) {
+			super(byteCount, column >= 0);
+			_column = column;
+		}
+
+		@Override
+		int read(final byte[] bytes, final int pos, final long[][] longColumns, final double[][] doubleColumns, final int row) {
+			if(_column >= 0) {
+				final long value;
+				switch(_fixedSize) {
+					case 1:
+						value = bytes[pos];
+						break;
+					case 2:
+						value = (short)((bytes[pos] << 8) | (bytes[pos + 1] & 0xff));
+						break;
+					case 4:
+						value = readInt(bytes, pos);
+						break;
+					default:
+						value = readLong(bytes, pos);
+						break;
+				}
+				longColumns[_column][row] = value;
+			}
+			return pos + _fixedSize;
+		}
+	}
+
+	private static final class TimeNode extends Node {
+
+		private final int _column;
+
+		TimeNode(final boolean millis, final int column) {
+			super(millis ? 8 : 4, column >= 0);
+			_column = column;
+		}
+
+		@Override
+		int read(final byte[] bytes, final int pos, final long[][] longColumns, final double[][] doubleColumns, final int row) {
+			if(_column >= 0) {
+				longColumns[_column][row] = _fixedSize == 8 ? readLong(bytes, pos) : readInt(bytes, pos) * 1000L;
+			}
+			return pos + _fixedSize;
+		}
+	}
+
+	private static final class DoubleNode extends Node {
+
+		private final int _column;
+
+		DoubleNode(final boolean doubleAccuracy, final int column) {
+			super(doubleAccuracy ? 8 : 4, column >= 0);
+			_column = column;
+		}
+
+		@Override
+		int read(final byte[] bytes, final int pos, final long[][] longColumns, final double[][] doubleColumns, final int row) {
+			if(_column >= 0) {
+				doubleColumns[_column][row] = _fixedSize == 8 ? Double.longBitsToDouble(readLong(bytes, pos)) : Float.intBitsToFloat(readInt(bytes, pos));
+			}
+			return pos + _fixedSize;
+		}
+	}
+
+	private static final class StringNode extends Node {
+
+		private final int _lengthSize;
+
+		StringNode(final int lengthSize) {
+			super(-1, false);
+			_lengthSize = lengthSize;
+		}
+
+		@Override
+		int read(final byte[] bytes, final int pos, final long[][] longColumns, final double[][] doubleColumns, final int row) {
+			return pos + _lengthSize + readLength(bytes, pos, _lengthSize);
+		}
+	}
+
+	/** Ab Version 3 werden Referenzen vom Typ Assoziation als Pid serialisiert, die hier in die Id des Objekts umgesetzt wird. */
+	private static final class PidReferenceNode extends Node {
+
+		private final int _column;
+
+		private final ObjectLookup _objectLookup;
+
+		/** Bereits aufgelste Pids. */
+		private final Map<String, Long> _ids = new HashMap<String, Long>();
+
+		PidReferenceNode(final int column, final ObjectLookup objectLookup) {
+			super(-1, column >= 0);
+			_column = column;
+			_objectLookup = objectLookup;
+		}
+
+		@Override
+		int read(final byte[] bytes, final int pos, final long[][] longColumns, final double[][] doubleColumns, final int row) {
+			final int length = bytes[pos] & 0xff;
+			if(_column >= 0 && length > 0) {
+				final String pid;
+				try {
+					pid = new String(bytes, pos + 1, length, "ISO-8859-1");
+				}
+				catch(UnsupportedEncodingException e) {
+					throw new IllegalStateException(e);
+				}
+				Long id = _ids.get(pid);
+				if(id == null) {
+					final SystemObject object = _objectLookup.getObject(pid);
+					id = object == null ? 0L : object.getId();
+					_ids.put(pid, id);
+				}
+				longColumns[_column][row] = id;
+			}
+			return pos + 1 + length;
+		}
+	}
+}
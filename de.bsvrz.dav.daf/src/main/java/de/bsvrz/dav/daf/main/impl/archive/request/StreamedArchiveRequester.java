@@ -25,6 +25,7 @@ import de.bsvrz.dav.daf.main.*;
 import de.bsvrz.dav.daf.main.archive.*;
 import de.bsvrz.dav.daf.main.config.*;
 import de.bsvrz.dav.daf.main.impl.archive.ArchiveQueryID;
+import de.bsvrz.sys.funclib.dataSerializer.SerializingFactory;
 import de.bsvrz.sys.funclib.debug.Debug;
 import de.bsvrz.sys.funclib.timeout.TimeoutTimer;
 
@@ -39,7 +40,7 @@ import java.util.*;
  * @author Kappich Systemberatung
  * @version $Revision: 11925 $
  */
-public class StreamedArchiveRequester implements ArchiveRequestManager {
+public class StreamedArchiveRequester implements ArchiveColumnRequestManager {
 
 	/** Stellt die Verbindung zum Archiv dar. Hier werden Steuerungs/Nutzdaten angefragt und empfangen. */
 	private final ClientDavInterface _connection;
@@ -66,6 +67,21 @@ public class StreamedArchiveRequester implements ArchiveRequestManager {
 	 */
 	private int _receiveBufferSize = 0;
 
+	/** Kleinster Empfangspuffer in Bytes, der bei der automatischen Anpassung des Empfangspuffers verwendet wird. */
+	private static final int MIN_ADAPTIVE_RECEIVE_BUFFER_SIZE = 64 * 1024;
+
+	/** Grter Empfangspuffer in Bytes, der bei der automatischen Anpassung des Empfangspuffers verwendet wird. */
+	private static final int MAX_ADAPTIVE_RECEIVE_BUFFER_SIZE = 16 * 1024 * 1024;
+
+	/** Zeit in Millisekunden, fr die der automatisch angepasste Empfangspuffer Datenstze bei der gemessenen Abnahmegeschwindigkeit aufnehmen soll. */
+	private static final int ADAPTIVE_RECEIVE_BUFFER_DURATION = 1000;
+
+	/** <code>true</code>, wenn die Gre des Empfangspuffers anhand der gemessenen Abnahmegeschwindigkeit bestimmt werden soll. */
+	private boolean _adaptiveReceiveBufferSize = false;
+
+	/** Geglttete Geschwindigkeit in Bytes pro Sekunde, mit der die Applikation die Datenstze bisheriger Archivanfragen abgenommen hat, oder 0. */
+	private double _consumedBytesPerSecond = 0;
+
 	/** Fr welches Archivsystem ist dieser Manager. */
 	private final SystemObject _archiveSystem;
 
@@ -159,32 +175,7 @@ public class StreamedArchiveRequester implements ArchiveRequestManager {
 	public ArchiveDataQueryResult request(ArchiveQueryPriority priority, List<ArchiveDataSpecification> specs) throws IllegalStateException {
 
 		if(specs != null && specs.size() > 0) {
-			// Am Anfang wird geprft, ob das Archivsystem verfgbar ist, nur wenn eine Verbidnung besteht wird die
-			// Anfrage berhaupt bearbeitet
-			try {
-				if(isConnectionOk(_timeOutArchiveRequest) == false) {
-					_debug.warning(
-							"Die Applikation: " + _connection.getLocalApplicationObject().getNameOrPidOrId() + " will eine Archivanfrage beim Archivsystem: "
-							+ _archiveSystem.getNameOrPidOrId() + " stellen, bekommt aber keine Rckmeldung vom Archivsystem. Die Archivanfrage wird verworfen."
-					);
-					throw new IllegalStateException("Das Archivsystem " + _archiveSystem.getNameOrPidOrId() + " kann nicht erreicht werden");
-				}
-			}
-			catch(InterruptedException e) {
-				e.printStackTrace();
-			}
-
-			// ber diese ID ist jede Archivanfrage eindeutig zu identifizieren
-			// Als Key wird ein laufender Index und das Archiv (fr das die Anfrage ist) genommen
-			final int indexOfRequest;
-			synchronized(this) {
-				indexOfRequest = _indexOfRequest;
-				_indexOfRequest++;
-			}
-
-			ArchiveQueryID archiveQueryID = new ArchiveQueryID(indexOfRequest, _archiveSystem);
-
-			return query(priority, specs, archiveQueryID);
+			return query(priority, specs, createArchiveQueryID());
 		}
 		else {
 			if(specs == null) {
@@ -198,6 +189,86 @@ public class StreamedArchiveRequester implements ArchiveRequestManager {
 		}
 	}
 
+	/**
+	 * Stellt eine spaltenweise Anfrage an das Archiv. Die Anfrage wird wie bei {@link #request(ArchiveQueryPriority, java.util.List)} an das Archiv
+	 * verschickt, die empfangenen Datenstze werden aber nicht in {@link ArchiveData}-Objekte umgewandelt, sondern die angegebenen Attribute werden mit einem
+	 * {@link SerializedColumnDecoder} direkt aus den bertragenen Byte-Arrays gelesen.
+	 *
+	 * @param priority       Mit welcher Prioritt soll die Anfrage beantwortet werden (hohe, mittlere, niedrige Prioritt)
+	 * @param specs          Eine Liste von Objekten, die alle Informationen enthalten, die zur Bearbeitung der Archivanfrage ntig sind.
+	 * @param attributePaths Pfade der Attribute, deren Werte geliefert werden sollen
+	 * @param batchSize      Maximale Anzahl Datenstze je Block
+	 *
+	 * @return Ein Objekt, das die Mglichkeit bietet zu prfen ob die Anfrage erfolgreich war und das die Streams zur weiteren Bearbeitung weitergeben kann.
+	 *
+	 * @throws IllegalStateException    Das Archiv, an das die Anfrage gestellt wurde, kann nicht erreicht werden, die Anfrage wird verworfen.
+	 * @throws IllegalArgumentException Wenn ein Attributpfad nicht aufgelst werden kann oder nicht zu einem untersttzten Attribut fhrt.
+	 */
+	public ArchiveDataColumnQueryResult requestColumns(
+			ArchiveQueryPriority priority, List<ArchiveDataSpecification> specs, String[] attributePaths, int batchSize) throws IllegalStateException {
+		if(specs == null) throw new IllegalArgumentException("Die Liste, die eine Archivanfrage spezifiziert, war null");
+		if(attributePaths == null) throw new IllegalArgumentException("Die Liste der Attributpfade war null");
+		if(batchSize <= 0) throw new IllegalArgumentException("Die Anzahl Datenstze je Block muss positiv sein: " + batchSize);
+		final String[] paths = attributePaths.clone();
+		for(ArchiveDataSpecification spec : specs) {
+			// Prft vor dem Versand der Anfrage, ob die Attributpfade aufgelst werden knnen
+			final AttributeGroup attributeGroup = spec.getDataDescription().getAttributeGroup();
+			new SerializedColumnDecoder(attributeGroup, SerializingFactory.getDefaultVersion(), paths, attributeGroup.getDataModel());
+		}
+
+		final ColumnQueryResult result = new ColumnQueryResult(paths, batchSize);
+		if(specs.isEmpty()) return result;
+
+		final List<ArchiveDataSpecification> rawSpecs = new ArrayList<ArchiveDataSpecification>(specs.size());
+		for(ArchiveDataSpecification spec : specs) {
+			if(spec.getQueryWithPid()) {
+				Collection<ArchiveDataSpecification> split = splitQueryBetweenObjects(spec);
+				rawSpecs.addAll(split);
+				result.addQuery(split.size(), spec);
+			}
+			else {
+				rawSpecs.add(spec);
+				result.addQuery(1, spec);
+			}
+		}
+		result.setRawQuery(startQuery(priority, rawSpecs, createArchiveQueryID()));
+		return result;
+	}
+
+	/**
+	 * Prft, ob das Archivsystem verfgbar ist, und erzeugt die Identifikation einer neuen Archivanfrage.
+	 *
+	 * @return Identifikation der Archivanfrage
+	 *
+	 * @throws IllegalStateException Das Archivsystem kann nicht erreicht werden.
+	 */
+	private ArchiveQueryID createArchiveQueryID() throws IllegalStateException {
+		// Am Anfang wird geprft, ob das Archivsystem verfgbar ist, nur wenn eine Verbidnung besteht wird die
+		// Anfrage berhaupt bearbeitet
+		try {
+			if(isConnectionOk(_timeOutArchiveRequest) == false) {
+				_debug.warning(
+						"Die Applikation: " + _connection.getLocalApplicationObject().getNameOrPidOrId() + " will eine Archivanfrage beim Archivsystem: "
+						+ _archiveSystem.getNameOrPidOrId() + " stellen, bekommt aber keine Rckmeldung vom Archivsystem. Die Archivanfrage wird verworfen."
+				);
+				throw new IllegalStateException("Das Archivsystem " + _archiveSystem.getNameOrPidOrId() + " kann nicht erreicht werden");
+			}
+		}
+		catch(InterruptedException e) {
+			e.printStackTrace();
+		}
+
+		// ber diese ID ist jede Archivanfrage eindeutig zu identifizieren
+		// Als Key wird ein laufender Index und das Archiv (fr das die Anfrage ist) genommen
+		final int indexOfRequest;
+		synchronized(this) {
+			indexOfRequest = _indexOfRequest;
+			_indexOfRequest++;
+		}
+
+		return new ArchiveQueryID(indexOfRequest, _archiveSystem);
+	}
+
 	private ArchiveDataQueryResult query(final ArchiveQueryPriority priority, final List<ArchiveDataSpecification> specs, final ArchiveQueryID archiveQueryID) {
 		final List<ArchiveDataSpecification> rawSpecs = new ArrayList<ArchiveDataSpecification>(specs.size());
 		final ArchiveStreamCombiner combiner = new ArchiveStreamCombiner();
@@ -282,7 +353,20 @@ public class StreamedArchiveRequester implements ArchiveRequestManager {
 		if(specs.size()==0){
 			return getEmptyResult();
 		}
-		Query archiveQuery = new Query(archiveQueryID, priority, specs, _receiveBufferSize, this, _defaultSimulationVariant);
+		return startQuery(priority, specs, archiveQueryID);
+	}
+
+	/**
+	 * Erzeugt eine Archivanfrage und verschickt sie an das Archiv.
+	 *
+	 * @param priority       Prioritt der Anfrage
+	 * @param specs          Spezifikationen der Anfrage, je Spezifikation wird ein Stream erzeugt
+	 * @param archiveQueryID Identifikation der Anfrage
+	 *
+	 * @return Archivanfrage
+	 */
+	private Query startQuery(final ArchiveQueryPriority priority, final List<ArchiveDataSpecification> specs, final ArchiveQueryID archiveQueryID) {
+		Query archiveQuery = new Query(archiveQueryID, priority, specs, getEffectiveReceiveBufferSize(), this, _defaultSimulationVariant);
 		// Die Anfrage speichern, sobald Daten fr diese Anfrage kommen, kann die Archivanfrage ber ihren Index
 		// identifiziert werden. Der Index wird mit der Nachricht versandt.
 		_requests.put(archiveQuery.getArchiveRequestID(), archiveQuery);
@@ -339,6 +423,49 @@ public class StreamedArchiveRequester implements ArchiveRequestManager {
 		_receiveBufferSize = numberOfBytes;
 	}
 
+	/**
+	 * Legt fest, ob die Gre des Empfangspuffers automatisch anhand der Geschwindigkeit bestimmt werden soll, mit der die Applikation die Datenstze
+	 * bisheriger Archivanfragen abgenommen hat. Der Empfangspuffer wird dann so gewhlt, dass er die Datenstze fr etwa eine Sekunde aufnehmen kann. Das
+	 * Archiv leitet daraus den Blockungsfaktor der Streams ab. Eine mit {@link #setReceiveBufferSize} explizit gesetzte Gre hat Vorrang. Die Anpassung ist
+	 * standardmig deaktiviert.
+	 *
+	 * @param adaptive <code>true</code>, wenn die Gre des Empfangspuffers automatisch bestimmt werden soll
+	 */
+	public synchronized void setAdaptiveReceiveBufferSize(boolean adaptive) {
+		_adaptiveReceiveBufferSize = adaptive;
+	}
+
+	/**
+	 * Bestimmt die Gre des Empfangspuffers fr eine neue Archivanfrage.
+	 *
+	 * @return Gre in Bytes oder <code>0</code>, wenn das Archiv die Gre festlegen soll
+	 *
+	 * @see #setAdaptiveReceiveBufferSize
+	 */
+	private synchronized int getEffectiveReceiveBufferSize() {
+		if(_receiveBufferSize != 0 || !_adaptiveReceiveBufferSize || _consumedBytesPerSecond == 0) return _receiveBufferSize;
+		final double size = _consumedBytesPerSecond * ADAPTIVE_RECEIVE_BUFFER_DURATION / 1000;
+		return (int)Math.max(MIN_ADAPTIVE_RECEIVE_BUFFER_SIZE, Math.min(MAX_ADAPTIVE_RECEIVE_BUFFER_SIZE, size));
+	}
+
+	/**
+	 * Wird aufgerufen, wenn ein Stream einer Archivanfrage vollstndig gelesen wurde, und aktualisiert die gemessene Abnahmegeschwindigkeit.
+	 *
+	 * @param numberOfRecords Anzahl der entnommenen Datenstze
+	 * @param numberOfBytes   Gre der entnommenen Datenstze in Bytes
+	 * @param duration        Zeit in Millisekunden zwischen der Entnahme des ersten Datensatzes und dem Ende des Streams
+	 */
+	synchronized void streamConsumed(final long numberOfRecords, final long numberOfBytes, final long duration) {
+		// Kurze Streams sind fr eine Messung nicht aussagekrftig
+		if(duration < 100) return;
+		final double bytesPerSecond = numberOfBytes * 1000.0 / duration;
+		_consumedBytesPerSecond = _consumedBytesPerSecond == 0 ? bytesPerSecond : 0.7 * _consumedBytesPerSecond + 0.3 * bytesPerSecond;
+		_debug.finer(
+				"Archivstream mit " + numberOfRecords + " Datenstzen (" + numberOfBytes + " Bytes) in " + duration + " ms gelesen, Abnahmegeschwindigkeit "
+				+ Math.round(_consumedBytesPerSecond) + " Bytes/s"
+		);
+	}
+
 	/**
 	 * Diese Methode liefert zu einem gegebenen Index, der zu einer Archivanfrage gehrt, die dazugehrige Archivanfrage. Der Index der Archivanfrage steht in der
 	 * Antwort einer Archivanfrage, somit kann die Antwort einer Archivanfrage zugeordnet werden. Die Anfrage wird ber ein <code>int</code> identifiziert. Dieses
@@ -72,11 +72,27 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 	/** Verbindung zum Datenverteiler. Wenn 2 Datenverteilerverbindungen verwendet werden die ffentliche Verbindung. */
 	private ClientDavInterface _publicConnection = null;
 
-	/** Map der zwischengespeicherten konfigurierenden oder dynamischen Systemobjekte, als Key dient die ID des Objekts */
-	private final AutoExpireMap<Long, DafSystemObject> _systemObjectsById;
+	/**
+	 * Zwischenspeicher der konfigurierenden oder dynamischen Systemobjekte nach ID und PID. Lesende Zugriffe erfolgen ohne Sperre, nderungen werden mit dem
+	 * Zwischenspeicher synchronisiert.
+	 */
+	private final SystemObjectCache _objectCache;
+
+	/** Fasst gleichzeitige Anfragen nach nicht zwischengespeicherten Objekten per ID zu gemeinsamen Anfragen an die Konfiguration zusammen. */
+	private final ObjectRequestBatcher<Long> _objectRequestsById = new ObjectRequestBatcher<Long>() {
+		@Override
+		protected List<SystemObject> requestObjects(final List<Long> ids) {
+			return getSystemObjectsFromConfiguration(Longs.asArray(ids));
+		}
+	};
 
-	/** Map der zwischengespeicherten Objekte mit PID, als Key dient die PID des Objekts */
-	private HashMap<String, DafSystemObject> _systemObjectsByPid;
+	/** Fasst gleichzeitige Anfragen nach nicht zwischengespeicherten Objekten per PID zu gemeinsamen Anfragen an die Konfiguration zusammen. */
+	private final ObjectRequestBatcher<String> _objectRequestsByPid = new ObjectRequestBatcher<String>() {
+		@Override
+		protected List<SystemObject> requestObjects(final List<String> pids) {
+			return getSystemObjectsFromConfiguration(pids.toArray(new String[pids.size()]));
+		}
+	};
 
 	/** Tabelle der zwischengespeicherten konfigurierenden Datenstze, als Key dient ein ConfigDataKey mit Systemobjekt und Attributgruppenverwendung */
 	private Hashtable<ConfigDataKey, Object> _configDataValuesTable;
@@ -208,8 +224,13 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 	 */
 	public DafDataModel(ClientDavInterface connection) {
 		_connection = connection;
-		_systemObjectsById = new AutoExpireMap<Long, DafSystemObject>();
-		_systemObjectsByPid = new HashMap<String, DafSystemObject>();
+		final ClientDavParameters parameters = connection.getClientDavParameters();
+		if(parameters == null) {
+			_objectCache = new SystemObjectCache();
+		}
+		else {
+			_objectCache = new SystemObjectCache(parameters.getObjectCacheMaxSize(), parameters.getObjectCacheMaxIdleTime());
+		}
 		_configDataValuesTable = new Hashtable<ConfigDataKey, Object>();
 		_pendingResponses = new LinkedList<ConfigTelegram>();
 		_davConnectionListener = new DavConnectionListener() {
@@ -626,9 +647,7 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 				}
 
 				DafSystemObject[] objects;
-				synchronized(_systemObjectsById) {
-					objects = _systemObjectsById.values().toArray(new DafSystemObject[0]);
-				}
+				objects = _objectCache.values().toArray(new DafSystemObject[0]);
 				int systemObjectsWritten = 0;
 				for(int i = 0; i < objects.length; i++) {
 
@@ -788,7 +807,7 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 	 *
 	 * @param systemObject Objekt das mglicherweise gltig bzw. ungltig geworden ist.
 	 * @param cachePidWhenDynamic Da Pids in verschiedenen Simulationsvarianten unterschiedliche Objekte referenzieren,
-	 *                            drfen dynamische Objekte nicht in _systemObjectsByPid gespeichert werden,
+	 *                            drfen dynamische Objekte nicht nach ihrer Pid zwischengespeichert werden,
 	 *                            wenn nicht sicher ist, dass das dynamische Objekt zu der aktuell verwendeten Simulation gehrt.
 	 *                            Die Pid darf nur gecacht werden, wenn das Objekt als Ergebnis von
 	 *                            {@link #getObject(String)},
@@ -803,22 +822,16 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 	DafSystemObject updateInternalDataStructure(DafSystemObject systemObject, boolean cachePidWhenDynamic) {
 
 		Long id = systemObject.getId();
-		synchronized(_systemObjectsById) {
+		synchronized(_objectCache) {
 			final byte objectState = systemObject.getState();
 			if(objectState == DafSystemObject.OBJECT_EXISTS || objectState == DafSystemObject.OBJECT_INVALID) {
-				DafSystemObject oldObject = _systemObjectsById.put(id, systemObject);
-				if(oldObject != null) {
-					if(oldObject != systemObject) {
-						// Ein lteres Java-Objekt ist bereits vorhanden, also dieses verwenden
-						systemObject = oldObject;
-						_systemObjectsById.put(id, systemObject);
-					}
-				}
+				// Falls ein lteres Java-Objekt bereits vorhanden ist, wird dieses verwendet
+				systemObject = _objectCache.putIfAbsent(id, systemObject);
 				if(objectState == DafSystemObject.OBJECT_EXISTS
 						&& (systemObject instanceof DafConfigurationObject || cachePidWhenDynamic)) {
 					String pid = systemObject.getPid();
 					if(pid != null && !pid.equals("")) {
-						_systemObjectsByPid.put(pid, systemObject);
+						_objectCache.putPid(pid, systemObject);
 					}
 				}
 			}
@@ -827,19 +840,19 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 
 				// assert systemObject instanceof DafDynamicObject;
 
-				final DafSystemObject oldObject = _systemObjectsById.get(id);
+				final DafSystemObject oldObject = _objectCache.get(id);
 				if(oldObject != null) {
 					systemObject = oldObject;
 					String pid = systemObject.getPid();
 					if(pid != null && !pid.equals("")) {
-						_systemObjectsByPid.remove(pid);
+						_objectCache.removePid(pid);
 
 						// Das gespeicherte Objekt wird nach 5 Minuten durch eine WeakReference ersetzt.
 						// Das Objekt darf nicht sofort auf der Map entfernt werden, weil es kurz nach
 						// dem Lschen noch in verschiedenen Benachrichtigungen vorkommen kann und eine
 						// erneute Abfrage des Objekts evtl. fehlschlagen wrde (da ja bereits aus der
 						// Konfiguration gelscht).
-						_systemObjectsById.expire(id, oldObject, 5 * 60000);
+						_objectCache.expire(id, oldObject, 5 * 60000);
 					}
 				}
 
@@ -928,7 +941,7 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 		}
 		SystemObject systemObject = getObjectFromCache(id);
 		if(systemObject == null) {
-			systemObject = getSystemObjectsFromConfiguration(id).get(0);
+			systemObject = _objectRequestsById.getObject(id);
 		}
 		return systemObject;
 	}
@@ -937,12 +950,9 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 		if(pid == null) {
 			throw new IllegalArgumentException("bergabeparameter ist null");
 		}
-		SystemObject systemObject;
-		synchronized(_systemObjectsById) {
-			systemObject = _systemObjectsByPid.get(pid);
-		}
+		SystemObject systemObject = _objectCache.getByPid(pid);
 		if(systemObject == null) {
-			systemObject = getSystemObjectsFromConfiguration(pid).get(0);
+			systemObject = _objectRequestsByPid.getObject(pid);
 		}
 		return systemObject;
 	}
@@ -969,7 +979,7 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 		}
 		if(!objectsToRequest.isEmpty()){
 			List<SystemObject> objects = getSystemObjectsFromConfiguration(Longs.asArray(objectsToRequest));
-			for(int i = 0; i < result.size(); i++) {
+			for(int i = 0; i < objectsToRequest.size(); i++) {
 				result.set(origPositions.get(i), objects.get(i));
 			}
 		}
@@ -991,7 +1001,7 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 				systemObject = null;
 			}
 			else {
-				systemObject = _systemObjectsByPid.get(pid);
+				systemObject = _objectCache.getByPid(pid);
 				if(systemObject == null) {
 					objectsToRequest.add(pid);
 					origPositions.add(i);
@@ -1338,9 +1348,17 @@ public class DafDataModel implements DataModel, UpdateDynamicObjects {
 	 * @return SystemObjekt aus dem Cache oder <code>null</code>, falls es sich nicht im Cache befindet.
 	 */
 	DafSystemObject getObjectFromCache(final long objectId) {
-		synchronized(_systemObjectsById) {
-			return _systemObjectsById.get(objectId);
-		}
+		return _objectCache.get(objectId);
+	}
+
+	/**
+	 * Liefert die Zhler des Zwischenspeichers fr Systemobjekte (Treffer, Fehlzugriffe, Verdrngungen). Die Verdrngungsstrategie wird mit dem Aufrufargument
+	 * <code>-objektCache</code> bzw. {@link ClientDavParameters#setObjectCachePolicy(int, long)} eingestellt.
+	 *
+	 * @return Momentaufnahme der Zhler
+	 */
+	public ObjectCacheStatistics getObjectCacheStatistics() {
+		return _objectCache.getStatistics();
 	}
 
 	/** Identifikation eines konfigurierenden Datensatzes, die das zugehrige Systemobjekt und die zugehrige Attributgruppenverwendung speichert. */
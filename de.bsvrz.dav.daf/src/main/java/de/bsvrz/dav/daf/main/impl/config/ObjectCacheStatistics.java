@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.main.impl.config;
+
+/**
+ * Momentaufnahme der Zhler des Zwischenspeichers fr Systemobjekte im {@link DafDataModel}.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ * @see DafDataModel#getObjectCacheStatistics()
+ */
+public final class ObjectCacheStatistics {
+
+	private final long _hits;
+
+	private final long _misses;
+
+	private final long _evictions;
+
+	private final long _collected;
+
+	private final int _size;
+
+	private final int _pidCount;
+
+	private final int _maxSize;
+
+	private final long _maxIdleTime;
+
+	ObjectCacheStatistics(
+			final long hits,
+			final long misses,
+			final long evictions,
+			final long collected,
+			final int size,
+			final int pidCount,
+			final int maxSize,
+			final long maxIdleTime) {
+		_hits = hits;
+		_misses = misses;
+		_evictions = evictions;
+		_collected = collected;
+		_size = size;
+		_pidCount = pidCount;
+		_maxSize = maxSize;
+		_maxIdleTime = maxIdleTime;
+	}
+
+	/**
+	 * Liefert die Anzahl der Zugriffe nach Id oder Pid, bei denen das Objekt im Zwischenspeicher gefunden wurde.
+	 *
+	 * @return Anzahl Treffer
+	 */
+	public long getHits() {
+		return _hits;
+	}
+
+	/**
+	 * Liefert die Anzahl der Zugriffe nach Id oder Pid, bei denen das Objekt nicht im Zwischenspeicher gefunden wurde.
+	 *
+	 * @return Anzahl Fehlzugriffe
+	 */
+	public long getMisses() {
+		return _misses;
+	}
+
+	/**
+	 * Liefert die Anzahl der Objekte, die nach Anzahl oder Zeit verdrngt, d.h. durch eine WeakReference ersetzt wurden.
+	 *
+	 * @return Anzahl Verdrngungen
+	 */
+	public long getEvictions() {
+		return _evictions;
+	}
+
+	/**
+	 * Liefert die Anzahl der verdrngten Objekte, die vom Garbage Collector entfernt und daraufhin aus dem Zwischenspeicher gelscht wurden.
+	 *
+	 * @return Anzahl entfernter Objekte
+	 */
+	public long getCollected() {
+		return _collected;
+	}
+
+	/**
+	 * Liefert die Anzahl der Eintrge nach Id einschlielich der verdrngten Objekte.
+	 *
+	 * @return Anzahl Eintrge
+	 */
+	public int getSize() {
+		return _size;
+	}
+
+	/**
+	 * Liefert die Anzahl der Eintrge nach Pid.
+	 *
+	 * @return Anzahl Eintrge
+	 */
+	public int getPidCount() {
+		return _pidCount;
+	}
+
+	/**
+	 * Liefert die eingestellte maximale Anzahl stark referenzierter verdrngbarer Objekte.
+	 *
+	 * @return Maximale Anzahl oder <code>0</code>, wenn die Anzahl nicht begrenzt ist.
+	 */
+	public int getMaxSize() {
+		return _maxSize;
+	}
+
+	/**
+	 * Liefert die eingestellte Zeit ohne Zugriff, nach der verdrngbare Objekte verdrngt werden.
+	 *
+	 * @return Zeit in Millisekunden oder <code>0</code>, wenn nicht nach Zeit verdrngt wird.
+	 */
+	public long getMaxIdleTime() {
+		return _maxIdleTime;
+	}
+
+	/**
+	 * Bestimmt den Anteil der Treffer an allen Zugriffen.
+	 *
+	 * @return Trefferquote zwischen 0 und 1 oder <code>0</code>, wenn noch keine Zugriffe erfolgt sind.
+	 */
+	public double getHitRatio() {
+		final long total = _hits + _misses;
+		return total == 0 ? 0 : (double)_hits / total;
+	}
+
+	@Override
+	public String toString() {
+		return "ObjectCacheStatistics{" + "Treffer=" + _hits + ", Fehlzugriffe=" + _misses + ", Verdrngungen=" + _evictions + ", entfernt=" + _collected
+		       + ", Eintrge=" + _size + ", Pids=" + _pidCount + ", maxAnzahl=" + _maxSize + ", maxZeitOhneZugriff=" + _maxIdleTime + "ms" + '}';
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.main.impl.config;
+
+import de.bsvrz.dav.daf.main.config.SystemObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fasst Anfragen nach einzelnen Objekten, die von mehreren Threads gleichzeitig gestellt werden, zu gemeinsamen Anfragen an die Konfiguration zusammen.
+ * <p/>
+ * Solange eine Anfrage an die Konfiguration luft, werden alle weiteren angefragten Schlssel gesammelt und nach Ende der laufenden Anfrage mit einer
+ * einzigen Anfrage von der Konfiguration abgefragt. Ein einzelner Thread wird dadurch nicht verzgert, bei vielen gleichzeitigen Anfragen sinkt dagegen die
+ * Anzahl der Anfragen an die Konfiguration deutlich.
+ *
+ * @param <K> Typ der Schlssel (Id oder Pid)
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+abstract class ObjectRequestBatcher<K> {
+
+	private final Object _lock = new Object();
+
+	/** Sammlung, in die neu angefragte Schlssel eingetragen werden, oder <code>null</code>, wenn aktuell keine Schlssel gesammelt werden. */
+	private Batch<K> _openBatch = null;
+
+	/** <code>true</code>, whrend eine Anfrage an die Konfiguration luft. */
+	private boolean _requestRunning = false;
+
+	/**
+	 * Fragt die Objekte zu den angegebenen Schlsseln von der Konfiguration ab.
+	 *
+	 * @param keys Schlssel der gewnschten Objekte
+	 *
+	 * @return Liste mit den Objekten in der Reihenfolge der Schlssel. Fr nicht vorhandene Objekte enthlt die Liste <code>null</code>.
+	 */
+	protected abstract List<SystemObject> requestObjects(List<K> keys);
+
+	/**
+	 * Liefert das Objekt zum angegebenen Schlssel. Falls bereits eine Anfrage an die Konfiguration luft, wird der Schlssel zusammen mit den Schlsseln
+	 * anderer Threads nach Ende dieser Anfrage abgefragt.
+	 *
+	 * @param key Schlssel des gewnschten Objekts
+	 *
+	 * @return Objekt oder <code>null</code>, falls es kein Objekt zum Schlssel gibt.
+	 */
+	SystemObject getObject(final K key) {
+		final Batch<K> batch;
+		boolean interrupted = false;
+		try {
+			synchronized(_lock) {
+				if(_openBatch == null) _openBatch = new Batch<K>();
+				batch = _openBatch;
+				batch._keys.add(key);
+				while(true) {
+					if(batch._done) return batch.getResult(key);
+					if(!_requestRunning && batch == _openBatch) {
+						// Dieser Thread fragt die gesammelten Schlssel ab
+						_openBatch = null;
+						_requestRunning = true;
+						break;
+					}
+					try {
+						_lock.wait();
+					}
+					catch(InterruptedException e) {
+						interrupted = true;
+					}
+				}
+			}
+			try {
+				final List<K> keys = new ArrayList<K>(batch._keys);
+				final List<SystemObject> objects = requestObjects(keys);
+				for(int i = 0; i < keys.size(); i++) {
+					batch._results.put(keys.get(i), objects.get(i));
+				}
+			}
+			catch(RuntimeException e) {
+				batch._exception = e;
+			}
+			finally {
+				synchronized(_lock) {
+					batch._done = true;
+					_requestRunning = false;
+					_lock.notifyAll();
+				}
+			}
+			return batch.getResult(key);
+		}
+		finally {
+			if(interrupted) Thread.currentThread().interrupt();
+		}
+	}
+
+	/** Gemeinsam abgefragte Schlssel und das Ergebnis der Anfrage. Zugriffe erfolgen unter der Sperre des Batchers. */
+	private static final class Batch<K> {
+
+		private final Set<K> _keys = new LinkedHashSet<K>();
+
+		private final Map<K, SystemObject> _results = new HashMap<K, SystemObject>();
+
+		private RuntimeException _exception = null;
+
+		private boolean _done = false;
+
+		private SystemObject getResult(final K key) {
+			if(_exception != null) throw _exception;
+			return _results.get(key);
+		}
+	}
+}
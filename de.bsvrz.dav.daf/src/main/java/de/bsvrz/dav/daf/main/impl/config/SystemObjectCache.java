@@ -0,0 +1,421 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.dav.daf.
+ * 
+ * de.bsvrz.dav.daf is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.dav.daf is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with de.bsvrz.dav.daf; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.dav.daf.main.impl.config;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Zwischenspeicher fr die Systemobjekte des {@link DafDataModel}, ber den die Objekte nach Id und Pid gefunden werden.
+ * <p/>
+ * Lesende Zugriffe erfolgen ohne Sperren. Ein Objekt wird entweder stark oder ber eine {@link WeakReference} referenziert. Beim Verdrngen wird ein Objekt
+ * nicht entfernt, sondern nur durch eine WeakReference ersetzt. Der Eintrag verschwindet erst, wenn der Garbage Collector das Objekt entfernt hat. Solange die
+ * Applikation ein Objekt noch referenziert, liefert der Zwischenspeicher also weiterhin dasselbe Java-Objekt. Ein Zugriff auf ein verdrngtes, aber noch
+ * vorhandenes Objekt referenziert es wieder stark.
+ * <p/>
+ * Verdrngt werden nur einfache Konfigurationsobjekte und deren nicht nderbare Mengen. Typen, Attributgruppen und andere Metaobjekte, dynamische Mengen und
+ * dynamische Objekte (an denen Listener angemeldet sein knnen) bleiben immer stark referenziert. Die Verdrngung erfolgt periodisch in einem Timer-Thread
+ * nach zwei Kriterien, die einzeln oder gemeinsam aktiviert werden knnen:
+ * <ul>
+ * <li>Objekte, auf die lnger als die angegebene Zeit nicht zugegriffen wurde, werden verdrngt.</li>
+ * <li>bersteigt die Anzahl der stark referenzierten verdrngbaren Objekte die angegebene Gre, werden die am lngsten nicht benutzten Objekte verdrngt.</li>
+ * </ul>
+ * Ohne diese Kriterien werden, wie bisher, nur gelschte dynamische Objekte ber {@link #expire} nach einer Wartezeit verdrngt.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+final class SystemObjectCache {
+
+	/** Gemeinsamer Timer fr die Verdrngung und das Ersetzen gelschter Objekte. */
+	private static final Timer _timer = new Timer("SystemObjectCache", true);
+
+	/** Auflsung der Zugriffszeit in Millisekunden. Die Zugriffszeit eines Eintrags wird hchstens einmal je Intervall geschrieben. */
+	private static final long ACCESS_TIME_RESOLUTION = 1000;
+
+	/**
+	 * Werte sind entweder das Objekt selbst (stark referenziert, nicht verdrngbar), ein {@link StrongEntry} (stark referenziert, verdrngbar) oder eine {@link
+	 * ObjectReference} (verdrngt).
+	 */
+	private final ConcurrentHashMap<Long, Object> _objectsById = new ConcurrentHashMap<Long, Object>();
+
+	private final ConcurrentHashMap<String, DafSystemObject> _objectsByPid = new ConcurrentHashMap<String, DafSystemObject>();
+
+	private final ReferenceQueue<DafSystemObject> _queue = new ReferenceQueue<DafSystemObject>();
+
+	/** Maximale Anzahl stark referenzierter verdrngbarer Objekte oder <code>0</code>, wenn die Anzahl nicht begrenzt ist. */
+	private final int _maxSize;
+
+	/** Zeit in Millisekunden ohne Zugriff, nach der ein verdrngbares Objekt verdrngt wird, oder <code>0</code>, wenn nicht nach Zeit verdrngt wird. */
+	private final long _maxIdleTime;
+
+	/** <code>true</code>, wenn eine Verdrngung beauftragt, aber noch nicht ausgefhrt wurde. */
+	private final AtomicBoolean _evictionScheduled = new AtomicBoolean();
+
+	private final LongAdder _hits = new LongAdder();
+
+	private final LongAdder _misses = new LongAdder();
+
+	private final LongAdder _evictions = new LongAdder();
+
+	private final LongAdder _collected = new LongAdder();
+
+	/** Ungefhre Anzahl der stark referenzierten verdrngbaren Objekte, wird bei jeder Verdrngung neu bestimmt. */
+	private volatile int _evictableCount = 0;
+
+	/** Erzeugt einen Zwischenspeicher ohne Verdrngung nach Anzahl oder Zeit. */
+	SystemObjectCache() {
+		this(0, 0);
+	}
+
+	/**
+	 * Erzeugt einen Zwischenspeicher mit der angegebenen Verdrngungsstrategie.
+	 *
+	 * @param maxSize     Maximale Anzahl stark referenzierter verdrngbarer Objekte oder <code>0</code>, wenn die Anzahl nicht begrenzt ist.
+	 * @param maxIdleTime Zeit in Millisekunden ohne Zugriff, nach der ein verdrngbares Objekt verdrngt wird, oder <code>0</code>, wenn nicht nach Zeit
+	 *                    verdrngt wird.
+	 */
+	SystemObjectCache(final int maxSize, final long maxIdleTime) {
+		if(maxSize < 0) throw new IllegalArgumentException("Die maximale Anzahl darf nicht negativ sein: " + maxSize);
+		if(maxIdleTime < 0) throw new IllegalArgumentException("Die maximale Zeit ohne Zugriff darf nicht negativ sein: " + maxIdleTime);
+		_maxSize = maxSize;
+		_maxIdleTime = maxIdleTime;
+		if(isEvictionEnabled()) {
+			final long period = maxIdleTime > 0 ? Math.max(ACCESS_TIME_RESOLUTION, Math.min(maxIdleTime / 2, 60000)) : 10000;
+			_timer.schedule(new EvictionTask(this), period, period);
+		}
+	}
+
+	private boolean isEvictionEnabled() {
+		return _maxSize > 0 || _maxIdleTime > 0;
+	}
+
+	/**
+	 * Liefert das Objekt mit der angegebenen Id.
+	 *
+	 * @param id Id des Objekts
+	 *
+	 * @return Objekt oder <code>null</code>, falls es nicht im Zwischenspeicher vorhanden ist.
+	 */
+	DafSystemObject get(final long id) {
+		final Object value = _objectsById.get(id);
+		final DafSystemObject object = unpack(value);
+		if(object == null) {
+			_misses.increment();
+			return null;
+		}
+		_hits.increment();
+		if(value instanceof StrongEntry) {
+			((StrongEntry)value).touch();
+		}
+		else if(value instanceof ObjectReference && object.getState() != DafSystemObject.OBJECT_DELETED) {
+			// Verdrngtes, aber noch vorhandenes Objekt wieder stark referenzieren
+			_objectsById.replace(id, value, wrap(object));
+		}
+		return object;
+	}
+
+	/**
+	 * Liefert das Objekt mit der angegebenen Pid.
+	 *
+	 * @param pid Pid des Objekts
+	 *
+	 * @return Objekt oder <code>null</code>, falls es nicht im Zwischenspeicher vorhanden ist.
+	 */
+	DafSystemObject getByPid(final String pid) {
+		final DafSystemObject object = _objectsByPid.get(pid);
+		if(object == null) {
+			_misses.increment();
+		}
+		else {
+			_hits.increment();
+		}
+		return object;
+	}
+
+	/**
+	 * Speichert ein Objekt, falls zur Id noch kein Objekt gespeichert ist. Ein bereits gespeichertes, auch ein verdrngtes aber noch vorhandenes, Objekt hat
+	 * Vorrang, damit die Applikation zu einer Id immer dasselbe Java-Objekt erhlt.
+	 *
+	 * @param id     Id des Objekts
+	 * @param object Zu speicherndes Objekt
+	 *
+	 * @return Bereits gespeichertes Objekt oder das bergebene Objekt
+	 */
+	DafSystemObject putIfAbsent(final long id, final DafSystemObject object) {
+		processQueue();
+		while(true) {
+			final Object value = _objectsById.get(id);
+			if(value == null) {
+				final Object newValue = wrap(object);
+				if(_objectsById.putIfAbsent(id, newValue) == null) {
+					if(newValue instanceof StrongEntry) checkSize();
+					return object;
+				}
+				continue;
+			}
+			final DafSystemObject cachedObject = unpack(value);
+			if(cachedObject == null) {
+				if(_objectsById.replace(id, value, wrap(object))) return object;
+				continue;
+			}
+			if(value instanceof ObjectReference && cachedObject.getState() != DafSystemObject.OBJECT_DELETED) {
+				_objectsById.replace(id, value, wrap(cachedObject));
+			}
+			return cachedObject;
+		}
+	}
+
+	/**
+	 * Speichert die Zuordnung einer Pid zu einem Objekt.
+	 *
+	 * @param pid    Pid des Objekts
+	 * @param object Objekt
+	 */
+	void putPid(final String pid, final DafSystemObject object) {
+		_objectsByPid.put(pid, object);
+	}
+
+	/**
+	 * Entfernt die Zuordnung einer Pid.
+	 *
+	 * @param pid Pid des Objekts
+	 */
+	void removePid(final String pid) {
+		_objectsByPid.remove(pid);
+	}
+
+	/**
+	 * Liefert eine Kopie aller aktuell gespeicherten Objekte.
+	 *
+	 * @return Gespeicherte Objekte
+	 */
+	Collection<DafSystemObject> values() {
+		final List<DafSystemObject> result = new ArrayList<DafSystemObject>(_objectsById.size());
+		for(Object value : _objectsById.values()) {
+			final DafSystemObject object = unpack(value);
+			if(object != null) result.add(object);
+		}
+		return result;
+	}
+
+	/**
+	 * Sorgt dafr, dass ein Eintrag nach einer Zeit durch eine WeakReference ersetzt wird.
+	 *
+	 * @param id      Id des Objekts
+	 * @param object  Objekt (muss angegeben werden, um sicherzustellen, dass nicht zwischenzeitlich ein anderes Objekt gespeichert und dann irrtmlich ersetzt
+	 *                wird)
+	 * @param timeout Anzahl Millisekunden, nach der der Eintrag ersetzt wird (> 0)
+	 */
+	void expire(final long id, final DafSystemObject object, final long timeout) {
+		if(object == null) return;
+		_timer.schedule(
+				new TimerTask() {
+					@Override
+					public void run() {
+						final Object value = _objectsById.get(id);
+						if(value != null && !(value instanceof ObjectReference) && unpack(value) == object) {
+							_objectsById.replace(id, value, new ObjectReference(id, object, _queue));
+						}
+					}
+				}, timeout
+		);
+	}
+
+	/**
+	 * Liefert die aktuellen Zhler des Zwischenspeichers.
+	 *
+	 * @return Momentaufnahme der Zhler
+	 */
+	ObjectCacheStatistics getStatistics() {
+		return new ObjectCacheStatistics(
+				_hits.sum(), _misses.sum(), _evictions.sum(), _collected.sum(), _objectsById.size(), _objectsByPid.size(), _maxSize, _maxIdleTime
+		);
+	}
+
+	/**
+	 * Prft, ob ein Objekt verdrngt werden darf. Verdrngt werden nur einfache Konfigurationsobjekte und nicht nderbare Mengen, da andere Objekte
+	 * (Metaobjekte, dynamische Mengen, dynamische Objekte) Zustand wie angemeldete Listener tragen knnen, der bei einer erneuten Abfrage verloren ginge.
+	 *
+	 * @param object Objekt
+	 *
+	 * @return <code>true</code>, wenn das Objekt verdrngt werden darf.
+	 */
+	private static boolean isEvictable(final DafSystemObject object) {
+		final Class<?> objectClass = object.getClass();
+		return (objectClass == DafConfigurationObject.class || objectClass == DafNonMutableSet.class) && object.getState() == DafSystemObject.OBJECT_EXISTS;
+	}
+
+	private Object wrap(final DafSystemObject object) {
+		if(isEvictionEnabled() && isEvictable(object)) return new StrongEntry(object);
+		return object;
+	}
+
+	private static DafSystemObject unpack(final Object value) {
+		if(value == null) return null;
+		if(value instanceof DafSystemObject) return (DafSystemObject)value;
+		if(value instanceof StrongEntry) return ((StrongEntry)value)._object;
+		return ((ObjectReference)value).get();
+	}
+
+	/** Entfernt Eintrge, deren Objekte vom Garbage Collector entfernt wurden. */
+	private void processQueue() {
+		Reference<? extends DafSystemObject> reference;
+		while((reference = _queue.poll()) != null) {
+			final ObjectReference objectReference = (ObjectReference)reference;
+			if(_objectsById.remove(objectReference._id, objectReference)) {
+				_collected.increment();
+			}
+		}
+	}
+
+	/** Beauftragt eine sofortige Verdrngung, wenn die maximale Anzahl deutlich berschritten ist. */
+	private void checkSize() {
+		if(_maxSize <= 0) return;
+		final int count = _evictableCount + 1;
+		_evictableCount = count;
+		if(count > _maxSize + _maxSize / 10 && _evictionScheduled.compareAndSet(false, true)) {
+			_timer.schedule(new EvictionTask(this), 0);
+		}
+	}
+
+	/** Verdrngt Objekte nach den eingestellten Kriterien. Wird im Timer-Thread ausgefhrt. */
+	private void evict() {
+		_evictionScheduled.set(false);
+		processQueue();
+		final long now = System.currentTimeMillis();
+		final List<Candidate> candidates = new ArrayList<Candidate>();
+		for(Map.Entry<Long, Object> mapEntry : _objectsById.entrySet()) {
+			final Object value = mapEntry.getValue();
+			if(!(value instanceof StrongEntry)) continue;
+			final StrongEntry entry = (StrongEntry)value;
+			final long lastAccess = entry._lastAccess;
+			if(_maxIdleTime > 0 && now - lastAccess > _maxIdleTime) {
+				demote(mapEntry.getKey(), entry);
+			}
+			else {
+				candidates.add(new Candidate(mapEntry.getKey(), entry, lastAccess));
+			}
+		}
+		final int excess = _maxSize > 0 ? candidates.size() - _maxSize : 0;
+		if(excess > 0) {
+			// Die am lngsten nicht benutzten Objekte zuerst verdrngen
+			Collections.sort(
+					candidates, new Comparator<Candidate>() {
+						public int compare(final Candidate o1, final Candidate o2) {
+							return o1._lastAccess < o2._lastAccess ? -1 : (o1._lastAccess == o2._lastAccess ? 0 : 1);
+						}
+					}
+			);
+			for(int i = 0; i < excess; i++) {
+				final Candidate candidate = candidates.get(i);
+				demote(candidate._id, candidate._entry);
+			}
+		}
+		_evictableCount = Math.min(candidates.size(), _maxSize > 0 ? _maxSize : Integer.MAX_VALUE);
+	}
+
+	private void demote(final Long id, final StrongEntry entry) {
+		final DafSystemObject object = entry._object;
+		if(_objectsById.replace(id, entry, new ObjectReference(id, object, _queue))) {
+			_evictions.increment();
+			final String pid = object.getPid();
+			if(pid != null && pid.length() > 0) _objectsByPid.remove(pid, object);
+		}
+	}
+
+	/** Stark referenziertes verdrngbares Objekt mit der Zeit des letzten Zugriffs. */
+	private static final class StrongEntry {
+
+		private final DafSystemObject _object;
+
+		private volatile long _lastAccess = System.currentTimeMillis();
+
+		private StrongEntry(final DafSystemObject object) {
+			_object = object;
+		}
+
+		private void touch() {
+			final long now = System.currentTimeMillis();
+			// Schreibzugriffe auf hufig benutzte Eintrge begrenzen, damit parallele Leser sich nicht gegenseitig behindern
+			if(now - _lastAccess >= ACCESS_TIME_RESOLUTION) _lastAccess = now;
+		}
+	}
+
+	/** Kandidat fr die Verdrngung nach Anzahl mit der beim Durchlauf festgehaltenen Zeit des letzten Zugriffs. */
+	private static final class Candidate {
+
+		private final Long _id;
+
+		private final StrongEntry _entry;
+
+		private final long _lastAccess;
+
+		private Candidate(final Long id, final StrongEntry entry, final long lastAccess) {
+			_id = id;
+			_entry = entry;
+			_lastAccess = lastAccess;
+		}
+	}
+
+	/** WeakReference auf ein verdrngtes Objekt, die sich die Id merkt. */
+	private static final class ObjectReference extends WeakReference<DafSystemObject> {
+
+		private final Long _id;
+
+		private ObjectReference(final Long id, final DafSystemObject object, final ReferenceQueue<DafSystemObject> queue) {
+			super(object, queue);
+			_id = id;
+		}
+	}
+
+	/** Timer-Auftrag zur Verdrngung. Der Zwischenspeicher wird nur schwach referenziert, damit er nach dem Ende der Verbindung entfernt werden kann. */
+	private static final class EvictionTask extends TimerTask {
+
+		private final WeakReference<SystemObjectCache> _cache;
+
+		private EvictionTask(final SystemObjectCache cache) {
+			_cache = new WeakReference<SystemObjectCache>(cache);
+		}
+
+		@Override
+		public void run() {
+			final SystemObjectCache cache = _cache.get();
+			if(cache == null) {
+				cancel();
+				return;
+			}
+			cache.evict();
+		}
+	}
+}
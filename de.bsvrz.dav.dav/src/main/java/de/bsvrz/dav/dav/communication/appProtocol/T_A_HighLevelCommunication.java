@@ -107,8 +107,9 @@ public class T_A_HighLevelCommunication implements T_A_HighLevelCommunicationInt
 			HighLevelApplicationManager applicationManager, final LowLevelConnectionsManagerInterface lowLevelConnectionsManager, boolean waitForConfiguration) {
 		_lowLevelConnectionsManager = lowLevelConnectionsManager;
 		_applicationId = -1;
-		_versions = new int[1];
+		_versions = new int[2];
 		_versions[0] = 3;
+		_versions[1] = SubscriptionBatchTelegram.PROTOCOL_VERSION;
 		_lowLevelCommunication = properties.getLowLevelCommunication();
 		_properties = properties;
 		_applicationManager = applicationManager;
@@ -548,6 +549,11 @@ public class T_A_HighLevelCommunication implements T_A_HighLevelCommunicationInt
 				_applicationManager.handleReceiveUnsubscription(this, receiveUnsubscriptionTelegram);
 				break;
 			}
+			case DataTelegram.SUBSCRIPTION_BATCH_TYPE: {
+				SubscriptionBatchTelegram subscriptionBatchTelegram = (SubscriptionBatchTelegram)telegram;
+				_applicationManager.handleSubscriptionBatch(this, subscriptionBatchTelegram);
+				break;
+			}
 			case DataTelegram.APPLICATION_DATA_TELEGRAM_TYPE: {
 				ApplicationDataTelegram applicationDataTelegram = (ApplicationDataTelegram)telegram;
 				_applicationManager.handleDataTelegram(this, applicationDataTelegram);
@@ -871,7 +871,8 @@ public class T_T_HighLevelCommunication implements T_T_HighLevelCommunicationInt
 
 	@Override
 	public final void sendData(ApplicationDataTelegram telegram, final boolean toCentralDistributor) {
-		TransmitterDataTelegram transmitterDataTelegram = new TransmitterDataTelegram(telegram, toCentralDistributor ? (byte)0 : (byte)1);
+		// Das Datenverteilertelegramm und dessen serialisierte Form werden von allen Verbindungen gemeinsam genutzt
+		TransmitterDataTelegram transmitterDataTelegram = telegram.getTransmitterDataTelegram(toCentralDistributor ? (byte)0 : (byte)1);
 		sendTelegram(transmitterDataTelegram);
 	}
 
@@ -45,6 +45,23 @@ public abstract class AbstractSubscriptionsManager implements SubscriptionsManag
 
 	protected final DataIndexCounter<BaseSubscriptionInfo> _dataIndexCounter = new DataIndexCounter<BaseSubscriptionInfo>();
 
+	/** Anzahl der Sperrobjekte fr das ffnen und Schlieen von Anmeldeinformationen (muss eine Zweierpotenz sein). */
+	private static final int NUMBER_OF_SUBSCRIPTION_INFO_LOCKS = 64;
+
+	/**
+	 * Sperrobjekte fr das ffnen und Schlieen von Anmeldeinformationen. Die Datenidentifikationen werden anhand ihres Hashcodes auf die Sperrobjekte verteilt,
+	 * sodass An- und Abmeldungen zu verschiedenen Datenidentifikationen in der Regel nicht aufeinander warten mssen.
+	 */
+	private final Object[] _subscriptionInfoLocks = createSubscriptionInfoLocks();
+
+	private static Object[] createSubscriptionInfoLocks() {
+		final Object[] locks = new Object[NUMBER_OF_SUBSCRIPTION_INFO_LOCKS];
+		for(int i = 0; i < locks.length; i++) {
+			locks[i] = new Object();
+		}
+		return locks;
+	}
+
 	public static String dataIndexToString(final long c) {
 		long time = c >>> 32;
 		long index = (c >>> 2) & 0x3fffffff;
@@ -61,17 +78,19 @@ public abstract class AbstractSubscriptionsManager implements SubscriptionsManag
 	 * @return Anmeldungsklasse
 	 */
 	@Override
-	public synchronized SubscriptionInfo openSubscriptionInfo(final BaseSubscriptionInfo baseSubscriptionInfo) {
-		SubscriptionInfo result = _subscriptions.get(baseSubscriptionInfo);
-		if(result != null){
+	public SubscriptionInfo openSubscriptionInfo(final BaseSubscriptionInfo baseSubscriptionInfo) {
+		synchronized(getSubscriptionInfoLock(baseSubscriptionInfo)) {
+			SubscriptionInfo result = _subscriptions.get(baseSubscriptionInfo);
+			if(result != null){
+				result.open();
+				return result;
+			}
+			final SubscriptionInfo newInfo = new SubscriptionInfo(this, baseSubscriptionInfo);
+			final SubscriptionInfo subscriptionInfo = _subscriptions.putIfAbsent(baseSubscriptionInfo, newInfo);
+			result = subscriptionInfo != null ? subscriptionInfo : newInfo;
 			result.open();
 			return result;
 		}
-		final SubscriptionInfo newInfo = new SubscriptionInfo(this, baseSubscriptionInfo);
-		final SubscriptionInfo subscriptionInfo = _subscriptions.putIfAbsent(baseSubscriptionInfo, newInfo);
-		result = subscriptionInfo != null ? subscriptionInfo : newInfo;
-		result.open();
-		return result;
 	}
 
 	/**
@@ -83,12 +102,14 @@ public abstract class AbstractSubscriptionsManager implements SubscriptionsManag
 	 * @return Anmeldungsklasseoder null falls nicht existent
 	 */
 	@Override
-	public synchronized SubscriptionInfo openExistingSubscriptionInfo(final BaseSubscriptionInfo baseSubscriptionInfo) {
+	public SubscriptionInfo openExistingSubscriptionInfo(final BaseSubscriptionInfo baseSubscriptionInfo) {
 		if(baseSubscriptionInfo == null) return null;
-		SubscriptionInfo result = _subscriptions.get(baseSubscriptionInfo);
-		if(result == null) return null;
-		result.open();
-		return result;
+		synchronized(getSubscriptionInfoLock(baseSubscriptionInfo)) {
+			SubscriptionInfo result = _subscriptions.get(baseSubscriptionInfo);
+			if(result == null) return null;
+			result.open();
+			return result;
+		}
 	}
 
 	/**
@@ -318,9 +339,18 @@ public abstract class AbstractSubscriptionsManager implements SubscriptionsManag
 	}
 
 	@Override
-	public synchronized void removeSubscriptionInfo(final SubscriptionInfo subscriptionInfo) {
+	public void removeSubscriptionInfo(final SubscriptionInfo subscriptionInfo) {
 		assert subscriptionInfo.isEmpty();
-		_subscriptions.remove(subscriptionInfo.getBaseSubscriptionInfo());
+		final BaseSubscriptionInfo baseSubscriptionInfo = subscriptionInfo.getBaseSubscriptionInfo();
+		synchronized(getSubscriptionInfoLock(baseSubscriptionInfo)) {
+			_subscriptions.remove(baseSubscriptionInfo, subscriptionInfo);
+		}
+	}
+
+	@Override
+	public Object getSubscriptionInfoLock(final BaseSubscriptionInfo baseSubscriptionInfo) {
+		final int hashCode = baseSubscriptionInfo.hashCode();
+		return _subscriptionInfoLocks[(hashCode ^ (hashCode >>> 16)) & (NUMBER_OF_SUBSCRIPTION_INFO_LOCKS - 1)];
 	}
 
 	@Override
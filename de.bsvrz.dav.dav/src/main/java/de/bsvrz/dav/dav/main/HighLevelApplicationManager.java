@@ -24,6 +24,8 @@ import de.bsvrz.dav.daf.communication.lowLevel.telegrams.*;
 import de.bsvrz.dav.daf.main.config.ConfigurationChangeException;
 import de.bsvrz.dav.dav.communication.appProtocol.T_A_HighLevelCommunication;
 
+import java.util.Arrays;
+
 /**
  * Klasse, die Telegramme von den Applikations-Verbindungen entgegennimmt und entsprechend weiterleitet und verarbeitet
  *
@@ -101,6 +103,28 @@ public class HighLevelApplicationManager {
 		_subscriptionsManager.removeLocalReceiveSubscriptions(communication, receiveUnsubscriptionTelegram.getUnSubscriptionInfo());
 	}
 
+	/**
+	 * Behandelt eine Sammelan- oder -abmeldung. Alle enthaltenen Eintrge werden in einem Durchgang von der Anmeldungsverwaltung verarbeitet.
+	 * @param communication Verbindung
+	 * @param subscriptionBatchTelegram Sammeltelegramm
+	 */
+	public void handleSubscriptionBatch(final T_A_HighLevelCommunication communication, final SubscriptionBatchTelegram subscriptionBatchTelegram) {
+		switch(subscriptionBatchTelegram.getBatchType()) {
+			case SubscriptionBatchTelegram.RECEIVE_SUBSCRIPTIONS:
+				_subscriptionsManager.addLocalReceiveSubscriptions(communication, Arrays.asList(subscriptionBatchTelegram.getReceiveSubscriptionInfos()));
+				break;
+			case SubscriptionBatchTelegram.SEND_SUBSCRIPTIONS:
+				_subscriptionsManager.addLocalSendSubscriptions(communication, Arrays.asList(subscriptionBatchTelegram.getSendSubscriptionInfos()));
+				break;
+			case SubscriptionBatchTelegram.RECEIVE_UNSUBSCRIPTIONS:
+				_subscriptionsManager.removeLocalReceiveSubscriptions(communication, Arrays.asList(subscriptionBatchTelegram.getUnsubscriptionInfos()));
+				break;
+			case SubscriptionBatchTelegram.SEND_UNSUBSCRIPTIONS:
+				_subscriptionsManager.removeLocalSendSubscriptions(communication, Arrays.asList(subscriptionBatchTelegram.getUnsubscriptionInfos()));
+				break;
+		}
+	}
+
 	/**
 	 * Behandelt ein ankommendes Daten-Telegramm
 	 * @param communication Verbindung
@@ -125,6 +125,66 @@ public class HighLevelSubscriptionsManager extends AbstractSubscriptionsManager
 		if(_applicationStatusUpdater != null) _applicationStatusUpdater.applicationUnsubscribeConnection(application);
 	}
 
+	/**
+	 * Meldet mehrere lokale Sender oder Quellen an. Die Verarbeitung entspricht dem einzelnen Aufruf von {@link #addLocalSendSubscription} fr jede Anmeldung,
+	 * die Aktualisierung der angemeldeten Datenidentifikationen der Applikation wird aber nur einmal angestoen.
+	 *
+	 * @param application           Verbindung
+	 * @param sendSubscriptionInfos Anmeldeparameter
+	 */
+	public void addLocalSendSubscriptions(
+			final ApplicationCommunicationInterface application, final Collection<SendSubscriptionInfo> sendSubscriptionInfos) {
+		for(final SendSubscriptionInfo sendSubscriptionInfo : sendSubscriptionInfos) {
+			super.addLocalSendSubscription(application, sendSubscriptionInfo);
+		}
+		if(_applicationStatusUpdater != null) _applicationStatusUpdater.applicationSubscribedNewConnection(application);
+	}
+
+	/**
+	 * Meldet mehrere lokale Sender oder Quellen ab. Die Verarbeitung entspricht dem einzelnen Aufruf von {@link #removeLocalSendSubscription} fr jede
+	 * Datenidentifikation, die Aktualisierung der angemeldeten Datenidentifikationen der Applikation wird aber nur einmal angestoen.
+	 *
+	 * @param application           Verbindung
+	 * @param baseSubscriptionInfos Objekte und Attributgruppenverwendungen
+	 */
+	public void removeLocalSendSubscriptions(
+			final ApplicationCommunicationInterface application, final Collection<BaseSubscriptionInfo> baseSubscriptionInfos) {
+		for(final BaseSubscriptionInfo baseSubscriptionInfo : baseSubscriptionInfos) {
+			super.removeLocalSendSubscription(application, baseSubscriptionInfo);
+		}
+		if(_applicationStatusUpdater != null) _applicationStatusUpdater.applicationSubscribedNewConnection(application);
+	}
+
+	/**
+	 * Meldet mehrere lokale Empfnger oder Senken an. Die Verarbeitung entspricht dem einzelnen Aufruf von {@link #addLocalReceiveSubscription} fr jede
+	 * Anmeldung, die Aktualisierung der angemeldeten Datenidentifikationen der Applikation wird aber nur einmal angestoen.
+	 *
+	 * @param application              Verbindung
+	 * @param receiveSubscriptionInfos Anmeldeparameter
+	 */
+	public void addLocalReceiveSubscriptions(
+			final ApplicationCommunicationInterface application, final Collection<ReceiveSubscriptionInfo> receiveSubscriptionInfos) {
+		for(final ReceiveSubscriptionInfo receiveSubscriptionInfo : receiveSubscriptionInfos) {
+			super.addLocalReceiveSubscription(application, receiveSubscriptionInfo);
+		}
+		if(_applicationStatusUpdater != null) _applicationStatusUpdater.applicationUnsubscribeConnection(application);
+	}
+
+	/**
+	 * Meldet mehrere lokale Empfnger oder Senken ab. Die Verarbeitung entspricht dem einzelnen Aufruf von <code>removeLocalReceiveSubscriptions</code> fr
+	 * jede Datenidentifikation, die Aktualisierung der angemeldeten Datenidentifikationen der Applikation wird aber nur einmal angestoen.
+	 *
+	 * @param application           Verbindung
+	 * @param baseSubscriptionInfos Objekte und Attributgruppenverwendungen
+	 */
+	public void removeLocalReceiveSubscriptions(
+			final ApplicationCommunicationInterface application, final Collection<BaseSubscriptionInfo> baseSubscriptionInfos) {
+		for(final BaseSubscriptionInfo baseSubscriptionInfo : baseSubscriptionInfos) {
+			super.removeLocalReceiveSubscriptions(application, baseSubscriptionInfo);
+		}
+		if(_applicationStatusUpdater != null) _applicationStatusUpdater.applicationUnsubscribeConnection(application);
+	}
+
 	/**
 	 * Fhrt eine Rechteprfung durch
 	 *
@@ -21,6 +21,7 @@
 package de.bsvrz.dav.dav.main;
 
 import de.bsvrz.dav.daf.communication.lowLevel.ConnectionInterface;
+import de.bsvrz.dav.daf.communication.lowLevel.KeepAliveTimer;
 import de.bsvrz.dav.daf.communication.lowLevel.LowLevelCommunication;
 import de.bsvrz.dav.daf.communication.lowLevel.ParameterizedConnectionInterface;
 import de.bsvrz.dav.daf.communication.lowLevel.ServerConnectionInterface;
@@ -238,15 +239,20 @@ public final class LowLevelApplicationConnections {
 	}
 
 	private LowLevelCommunication createLowLevelConnection(final ConnectionInterface connection, final boolean connected) throws ConnectionException {
-		return new LowLevelCommunication(
+		final LowLevelCommunication lowLevelCommunication = new LowLevelCommunication(
 				connection,
 				_serverDavParameters.getDavCommunicationOutputBufferSize(),
 				_serverDavParameters.getDavCommunicationInputBufferSize(),
 				_serverDavParameters.getSendKeepAliveTimeout(),
 				_serverDavParameters.getReceiveKeepAliveTimeout(),
 				LowLevelCommunication.NORMAL_MODE,
-				connected
+				connected,
+				_serverDavParameters.getTelegramQueueType()
 		);
+		lowLevelCommunication.setSendBatching(_serverDavParameters.getSendBatchMaxBytes(), _serverDavParameters.getSendBatchMaxDelay());
+		if(_serverDavParameters.isSharedKeepAliveTimer()) lowLevelCommunication.setKeepAliveTimer(KeepAliveTimer.getDefault());
+		lowLevelCommunication.setUseVirtualThreads(_serverDavParameters.getUseVirtualThreads());
+		return lowLevelCommunication;
 	}
 
 	@Override
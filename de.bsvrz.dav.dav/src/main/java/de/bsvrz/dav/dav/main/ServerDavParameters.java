@@ -23,6 +23,7 @@
 package de.bsvrz.dav.dav.main;
 
 import de.bsvrz.dav.daf.communication.lowLevel.ParameterizedConnectionInterface;
+import de.bsvrz.dav.daf.communication.lowLevel.TelegramQueueType;
 import de.bsvrz.dav.daf.main.ClientDavParameters;
 import de.bsvrz.dav.daf.main.MissingParameterException;
 import de.bsvrz.dav.daf.main.impl.ArgumentParser;
@@ -210,6 +211,21 @@ public class ServerDavParameters {
 	 */
 	private String _configAreaPidForApplicationObjects = "";
 
+	/** Implementierung der Queues, in denen zu sendende und empfangene Telegramme aller Verbindungen zwischengespeichert werden. */
+	private TelegramQueueType _telegramQueueType = TelegramQueueType.STANDARD;
+
+	/** Maximale Anzahl Bytes je Schreibzugriff im gebndelten Sendemodus oder <code>0</code>, wenn Telegramme einzeln versendet werden. */
+	private int _sendBatchMaxBytes = 0;
+
+	/** Maximale Sammelzeit in Millisekunden im gebndelten Sendemodus. */
+	private long _sendBatchMaxDelay = 10;
+
+	/** <code>true</code>, wenn die KeepAlive-Prfungen aller Verbindungen ber einen gemeinsamen Timer statt mit einem Thread je Verbindung erfolgen. */
+	private boolean _sharedKeepAliveTimer = false;
+
+	/** <code>true</code>, wenn die Threads der Verbindungen zu Applikationen und anderen Datenverteilern als virtuelle Threads gestartet werden. */
+	private boolean _useVirtualThreads = false;
+
 	/**
 	 * Erzeugt einen neuen Parametersatz mit Defaultwerten fr die einzelnen Parameter und setzt die in den bergebenen Aufrufargumenten angegebenen Parameter mit
 	 * den angegebenen Werten. Unbekannte Aufrufargumente werden ignoriert. Bekannte Aufrufargumente werden nach der Umsetzung auf null gesetzt, um zu
@@ -322,6 +338,44 @@ public class ServerDavParameters {
 		}
 		_lowLevelCommunicationName = tcpCommunicationClassName;
 		_lowLevelCommunicationParameters = tcpCommunicationParameters;
+
+		try {
+			_telegramQueueType = TelegramQueueType.forName(argumentList.fetchArgument("-telegrammQueue=" + TelegramQueueType.STANDARD.getName()).asNonEmptyString());
+		}
+		catch(IllegalArgumentException e) {
+			throw new MissingParameterException("Argument -telegrammQueue ist ungltig: " + e.getMessage());
+		}
+
+		if(argumentList.hasArgument("-sendeBuendelung")) {
+			try {
+				final String[] batchValues = argumentList.fetchArgument("-sendeBuendelung").asNonEmptyString().split(":");
+				if(batchValues.length > 2) {
+					throw new IllegalArgumentException("Zu viele Argumente.");
+				}
+				_sendBatchMaxBytes = Integer.parseInt(batchValues[0].trim());
+				if(batchValues.length > 1) _sendBatchMaxDelay = Long.parseLong(batchValues[1].trim());
+				if(_sendBatchMaxBytes < 0 || _sendBatchMaxDelay < 0) {
+					throw new IllegalArgumentException("Negative Werte sind nicht erlaubt.");
+				}
+			}
+			catch(Exception e) {
+				throw new MissingParameterException("Argument -sendeBuendelung sollte eine oder zwei mit Doppelpunkt getrennte Zahlen enthalten, die die maximale Anzahl Bytes je Schreibzugriff bzw. die maximale Sammelzeit in Millisekunden spezifizieren.");
+			}
+		}
+
+		try {
+			_sharedKeepAliveTimer = argumentList.fetchArgument("-gemeinsamerKeepAliveTimer=nein").booleanValue();
+		}
+		catch(IllegalArgumentException e) {
+			throw new MissingParameterException("Argument -gemeinsamerKeepAliveTimer sollte den Wert 'ja' oder 'nein' haben.");
+		}
+
+		try {
+			_useVirtualThreads = argumentList.fetchArgument("-virtuelleThreads=nein").booleanValue();
+		}
+		catch(IllegalArgumentException e) {
+			throw new MissingParameterException("Argument -virtuelleThreads sollte den Wert 'ja' oder 'nein' haben.");
+		}
 	}
 
 	/**
@@ -1541,6 +1595,10 @@ public class ServerDavParameters {
 		System.out.println("-davAppPort=port(Zahl)");
 		System.out.println("-warteAufParametrierung=wert (ja, nein oder Inkarnationsname der Parametrierung)");
 		System.out.println("-konfigurationsBereichFuerApplikationsobjekte=konfigurationsbereich (Pid oder Leerstring)");
+		System.out.println("-telegrammQueue=standard|ringpuffer");
+		System.out.println("-sendeBuendelung=bytes(Zahl)[:sammelzeit(Zahl in Millisekunden)]");
+		System.out.println("-gemeinsamerKeepAliveTimer=ja|nein");
+		System.out.println("-virtuelleThreads=ja|nein");
 		System.out.println();
 		System.out.println();
 		System.out.println("Bemerkungen: ");
@@ -1655,6 +1713,9 @@ public class ServerDavParameters {
 		);
 		// Interne Datenverteilerverbindung darf keine 2. Verbindung benutzen
 		clientDavParameters.setUseSecondConnection(false);
+		clientDavParameters.setTelegramQueueType(getTelegramQueueType());
+		clientDavParameters.setSendBatching(getSendBatchMaxBytes(), getSendBatchMaxDelay());
+		clientDavParameters.setUseVirtualThreads(getUseVirtualThreads());
 		return clientDavParameters;
 	}
 
@@ -1689,6 +1750,49 @@ public class ServerDavParameters {
 		return _configAreaPidForApplicationObjects;
 	}
 
+	/**
+	 * Bestimmt die Implementierung der Queues, in denen zu sendende und empfangene Telegramme der Verbindungen zu Applikationen und anderen Datenverteilern
+	 * zwischengespeichert werden.
+	 * @return Typ der Telegramm-Queues
+	 */
+	public TelegramQueueType getTelegramQueueType() {
+		return _telegramQueueType;
+	}
+
+	/**
+	 * Bestimmt die maximale Anzahl Bytes, die im gebndelten Sendemodus mit einem Schreibzugriff versendet werden.
+	 * @return Maximale Anzahl Bytes je Schreibzugriff oder <code>0</code>, wenn Telegramme einzeln versendet werden.
+	 */
+	public int getSendBatchMaxBytes() {
+		return _sendBatchMaxBytes;
+	}
+
+	/**
+	 * Bestimmt die maximale Zeit, die im gebndelten Sendemodus mit dem Sammeln von Telegrammen verbracht wird.
+	 * @return Maximale Sammelzeit in Millisekunden
+	 */
+	public long getSendBatchMaxDelay() {
+		return _sendBatchMaxDelay;
+	}
+
+	/**
+	 * Bestimmt, ob die KeepAlive-Prfungen der Verbindungen zu Applikationen und anderen Datenverteilern ber einen gemeinsamen Timer statt mit einem eigenen
+	 * Thread je Verbindung ausgefhrt werden.
+	 * @return <code>true</code>, wenn ein gemeinsamer Timer verwendet wird.
+	 */
+	public boolean isSharedKeepAliveTimer() {
+		return _sharedKeepAliveTimer;
+	}
+
+	/**
+	 * Bestimmt, ob die Sende-, Empfangs-, Worker- und KeepAlive-Threads der Verbindungen zu Applikationen und anderen Datenverteilern als virtuelle Threads
+	 * gestartet werden.
+	 * @return <code>true</code>, wenn virtuelle Threads verwendet werden.
+	 */
+	public boolean getUseVirtualThreads() {
+		return _useVirtualThreads;
+	}
+
 	/**
 	 * @author Kappich Systemberatung
 	 * @version $Revision: 12959 $
@@ -123,6 +123,16 @@ public interface SubscriptionsManager extends UserRightsChangeHandler {
 	 */
 	void removeSubscriptionInfo(SubscriptionInfo subscriptionInfo);
 
+	/**
+	 * Gibt das Objekt zurck, auf das beim ffnen, Schlieen und Entfernen der Anmeldeinformation zu einer Datenidentifikation synchronisiert wird. Verschiedene
+	 * Datenidentifikationen knnen sich ein Objekt teilen.
+	 *
+	 * @param baseSubscriptionInfo Datenidentifikation
+	 *
+	 * @return Sperrobjekt
+	 */
+	Object getSubscriptionInfoLock(BaseSubscriptionInfo baseSubscriptionInfo);
+
 	/**
 	 * Fhrt Anmeldungen bei potentiellen Zentraldatenverteilern auf eine Senke durch
 	 *
@@ -45,6 +45,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Diese Klasse verarbeitet ankommende Datentelegramme, prft ob der Absender erlaubt war die Daten zu verschicken (Anmeldung gltig),
@@ -245,24 +246,30 @@ public class TelegramManager implements TelegramManagerTransactionInterface {
 
 		//dumpTelegrams(telegrams, communication.getId(), _selfClientDavConnection != null ? _selfClientDavConnection.getDataModel() : null);
 
-		synchronized(subscriptionInfo){
-			// Datenindex setzen
-			final long dataIndex = _subscriptionsManager.getNextDataIndex(subscriptionInfo);
-			for(final ApplicationDataTelegram telegram : telegrams) {
-				telegram.setDataIndex(dataIndex);
+		// Die Verteilsperre stellt sicher, dass die Datenstze in der Reihenfolge der vergebenen Datenindizes verschickt werden,
+		// sie muss vor der Sperre der subscriptionInfo angefordert werden.
+		final Lock distributionLock = subscriptionInfo.getDistributionLock();
+		distributionLock.lock();
+		try {
+			List<ApplicationDataTelegram> telegramsToSend = telegrams;
+			synchronized(subscriptionInfo){
+				// Datenindex setzen
+				final long dataIndex = _subscriptionsManager.getNextDataIndex(subscriptionInfo);
+				for(final ApplicationDataTelegram telegram : telegrams) {
+					telegram.setDataIndex(dataIndex);
+				}
+
+				if(_davTransactionManager != null) {
+					// Der _davTransactionManager ist erst != null wenn eine Verbindung zur Konfiguration besteht. Vorher knnen keine Transaktionen benutzt werden.
+					telegramsToSend = _davTransactionManager.handleTelegrams(telegrams, subscriptionInfo.hasSource());
+				}
 			}
 
 			// An Empfnger verschicken
-			if(_davTransactionManager != null) {
-				// Der _davTransactionManager ist erst != null wenn eine Verbindung zur Konfiguration besteht. Vorher knnen keine Transaktionen benutzt werden.
-				List<ApplicationDataTelegram> modifiedTransactionTelegram = _davTransactionManager.handleTelegrams(
-						telegrams, subscriptionInfo.hasSource()
-				);
-				subscriptionInfo.distributeTelegrams(modifiedTransactionTelegram, false, communication);
-			}
-			else {
-				subscriptionInfo.distributeTelegrams(telegrams, false, communication);
-			}
+			subscriptionInfo.distributeTelegrams(telegramsToSend, false, communication);
+		}
+		finally {
+			distributionLock.unlock();
 		}
 	}
 
@@ -31,6 +31,8 @@ import java.io.Closeable;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Diese Klasse kapselt eine Anmeldungsinformation zu einer Objekt/Attributgruppe/Aspekt/Simulationsvariante-Kombination. Enthalten sind die
@@ -87,6 +89,16 @@ public class SubscriptionInfo implements Closeable {
 	 */
 	private boolean _remoteUpdateLockActive = false;
 	private int _referenceCounter = 0;
+	/**
+	 * Vorberechnete Verteilstruktur fr {@link #distributeTelegrams} oder <code>null</code>, falls sie noch nicht bentigt wurde.
+	 */
+	private DispatchTable _dispatchTable = null;
+	/**
+	 * Sperre, unter der Datenstze und Statustelegramme an die Empfnger verschickt werden. Alle Methoden, die Anmeldungen ndern und dabei Telegramme an
+	 * Empfnger verschicken knnen, fordern sie vor der Sperre dieses Objekts an, damit sich der Versand in {@link #distributeTelegrams} und nderungen der
+	 * Anmeldungen nicht berschneiden.
+	 */
+	private final ReentrantLock _distributionLock = new ReentrantLock();
 
 	/**
 	 * Erstellt eine neue SubscriptionInfo
@@ -136,9 +148,17 @@ public class SubscriptionInfo implements Closeable {
 	 *
 	 * @param sendingSubscription neue sendende Anmeldung
 	 */
-	public synchronized void addSendingSubscription(final SendingSubscription sendingSubscription) {
-		_subscriptionList.addSender(sendingSubscription);
-		refreshSubscriptionsOnNewSender(sendingSubscription);
+	public void addSendingSubscription(final SendingSubscription sendingSubscription) {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				_subscriptionList.addSender(sendingSubscription);
+				refreshSubscriptionsOnNewSender(sendingSubscription);
+			}
+		}
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -146,9 +166,17 @@ public class SubscriptionInfo implements Closeable {
 	 *
 	 * @param receivingSubscription neue empfangende Anmeldung
 	 */
-	public synchronized void addReceivingSubscription(final ReceivingSubscription receivingSubscription) {
-		_subscriptionList.addReceiver(receivingSubscription);
-		refreshSubscriptionsOnNewReceiver(receivingSubscription);
+	public void addReceivingSubscription(final ReceivingSubscription receivingSubscription) {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				_subscriptionList.addReceiver(receivingSubscription);
+				refreshSubscriptionsOnNewReceiver(receivingSubscription);
+			}
+		}
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -186,6 +214,7 @@ public class SubscriptionInfo implements Closeable {
 	 * @param receivingSubscription neue empfangende Anmeldung
 	 */
 	private void refreshSubscriptionsOnNewReceiver(final ReceivingSubscription receivingSubscription) {
+		assert _distributionLock.isHeldByCurrentThread();
 		if(!receivingSubscription.getConnectionState().isValid()) return;
 		if(_multiRemoteLockActive) {
 			receivingSubscription.setState(ReceiverState.MULTIPLE_REMOTE_LOCK, getCentralDistributorId());
@@ -212,9 +241,11 @@ public class SubscriptionInfo implements Closeable {
 	}
 
 	/**
-	 * Aktualisiert den Anmeldestatus von den angemeldeten gltigen (d.h. nicht-verbotenen und nicht ungltigen) Anmeldungen
+	 * Aktualisiert den Anmeldestatus von den angemeldeten gltigen (d.h. nicht-verbotenen und nicht ungltigen) Anmeldungen. Der Aufrufer muss die
+	 * {@link #getDistributionLock() Verteilsperre} und danach die Sperre dieses Objekts halten.
 	 */
 	private void updateSenderReceiverStatus() {
+		assert _distributionLock.isHeldByCurrentThread();
 		updateRemoteConnectionsNecessary();
 
 		if(hasPendingRemoteSubscriptions()) return;
@@ -327,6 +358,7 @@ public class SubscriptionInfo implements Closeable {
 	 * @param toRemove Abmeldender Sender/Quelle
 	 */
 	private void refreshSubscriptionsOnSenderRemoval(final SendingSubscription toRemove) {
+		assert _distributionLock.isHeldByCurrentThread();
 		long centralDistributorId = getCentralDistributorId();
 		List<SendingSubscription> validSenderSubscriptions = getValidSenderSubscriptions();
 		if(validSenderSubscriptions.size() == 0) {
@@ -636,11 +668,19 @@ public class SubscriptionInfo implements Closeable {
 	 *
 	 * @param receivingSubscription empfangende Anmeldung
 	 */
-	public synchronized void removeReceivingSubscription(final ReceivingSubscription receivingSubscription) {
-		receivingSubscription.setState(ReceiverState.UNKNOWN, getCentralDistributorId());
-		refreshSubscriptionsOnReceiverRemoval(receivingSubscription);
-		_subscriptionList.removeReceiver(receivingSubscription);
-		receivingSubscription.unsubscribe();
+	public void removeReceivingSubscription(final ReceivingSubscription receivingSubscription) {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				receivingSubscription.setState(ReceiverState.UNKNOWN, getCentralDistributorId());
+				refreshSubscriptionsOnReceiverRemoval(receivingSubscription);
+				_subscriptionList.removeReceiver(receivingSubscription);
+				receivingSubscription.unsubscribe();
+			}
+		}
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -648,11 +688,19 @@ public class SubscriptionInfo implements Closeable {
 	 *
 	 * @param sendingSubscription sendende Anmeldung
 	 */
-	public synchronized void removeSendingSubscription(final SendingSubscription sendingSubscription) {
-		sendingSubscription.setState(SenderState.UNKNOWN, getCentralDistributorId());
-		refreshSubscriptionsOnSenderRemoval(sendingSubscription);
-		_subscriptionList.removeSender(sendingSubscription);
-		sendingSubscription.unsubscribe();
+	public void removeSendingSubscription(final SendingSubscription sendingSubscription) {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				sendingSubscription.setState(SenderState.UNKNOWN, getCentralDistributorId());
+				refreshSubscriptionsOnSenderRemoval(sendingSubscription);
+				_subscriptionList.removeSender(sendingSubscription);
+				sendingSubscription.unsubscribe();
+			}
+		}
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -661,15 +709,23 @@ public class SubscriptionInfo implements Closeable {
 	 * @param communication Verbindung
 	 * @return Liste mit entfernten Sendern und Quellen
 	 */
-	public synchronized List<SendingSubscription> removeSendingSubscriptions(final CommunicationInterface communication) {
-		final List<SendingSubscription> result = new ArrayList<SendingSubscription>();
-		for(SendingSubscription sendingSubscription : _subscriptionList.getSendingSubscriptions()) {
-			if(sendingSubscription.getCommunication() == communication) {
-				removeSendingSubscription(sendingSubscription);
-				result.add(sendingSubscription);
+	public List<SendingSubscription> removeSendingSubscriptions(final CommunicationInterface communication) {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				final List<SendingSubscription> result = new ArrayList<SendingSubscription>();
+				for(SendingSubscription sendingSubscription : _subscriptionList.getSendingSubscriptions()) {
+					if(sendingSubscription.getCommunication() == communication) {
+						removeSendingSubscription(sendingSubscription);
+						result.add(sendingSubscription);
+					}
+				}
+				return result;
 			}
 		}
-		return result;
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -678,15 +734,23 @@ public class SubscriptionInfo implements Closeable {
 	 * @param communication Verbindung
 	 * @return Liste mit entfernten Empfngern und Senken
 	 */
-	public synchronized List<ReceivingSubscription> removeReceivingSubscriptions(final CommunicationInterface communication) {
-		final List<ReceivingSubscription> result = new ArrayList<ReceivingSubscription>();
-		for(ReceivingSubscription receivingSubscription : _subscriptionList.getReceivingSubscriptions()) {
-			if(receivingSubscription.getCommunication() == communication) {
-				removeReceivingSubscription(receivingSubscription);
-				result.add(receivingSubscription);
+	public List<ReceivingSubscription> removeReceivingSubscriptions(final CommunicationInterface communication) {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				final List<ReceivingSubscription> result = new ArrayList<ReceivingSubscription>();
+				for(ReceivingSubscription receivingSubscription : _subscriptionList.getReceivingSubscriptions()) {
+					if(receivingSubscription.getCommunication() == communication) {
+						removeReceivingSubscription(receivingSubscription);
+						result.add(receivingSubscription);
+					}
+				}
+				return result;
 			}
 		}
-		return result;
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -770,86 +834,113 @@ public class SubscriptionInfo implements Closeable {
 	}
 
 	/**
-	 * Verschickt eine Liste von zusammengehrigen Datentelegrammen an alle interessierten und korrekt angemeldeten Empfnger
+	 * Verschickt eine Liste von zusammengehrigen Datentelegrammen an alle interessierten und korrekt angemeldeten Empfnger.
+	 * <p/>
+	 * Die Prfung des Datenindex und des Absenders erfolgt unter der Sperre dieses Objekts, der eigentliche Versand an die Empfnger danach nur unter der
+	 * {@link #getDistributionLock() Verteilsperre}. Die Empfnger werden dabei einer vorberechneten {@link DispatchTable Verteilstruktur} entnommen, die nur
+	 * bei nderungen der Anmeldungen neu erzeugt wird.
 	 *
 	 * @param applicationDataTelegrams Datentelegramme
 	 * @param toCentralDistributor     wenn das Telegramm noch nicht beim Zentraldatenverteiler behandelt wurde, also der Datenindex noch
 	 *                                 nicht vernnftig gesetzt wurde
 	 * @param communication            Verbindung ber die der Emfang erfolgt ist (zur Rechteprfung), bei null findet keine Prfung statt
 	 */
-	public synchronized void distributeTelegrams(final List<ApplicationDataTelegram> applicationDataTelegrams, final boolean toCentralDistributor, final CommunicationInterface communication) {
-		final List<ReceivingSubscription> receivingSubscriptions = getValidReceiverSubscriptions();
+	public void distributeTelegrams(final List<ApplicationDataTelegram> applicationDataTelegrams, final boolean toCentralDistributor, final CommunicationInterface communication) {
+		final ReentrantLock distributionLock = _distributionLock;
+		distributionLock.lock();
+		try {
+			final DispatchTable dispatchTable;
+			final boolean delayed = applicationDataTelegrams.get(0).getDelayedDataFlag();
+			final boolean unchanged;
+			synchronized(this) {
+				long dataIndex = applicationDataTelegrams.get(0).getDataNumber();
+
+				if(!toCentralDistributor && _lastSendDataIndex > 1 && dataIndex <= _lastSendDataIndex) {
+					// Kein monoton steigender Datenindex
+					return;
+				}
 
-		long dataIndex = applicationDataTelegrams.get(0).getDataNumber();
+				dispatchTable = getDispatchTable();
 
-		if(!toCentralDistributor && _lastSendDataIndex > 1 && dataIndex <= _lastSendDataIndex) {
-			// Kein monoton steigender Datenindex
-			return;
-		}
+				if(communication != null) {
+					// Wenn es sich um keinen knstlichen Transaktionsdatensatz handelt, absender prfen
+					final SendingSubscription sendingSubscription = dispatchTable.getSender(communication);
 
-		// Die Anmeldung, die diese Daten sendet herausfinden
-		SendingSubscription sendingSubscription = null;
+					if(sendingSubscription == null) {
+						_debug.warning("Empfange Daten ohne bekannten Absender", applicationDataTelegrams.get(0).getBaseSubscriptionInfo());
+						// Kein Absender ermittelbar
+						return;
+					}
 
-		if(communication != null) {
-			// Wenn es sich um keinen knstlichen Transaktionsdatensatz handelt, absender prfen
-			for(SendingSubscription tmp : _subscriptionList.getSendingSubscriptions()) {
-				if(tmp.getCommunication() == communication) {
-					sendingSubscription = tmp;
+					if(!sendingSubscription.getState().isValidSender()) {
+						// Absender hat keine Rechte zum senden
+						return;
+					}
 				}
-			}
 
-			if(sendingSubscription == null) {
-				_debug.warning("Empfange Daten ohne bekannten Absender", applicationDataTelegrams.get(0).getBaseSubscriptionInfo());
-				// Kein Absender ermittelbar
-				return;
-			}
+				// Der Vergleich mit dem letzten Datensatz ist nur ntig, wenn es Empfnger gibt, die nur genderte Daten erhalten wollen
+				unchanged = dispatchTable.hasDeltaReceivers(toCentralDistributor) && telegramsAreEqual(applicationDataTelegrams, _lastSendTelegrams);
 
-
-			if(!sendingSubscription.getState().isValidSender()) {
-				// Absender hat keine Rechte zum senden
-				return;
+				if(hasSource() && !delayed) {
+					if(dataIndex != 1) _lastSendDataIndex = dataIndex;
+					_lastSendTelegrams = new ArrayList<ApplicationDataTelegram>(applicationDataTelegrams);
+				}
 			}
+			dispatchTable.send(applicationDataTelegrams, toCentralDistributor, delayed, unchanged);
 		}
-
-		for(final ReceivingSubscription receivingSubscription : receivingSubscriptions) {
-			if(!receivingSubscription.getReceiveOptions().withDelayed() && applicationDataTelegrams.get(0).getDelayedDataFlag()) {
-				// Datensatz ist als nachgeliefert markiert, der Empfnger will aber nur aktuelle Daten
-				continue;
-			}
-			if(receivingSubscription.getReceiveOptions().withDelta() && telegramsAreEqual(applicationDataTelegrams, _lastSendTelegrams)) {
-				// Datensatz ist unverndert, der Empfnger will aber nur genderte Daten
-				continue;
-			}
-			if(toCentralDistributor && !(receivingSubscription instanceof RemoteDrainSubscription)) {
-				// Datenstze, deren Datenindex noch nicht gesetzt wurde,
-				// drfen nur an andere Zentraldatenverteiler gesendet werden, die die Senke sind.
-				// hierdurch wird z.B. verhindert, dass lokale Sender mit lokalen Empfngern kommunizieren
-				// ohne dass es eine lokale Quelle gibt
-				continue;
-			}
-			for(final ApplicationDataTelegram telegram : applicationDataTelegrams) {
-				receivingSubscription.sendDataTelegram(telegram);
-			}
+		finally {
+			distributionLock.unlock();
 		}
+	}
 
-		if(hasSource() && !applicationDataTelegrams.get(0).getDelayedDataFlag()) {
-			if(dataIndex != 1) _lastSendDataIndex = dataIndex;
-			_lastSendTelegrams = new ArrayList<ApplicationDataTelegram>(applicationDataTelegrams);
+	/**
+	 * Gibt die Sperre zurck, unter der Datenstze an die Empfnger verschickt werden. Sie stellt sicher, dass Datenstze in der Reihenfolge ihrer Prfung in
+	 * {@link #distributeTelegrams} verschickt werden und dass nderungen der Anmeldungen (mit dem Versand von Statustelegrammen und des letzten Datensatzes an
+	 * neue Empfnger) nicht zwischen Prfung und Versand eines Datensatzes erfolgen. Wer vor dem Aufruf von {@link #distributeTelegrams} die Sperre dieses
+	 * Objekts hlt (z.B. um den Datenindex zu vergeben), muss vorher diese Sperre anfordern.
+	 *
+	 * @return Verteilsperre
+	 */
+	public Lock getDistributionLock() {
+		return _distributionLock;
+	}
+
+	/**
+	 * Gibt die aktuelle Verteilstruktur zurck und erzeugt sie neu, falls sich die Anmeldungen seit ihrer Erzeugung gendert haben. Der Aufrufer muss die Sperre
+	 * dieses Objekts halten.
+	 *
+	 * @return Verteilstruktur
+	 */
+	private DispatchTable getDispatchTable() {
+		final int modificationCount = _subscriptionList.getModificationCount();
+		DispatchTable dispatchTable = _dispatchTable;
+		if(dispatchTable == null || dispatchTable.getModificationCount() != modificationCount) {
+			dispatchTable = new DispatchTable(_subscriptionList, modificationCount);
+			_dispatchTable = dispatchTable;
 		}
+		return dispatchTable;
 	}
 
-	public synchronized void updatePendingSubscriptionDataIndex(final CommunicationInterface communication, final long dataIndex) {
-		for(Map.Entry<Long, PendingSubscription> entry : _pendingSubscriptions.entrySet()) {
-			PendingSubscription pendingSubscription = entry.getValue();
-			if(pendingSubscription.getNewSubscription().getCommunication() == communication) {
-				pendingSubscription.setLastReceivedDataIndex(dataIndex);
-				handlePendingSubscriptions(
-						entry.getKey(),
-						(TransmitterCommunicationInterface) communication,
-						pendingSubscription.getNewSubscription().getConnectionState()
-				);
+	public void updatePendingSubscriptionDataIndex(final CommunicationInterface communication, final long dataIndex) {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				for(Map.Entry<Long, PendingSubscription> entry : _pendingSubscriptions.entrySet()) {
+					PendingSubscription pendingSubscription = entry.getValue();
+					if(pendingSubscription.getNewSubscription().getCommunication() == communication) {
+						pendingSubscription.setLastReceivedDataIndex(dataIndex);
+						handlePendingSubscriptions(
+								entry.getKey(),
+								(TransmitterCommunicationInterface) communication,
+								pendingSubscription.getNewSubscription().getConnectionState()
+						);
+					}
+				}
 			}
 		}
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -857,52 +948,60 @@ public class SubscriptionInfo implements Closeable {
 	 *
 	 * @param userId genderter Benutzer, dessen Anmeldungen zu aktualisieren sind
 	 */
-	public synchronized void handleUserRightsChanged(final long userId) {
-		for(final ReceivingSubscription subscription : _subscriptionList.getReceivingSubscriptions()) {
-			if(subscription.getUserId() != userId) continue;
-			final boolean isAllowed = subscription.isAllowed();
-			if(isAllowed && subscription.getState() == ReceiverState.NOT_ALLOWED) {
-				// Anmeldung wird gltig, Anmeldung "hinzufgen" und Sender informieren
-				refreshSubscriptionsOnNewReceiver(subscription);
-			}
-			else if(!isAllowed && subscription.getState() != ReceiverState.NOT_ALLOWED) {
-				// Anmeldung wird ungltig
-				subscription.setState(ReceiverState.NOT_ALLOWED, getCentralDistributorId());
-				subscription.sendStateTelegram(ReceiverState.NOT_ALLOWED);
-				refreshSubscriptionsOnReceiverRemoval(subscription);
-				if(subscription instanceof RemoteCentralSubscription) {
-					// Anmeldungen bei anderen Zentraldatenverteilern ohne Rechte werden sofort abgemeldet
-					removeReceivingSubscription(subscription);
+	public void handleUserRightsChanged(final long userId) {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				for(final ReceivingSubscription subscription : _subscriptionList.getReceivingSubscriptions()) {
+					if(subscription.getUserId() != userId) continue;
+					final boolean isAllowed = subscription.isAllowed();
+					if(isAllowed && subscription.getState() == ReceiverState.NOT_ALLOWED) {
+						// Anmeldung wird gltig, Anmeldung "hinzufgen" und Sender informieren
+						refreshSubscriptionsOnNewReceiver(subscription);
+					}
+					else if(!isAllowed && subscription.getState() != ReceiverState.NOT_ALLOWED) {
+						// Anmeldung wird ungltig
+						subscription.setState(ReceiverState.NOT_ALLOWED, getCentralDistributorId());
+						subscription.sendStateTelegram(ReceiverState.NOT_ALLOWED);
+						refreshSubscriptionsOnReceiverRemoval(subscription);
+						if(subscription instanceof RemoteCentralSubscription) {
+							// Anmeldungen bei anderen Zentraldatenverteilern ohne Rechte werden sofort abgemeldet
+							removeReceivingSubscription(subscription);
+						}
+					}
 				}
-			}
-		}
 
-		for(final SendingSubscription subscription : _subscriptionList.getSendingSubscriptions()) {
-			if(subscription.getUserId() != userId) continue;
-			final boolean isAllowed = subscription.isAllowed();
-			if(isAllowed && subscription.getState() == SenderState.NOT_ALLOWED) {
-				// Anmeldung wird gltig, Anmeldung "hinzufgen" und Empfnger informieren
-				refreshSubscriptionsOnNewSender(subscription);
-			}
-			else if(!isAllowed && subscription.getState() != SenderState.NOT_ALLOWED) {
-				// Anmeldung wird ungltig
-				subscription.setState(SenderState.NOT_ALLOWED, getCentralDistributorId());
-				refreshSubscriptionsOnSenderRemoval(subscription);
-				if(subscription instanceof RemoteCentralSubscription) {
-					// Anmeldungen bei anderen Zentraldatenverteilern ohne Rechte werden sofort abgemeldet
-					removeSendingSubscription(subscription);
+				for(final SendingSubscription subscription : _subscriptionList.getSendingSubscriptions()) {
+					if(subscription.getUserId() != userId) continue;
+					final boolean isAllowed = subscription.isAllowed();
+					if(isAllowed && subscription.getState() == SenderState.NOT_ALLOWED) {
+						// Anmeldung wird gltig, Anmeldung "hinzufgen" und Empfnger informieren
+						refreshSubscriptionsOnNewSender(subscription);
+					}
+					else if(!isAllowed && subscription.getState() != SenderState.NOT_ALLOWED) {
+						// Anmeldung wird ungltig
+						subscription.setState(SenderState.NOT_ALLOWED, getCentralDistributorId());
+						refreshSubscriptionsOnSenderRemoval(subscription);
+						if(subscription instanceof RemoteCentralSubscription) {
+							// Anmeldungen bei anderen Zentraldatenverteilern ohne Rechte werden sofort abgemeldet
+							removeSendingSubscription(subscription);
+						}
+					}
 				}
-			}
-		}
 
-		// Die Sperre bei mehreren Remote-Zentraldatenverteilern ist von den Rechten der Anmeldungen ahngig
-		// (verbotene Anmeldungen werden ignoriert), also den Status ggf. aktualisieren
-		updateMultiRemoteConnectionsLock();
+				// Die Sperre bei mehreren Remote-Zentraldatenverteilern ist von den Rechten der Anmeldungen ahngig
+				// (verbotene Anmeldungen werden ignoriert), also den Status ggf. aktualisieren
+				updateMultiRemoteConnectionsLock();
 
-		// Eventuell sind jetzt neue Anmeldungen bei Remote-Datenverteilern mglich.
-		// Solche Anmeldungen werden nur durchgefhrt wenn entprechende Rechte vorhanden sind.
-		// Da sich die Rechte gendert haben knnen sich daher neue Anmeldungen ergeben haben
-		createRemoteCentralDistributorSubscriptions();
+				// Eventuell sind jetzt neue Anmeldungen bei Remote-Datenverteilern mglich.
+				// Solche Anmeldungen werden nur durchgefhrt wenn entprechende Rechte vorhanden sind.
+				// Da sich die Rechte gendert haben knnen sich daher neue Anmeldungen ergeben haben
+				createRemoteCentralDistributorSubscriptions();
+			}
+		}
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -913,35 +1012,43 @@ public class SubscriptionInfo implements Closeable {
 	 * @param state             neuer Status
 	 * @param mainTransmitterId Id des Zentraldatenverteilers
 	 */
-	public synchronized void setRemoteSourceSubscriptionStatus(
+	public void setRemoteSourceSubscriptionStatus(
 			final TransmitterCommunicationInterface communication, final ConnectionState state, final long mainTransmitterId) {
-		handlePendingSubscriptions(mainTransmitterId, communication, state);
-		RemoteSourceSubscription remoteSubscription = null;
-		for(final SendingSubscription subscription : _subscriptionList.getSendingSubscriptions()) {
-			if(subscription instanceof RemoteSourceSubscription) {
-				final RemoteSourceSubscription remoteSourceSubscription = (RemoteSourceSubscription) subscription;
-				if(remoteSourceSubscription.getCommunication() == communication) {
-					remoteSubscription = remoteSourceSubscription;
-					break;
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				handlePendingSubscriptions(mainTransmitterId, communication, state);
+				RemoteSourceSubscription remoteSubscription = null;
+				for(final SendingSubscription subscription : _subscriptionList.getSendingSubscriptions()) {
+					if(subscription instanceof RemoteSourceSubscription) {
+						final RemoteSourceSubscription remoteSourceSubscription = (RemoteSourceSubscription) subscription;
+						if(remoteSourceSubscription.getCommunication() == communication) {
+							remoteSubscription = remoteSourceSubscription;
+							break;
+						}
+					}
+				}
+				if(remoteSubscription == null) {
+					return;
+				}
+				remoteSubscription.setRemoteState(mainTransmitterId, state);
+				updateMultiRemoteConnectionsLock();
+				if(remoteSubscription.getConnectionState().isValid() && !remoteSubscription.getState().isValidSender()) {
+					// Anmeldung wird gltig
+					refreshSubscriptionsOnNewSender(remoteSubscription);
 				}
+				else if(!remoteSubscription.getConnectionState().isValid() && remoteSubscription.getState().isValidSender()) {
+					// Anmeldung wird ungltig
+					remoteSubscription.setState(SenderState.NO_REMOTE_SOURCE, getCentralDistributorId());
+					refreshSubscriptionsOnSenderRemoval(remoteSubscription);
+				}
+				updateSenderReceiverStatus();
+				removeNegativeRemoteSubscriptions();
 			}
 		}
-		if(remoteSubscription == null) {
-			return;
-		}
-		remoteSubscription.setRemoteState(mainTransmitterId, state);
-		updateMultiRemoteConnectionsLock();
-		if(remoteSubscription.getConnectionState().isValid() && !remoteSubscription.getState().isValidSender()) {
-			// Anmeldung wird gltig
-			refreshSubscriptionsOnNewSender(remoteSubscription);
-		}
-		else if(!remoteSubscription.getConnectionState().isValid() && remoteSubscription.getState().isValidSender()) {
-			// Anmeldung wird ungltig
-			remoteSubscription.setState(SenderState.NO_REMOTE_SOURCE, getCentralDistributorId());
-			refreshSubscriptionsOnSenderRemoval(remoteSubscription);
+		finally {
+			_distributionLock.unlock();
 		}
-		updateSenderReceiverStatus();
-		removeNegativeRemoteSubscriptions();
 	}
 
 	/**
@@ -952,35 +1059,43 @@ public class SubscriptionInfo implements Closeable {
 	 * @param state             neuer Status
 	 * @param mainTransmitterId Id des Zentraldatenverteilers
 	 */
-	public synchronized void setRemoteDrainSubscriptionStatus(
+	public void setRemoteDrainSubscriptionStatus(
 			final TransmitterCommunicationInterface communication, final ConnectionState state, final long mainTransmitterId) {
-		handlePendingSubscriptions(mainTransmitterId, communication, state);
-		RemoteDrainSubscription remoteSubscription = null;
-		for(final ReceivingSubscription subscription : _subscriptionList.getReceivingSubscriptions()) {
-			if(subscription instanceof RemoteDrainSubscription) {
-				final RemoteDrainSubscription remoteDrainSubscription = (RemoteDrainSubscription) subscription;
-				if(remoteDrainSubscription.getCommunication() == communication) {
-					remoteSubscription = remoteDrainSubscription;
-					break;
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				handlePendingSubscriptions(mainTransmitterId, communication, state);
+				RemoteDrainSubscription remoteSubscription = null;
+				for(final ReceivingSubscription subscription : _subscriptionList.getReceivingSubscriptions()) {
+					if(subscription instanceof RemoteDrainSubscription) {
+						final RemoteDrainSubscription remoteDrainSubscription = (RemoteDrainSubscription) subscription;
+						if(remoteDrainSubscription.getCommunication() == communication) {
+							remoteSubscription = remoteDrainSubscription;
+							break;
+						}
+					}
+				}
+				if(remoteSubscription == null) {
+					return;
 				}
+				remoteSubscription.setRemoteState(mainTransmitterId, state);
+				updateMultiRemoteConnectionsLock();
+				if(remoteSubscription.getConnectionState().isValid() && !remoteSubscription.getState().isValidReceiver()) {
+					// Anmeldung wird gltig
+					refreshSubscriptionsOnNewReceiver(remoteSubscription);
+				}
+				else if(!remoteSubscription.getConnectionState().isValid() && remoteSubscription.getState().isValidReceiver()) {
+					// Anmeldung wird ungltig
+					remoteSubscription.setState(ReceiverState.NO_REMOTE_DRAIN, getCentralDistributorId());
+					refreshSubscriptionsOnReceiverRemoval(remoteSubscription);
+				}
+				updateSenderReceiverStatus();
+				removeNegativeRemoteSubscriptions();
 			}
 		}
-		if(remoteSubscription == null) {
-			return;
-		}
-		remoteSubscription.setRemoteState(mainTransmitterId, state);
-		updateMultiRemoteConnectionsLock();
-		if(remoteSubscription.getConnectionState().isValid() && !remoteSubscription.getState().isValidReceiver()) {
-			// Anmeldung wird gltig
-			refreshSubscriptionsOnNewReceiver(remoteSubscription);
-		}
-		else if(!remoteSubscription.getConnectionState().isValid() && remoteSubscription.getState().isValidReceiver()) {
-			// Anmeldung wird ungltig
-			remoteSubscription.setState(ReceiverState.NO_REMOTE_DRAIN, getCentralDistributorId());
-			refreshSubscriptionsOnReceiverRemoval(remoteSubscription);
+		finally {
+			_distributionLock.unlock();
 		}
-		updateSenderReceiverStatus();
-		removeNegativeRemoteSubscriptions();
 	}
 
 	/**
@@ -1148,32 +1263,40 @@ public class SubscriptionInfo implements Closeable {
 	 * Wird aufgerufen, wenn im ListsManager ein Update stattfand und so eventuell neue oder bessere Wege fr die Remote-Anmeldungen
 	 * existieren
 	 */
-	public synchronized void updateRemoteConnections() {
-		// Falls kein Bedarf an entfernten Anmeldungen besteht, nichts tun
-		if(!_connectToRemoteCentralDistributor) return;
+	public void updateRemoteConnections() {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				// Falls kein Bedarf an entfernten Anmeldungen besteht, nichts tun
+				if(!_connectToRemoteCentralDistributor) return;
 
 		
-		for(final SendingSubscription sendingSubscription : _subscriptionList.getSendingSubscriptions()) {
-			if(sendingSubscription instanceof RemoteCentralSubscription) {
-				final RemoteCentralSubscription remoteCentralSubscription = (RemoteCentralSubscription) sendingSubscription;
-				long centralDistributorId = remoteCentralSubscription.getCentralDistributorId();
-				updateBestWay(centralDistributorId, remoteCentralSubscription.getCommunication(), _subscriptionsManager.getBestConnectionToRemoteDav(centralDistributorId));
+				for(final SendingSubscription sendingSubscription : _subscriptionList.getSendingSubscriptions()) {
+					if(sendingSubscription instanceof RemoteCentralSubscription) {
+						final RemoteCentralSubscription remoteCentralSubscription = (RemoteCentralSubscription) sendingSubscription;
+						long centralDistributorId = remoteCentralSubscription.getCentralDistributorId();
+						updateBestWay(centralDistributorId, remoteCentralSubscription.getCommunication(), _subscriptionsManager.getBestConnectionToRemoteDav(centralDistributorId));
+					}
+				}
+				for(final ReceivingSubscription receivingSubscription : _subscriptionList.getReceivingSubscriptions()) {
+					if(receivingSubscription instanceof RemoteCentralSubscription) {
+						final RemoteCentralSubscription remoteCentralSubscription = (RemoteCentralSubscription) receivingSubscription;
+						long centralDistributorId = remoteCentralSubscription.getCentralDistributorId();
+						updateBestWay(
+								centralDistributorId,
+								remoteCentralSubscription.getCommunication(),
+								_subscriptionsManager.getBestConnectionToRemoteDav(centralDistributorId)
+						);
+					}
+				}
+
+				// Hier eventuelle neue Anmeldungen durchfhren
+				createRemoteCentralDistributorSubscriptions();
 			}
 		}
-		for(final ReceivingSubscription receivingSubscription : _subscriptionList.getReceivingSubscriptions()) {
-			if(receivingSubscription instanceof RemoteCentralSubscription) {
-				final RemoteCentralSubscription remoteCentralSubscription = (RemoteCentralSubscription) receivingSubscription;
-				long centralDistributorId = remoteCentralSubscription.getCentralDistributorId();
-				updateBestWay(
-						centralDistributorId,
-						remoteCentralSubscription.getCommunication(),
-						_subscriptionsManager.getBestConnectionToRemoteDav(centralDistributorId)
-				);
-			}
+		finally {
+			_distributionLock.unlock();
 		}
-
-		// Hier eventuelle neue Anmeldungen durchfhren
-		createRemoteCentralDistributorSubscriptions();
 	}
 
 	/**
@@ -1217,6 +1340,7 @@ public class SubscriptionInfo implements Closeable {
 	 * @param multiRemoteLockActive ob die Sperre {@link #_multiRemoteLockActive} aktiv sein soll.
 	 */
 	public void setMultiRemoteLockActive(final boolean multiRemoteLockActive) {
+		assert _distributionLock.isHeldByCurrentThread();
 		if(multiRemoteLockActive == _multiRemoteLockActive) return;
 		_multiRemoteLockActive = multiRemoteLockActive;
 		if(multiRemoteLockActive) {
@@ -1317,10 +1441,18 @@ public class SubscriptionInfo implements Closeable {
 	 * @param oldConnection Alte Verbindung
 	 * @param newConnection Neue Verbindung
 	 */
-	public synchronized void updateBestWay(
+	public void updateBestWay(
 			final long transmitterId, final TransmitterCommunicationInterface oldConnection, final TransmitterCommunicationInterface newConnection) {
-		updateBestWaySource(transmitterId, oldConnection, newConnection);
-		updateBestWayDrain(transmitterId, oldConnection, newConnection);
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				updateBestWaySource(transmitterId, oldConnection, newConnection);
+				updateBestWayDrain(transmitterId, oldConnection, newConnection);
+			}
+		}
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -1499,16 +1631,24 @@ public class SubscriptionInfo implements Closeable {
 	 * @param connection Verbindung
 	 * @return Senkenanmeldung
 	 */
-	public synchronized RemoteDrainSubscription getOrCreateRemoteDrainSubscription(final TransmitterCommunicationInterface connection) {
-		List<ReceivingSubscription> subscriptions = getReceivingSubscriptions(connection);
-		for(ReceivingSubscription subscription : subscriptions) {
-			if(subscription instanceof RemoteDrainSubscription) {
-				return (RemoteDrainSubscription) subscription;
+	public RemoteDrainSubscription getOrCreateRemoteDrainSubscription(final TransmitterCommunicationInterface connection) {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				List<ReceivingSubscription> subscriptions = getReceivingSubscriptions(connection);
+				for(ReceivingSubscription subscription : subscriptions) {
+					if(subscription instanceof RemoteDrainSubscription) {
+						return (RemoteDrainSubscription) subscription;
+					}
+				}
+				RemoteDrainSubscription subscription = new RemoteDrainSubscription(_subscriptionsManager, _baseSubscriptionInfo, connection);
+				addReceivingSubscription(subscription);
+				return subscription;
 			}
 		}
-		RemoteDrainSubscription subscription = new RemoteDrainSubscription(_subscriptionsManager, _baseSubscriptionInfo, connection);
-		addReceivingSubscription(subscription);
-		return subscription;
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -1517,16 +1657,24 @@ public class SubscriptionInfo implements Closeable {
 	 * @param connection Verbindung
 	 * @return Quellenanmeldung
 	 */
-	public synchronized RemoteSourceSubscription getOrCreateRemoteSourceSubscription(final TransmitterCommunicationInterface connection) {
-		List<SendingSubscription> subscriptions = getSendingSubscriptions(connection);
-		for(SendingSubscription subscription : subscriptions) {
-			if(subscription instanceof RemoteSourceSubscription) {
-				return (RemoteSourceSubscription) subscription;
+	public RemoteSourceSubscription getOrCreateRemoteSourceSubscription(final TransmitterCommunicationInterface connection) {
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				List<SendingSubscription> subscriptions = getSendingSubscriptions(connection);
+				for(SendingSubscription subscription : subscriptions) {
+					if(subscription instanceof RemoteSourceSubscription) {
+						return (RemoteSourceSubscription) subscription;
+					}
+				}
+				RemoteSourceSubscription subscription = new RemoteSourceSubscription(_subscriptionsManager, _baseSubscriptionInfo, connection);
+				addSendingSubscription(subscription);
+				return subscription;
 			}
 		}
-		RemoteSourceSubscription subscription = new RemoteSourceSubscription(_subscriptionsManager, _baseSubscriptionInfo, connection);
-		addSendingSubscription(subscription);
-		return subscription;
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -1538,22 +1686,30 @@ public class SubscriptionInfo implements Closeable {
 	 * @param ids           Liste mit Zentaldatenverteiler-Ids, die bercksichtigt werden sollen
 	 * @return Anmeldung als entfernter Empfnger
 	 */
-	public synchronized void updateOrCreateRemoteReceiverSubscription(
+	public void updateOrCreateRemoteReceiverSubscription(
 			final TransmitterCommunicationInterface communication, final Collection<Long> ids) {
-		for(ReceivingSubscription receivingSubscription : _subscriptionList.getReceivingSubscriptions()) {
-			if(receivingSubscription.getCommunication() == communication && receivingSubscription instanceof RemoteReceiverSubscription) {
-				((RemoteReceiverSubscription) receivingSubscription).setPotentialDistributors(ids);
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				for(ReceivingSubscription receivingSubscription : _subscriptionList.getReceivingSubscriptions()) {
+					if(receivingSubscription.getCommunication() == communication && receivingSubscription instanceof RemoteReceiverSubscription) {
+						((RemoteReceiverSubscription) receivingSubscription).setPotentialDistributors(ids);
 
-				// Status neu setzen, damit eine eventuelle Anmeldung beim anderen Datenverteiler aktualisiert wird
-				receivingSubscription.setState(receivingSubscription.getState(), getCentralDistributorId());
+						// Status neu setzen, damit eine eventuelle Anmeldung beim anderen Datenverteiler aktualisiert wird
+						receivingSubscription.setState(receivingSubscription.getState(), getCentralDistributorId());
 
-				updateRemoteConnections();
-				return;
+						updateRemoteConnections();
+						return;
+					}
+				}
+				final RemoteSubscription remoteSubscription;
+				remoteSubscription = new RemoteReceiverSubscription(_subscriptionsManager, communication, _baseSubscriptionInfo, ids);
+				addReceivingSubscription((ReceivingSubscription) remoteSubscription);
 			}
 		}
-		final RemoteSubscription remoteSubscription;
-		remoteSubscription = new RemoteReceiverSubscription(_subscriptionsManager, communication, _baseSubscriptionInfo, ids);
-		addReceivingSubscription((ReceivingSubscription) remoteSubscription);
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
@@ -1565,28 +1721,37 @@ public class SubscriptionInfo implements Closeable {
 	 * @param ids           Liste mit Zentaldatenverteiler-Ids, die bercksichtigt werden sollen
 	 * @return Anmeldung als entfernter Sender
 	 */
-	public synchronized void updateOrCreateRemoteSenderSubscription(
+	public void updateOrCreateRemoteSenderSubscription(
 			final TransmitterCommunicationInterface communication, final Collection<Long> ids) {
-		for(SendingSubscription sendingSubscription : _subscriptionList.getSendingSubscriptions()) {
-			if(sendingSubscription.getCommunication() == communication && sendingSubscription instanceof RemoteSenderSubscription) {
-				((RemoteSenderSubscription) sendingSubscription).setPotentialDistributors(ids);
+		_distributionLock.lock();
+		try {
+			synchronized(this) {
+				for(SendingSubscription sendingSubscription : _subscriptionList.getSendingSubscriptions()) {
+					if(sendingSubscription.getCommunication() == communication && sendingSubscription instanceof RemoteSenderSubscription) {
+						((RemoteSenderSubscription) sendingSubscription).setPotentialDistributors(ids);
 
-				// Status neu setzen, damit eine eventuelle Anmeldung beim anderen Datenverteiler aktualisiert wird
-				sendingSubscription.setState(sendingSubscription.getState(), getCentralDistributorId());
+						// Status neu setzen, damit eine eventuelle Anmeldung beim anderen Datenverteiler aktualisiert wird
+						sendingSubscription.setState(sendingSubscription.getState(), getCentralDistributorId());
 
-				updateRemoteConnections();
-				return;
+						updateRemoteConnections();
+						return;
+					}
+				}
+				final RemoteSubscription remoteSubscription;
+				remoteSubscription = new RemoteSenderSubscription(_subscriptionsManager, communication, _baseSubscriptionInfo, ids);
+				addSendingSubscription((SendingSubscription) remoteSubscription);
 			}
 		}
-		final RemoteSubscription remoteSubscription;
-		remoteSubscription = new RemoteSenderSubscription(_subscriptionsManager, communication, _baseSubscriptionInfo, ids);
-		addSendingSubscription((SendingSubscription) remoteSubscription);
+		finally {
+			_distributionLock.unlock();
+		}
 	}
 
 	/**
 	 * Markiert das SubscriptionInfo als offen, sodass nderungen an den Anmeldungen durchgefhrt werden drfen.
 	 * <p/>
-	 * Wird auf den SubscriptionsManager synchronisiert ausgefhrt
+	 * Wird synchronisiert auf das {@link SubscriptionsManager#getSubscriptionInfoLock(BaseSubscriptionInfo) Sperrobjekt} dieser Datenidentifikation im
+	 * SubscriptionsManager ausgefhrt
 	 */
 	public void open() {
 		_referenceCounter++;
@@ -1597,10 +1762,10 @@ public class SubscriptionInfo implements Closeable {
 	 * und von keinem mehr offen ist, wird geprft ob Anmeldungen vorhanden sind. Falls nicht, wird das Objekt aus dem SubscriptionsManager
 	 * entfernt.
 	 * <p/>
-	 * Synchronisiert auf den _subscriptionsManager, daher keine Synchronisation von _referenceCounter notwendig.
+	 * Synchronisiert auf das Sperrobjekt dieser Datenidentifikation im _subscriptionsManager, daher keine Synchronisation von _referenceCounter notwendig.
 	 */
 	public void close() {
-		synchronized(_subscriptionsManager) {
+		synchronized(_subscriptionsManager.getSubscriptionInfoLock(_baseSubscriptionInfo)) {
 			_referenceCounter--;
 			if(_referenceCounter == 0 && isEmpty()) {
 				_subscriptionsManager.removeSubscriptionInfo(this);
@@ -1608,6 +1773,113 @@ public class SubscriptionInfo implements Closeable {
 		}
 	}
 
+	/**
+	 * Unvernderliche, aus den Anmeldungen vorberechnete Struktur zur Verteilung von Datenstzen. Die empfangenden Anmeldungen sind nach ihren Empfangsoptionen
+	 * (nachgelieferte Daten, nur genderte Daten) gruppiert, die Anmeldungen von Zentraldatenverteilern (Senken) sind zustzlich getrennt abgelegt. Die
+	 * sendenden Anmeldungen sind nach ihrer Verbindung abrufbar. Die Gltigkeit der einzelnen Anmeldungen wird erst beim Versand geprft, da sich der Zustand
+	 * einer Anmeldung ndern kann, ohne dass Anmeldungen hinzugefgt oder entfernt werden.
+	 */
+	private static final class DispatchTable {
+
+		/** Bit im Index der Empfngergruppen fr Empfnger, die auch nachgelieferte Daten erhalten */
+		private static final int WITH_DELAYED = 1;
+
+		/** Bit im Index der Empfngergruppen fr Empfnger, die nur genderte Daten erhalten */
+		private static final int WITH_DELTA = 2;
+
+		private static final ReceivingSubscription[] NO_RECEIVERS = new ReceivingSubscription[0];
+
+		/** nderungszhler der {@link SubscriptionList} zum Zeitpunkt der Erzeugung */
+		private final int _modificationCount;
+
+		/** Alle empfangenden Anmeldungen, gruppiert nach Empfangsoptionen */
+		private final ReceivingSubscription[][] _receivers;
+
+		/** Empfangende Anmeldungen von Zentraldatenverteilern, gruppiert nach Empfangsoptionen */
+		private final ReceivingSubscription[][] _remoteDrains;
+
+		/** Sendende Anmeldungen je Verbindung */
+		private final Map<CommunicationInterface, SendingSubscription> _senders;
+
+		private DispatchTable(final SubscriptionList subscriptionList, final int modificationCount) {
+			_modificationCount = modificationCount;
+			_receivers = groupReceivers(subscriptionList.getReceivingSubscriptions(), false);
+			_remoteDrains = groupReceivers(subscriptionList.getReceivingSubscriptions(), true);
+			final Collection<SendingSubscription> sendingSubscriptions = subscriptionList.getSendingSubscriptions();
+			_senders = new IdentityHashMap<CommunicationInterface, SendingSubscription>(sendingSubscriptions.size() * 2);
+			for(final SendingSubscription sendingSubscription : sendingSubscriptions) {
+				// Bei mehreren Anmeldungen ber dieselbe Verbindung gilt wie bisher die zuletzt gefundene
+				_senders.put(sendingSubscription.getCommunication(), sendingSubscription);
+			}
+		}
+
+		private static ReceivingSubscription[][] groupReceivers(final Collection<ReceivingSubscription> receivingSubscriptions, final boolean remoteDrainsOnly) {
+			final List<List<ReceivingSubscription>> groups = new ArrayList<List<ReceivingSubscription>>(4);
+			for(int i = 0; i < 4; i++) {
+				groups.add(new ArrayList<ReceivingSubscription>());
+			}
+			for(final ReceivingSubscription receivingSubscription : receivingSubscriptions) {
+				if(remoteDrainsOnly && !(receivingSubscription instanceof RemoteDrainSubscription)) continue;
+				int group = 0;
+				if(receivingSubscription.getReceiveOptions().withDelayed()) group |= WITH_DELAYED;
+				if(receivingSubscription.getReceiveOptions().withDelta()) group |= WITH_DELTA;
+				groups.get(group).add(receivingSubscription);
+			}
+			final ReceivingSubscription[][] result = new ReceivingSubscription[4][];
+			for(int i = 0; i < 4; i++) {
+				final List<ReceivingSubscription> group = groups.get(i);
+				result[i] = group.isEmpty() ? NO_RECEIVERS : group.toArray(new ReceivingSubscription[group.size()]);
+			}
+			return result;
+		}
+
+		public int getModificationCount() {
+			return _modificationCount;
+		}
+
+		public SendingSubscription getSender(final CommunicationInterface communication) {
+			return _senders.get(communication);
+		}
+
+		/**
+		 * Prft, ob es Empfnger gibt, die nur genderte Daten erhalten wollen.
+		 *
+		 * @param toCentralDistributor wenn nur Zentraldatenverteiler bercksichtigt werden sollen
+		 * @return true, wenn es solche Empfnger gibt
+		 */
+		public boolean hasDeltaReceivers(final boolean toCentralDistributor) {
+			final ReceivingSubscription[][] groups = toCentralDistributor ? _remoteDrains : _receivers;
+			return groups[WITH_DELTA].length != 0 || groups[WITH_DELTA | WITH_DELAYED].length != 0;
+		}
+
+		/**
+		 * Verschickt Datentelegramme an alle gltigen Empfnger, deren Empfangsoptionen zu den Datenstzen passen.
+		 *
+		 * @param applicationDataTelegrams Datentelegramme
+		 * @param toCentralDistributor     wenn die Telegramme nur an Zentraldatenverteiler, die die Senke sind, verschickt werden drfen
+		 * @param delayed                  wenn der Datensatz als nachgeliefert markiert ist
+		 * @param unchanged                wenn der Datensatz gegenber dem zuletzt verschickten Datensatz unverndert ist
+		 */
+		public void send(
+				final List<ApplicationDataTelegram> applicationDataTelegrams, final boolean toCentralDistributor, final boolean delayed, final boolean unchanged) {
+			// Datenstze, deren Datenindex noch nicht gesetzt wurde, drfen nur an andere Zentraldatenverteiler gesendet werden, die die Senke sind.
+			// hierdurch wird z.B. verhindert, dass lokale Sender mit lokalen Empfngern kommunizieren, ohne dass es eine lokale Quelle gibt
+			final ReceivingSubscription[][] groups = toCentralDistributor ? _remoteDrains : _receivers;
+			for(int group = 0; group < groups.length; group++) {
+				// Datensatz ist als nachgeliefert markiert, der Empfnger will aber nur aktuelle Daten
+				if(delayed && (group & WITH_DELAYED) == 0) continue;
+				// Datensatz ist unverndert, der Empfnger will aber nur genderte Daten
+				if(unchanged && (group & WITH_DELTA) != 0) continue;
+				for(final ReceivingSubscription receivingSubscription : groups[group]) {
+					if(!receivingSubscription.getState().isValidReceiver()) continue;
+					for(int i = 0, size = applicationDataTelegrams.size(); i < size; i++) {
+						receivingSubscription.sendDataTelegram(applicationDataTelegrams.get(i));
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * Wrapper-Klasse fr eine wartende Umleitungsanmeldung
 	 */
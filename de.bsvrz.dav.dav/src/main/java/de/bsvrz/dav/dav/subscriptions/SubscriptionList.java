@@ -56,6 +56,9 @@ public class SubscriptionList {
 
 	private long _dataIndexSubscriptionTime = 0;
 
+	/** Zhler, der bei jedem Hinzufgen oder Entfernen einer Anmeldung erhht wird. */
+	private int _modificationCount = 0;
+
 	public boolean hasSource() {
 		return getSource() != null;
 	}
@@ -95,11 +98,13 @@ public class SubscriptionList {
 	public void addReceiver(ReceivingSubscription receivingSubscription){
 		if(_receivingSubscriptions.contains(receivingSubscription)) throw new IllegalArgumentException("Bereits angemeldet");
 		_receivingSubscriptions.add(receivingSubscription);
+		_modificationCount++;
 	}
 
 	public void addSender(SendingSubscription sendingSubscription){
 		if(_sendingSubscriptions.contains(sendingSubscription)) throw new IllegalArgumentException("Bereits angemeldet");
 		_sendingSubscriptions.add(sendingSubscription);
+		_modificationCount++;
 	}
 
 	public void removeReceiver(ReceivingSubscription receivingSubscription){
@@ -107,6 +112,7 @@ public class SubscriptionList {
 		if(!_receivingSubscriptions.remove(receivingSubscription)){
 			_debug.warning("Melde Empfnger ab, der nicht angemeldet ist", receivingSubscription);
 		}
+		_modificationCount++;
 	}
 
 	public void removeSender(SendingSubscription sendingSubscription){
@@ -114,6 +120,17 @@ public class SubscriptionList {
 		if(!_sendingSubscriptions.remove(sendingSubscription)) {
 			_debug.warning("Melde Sender ab, der nicht angemeldet ist", sendingSubscription);
 		}
+		_modificationCount++;
+	}
+
+	/**
+	 * Gibt einen Zhler zurck, der sich bei jedem Hinzufgen oder Entfernen einer Anmeldung ndert. Damit knnen aus den Anmeldungen abgeleitete Strukturen
+	 * erkennen, ob sie neu berechnet werden mssen.
+	 *
+	 * @return nderungszhler
+	 */
+	public int getModificationCount() {
+		return _modificationCount;
 	}
 
 	public boolean canSetSource(final SendingSubscription sendingSubscription) {
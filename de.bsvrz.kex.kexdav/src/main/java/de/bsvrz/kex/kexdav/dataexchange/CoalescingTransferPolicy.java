@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.kex.kexdav.
+ * 
+ * de.bsvrz.kex.kexdav is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.kex.kexdav is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.kex.kexdav; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.kex.kexdav.dataexchange;
+
+import de.bsvrz.dav.daf.main.DataState;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Austauschverfahren, das hochfrequente Aktualisierungen eines Datenkanals zusammenfasst. Je Zeitfenster wird hchstens ein Datensatz bertragen: Ein
+ * Datensatz, der nach Ablauf des Zeitfensters seit der letzten bertragung eintrifft, wird sofort bertragen. Treffen innerhalb des Zeitfensters weitere
+ * Datenstze ein, dann wird nur der jeweils neueste am Ende des Zeitfensters bertragen, die brigen werden verworfen und in den Zhlern der {@link
+ * DataTransferEngine} erfasst.
+ * <p/>
+ * Nachgelieferte Datenstze und Zustandsnderungen (alle Datenstze, deren Zustand nicht {@link DataState#DATA} ist) werden nie verworfen. Vorher wird ein
+ * eventuell noch zurckgehaltener Datensatz bertragen, damit die Reihenfolge erhalten bleibt.
+ * <p/>
+ * Der gemeinsame Thread, der die zurckgehaltenen Datenstze am Ende der Zeitfenster bertrgt, wartet nie: Ist die Richtlinie gerade durch den
+ * Empfangsthread belegt oder die Warteschlange der Spur voll, dann wird der Datensatz weiter zurckgehalten und die bertragung ein Zeitfenster spter erneut
+ * versucht. Bis dahin eintreffende Datenstze ersetzen ihn wie gewohnt.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+class CoalescingTransferPolicy extends DataTransferPolicy {
+
+	/** Gemeinsamer Thread, der die am Ende der Zeitfenster zurckgehaltenen Datenstze bertrgt */
+	private static final ScheduledThreadPoolExecutor _scheduler = new ScheduledThreadPoolExecutor(
+			1, new ThreadFactory() {
+
+				private final ThreadFactory _threadFactory = Executors.defaultThreadFactory();
+
+				public Thread newThread(final Runnable r) {
+					final Thread thread = _threadFactory.newThread(r);
+					thread.setName("Datenzusammenfassung");
+					thread.setDaemon(true);
+					return thread;
+				}
+			}
+	);
+
+	private final LowLevelDataPipe _lowLevelDataPipe;
+
+	private final long _window;
+
+	/** bertrgt den zurckgehaltenen Datensatz am Ende des Zeitfensters */
+	private final Runnable _flushTask = new Runnable() {
+		public void run() {
+			flush();
+		}
+	};
+
+	/** Schtzt {@link #_pendingData} und {@link #_lastSendTime}. */
+	private final ReentrantLock _lock = new ReentrantLock();
+
+	/** Zurckgehaltener Datensatz oder null */
+	private DataPackage _pendingData = null;
+
+	/** Zeitpunkt der letzten bertragung eines Datensatzes */
+	private long _lastSendTime = 0;
+
+	/**
+	 * Erstellt eine neue CoalescingTransferPolicy
+	 *
+	 * @param lowLevelDataPipe Datenverbindung
+	 * @param window           Zeitfenster in Millisekunden, innerhalb dessen Aktualisierungen zusammengefasst werden
+	 */
+	public CoalescingTransferPolicy(final LowLevelDataPipe lowLevelDataPipe, final long window) {
+		super(lowLevelDataPipe);
+		if(window <= 0) throw new IllegalArgumentException("Das Zeitfenster muss positiv sein: " + window);
+		_lowLevelDataPipe = lowLevelDataPipe;
+		_window = window;
+	}
+
+	@Override
+	protected void handleData(final DataPackage dataPackage) {
+		// Der Empfangsthread darf beim Senden warten, wenn die Warteschlange der Spur voll ist, und hlt dabei die Sperre
+		_lock.lock();
+		try {
+			if(dataPackage.getDataState() != DataState.DATA || dataPackage.isDelayed()) {
+				// Nie zusammenfassen, aber einen noch zurckgehaltenen lteren Datensatz zuerst bertragen
+				if(_pendingData != null) {
+					send(_pendingData);
+					_pendingData = null;
+				}
+				send(dataPackage);
+				return;
+			}
+			if(_pendingData != null) {
+				// Das Ende des Zeitfensters ist bereits eingeplant, der ltere Datensatz wird ersetzt
+				discardData(_pendingData);
+				_pendingData = dataPackage;
+				return;
+			}
+			final long delay = _lastSendTime + _window - System.currentTimeMillis();
+			if(delay <= 0) {
+				send(dataPackage);
+			}
+			else {
+				_pendingData = dataPackage;
+				_scheduler.schedule(_flushTask, delay, TimeUnit.MILLISECONDS);
+			}
+		}
+		finally {
+			_lock.unlock();
+		}
+	}
+
+	/** Wird vom gemeinsamen Thread ausgefhrt und darf deshalb weder auf die Sperre noch auf Platz in der Warteschlange der Spur warten. */
+	private void flush() {
+		if(!_lock.tryLock()) {
+			// Der Empfangsthread bertrgt gerade, der zurckgehaltene Datensatz bleibt erhalten
+			_scheduler.schedule(_flushTask, _window, TimeUnit.MILLISECONDS);
+			return;
+		}
+		try {
+			final DataPackage dataPackage = _pendingData;
+			if(dataPackage == null) return;
+			// Nach dem Abmelden des Datenkanals keine zurckgehaltenen Daten mehr bertragen
+			if(!_lowLevelDataPipe._hasReceiver) {
+				_pendingData = null;
+				return;
+			}
+			if(trySendData(dataPackage)) {
+				_pendingData = null;
+				_lastSendTime = System.currentTimeMillis();
+			}
+			else {
+				// Warteschlange voll: spter erneut versuchen, bis dahin eintreffende Datenstze ersetzen den zurckgehaltenen
+				_scheduler.schedule(_flushTask, _window, TimeUnit.MILLISECONDS);
+			}
+		}
+		finally {
+			_lock.unlock();
+		}
+	}
+
+	private void send(final DataPackage dataPackage) {
+		sendData(dataPackage);
+		_lastSendTime = System.currentTimeMillis();
+	}
+}
@@ -103,6 +103,10 @@ public class DataExchange {
 				objectManagerInterface,
 				manager
 		);
+		final long coalescingWindow = manager.getDataTransferEngine().getCoalescingWindow();
+		if(coalescingWindow > 0) {
+			_lowLevelDataPipe.setPolicy(new CoalescingTransferPolicy(_lowLevelDataPipe, coalescingWindow));
+		}
 	}
 
 	/**
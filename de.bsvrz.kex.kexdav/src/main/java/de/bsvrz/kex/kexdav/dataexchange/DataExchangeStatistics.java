@@ -0,0 +1,170 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.kex.kexdav.
+ * 
+ * de.bsvrz.kex.kexdav is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.kex.kexdav is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.kex.kexdav; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.kex.kexdav.dataexchange;
+
+/**
+ * Momentaufnahme der Zhler eines Datenkanals der {@link DataTransferEngine}. Die Anzahl der bertragenen Datenstze und die Verzgerungen beziehen sich auf
+ * den Zeitraum seit der vorherigen Momentaufnahme.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ * @see de.bsvrz.kex.kexdav.management.KExDaVObserver
+ */
+public final class DataExchangeStatistics {
+
+	private final String _exchange;
+
+	private final int _lane;
+
+	private final long _interval;
+
+	private final long _transferred;
+
+	private final long _transferredTotal;
+
+	private final long _queueDepth;
+
+	private final long _averageLag;
+
+	private final long _maxLag;
+
+	private final long _discarded;
+
+	DataExchangeStatistics(
+			final String exchange,
+			final int lane,
+			final long interval,
+			final long transferred,
+			final long transferredTotal,
+			final long queueDepth,
+			final long averageLag,
+			final long maxLag,
+			final long discarded) {
+		_exchange = exchange;
+		_lane = lane;
+		_interval = interval;
+		_transferred = transferred;
+		_transferredTotal = transferredTotal;
+		_queueDepth = queueDepth;
+		_averageLag = averageLag;
+		_maxLag = maxLag;
+		_discarded = discarded;
+	}
+
+	/**
+	 * Gibt die Beschreibung des Datenkanals zurck
+	 *
+	 * @return Quelle und Ziel des Datenkanals
+	 */
+	public String getExchange() {
+		return _exchange;
+	}
+
+	/**
+	 * Gibt die Spur zurck, in der die Datenstze des Datenkanals bertragen werden
+	 *
+	 * @return Index der Spur
+	 */
+	public int getLane() {
+		return _lane;
+	}
+
+	/**
+	 * Gibt die Lnge des Zeitraums zurck, auf den sich die Zhler beziehen
+	 *
+	 * @return Zeitraum in Millisekunden
+	 */
+	public long getInterval() {
+		return _interval;
+	}
+
+	/**
+	 * Gibt die Anzahl der im Zeitraum bertragenen Datenstze zurck
+	 *
+	 * @return Anzahl Datenstze
+	 */
+	public long getTransferred() {
+		return _transferred;
+	}
+
+	/**
+	 * Gibt die Anzahl der insgesamt bertragenen Datenstze zurck
+	 *
+	 * @return Anzahl Datenstze
+	 */
+	public long getTransferredTotal() {
+		return _transferredTotal;
+	}
+
+	/**
+	 * Gibt die Anzahl der im Zeitraum bertragenen Datenstze pro Minute zurck
+	 *
+	 * @return Datenstze pro Minute
+	 */
+	public double getThroughput() {
+		return _interval <= 0 ? 0 : _transferred * 60000.0 / _interval;
+	}
+
+	/**
+	 * Gibt die Anzahl der Datenstze zurck, die zum Zeitpunkt der Momentaufnahme auf die bertragung warten
+	 *
+	 * @return Anzahl wartender Datenstze
+	 */
+	public long getQueueDepth() {
+		return _queueDepth;
+	}
+
+	/**
+	 * Gibt die durchschnittliche Verzgerung zwischen Empfang und Versand der im Zeitraum bertragenen Datenstze zurck
+	 *
+	 * @return Verzgerung in Millisekunden
+	 */
+	public long getAverageLag() {
+		return _averageLag;
+	}
+
+	/**
+	 * Gibt die maximale Verzgerung zwischen Empfang und Versand der im Zeitraum bertragenen Datenstze zurck
+	 *
+	 * @return Verzgerung in Millisekunden
+	 */
+	public long getMaxLag() {
+		return _maxLag;
+	}
+
+	/**
+	 * Gibt die Anzahl der Datenstze zurck, die im Zeitraum beim Zusammenfassen von Aktualisierungen durch neuere Datenstze ersetzt und deshalb nicht
+	 * bertragen wurden
+	 *
+	 * @return Anzahl verworfener Datenstze
+	 * @see CoalescingTransferPolicy
+	 */
+	public long getDiscarded() {
+		return _discarded;
+	}
+
+	@Override
+	public String toString() {
+		return _exchange + ": Spur " + _lane + ", " + _transferred + " Datenstze in " + _interval + " ms (" + Math.round(getThroughput()) + "/min), insgesamt "
+		       + _transferredTotal + ", wartend " + _queueDepth + ", Verzgerung Durchschnitt " + _averageLag + " ms, maximal " + _maxLag + " ms"
+		       + (_discarded == 0 ? "" : ", durch Zusammenfassen verworfen " + _discarded);
+	}
+}
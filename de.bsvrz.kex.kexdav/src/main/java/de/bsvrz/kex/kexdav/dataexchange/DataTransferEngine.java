@@ -0,0 +1,355 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.kex.kexdav.
+ * 
+ * de.bsvrz.kex.kexdav is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.kex.kexdav is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.kex.kexdav; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.kex.kexdav.dataexchange;
+
+import de.bsvrz.kex.kexdav.main.Constants;
+import de.bsvrz.sys.funclib.debug.Debug;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fhrt die Datenbertragungen aller {@link LowLevelDataPipe}s eines KExDaV aus. Die Datenkanle werden anhand des Hashcodes ihres Partitionsschlssels
+ * ({@link DataTransferPolicy#getPartitionKey()}) auf eine feste Anzahl von Spuren verteilt, die jeweils aus einer beschrnkten Warteschlange und einem eigenen
+ * Thread bestehen. Alle Datenstze mit demselben Partitionsschlssel werden in derselben Spur und damit in der Reihenfolge ihres Eintreffens bertragen. Die
+ * Reihenfolge ist nur innerhalb eines Partitionsschlssels garantiert, Datenstze mit verschiedenen Schlsseln knnen sich gegenseitig berholen.
+ * Standardmig ist der Schlssel der Datenkanal selbst, die beiden Richtungen eines beidseitigen Parameteraustauschs verwenden einen gemeinsamen Schlssel
+ * (siehe {@link ParameterDataTransferPolicy}). Ein langsames Plugin oder ein langsamer Zieldatenverteiler hlt nur die Datenkanle der eigenen Spur auf.
+ * <p/>
+ * Wenn die Warteschlange einer Spur voll ist, dann wartet der Thread, der die Daten vom Quelldatenverteiler empfangen hat, bis wieder Platz in der
+ * Warteschlange ist.
+ * <p/>
+ * Fr jeden Datenkanal werden die Anzahl der bertragenen Datenstze, die Anzahl der wartenden Datenstze und die Verzgerung zwischen Empfang und Versand
+ * gezhlt. Die Zhler knnen mit {@link #getStatistics()} abgefragt werden.
+ * <p/>
+ * Optional kann ein Zeitfenster zum Zusammenfassen hochfrequenter Aktualisierungen gesetzt werden ({@link #setCoalescingWindow(long)}). Neu erzeugte
+ * Datenkanle bertragen dann je Zeitfenster nur den jeweils neuesten Datensatz, siehe {@link CoalescingTransferPolicy}.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public final class DataTransferEngine {
+
+	private static final Debug _debug = Debug.getLogger();
+
+	/** Gemeinsam genutzte Instanz fr Datenkanle, die nicht von einem {@link de.bsvrz.kex.kexdav.management.KExDaVManager} verwaltet werden. */
+	private static DataTransferEngine _defaultEngine = null;
+
+	private final Lane[] _lanes;
+
+	/** Zhler je Datenkanal */
+	private final ConcurrentHashMap<LowLevelDataPipe, ExchangeCounters> _counters = new ConcurrentHashMap<LowLevelDataPipe, ExchangeCounters>();
+
+	private volatile long _lastWarnTime = 0;
+
+	/** Zeitfenster in Millisekunden zum Zusammenfassen von Aktualisierungen, 0 wenn nicht zusammengefasst wird */
+	private volatile long _coalescingWindow = 0;
+
+	/** Zeitpunkt der letzten Abfrage der Zhler */
+	private long _lastStatisticsTime = System.currentTimeMillis();
+
+	/**
+	 * Gibt die gemeinsam genutzte Instanz mit {@link Constants#DataTransferLanes} Spuren zurck.
+	 *
+	 * @return gemeinsam genutzte Instanz
+	 */
+	public static synchronized DataTransferEngine getDefault() {
+		if(_defaultEngine == null) {
+			_defaultEngine = new DataTransferEngine(Constants.DataTransferLanes, Constants.DataTransferLaneCapacity);
+		}
+		return _defaultEngine;
+	}
+
+	/**
+	 * Erstellt eine neue Instanz und startet die Threads der Spuren.
+	 *
+	 * @param numberOfLanes Anzahl der Spuren
+	 * @param laneCapacity  Maximale Anzahl wartender Datenstze je Spur
+	 */
+	public DataTransferEngine(final int numberOfLanes, final int laneCapacity) {
+		if(numberOfLanes <= 0) throw new IllegalArgumentException("Die Anzahl der Spuren muss positiv sein: " + numberOfLanes);
+		if(laneCapacity <= 0) throw new IllegalArgumentException("Die Kapazitt der Spuren muss positiv sein: " + laneCapacity);
+		_lanes = new Lane[numberOfLanes];
+		for(int i = 0; i < numberOfLanes; i++) {
+			_lanes[i] = new Lane(i, laneCapacity);
+			final Thread thread = new Thread(_lanes[i]);
+			thread.setName(numberOfLanes == 1 ? "Datentransfer" : "Datentransfer-" + i);
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Gibt die Anzahl der Spuren zurck
+	 *
+	 * @return Anzahl der Spuren
+	 */
+	public int getNumberOfLanes() {
+		return _lanes.length;
+	}
+
+	/**
+	 * Gibt das Zeitfenster zum Zusammenfassen von Aktualisierungen zurck
+	 *
+	 * @return Zeitfenster in Millisekunden, 0 wenn nicht zusammengefasst wird
+	 */
+	public long getCoalescingWindow() {
+		return _coalescingWindow;
+	}
+
+	/**
+	 * Setzt das Zeitfenster zum Zusammenfassen von Aktualisierungen. Die Einstellung wirkt sich nur auf Datenkanle aus, die danach erzeugt werden.
+	 *
+	 * @param coalescingWindow Zeitfenster in Millisekunden, 0 wenn nicht zusammengefasst werden soll
+	 */
+	public void setCoalescingWindow(final long coalescingWindow) {
+		if(coalescingWindow < 0) throw new IllegalArgumentException("Das Zeitfenster darf nicht negativ sein: " + coalescingWindow);
+		_coalescingWindow = coalescingWindow;
+	}
+
+	/**
+	 * Gibt die Anzahl der Datenstze zurck, die in allen Spuren auf die bertragung warten
+	 *
+	 * @return Anzahl wartender Datenstze
+	 */
+	public int getQueueSize() {
+		int size = 0;
+		for(Lane lane : _lanes) {
+			size += lane._queue.size();
+		}
+		return size;
+	}
+
+	/**
+	 * bergibt einen Datensatz an die Spur des Datenkanals. Wenn die Warteschlange der Spur voll ist, wartet diese Methode, bis wieder Platz ist.
+	 *
+	 * @param dataPipe     Datenkanal
+	 * @param partitionKey Partitionsschlssel, der die Spur des Datenkanals bestimmt
+	 * @param dataPackage  Datensatz
+	 */
+	void submit(final LowLevelDataPipe dataPipe, final Object partitionKey, final DataTransferPolicy.DataPackage dataPackage) {
+		final ExchangeCounters counters = getCounters(dataPipe, partitionKey);
+		final Transfer transfer = new Transfer(dataPipe, dataPackage, counters);
+		final BlockingQueue<Transfer> queue = _lanes[counters._lane]._queue;
+		counters._submitted.increment();
+		try {
+			if(!queue.offer(transfer)) {
+				if(System.currentTimeMillis() > _lastWarnTime + Constants.WarnSendQueueInterval) {
+					_lastWarnTime = System.currentTimeMillis();
+					_debug.warning(
+							"Die Sende-Warteschlange der Spur " + counters._lane + " ist voll (" + queue.size() + " Datenstze). Der Empfang wird angehalten, bis "
+							+ "wieder Platz ist. Vermutlich nimmt ein Datenverteiler die Daten nicht schnell genug ab: " + dataPipe
+					);
+				}
+				queue.put(transfer);
+			}
+		}
+		catch(InterruptedException e) {
+			counters._submitted.decrement();
+			Thread.currentThread().interrupt();
+			_debug.warning("Datensatz wurde wegen einer Unterbrechung verworfen: " + dataPipe);
+		}
+	}
+
+	/**
+	 * bergibt einen Datensatz an die Spur des Datenkanals, falls in der Warteschlange der Spur Platz ist. Im Gegensatz zu {@link #submit(LowLevelDataPipe,
+	 * Object, DataTransferPolicy.DataPackage)} wartet diese Methode nie.
+	 *
+	 * @param dataPipe     Datenkanal
+	 * @param partitionKey Partitionsschlssel, der die Spur des Datenkanals bestimmt
+	 * @param dataPackage  Datensatz
+	 *
+	 * @return <code>true</code>, wenn der Datensatz bergeben wurde, <code>false</code>, wenn die Warteschlange der Spur voll ist.
+	 */
+	boolean trySubmit(final LowLevelDataPipe dataPipe, final Object partitionKey, final DataTransferPolicy.DataPackage dataPackage) {
+		final ExchangeCounters counters = getCounters(dataPipe, partitionKey);
+		counters._submitted.increment();
+		if(_lanes[counters._lane]._queue.offer(new Transfer(dataPipe, dataPackage, counters))) return true;
+		counters._submitted.decrement();
+		return false;
+	}
+
+	/**
+	 * Zhlt einen Datensatz, der nicht bertragen wurde, weil er durch einen neueren Datensatz ersetzt wurde
+	 *
+	 * @param dataPipe     Datenkanal
+	 * @param partitionKey Partitionsschlssel, der die Spur des Datenkanals bestimmt
+	 */
+	void discarded(final LowLevelDataPipe dataPipe, final Object partitionKey) {
+		getCounters(dataPipe, partitionKey)._discarded.increment();
+	}
+
+	/**
+	 * Entfernt die Zhler eines gestoppten Datenkanals
+	 *
+	 * @param dataPipe Datenkanal
+	 */
+	void remove(final LowLevelDataPipe dataPipe) {
+		_counters.remove(dataPipe);
+	}
+
+	private ExchangeCounters getCounters(final LowLevelDataPipe dataPipe, final Object partitionKey) {
+		ExchangeCounters counters = _counters.get(dataPipe);
+		if(counters == null) {
+			counters = new ExchangeCounters(getLaneIndex(partitionKey));
+			final ExchangeCounters previous = _counters.putIfAbsent(dataPipe, counters);
+			if(previous != null) counters = previous;
+		}
+		return counters;
+	}
+
+	private int getLaneIndex(final Object partitionKey) {
+		return (partitionKey.hashCode() & Integer.MAX_VALUE) % _lanes.length;
+	}
+
+	/**
+	 * Erstellt eine Momentaufnahme der Zhler aller aktiven Datenkanle. Die Anzahl der bertragenen Datenstze und die Verzgerungen beziehen sich auf den
+	 * Zeitraum seit der letzten Abfrage.
+	 *
+	 * @return Zhler je Datenkanal
+	 */
+	public synchronized List<DataExchangeStatistics> getStatistics() {
+		final long now = System.currentTimeMillis();
+		final long interval = now - _lastStatisticsTime;
+		_lastStatisticsTime = now;
+		final List<DataExchangeStatistics> result = new ArrayList<DataExchangeStatistics>(_counters.size());
+		for(Map.Entry<LowLevelDataPipe, ExchangeCounters> entry : _counters.entrySet()) {
+			result.add(entry.getValue().createStatistics(entry.getKey().toString(), interval));
+		}
+		return result;
+	}
+
+	/** Spur mit Warteschlange. Wird vom Thread der Spur ausgefhrt. */
+	private final class Lane implements Runnable {
+
+		private final int _index;
+
+		private final BlockingQueue<Transfer> _queue;
+
+		private Lane(final int index, final int capacity) {
+			_index = index;
+			_queue = new ArrayBlockingQueue<Transfer>(capacity);
+		}
+
+		public void run() {
+			while(true) {
+				try {
+					final Transfer transfer = _queue.take();
+					final DataTransferPolicy.DataPackage dataPackage = transfer._dataPackage;
+					transfer._dataPipe.sendDataToReceiver(dataPackage.getData(), dataPackage.getDataState(), dataPackage.getDataTime());
+					transfer._counters.transferred(System.currentTimeMillis() - dataPackage.getCreationTime());
+					final int queueSize = getQueueSize();
+					if(queueSize > Constants.WarnSendQueueCapacity && System.currentTimeMillis() > _lastWarnTime + Constants.WarnSendQueueInterval) {
+						_lastWarnTime = System.currentTimeMillis();
+						_debug.warning(
+								"In der Sende-Warteschlange befinden sich ber " + Constants.WarnSendQueueCapacity + " Datenstze (" + queueSize
+								+ "). Vermutlich nimmt ein Datenverteiler die Daten nicht schnell genug ab."
+						);
+					}
+				}
+				catch(InterruptedException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Lane{" + "_index=" + _index + ", _queue.size()=" + _queue.size() + '}';
+		}
+	}
+
+	/** Auftrag zur bertragung eines Datensatzes */
+	private static final class Transfer {
+
+		private final LowLevelDataPipe _dataPipe;
+
+		private final DataTransferPolicy.DataPackage _dataPackage;
+
+		private final ExchangeCounters _counters;
+
+		private Transfer(final LowLevelDataPipe dataPipe, final DataTransferPolicy.DataPackage dataPackage, final ExchangeCounters counters) {
+			_dataPipe = dataPipe;
+			_dataPackage = dataPackage;
+			_counters = counters;
+		}
+	}
+
+	/** Zhler eines Datenkanals */
+	private static final class ExchangeCounters {
+
+		private final int _lane;
+
+		private final LongAdder _submitted = new LongAdder();
+
+		private final LongAdder _transferred = new LongAdder();
+
+		/** Anzahl der seit der letzten Abfrage durch neuere Datenstze ersetzten und deshalb verworfenen Datenstze */
+		private final LongAdder _discarded = new LongAdder();
+
+		/** Summe der Verzgerungen in Millisekunden seit der letzten Abfrage */
+		private final LongAdder _lagSum = new LongAdder();
+
+		/** Maximale Verzgerung in Millisekunden seit der letzten Abfrage */
+		private final AtomicLong _maxLag = new AtomicLong();
+
+		/** Anzahl bertragener Datenstze bei der letzten Abfrage. Zugriff nur synchronisiert ber die {@link DataTransferEngine}. */
+		private long _lastTransferred = 0;
+
+		private ExchangeCounters(final int lane) {
+			_lane = lane;
+		}
+
+		private void transferred(final long lag) {
+			_transferred.increment();
+			_lagSum.add(lag);
+			long maxLag = _maxLag.get();
+			while(lag > maxLag && !_maxLag.compareAndSet(maxLag, lag)) {
+				maxLag = _maxLag.get();
+			}
+		}
+
+		private DataExchangeStatistics createStatistics(final String exchange, final long interval) {
+			final long transferredTotal = _transferred.sum();
+			final long transferred = transferredTotal - _lastTransferred;
+			_lastTransferred = transferredTotal;
+			final long lagSum = _lagSum.sumThenReset();
+			final long maxLag = _maxLag.getAndSet(0);
+			return new DataExchangeStatistics(
+					exchange,
+					_lane,
+					interval,
+					transferred,
+					transferredTotal,
+					_submitted.sum() - transferredTotal,
+					transferred == 0 ? 0 : lagSum / transferred,
+					maxLag,
+					_discarded.sumThenReset()
+			);
+		}
+	}
+}
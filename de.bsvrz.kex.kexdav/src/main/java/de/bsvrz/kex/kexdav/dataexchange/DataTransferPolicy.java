@@ -21,10 +21,7 @@
 package de.bsvrz.kex.kexdav.dataexchange;
 
 import de.bsvrz.dav.daf.main.DataState;
-import de.bsvrz.kex.kexdav.main.Constants;
 import de.bsvrz.kex.kexdav.systemobjects.KExDaVAttributeGroupData;
-import de.bsvrz.sys.funclib.concurrent.UnboundedQueue;
-import de.bsvrz.sys.funclib.debug.Debug;
 
 /**
  * Eine abstrakte Klasse, die das Verfahren angibt, mit der Daten zwischen 2 Datenverteilern ausgetauscht werden. Diese Klasse ist nicht fr die Kopie des
@@ -41,46 +38,6 @@ public abstract class DataTransferPolicy {
 
 	private final LowLevelDataPipe _lowLevelDataPipe;
 
-	private static final UnboundedQueue<DataAndPipe> _queue = new UnboundedQueue<DataAndPipe>();
-
-	private static volatile long _lastWarnTime = 0;
-
-	private static final Debug _debug = Debug.getLogger();
-
-	static {
-		final Thread dataUpdateThread = new Thread(
-				new Runnable() {
-					public void run() {
-						while(true) {
-							try {
-								final DataAndPipe dataAndPipe = _queue.take();
-								final DataPackage dataPackage = dataAndPipe.getDataPackage();
-								dataAndPipe.getDataPipe().sendDataToReceiver(
-										dataPackage.getData(),
-										dataPackage.getDataState(),
-										dataPackage.getDataTime()
-								);
-								final int queueSize = _queue.size();
-								if(queueSize > Constants.WarnSendQueueCapacity && System.currentTimeMillis() > _lastWarnTime + Constants.WarnSendQueueInterval){
-									_lastWarnTime = System.currentTimeMillis();
-									_debug.warning(
-											"In der Sende-Warteschlange befinden sich ber " + Constants.WarnSendQueueCapacity + " Datenstze (" + queueSize
-											+ "). Vermutlich nimmt ein Datenverteiler die Daten nicht schnell genug ab."
-									);
-								}
-							}
-							catch(InterruptedException e) {
-								throw new IllegalStateException(e);
-							}
-						}
-					}
-				}
-		);
-		dataUpdateThread.setName("Datentransfer");
-		dataUpdateThread.setDaemon(true);
-		dataUpdateThread.start();
-	}
-
 	/**
 	 * Konstruktor
 	 *
@@ -96,9 +53,10 @@ public abstract class DataTransferPolicy {
 	 * @param sourceData Daten (knnen null sein)
 	 * @param dataState  Daten-Zustand
 	 * @param dataTime   Daten-Zeit
+	 * @param delayed    true, falls es sich um nachgelieferte Daten handelt
 	 */
-	public final void handleData(final KExDaVAttributeGroupData sourceData, final DataState dataState, final long dataTime) {
-		handleData(new DataPackage(sourceData, dataState, dataTime));
+	public final void handleData(final KExDaVAttributeGroupData sourceData, final DataState dataState, final long dataTime, final boolean delayed) {
+		handleData(new DataPackage(sourceData, dataState, dataTime, delayed));
 	}
 
 	/**
@@ -109,12 +67,46 @@ public abstract class DataTransferPolicy {
 	protected abstract void handleData(final DataPackage dataPackage);
 
 	/**
-	 * Sendet die Daten an das Zielsystem
+	 * Gibt den Partitionsschlssel zurck, anhand dessen die {@link DataTransferEngine} dem Datenkanal eine Spur zuordnet. Datenstze mit demselben Schlssel
+	 * werden in der Reihenfolge bertragen, in der sie mit {@link #sendData(DataPackage)} bergeben wurden, auch wenn sie zu verschiedenen Datenkanlen gehren.
+	 * Zwischen verschiedenen Schlsseln ist die Reihenfolge nicht festgelegt. Standardmig wird der Datenkanal selbst verwendet. Der Schlssel muss fr die
+	 * Lebensdauer der Richtlinie gleich bleiben.
+	 *
+	 * @return Partitionsschlssel
+	 */
+	protected Object getPartitionKey() {
+		return _lowLevelDataPipe;
+	}
+
+	/**
+	 * Sendet die Daten an das Zielsystem. Die bertragung erfolgt asynchron in der Spur der {@link DataTransferEngine}, die dem Partitionsschlssel ({@link
+	 * #getPartitionKey()}) zugeordnet ist.
 	 *
 	 * @param dataPackage Datenpaket
 	 */
 	protected final void sendData(final DataPackage dataPackage) {
-		_queue.put(new DataAndPipe(dataPackage, _lowLevelDataPipe));
+		_lowLevelDataPipe.getDataTransferEngine().submit(_lowLevelDataPipe, getPartitionKey(), dataPackage);
+	}
+
+	/**
+	 * Sendet die Daten an das Zielsystem, falls die Warteschlange der zugeordneten Spur der {@link DataTransferEngine} nicht voll ist. Im Gegensatz zu {@link
+	 * #sendData(DataPackage)} wartet diese Methode nie.
+	 *
+	 * @param dataPackage Datenpaket
+	 *
+	 * @return <code>true</code>, wenn die Daten bergeben wurden, <code>false</code>, wenn die Warteschlange voll ist.
+	 */
+	protected final boolean trySendData(final DataPackage dataPackage) {
+		return _lowLevelDataPipe.getDataTransferEngine().trySubmit(_lowLevelDataPipe, getPartitionKey(), dataPackage);
+	}
+
+	/**
+	 * Verwirft die Daten, weil sie durch neuere Daten ersetzt wurden. Die verworfenen Datenstze werden in den Zhlern der {@link DataTransferEngine} erfasst.
+	 *
+	 * @param dataPackage Datenpaket
+	 */
+	protected final void discardData(final DataPackage dataPackage) {
+		_lowLevelDataPipe.getDataTransferEngine().discarded(_lowLevelDataPipe, getPartitionKey());
 	}
 
 	class DataPackage {
@@ -125,6 +117,8 @@ public abstract class DataTransferPolicy {
 
 		private final long _dataTime;
 
+		private final boolean _delayed;
+
 		private final long _creationTime;
 
 		/**
@@ -133,11 +127,13 @@ public abstract class DataTransferPolicy {
 		 * @param data      Datum
 		 * @param dataState Datenzustand
 		 * @param dataTime  Datenzeit
+		 * @param delayed   true, falls es sich um nachgelieferte Daten handelt
 		 */
-		public DataPackage(final KExDaVAttributeGroupData data, final DataState dataState, final long dataTime) {
+		public DataPackage(final KExDaVAttributeGroupData data, final DataState dataState, final long dataTime, final boolean delayed) {
 			_data = data;
 			_dataState = dataState;
 			_dataTime = dataTime;
+			_delayed = delayed;
 			_creationTime = System.currentTimeMillis();
 		}
 
@@ -168,6 +164,15 @@ public abstract class DataTransferPolicy {
 			return _dataTime;
 		}
 
+		/**
+		 * Gibt zurck, ob es sich um nachgelieferte Daten handelt
+		 *
+		 * @return true, falls es sich um nachgelieferte Daten handelt
+		 */
+		public boolean isDelayed() {
+			return _delayed;
+		}
+
 		/**
 		 * Gibt die Zeit der Ankunft des Datums bei KExDaV zurck
 		 *
@@ -196,25 +201,7 @@ public abstract class DataTransferPolicy {
 
 		@Override
 		public String toString() {
-			return "DataPackage{" + "_data=" + _data + ", _dataState=" + _dataState + ", _dataTime=" + _dataTime + ", _creationTime=" + _creationTime + '}';
-		}
-	}
-
-	private class DataAndPipe {
-		private final DataPackage _dataPackage;
-		private final LowLevelDataPipe _dataPipe;
-
-		private DataAndPipe(final DataPackage dataPackage, final LowLevelDataPipe dataPipe) {
-			_dataPackage = dataPackage;
-			_dataPipe = dataPipe;
-		}
-
-		private DataPackage getDataPackage() {
-			return _dataPackage;
-		}
-
-		private LowLevelDataPipe getDataPipe() {
-			return _dataPipe;
+			return "DataPackage{" + "_data=" + _data + ", _dataState=" + _dataState + ", _dataTime=" + _dataTime + ", _delayed=" + _delayed + ", _creationTime=" + _creationTime + '}';
 		}
 	}
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.kex.kexdav.
+ * 
+ * de.bsvrz.kex.kexdav is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.kex.kexdav is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.kex.kexdav; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.kex.kexdav.dataexchange;
+
+import de.bsvrz.dav.daf.main.DataState;
+import de.bsvrz.kex.kexdav.systemobjects.KExDaVAttributeGroupData;
+
+/**
+ * Erweitertes Receiver-Interface fr KExDaV-Objekte, das zustzlich mitgeteilt bekommt, ob es sich um nachgelieferte Daten handelt. Implementiert ein Empfnger
+ * dieses Interface, dann wird beim Eintreffen von Daten nur {@link #update(KExDaVAttributeGroupData, DataState, long, boolean)} aufgerufen, sonst {@link
+ * KExDaVReceiver#update(KExDaVAttributeGroupData, DataState, long)}.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public interface KExDaVDelayedDataReceiver extends KExDaVReceiver {
+
+	/**
+	 * Wird beim Eintreffen von Daten ausgefhrt
+	 * @param data Daten
+	 * @param dataState Zustand
+	 * @param dataTime Datenzeit
+	 * @param delayed true, falls es sich um nachgelieferte Daten handelt
+	 */
+	void update(KExDaVAttributeGroupData data, DataState dataState, long dataTime, boolean delayed);
+}
@@ -151,6 +151,16 @@ public abstract class LowLevelDataPipe {
 			_target.unsubscribeSender(_sender);
 			_hasSender = false;
 		}
+		getDataTransferEngine().remove(this);
+	}
+
+	/**
+	 * Gibt die Instanz zurck, die die Datenbertragungen dieses Datenkanals ausfhrt
+	 *
+	 * @return DataTransferEngine der KExDaV-Verwaltung
+	 */
+	DataTransferEngine getDataTransferEngine() {
+		return _manager.getDataTransferEngine();
 	}
 
 	/** Fhrt nur einen Datenaustausch durch */
@@ -216,12 +226,16 @@ public abstract class LowLevelDataPipe {
 		       + _simulationVariantTarget;
 	}
 
-	private class MyReceiver implements KExDaVReceiver {
+	private class MyReceiver implements KExDaVDelayedDataReceiver {
 
 		public void update(final KExDaVAttributeGroupData sourceData, final DataState dataState, final long dataTime) {
+			update(sourceData, dataState, dataTime, false);
+		}
+
+		public void update(final KExDaVAttributeGroupData sourceData, final DataState dataState, final long dataTime, final boolean delayed) {
 			if(!_hasReceiver) return;
 
-			_policy.handleData(sourceData, dataState, dataTime);
+			_policy.handleData(sourceData, dataState, dataTime, delayed);
 		}
 	}
 
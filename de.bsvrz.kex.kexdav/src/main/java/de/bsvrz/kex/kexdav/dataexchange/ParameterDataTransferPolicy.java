@@ -34,6 +34,10 @@ import java.util.concurrent.TimeUnit;
  * <p/>
  * Funktionsweise der Klasse: Es gibt 2 innere {@link DataTransferPolicy}-Klassen, die jeweils fr den Datenverkehr in eine Richtung zustndig sind. Falls Daten
  * eintreffen, wird ber einen ThreadPool der Task {@link #_task} gestartet, der sich um die eingetroffenen Daten kmmert.
+ * <p/>
+ * Beide Richtungen verwenden dieses Objekt als gemeinsamen Partitionsschlssel, damit sie in derselben Spur der {@link DataTransferEngine} bertragen werden.
+ * Nur so kommen die Datenstze beider Richtungen in der Reihenfolge beim Empfnger an, die der Task mit {@link Constants#ParameterExchangeReverseDelay}
+ * festlegt.
  *
  * @author Kappich Systemberatung
  * @version $Revision: 9274 $
@@ -184,6 +188,11 @@ public final class ParameterDataTransferPolicy {
 			setData(dataPackage);
 		}
 
+		@Override
+		protected Object getPartitionKey() {
+			return ParameterDataTransferPolicy.this;
+		}
+
 		public synchronized DataPackage retrieveData() {
 			final DataPackage data = _data;
 			_data = null;
@@ -39,7 +39,8 @@ import static de.bsvrz.kex.kexdav.main.Constants.Pids.*;
  */
 public class ParameterExchange {
 
-	private static final KExDaVDataPlugin _defaultPlugIn = new BasicKExDaVDataPlugin();
+	/** Standard-Plugin dieses Parameteraustauschs. Es wird nicht statisch gehalten, damit es mit dem Austausch (und damit mit der Remote-Verbindung) freigegeben wird. */
+	private final KExDaVDataPlugin _defaultPlugIn = new BasicKExDaVDataPlugin();
 
 	private LowLevelDataPipe _pipeLocalRemote = null;
 
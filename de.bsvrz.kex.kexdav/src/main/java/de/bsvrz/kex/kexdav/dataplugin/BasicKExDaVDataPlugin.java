@@ -40,11 +40,35 @@ import java.util.NoSuchElementException;
  */
 public class BasicKExDaVDataPlugin implements KExDaVDataPlugin {
 
+	/**
+	 * Ergebnis der Prfung, ob Quell- und Ziel-Attributgruppe identisch aufgebaut sind, je Attributgruppenpaar. Ein Plugin kann von mehreren Threads fr
+	 * beliebig viele Attributgruppen verwendet werden (z.B. beim Kopieren von Konfigurationsdaten), deshalb wird die Prfung je Paar nur einmal durchgefhrt.
+	 * Der Zwischenspeicher gilt nur fr die Datenmodelle, zwischen denen zuletzt kopiert wurde, und wird ersetzt, sobald Attributgruppen eines anderen
+	 * Datenmodells (z.B. nach einem Neuaufbau der Remote-Verbindung) kopiert werden. <code>null</code>, solange noch nichts kopiert wurde.
+	 */
+	private volatile PassThroughDataCopy.Cache _passThroughDataCopies = null;
+
+	/**
+	 * Kopiert die Daten. Wenn Quell- und Ziel-Attributgruppe identisch aufgebaut sind, dann wird der serialisierte Datensatz direkt bernommen und nur
+	 * Referenzwerte werden umgesetzt, ansonsten wird {@link #copyDataTree(KExDaVAttributeGroupData, KExDaVAttributeGroupData, ObjectManagerInterface,
+	 * ManagerInterface)} verwendet.
+	 */
 	public void process(
 			final KExDaVAttributeGroupData input,
 			final KExDaVAttributeGroupData output,
 			final ObjectManagerInterface objectManager,
 			final ManagerInterface manager) throws DataCopyException {
+		final AttributeGroup sourceAttributeGroup = input.getAttributeGroup();
+		final AttributeGroup targetAttributeGroup = output.getAttributeGroup();
+		final DataModel sourceDataModel = sourceAttributeGroup.getDataModel();
+		final DataModel targetDataModel = targetAttributeGroup.getDataModel();
+		PassThroughDataCopy.Cache passThroughDataCopies = _passThroughDataCopies;
+		if(passThroughDataCopies == null || !passThroughDataCopies.isFor(sourceDataModel, targetDataModel)) {
+			passThroughDataCopies = new PassThroughDataCopy.Cache(sourceDataModel, targetDataModel);
+			_passThroughDataCopies = passThroughDataCopies;
+		}
+		final PassThroughDataCopy passThroughDataCopy = passThroughDataCopies.get(sourceAttributeGroup, targetAttributeGroup);
+		if(passThroughDataCopy.copy(input, output, objectManager, manager)) return;
 		copyDataTree(input, output, objectManager, manager);
 	}
 
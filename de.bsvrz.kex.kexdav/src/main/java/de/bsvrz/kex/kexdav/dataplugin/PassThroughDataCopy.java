@@ -0,0 +1,369 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.kex.kexdav.
+ * 
+ * de.bsvrz.kex.kexdav is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.kex.kexdav is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.kex.kexdav; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.kex.kexdav.dataplugin;
+
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.AttributeDefinitionInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.AttributeInfo;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.info.version1.AttributeGroupInfo;
+import de.bsvrz.dav.daf.main.ClientDavInterface;
+import de.bsvrz.dav.daf.main.config.*;
+import de.bsvrz.kex.kexdav.correspondingObjects.ObjectManagerInterface;
+import de.bsvrz.kex.kexdav.dataexchange.DataCopyException;
+import de.bsvrz.kex.kexdav.management.ManagerInterface;
+import de.bsvrz.kex.kexdav.systemobjects.KExDaVAttributeGroupData;
+import de.bsvrz.kex.kexdav.systemobjects.ObjectSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kopiert Datenstze zwischen zwei Attributgruppen mit identischem Aufbau, indem der serialisierte Datensatz direkt bernommen wird. Lediglich die Werte von
+ * Referenzattributen werden auf die korrespondierenden Objekte im Zieldatenmodell umgesetzt. Ob die beiden Attributgruppen identisch aufgebaut sind, wird
+ * einmalig bei der Erzeugung eines Objekts dieser Klasse geprft.
+ * <p/>
+ * Das Ergebnis entspricht dem von {@link BasicKExDaVDataPlugin#copyDataTree(KExDaVAttributeGroupData, KExDaVAttributeGroupData, ObjectManagerInterface,
+ * ManagerInterface)}.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+final class PassThroughDataCopy {
+
+	/** <code>true</code>, wenn beide Attributgruppen identisch aufgebaut sind. */
+	private final boolean _layoutIdentical;
+
+	/** Wurzel der Attribute, die Referenzen enthalten, oder <code>null</code>, wenn keine Referenzen umgesetzt werden mssen. */
+	private final ReferenceNode _references;
+
+	/**
+	 * Erzeugt ein neues Objekt und prft, ob die beiden Attributgruppen identisch aufgebaut sind.
+	 *
+	 * @param sourceAttributeGroup Quell-Attributgruppe
+	 * @param targetAttributeGroup Ziel-Attributgruppe
+	 */
+	PassThroughDataCopy(final AttributeGroup sourceAttributeGroup, final AttributeGroup targetAttributeGroup) {
+		_layoutIdentical = isLayoutIdentical(sourceAttributeGroup, targetAttributeGroup);
+		if(_layoutIdentical) {
+			_references = compile(AttributeGroupInfo.forAttributeGroup(sourceAttributeGroup), AttributeGroupInfo.forAttributeGroup(targetAttributeGroup));
+		}
+		else {
+			_references = null;
+		}
+	}
+
+	/**
+	 * Kopiert einen Datensatz, falls beide Attributgruppen identisch aufgebaut sind und der Quelldatensatz in serialisierter Form vorliegt.
+	 *
+	 * @param source        Quelldatensatz
+	 * @param target        Zieldatensatz, dessen Inhalt ersetzt wird
+	 * @param objectManager Verwaltung korrespondierender Objekte oder null
+	 * @param manager       KExDaV-Verwaltung
+	 *
+	 * @return <code>true</code>, wenn der Datensatz kopiert wurde, <code>false</code>, wenn der Datensatz auf anderem Weg kopiert werden muss.
+	 *
+	 * @throws DataCopyException Wenn eine Referenz nicht in das Zieldatenmodell bernommen werden kann
+	 */
+	boolean copy(
+			final KExDaVAttributeGroupData source,
+			final KExDaVAttributeGroupData target,
+			final ObjectManagerInterface objectManager,
+			final ManagerInterface manager) throws DataCopyException {
+		if(!_layoutIdentical) return false;
+		final byte[] sourceBytes = source.getBytes();
+		if(sourceBytes == null) return false;
+		if(_references == null) {
+			// Serialisierte Datenstze werden nicht verndert und knnen deshalb gemeinsam benutzt werden
+			target.setBytes(sourceBytes);
+			return true;
+		}
+		final byte[] targetBytes = sourceBytes.clone();
+		final ReferenceMapping mapping = new ReferenceMapping(source.getConnection(), target.getConnection(), objectManager, manager);
+		mapAttribute(_references, targetBytes, 0, mapping);
+		target.setBytes(targetBytes);
+		return true;
+	}
+
+	private static void mapAttribute(final ReferenceNode node, final byte[] bytes, final int offset, final ReferenceMapping mapping)
+			throws DataCopyException {
+		if(node._sourceInfo.isArray()) {
+			final int length = node._sourceInfo.getElementCount(bytes, offset);
+			for(int i = 0; i < length; i++) {
+				mapValue(node, bytes, node._sourceInfo.getAbsoluteElementOffset(bytes, offset, i), mapping);
+			}
+		}
+		else {
+			mapValue(node, bytes, offset, mapping);
+		}
+	}
+
+	private static void mapValue(final ReferenceNode node, final byte[] bytes, final int offset, final ReferenceMapping mapping) throws DataCopyException {
+		if(node._items != null) {
+			for(ReferenceNode item : node._items) {
+				mapAttribute(item, bytes, item._sourceInfo.getAbsoluteOffset(bytes, offset), mapping);
+			}
+		}
+		else {
+			final SystemObject sourceObject = node._sourceInfo.getDefinitionInfo().getSystemObject(bytes, offset);
+			final long id = mapping.getTargetId(sourceObject, node._targetType);
+			for(int i = 7; i >= 0; i--) {
+				bytes[offset + 7 - i] = (byte)(id >>> (i * 8));
+			}
+		}
+	}
+
+	/**
+	 * Bestimmt die Attribute, die direkt oder in untergeordneten Attributlisten Referenzen enthalten.
+	 *
+	 * @param source Strukturinformation des Quellattributs
+	 * @param target Strukturinformation des Zielattributs
+	 *
+	 * @return Knoten fr das Attribut oder <code>null</code>, wenn das Attribut keine Referenzen enthlt.
+	 */
+	private static ReferenceNode compile(final AttributeInfo source, final AttributeInfo target) {
+		final AttributeDefinitionInfo sourceDefinition = source.getDefinitionInfo();
+		final AttributeDefinitionInfo targetDefinition = target.getDefinitionInfo();
+		if(sourceDefinition.isList()) {
+			final List<ReferenceNode> items = new ArrayList<ReferenceNode>();
+			for(int i = 0; i < sourceDefinition.getItemCount(); i++) {
+				final ReferenceNode item = compile(sourceDefinition.getItem(i), targetDefinition.getItem(i));
+				if(item != null) items.add(item);
+			}
+			if(items.isEmpty()) return null;
+			return new ReferenceNode(source, items.toArray(new ReferenceNode[items.size()]), null);
+		}
+		if(sourceDefinition.isReferenceAttribute()) {
+			return new ReferenceNode(source, null, (ReferenceAttributeType)targetDefinition.getAttributeType());
+		}
+		return null;
+	}
+
+	/**
+	 * Prft, ob zwei Attributlisten bzw. Attributgruppen so aufgebaut sind, dass ihre serialisierten Datenstze bis auf Referenzwerte identisch sind.
+	 *
+	 * @param source Quell-Attributliste
+	 * @param target Ziel-Attributliste
+	 *
+	 * @return <code>true</code>, wenn die Attributlisten identisch aufgebaut sind.
+	 */
+	static boolean isLayoutIdentical(final AttributeSet source, final AttributeSet target) {
+		final List<Attribute> sourceAttributes = source.getAttributes();
+		final List<Attribute> targetAttributes = target.getAttributes();
+		if(sourceAttributes.size() != targetAttributes.size()) return false;
+		for(int i = 0; i < sourceAttributes.size(); i++) {
+			final Attribute sourceAttribute = sourceAttributes.get(i);
+			final Attribute targetAttribute = targetAttributes.get(i);
+			if(!sourceAttribute.getName().equals(targetAttribute.getName())) return false;
+			if(sourceAttribute.isArray() != targetAttribute.isArray()) return false;
+			if(sourceAttribute.isArray()) {
+				if(sourceAttribute.isCountVariable() != targetAttribute.isCountVariable()) return false;
+				if(sourceAttribute.isCountLimited() != targetAttribute.isCountLimited()) return false;
+				if(sourceAttribute.getMaxCount() != targetAttribute.getMaxCount()) return false;
+			}
+			if(!isLayoutIdentical(sourceAttribute.getAttributeType(), targetAttribute.getAttributeType())) return false;
+		}
+		return true;
+	}
+
+	private static boolean isLayoutIdentical(final AttributeType source, final AttributeType target) {
+		if(source instanceof AttributeListDefinition && target instanceof AttributeListDefinition) {
+			return isLayoutIdentical((AttributeSet)source, (AttributeSet)target);
+		}
+		else if(source instanceof IntegerAttributeType && target instanceof IntegerAttributeType) {
+			return ((IntegerAttributeType)source).getByteCount() == ((IntegerAttributeType)target).getByteCount();
+		}
+		else if(source instanceof DoubleAttributeType && target instanceof DoubleAttributeType) {
+			return ((DoubleAttributeType)source).getAccuracy() == ((DoubleAttributeType)target).getAccuracy();
+		}
+		else if(source instanceof TimeAttributeType && target instanceof TimeAttributeType) {
+			final TimeAttributeType sourceTime = (TimeAttributeType)source;
+			final TimeAttributeType targetTime = (TimeAttributeType)target;
+			return sourceTime.isRelative() == targetTime.isRelative() && sourceTime.getAccuracy() == targetTime.getAccuracy();
+		}
+		else if(source instanceof StringAttributeType && target instanceof StringAttributeType) {
+			final StringAttributeType sourceString = (StringAttributeType)source;
+			final StringAttributeType targetString = (StringAttributeType)target;
+			return sourceString.isLengthLimited() == targetString.isLengthLimited() && sourceString.getMaxLength() == targetString.getMaxLength()
+			       && sourceString.getEncodingValue() == targetString.getEncodingValue();
+		}
+		else if(source instanceof ReferenceAttributeType && target instanceof ReferenceAttributeType) {
+			// Referenzen werden beim Kopieren umgesetzt
+			return true;
+		}
+		return false;
+	}
+
+	/** Knoten eines Attributs, das direkt oder in untergeordneten Attributlisten Referenzen enthlt. */
+	private static final class ReferenceNode {
+
+		private final AttributeInfo _sourceInfo;
+
+		/** Untergeordnete Attribute mit Referenzen oder <code>null</code>, wenn das Attribut selbst ein Referenzattribut ist. */
+		private final ReferenceNode[] _items;
+
+		/** Attributtyp des Zielattributs, wenn das Attribut ein Referenzattribut ist. */
+		private final ReferenceAttributeType _targetType;
+
+		private ReferenceNode(final AttributeInfo sourceInfo, final ReferenceNode[] items, final ReferenceAttributeType targetType) {
+			_sourceInfo = sourceInfo;
+			_items = items;
+			_targetType = targetType;
+		}
+	}
+
+	/** Setzt Objekte des Quelldatenmodells genauso wie {@link BasicKExDaVDataPlugin} auf die korrespondierenden Objekte des Zieldatenmodells um. */
+	private static final class ReferenceMapping {
+
+		private final ClientDavInterface _sourceConnection;
+
+		private final ClientDavInterface _targetConnection;
+
+		private final DataModel _targetDataModel;
+
+		private final ObjectManagerInterface _objectManager;
+
+		private final ManagerInterface _manager;
+
+		private ReferenceMapping(
+				final ClientDavInterface sourceConnection,
+				final ClientDavInterface targetConnection,
+				final ObjectManagerInterface objectManager,
+				final ManagerInterface manager) {
+			_sourceConnection = sourceConnection;
+			_targetConnection = targetConnection;
+			_targetDataModel = targetConnection.getDataModel();
+			_objectManager = objectManager;
+			_manager = manager;
+		}
+
+		private long getTargetId(final SystemObject sourceObject, final ReferenceAttributeType targetType) throws DataCopyException {
+			if(sourceObject == null) return 0;
+			final ObjectSpecification objectSpecification = ObjectSpecification.create(sourceObject, _manager);
+			if(_objectManager != null && sourceObject instanceof DynamicObject) {
+				// Falls die Objektreferenz auf ein dynamisches Objekt zeigt, das dynamische Objekt rberkopieren
+				_objectManager.copyObjectIfNecessary(objectSpecification, _sourceConnection, _targetConnection);
+			}
+			final SystemObject targetObject = objectSpecification.getObject(_targetDataModel);
+			if(targetObject == null) return 0;
+			final SystemObjectType referencedObjectType = targetType.getReferencedObjectType();
+			if(referencedObjectType == null || targetObject.isOfType(referencedObjectType)) return targetObject.getId();
+			// TAnf 4.1.3.2.2
+			// Falls das Objekt im Zielsystem nicht referenziert werden darf, prfen, ob der Undefiniert-Wert erlaubt ist.
+			if(targetType.isUndefinedAllowed()) return 0;
+			throw new DataCopyException(
+					"Objekt " + targetObject + " kann nicht referenziert werden, da der Attributtyp " + targetType.getPidOrNameOrId() + " nur Objekte vom Typ "
+					+ referencedObjectType.getPidOrNameOrId() + " erlaubt"
+			);
+		}
+	}
+
+	/**
+	 * Zwischenspeicher fr die Prfung, ob Quell- und Ziel-Attributgruppe identisch aufgebaut sind. Ein Zwischenspeicher gilt nur fr die beiden Datenmodelle,
+	 * fr die er erzeugt wurde (in beliebiger Kopierrichtung), damit die Attributgruppen und damit die Datenmodelle beendeter Datenverteilerverbindungen nicht
+	 * weiter referenziert werden.
+	 */
+	static final class Cache {
+
+		private final DataModel _dataModel1;
+
+		private final DataModel _dataModel2;
+
+		private final ConcurrentHashMap<Key, PassThroughDataCopy> _passThroughDataCopies = new ConcurrentHashMap<Key, PassThroughDataCopy>();
+
+		/**
+		 * Erzeugt einen leeren Zwischenspeicher
+		 *
+		 * @param dataModel1 Datenmodell der einen Seite
+		 * @param dataModel2 Datenmodell der anderen Seite
+		 */
+		Cache(final DataModel dataModel1, final DataModel dataModel2) {
+			_dataModel1 = dataModel1;
+			_dataModel2 = dataModel2;
+		}
+
+		/**
+		 * Prft, ob dieser Zwischenspeicher fr die angegebenen Datenmodelle gilt.
+		 *
+		 * @param sourceDataModel Quell-Datenmodell
+		 * @param targetDataModel Ziel-Datenmodell
+		 *
+		 * @return <code>true</code>, wenn der Zwischenspeicher fr die beiden Datenmodelle erzeugt wurde.
+		 */
+		boolean isFor(final DataModel sourceDataModel, final DataModel targetDataModel) {
+			return (sourceDataModel == _dataModel1 && targetDataModel == _dataModel2) || (sourceDataModel == _dataModel2 && targetDataModel == _dataModel1);
+		}
+
+		/**
+		 * Gibt das Objekt zum Kopieren zwischen den beiden Attributgruppen zurck und erzeugt es beim ersten Aufruf.
+		 *
+		 * @param sourceAttributeGroup Quell-Attributgruppe
+		 * @param targetAttributeGroup Ziel-Attributgruppe
+		 *
+		 * @return Objekt zum Kopieren
+		 */
+		PassThroughDataCopy get(final AttributeGroup sourceAttributeGroup, final AttributeGroup targetAttributeGroup) {
+			final Key key = new Key(sourceAttributeGroup, targetAttributeGroup);
+			PassThroughDataCopy passThroughDataCopy = _passThroughDataCopies.get(key);
+			if(passThroughDataCopy == null) {
+				passThroughDataCopy = new PassThroughDataCopy(sourceAttributeGroup, targetAttributeGroup);
+				final PassThroughDataCopy previous = _passThroughDataCopies.putIfAbsent(key, passThroughDataCopy);
+				if(previous != null) passThroughDataCopy = previous;
+			}
+			return passThroughDataCopy;
+		}
+	}
+
+	/**
+	 * Schlssel aus Quell- und Ziel-Attributgruppe. Die Attributgruppen werden ber ihre Identitt verglichen, weil gleichnamige Attributgruppen
+	 * verschiedener Datenverteiler unterschiedlich aufgebaut sein knnen.
+	 */
+	private static final class Key {
+
+		private final AttributeGroup _sourceAttributeGroup;
+
+		private final AttributeGroup _targetAttributeGroup;
+
+		/**
+		 * Erzeugt einen neuen Schlssel
+		 *
+		 * @param sourceAttributeGroup Quell-Attributgruppe
+		 * @param targetAttributeGroup Ziel-Attributgruppe
+		 */
+		private Key(final AttributeGroup sourceAttributeGroup, final AttributeGroup targetAttributeGroup) {
+			_sourceAttributeGroup = sourceAttributeGroup;
+			_targetAttributeGroup = targetAttributeGroup;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if(this == o) return true;
+			if(o == null || getClass() != o.getClass()) return false;
+
+			final Key other = (Key)o;
+			return _sourceAttributeGroup == other._sourceAttributeGroup && _targetAttributeGroup == other._targetAttributeGroup;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(_sourceAttributeGroup) + System.identityHashCode(_targetAttributeGroup);
+		}
+	}
+}
@@ -46,6 +46,26 @@ public class Constants {
 	 */
 	public static final int WarnSendQueueInterval = 60000;
 
+	/**
+	 * Standardanzahl der Spuren (Threads), auf die die Datenbertragungen verteilt werden
+	 */
+	public static final int DataTransferLanes = 4;
+
+	/**
+	 * Maximale Anzahl an Datenstzen, die je Spur auf das Versenden warten knnen, bevor der Empfang angehalten wird
+	 */
+	public static final int DataTransferLaneCapacity = 50000;
+
+	/**
+	 * Zeit in ms zwischen zwei Verffentlichungen der Zhler des Datenaustauschs
+	 */
+	public static final int DataTransferStatisticsInterval = 60000;
+
+	/**
+	 * Standard-Zeitfenster in ms, innerhalb dessen Aktualisierungen eines Datenkanals zusammengefasst werden (0: keine Zusammenfassung)
+	 */
+	public static final int DataTransferCoalescingWindow = 0;
+
 	/** Pids */
 	public static class Pids {
 
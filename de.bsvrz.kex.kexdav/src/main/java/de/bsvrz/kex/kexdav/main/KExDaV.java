@@ -58,7 +58,7 @@ public class KExDaV {
 
 	private final Map<ConnectionParameter, RemoteDaVConnection> _connectionMap = new HashMap<ConnectionParameter, RemoteDaVConnection>();
 
-	private final KExDaVManager _manager = new KExDaVManager(this);
+	private final KExDaVManager _manager;
 
 	private final Map<AttributeGroupPair, KExDaVDataPlugin> _plugins;
 
@@ -77,11 +77,31 @@ public class KExDaV {
 			final SystemObject kexDavObject,
 			final File authenticationFile,
 			final Map<AttributeGroupPair, KExDaVDataPlugin> plugins) {
+		this(connection, kexDavObject, authenticationFile, plugins, Constants.DataTransferLanes);
+	}
+
+	/**
+	 * Konstruktor fr das Haupt-KExDaV-Objekt
+	 *
+	 * @param connection         Lokale Verbindung
+	 * @param kexDavObject       KExDaV-Objekt
+	 * @param authenticationFile Datei mit Passwrtern
+	 * @param plugins            Plugins zum Datenaustausch
+	 * @param dataTransferLanes  Anzahl der Spuren (Threads), auf die die Datenbertragungen verteilt werden
+	 */
+	public KExDaV(
+			final ClientDavInterface connection,
+			final SystemObject kexDavObject,
+			final File authenticationFile,
+			final Map<AttributeGroupPair, KExDaVDataPlugin> plugins,
+			final int dataTransferLanes) {
 		if(connection == null) throw new IllegalArgumentException("connection ist null");
 		if(kexDavObject == null) throw new IllegalArgumentException("kexDavObject ist null");
 		if(authenticationFile == null) throw new IllegalArgumentException("authenticationFile ist null");
 		if(plugins == null) throw new IllegalArgumentException("plugins ist null");
 
+		_manager = new KExDaVManager(this, dataTransferLanes);
+
 		createExceptionHandler();
 
 		_plugins = plugins;
@@ -208,6 +228,17 @@ public class KExDaV {
 		return "KExDaV{" + "_kexDavObject=" + _kexDavObject + '}';
 	}
 
+	/**
+	 * Setzt das Zeitfenster, innerhalb dessen hochfrequente Aktualisierungen eines Online-Datenaustauschs zusammengefasst werden. Je Zeitfenster wird dann nur
+	 * der neueste Datensatz bertragen, nachgelieferte Daten und Zustandsnderungen werden immer bertragen. Muss vor {@link #start()} aufgerufen werden
+	 * (Standardmig deaktiviert).
+	 *
+	 * @param coalescingWindow Zeitfenster in Millisekunden, 0 um die Zusammenfassung zu deaktivieren
+	 */
+	public void setCoalescingWindow(final long coalescingWindow) {
+		_manager.getDataTransferEngine().setCoalescingWindow(coalescingWindow);
+	}
+
 	/**
 	 * Setzt, ob KExDav bei einem schweren Fehler beendet werden soll (Standardmig aktiviert)
 	 *
@@ -46,6 +46,10 @@ public class KExDaVLocalApplication implements StandardApplication {
 
 	private File _authenticationFile = null;
 
+	private int _dataTransferLanes = Constants.DataTransferLanes;
+
+	private int _coalescingWindow = Constants.DataTransferCoalescingWindow;
+
 	private final Map<AttributeGroupPair, KExDaVDataPlugin> _plugins = new HashMap<AttributeGroupPair, KExDaVDataPlugin>();
 
 	private static final Debug _debug = Debug.getLogger();
@@ -73,6 +77,8 @@ public class KExDaVLocalApplication implements StandardApplication {
 			if(argumentList.hasArgument("-plugin")) {
 				createPluginMap(argumentList.fetchArgument("-plugin").asString());
 			}
+			_dataTransferLanes = argumentList.fetchArgument("-datentransferThreads=" + Constants.DataTransferLanes).intValueBetween(1, 256);
+			_coalescingWindow = argumentList.fetchArgument("-zusammenfassungsIntervall=" + Constants.DataTransferCoalescingWindow).intValueBetween(0, 3600000);
 			if(argumentList.hasUnusedArguments()) {
 				printUsageAndExit();
 			}
@@ -107,6 +113,13 @@ public class KExDaVLocalApplication implements StandardApplication {
 		System.out.println("                                Anzugeben sind Klassen, die das Interface");
 		System.out.println("                                de.bsvrz.kex.kexdav.dataplugin.ExternalKExDaVDataPlugin");
 		System.out.println("                                implementieren.");
+		System.out.println("  -datentransferThreads=[Anzahl]");
+		System.out.println("                              Anzahl der Threads, auf die die Datenbertragungen verteilt werden");
+		System.out.println("                                (Standard: " + Constants.DataTransferLanes + ")");
+		System.out.println("  -zusammenfassungsIntervall=[Millisekunden]");
+		System.out.println("                              Zeitfenster, in dem hufige Aktualisierungen eines Datensatzes zusammengefasst werden.");
+		System.out.println("                                Je Zeitfenster wird nur der neueste Datensatz bertragen, nachgelieferte Daten und");
+		System.out.println("                                Zustandsnderungen werden immer bertragen. (Standard: " + Constants.DataTransferCoalescingWindow + ", keine Zusammenfassung)");
 		_exit = true;
 	}
 
@@ -163,7 +176,9 @@ public class KExDaVLocalApplication implements StandardApplication {
 		if(!kexDavObject.isOfType(Constants.Pids.TypeKExDaV)) {
 			throw new IllegalArgumentException("Objekt ist nicht vom Typ " + Constants.Pids.TypeKExDaV + ": " + kexDavObject);
 		}
-		new KExDaV(connection, kexDavObject, _authenticationFile, _plugins).start();
+		final KExDaV kExDaV = new KExDaV(connection, kexDavObject, _authenticationFile, _plugins, _dataTransferLanes);
+		kExDaV.setCoalescingWindow(_coalescingWindow);
+		kExDaV.start();
 	}
 
 	/**
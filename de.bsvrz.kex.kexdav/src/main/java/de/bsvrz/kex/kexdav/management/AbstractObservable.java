@@ -20,7 +20,10 @@
 
 package de.bsvrz.kex.kexdav.management;
 
+import de.bsvrz.kex.kexdav.dataexchange.DataExchangeStatistics;
+
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
@@ -43,6 +46,16 @@ public abstract class AbstractObservable implements Observable {
 		}
 	}
 
+	/**
+	 * Verffentlicht die Zhler des Datenaustauschs
+	 * @param statistics Zhler je Datenkanal
+	 */
+	public void addStatistics(final List<DataExchangeStatistics> statistics) {
+		for(final KExDaVObserver observer : _observers) {
+			observer.onNewStatistics(this, statistics);
+		}
+	}
+
 	public void addObserver(final KExDaVObserver observer) {
 		_observers.add(observer);
 	}
@@ -20,8 +20,11 @@
 
 package de.bsvrz.kex.kexdav.management;
 
+import de.bsvrz.kex.kexdav.dataexchange.DataExchangeStatistics;
 import de.bsvrz.sys.funclib.debug.Debug;
 
+import java.util.List;
+
 /**
  * Diese Klasse gibt Warnungen als Debug auf der Konsole und in Logfiles aus.
  *
@@ -69,4 +72,11 @@ public class DebugObserver extends KExDaVObserver {
 				}
 		}
 	}
+
+	@Override
+	protected void onNewStatistics(final Observable source, final List<DataExchangeStatistics> statistics) {
+		for(final DataExchangeStatistics exchangeStatistics : statistics) {
+			_debug.fine(exchangeStatistics.toString());
+		}
+	}
 }
@@ -21,8 +21,13 @@
 package de.bsvrz.kex.kexdav.management;
 
 import de.bsvrz.dav.daf.main.config.SystemObject;
+import de.bsvrz.kex.kexdav.dataexchange.DataTransferEngine;
+import de.bsvrz.kex.kexdav.main.Constants;
 import de.bsvrz.kex.kexdav.main.KExDaV;
 
+import java.util.Timer;
+import java.util.TimerTask;
+
 /**
  * KExDaV-Verwaltung von Nachrichten. Vorgesehen sind auch die Abfrage von Statistiken usw.
  *
@@ -33,18 +38,43 @@ public class KExDaVManager extends AbstractObservable implements ManagerInterfac
 
 	private final KExDaV _kExDaV;
 
+	private final DataTransferEngine _dataTransferEngine;
+
 	/**
 	 * Konstruktor
 	 * @param kExDaV Hauptklasse KExDaV
 	 */
 	public KExDaVManager(final KExDaV kExDaV) {
+		this(kExDaV, Constants.DataTransferLanes);
+	}
+
+	/**
+	 * Konstruktor
+	 * @param kExDaV Hauptklasse KExDaV
+	 * @param dataTransferLanes Anzahl der Spuren (Threads), auf die die Datenbertragungen verteilt werden
+	 */
+	public KExDaVManager(final KExDaV kExDaV, final int dataTransferLanes) {
 		_kExDaV = kExDaV;
+		_dataTransferEngine = new DataTransferEngine(dataTransferLanes, Constants.DataTransferLaneCapacity);
+		final Timer timer = new Timer("KExDaV-Statistik", true);
+		timer.schedule(
+				new TimerTask() {
+					@Override
+					public void run() {
+						addStatistics(_dataTransferEngine.getStatistics());
+					}
+				}, Constants.DataTransferStatisticsInterval, Constants.DataTransferStatisticsInterval
+		);
 	}
 
 	public SystemObject getKExDaVObject() {
 		return _kExDaV.getKExDaVObject();
 	}
 
+	public DataTransferEngine getDataTransferEngine() {
+		return _dataTransferEngine;
+	}
+
 	@Override
 	public String toString() {
 		return "KExDaVManager{" + "_kExDaV=" + _kExDaV + '}';
@@ -20,6 +20,10 @@
 
 package de.bsvrz.kex.kexdav.management;
 
+import de.bsvrz.kex.kexdav.dataexchange.DataExchangeStatistics;
+
+import java.util.List;
+
 /**
  * Abstrakte Klasse, die Beobachter des KExDaV-Systems erweitern mssen
  *
@@ -37,4 +41,13 @@ public abstract class KExDaVObserver {
 
 	}
 
+	/**
+	 * Informiert in regelmigen Abstnden ber die Zhler des Datenaustauschs
+	 * @param source Quelle der Zhler
+	 * @param statistics Zhler je Datenkanal
+	 */
+	protected void onNewStatistics(final Observable source, final List<DataExchangeStatistics> statistics){
+
+	}
+
 }
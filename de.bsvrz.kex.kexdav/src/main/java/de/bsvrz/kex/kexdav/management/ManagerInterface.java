@@ -21,6 +21,7 @@
 package de.bsvrz.kex.kexdav.management;
 
 import de.bsvrz.dav.daf.main.config.SystemObject;
+import de.bsvrz.kex.kexdav.dataexchange.DataTransferEngine;
 
 /**
  * @author Kappich Systemberatung
@@ -41,4 +42,11 @@ public interface ManagerInterface {
 	 * @return KExDaV-Objekt oder null.
 	 */
 	SystemObject getKExDaVObject();
+
+	/**
+	 * Gibt die Instanz zurck, die die Datenbertragungen der Datenkanle ausfhrt
+	 *
+	 * @return DataTransferEngine
+	 */
+	DataTransferEngine getDataTransferEngine();
 }
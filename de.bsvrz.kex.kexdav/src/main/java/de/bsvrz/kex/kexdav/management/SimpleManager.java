@@ -21,6 +21,7 @@
 package de.bsvrz.kex.kexdav.management;
 
 import de.bsvrz.dav.daf.main.config.SystemObject;
+import de.bsvrz.kex.kexdav.dataexchange.DataTransferEngine;
 
 /**
  * Einfache Implementierung des {@link ManagerInterface}s, mit der nur einfache Debug-Meldungen ausgegeben werden
@@ -52,4 +53,8 @@ public class SimpleManager extends AbstractObservable implements ManagerInterfac
 	public void setKExDaVObject(final SystemObject kExDaVObject) {
 		_kExDaVObject = kExDaVObject;
 	}
+
+	public DataTransferEngine getDataTransferEngine() {
+		return DataTransferEngine.getDefault();
+	}
 }
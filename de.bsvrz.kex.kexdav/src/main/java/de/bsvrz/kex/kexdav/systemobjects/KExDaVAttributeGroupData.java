@@ -22,6 +22,8 @@ package de.bsvrz.kex.kexdav.systemobjects;
 
 import de.bsvrz.dav.daf.communication.dataRepresentation.AbstractData;
 import de.bsvrz.dav.daf.communication.dataRepresentation.AttributeBaseValueDataFactory;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.DataFactory;
+import de.bsvrz.dav.daf.communication.dataRepresentation.data.byteArray.ByteArrayData;
 import de.bsvrz.dav.daf.main.*;
 import de.bsvrz.dav.daf.main.config.*;
 import de.bsvrz.dav.daf.main.impl.config.DafDataModel;
@@ -39,7 +41,7 @@ import java.util.Iterator;
  */
 public class KExDaVAttributeGroupData extends AbstractData.ListData{
 
-	private final Data _data;
+	private Data _data;
 
 	private final DataModel _dataModel;
 
@@ -105,6 +107,27 @@ public class KExDaVAttributeGroupData extends AbstractData.ListData{
 		return _data;
 	}
 
+	/**
+	 * Gibt den serialisierten Datensatz zurck, falls das gekapselte Data-Objekt ein vom Datenverteiler empfangener Datensatz ist. Die Referenzwerte im
+	 * serialisierten Datensatz beziehen sich auf das Datenmodell dieses Objekts. Das zurckgegebene Array darf nicht verndert werden.
+	 * @return Serialisierter Datensatz oder <code>null</code>, falls das Data-Objekt nicht in serialisierter Form vorliegt
+	 */
+	public byte[] getBytes() {
+		if(_data instanceof ByteArrayData && ((ByteArrayData)_data).getOffset() == 0) {
+			return ((ByteArrayData)_data).getBytes();
+		}
+		return null;
+	}
+
+	/**
+	 * Ersetzt den Inhalt dieses Objekts durch einen serialisierten Datensatz der Attributgruppe dieses Objekts. Referenzwerte mssen sich bereits auf Objekte
+	 * im Datenmodell dieses Objekts beziehen. Das Data-Objekt ist anschlieend nicht mehr vernderbar.
+	 * @param bytes Serialisierter Datensatz, der danach nicht mehr verndert werden darf
+	 */
+	public void setBytes(final byte[] bytes) {
+		_data = DataFactory.forVersion(1).createUnmodifiableData(_attributeGroup, bytes);
+	}
+
 	/**
 	 * Gibt die Datenverteiler-Verbindung zurck, zu der das Data-Objekt gehrt
 	 * @return Datenverteiler-Verbindung
@@ -22,6 +22,7 @@ package de.bsvrz.kex.kexdav.systemobjects;
 
 import de.bsvrz.dav.daf.main.*;
 import de.bsvrz.dav.daf.main.config.*;
+import de.bsvrz.kex.kexdav.dataexchange.KExDaVDelayedDataReceiver;
 import de.bsvrz.kex.kexdav.dataexchange.KExDaVReceiver;
 import de.bsvrz.kex.kexdav.dataexchange.KExDaVSender;
 import de.bsvrz.kex.kexdav.main.Constants;
@@ -716,9 +717,13 @@ public class KExDaVObject {
 
 		public void update(final ResultData[] results) {
 			for(final ResultData result : results) {
-				_kExDaVReceiver.update(
-						result.getData() == null ? null : new KExDaVAttributeGroupData(result.getData(), _manager), result.getDataState(), result.getDataTime()
-				);
+				final KExDaVAttributeGroupData data = result.getData() == null ? null : new KExDaVAttributeGroupData(result.getData(), _manager);
+				if(_kExDaVReceiver instanceof KExDaVDelayedDataReceiver) {
+					((KExDaVDelayedDataReceiver)_kExDaVReceiver).update(data, result.getDataState(), result.getDataTime(), result.isDelayedData());
+				}
+				else {
+					_kExDaVReceiver.update(data, result.getDataState(), result.getDataTime());
+				}
 			}
 		}
 
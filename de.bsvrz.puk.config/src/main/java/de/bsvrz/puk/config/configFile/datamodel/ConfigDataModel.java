@@ -165,27 +165,23 @@ public class ConfigDataModel implements DataModel, ConfigurationControl {
 			// des Konstruktors zur Verfgung steht.
 			final Map<String, Short> areasAndVersionsMap = new LinkedHashMap<String, Short>();
 
+			// Die Dateien der Bereiche werden parallel geladen, die Objekte aber in der Reihenfolge der Verwaltungsdaten eingetragen
+			try {
+				_configurationFileManager.addAreaFiles(managementInfos);
+			}
+			catch(IllegalStateException ex) {
+				_debug.error(ex.getMessage(), ex.getCause());
+				throw ex;
+			}
+			manualGc();
+
 			for(ConfigurationAreaManagementInfo managementInfo : managementInfos) {
 
 				if(managementInfo.isNewVersionActivated()) {
 					// falls eine neue Version aktiviert wurde - diesen Konfigurationsbereich merken
 					configurationAreaWithNewActivatedVersion.add(managementInfo.getPid());
 				}
-				try {
-					final String areaPid = managementInfo.getPid();
-					final short activeVersion = managementInfo.getActiveVersion().getVersion();
-					_configurationFileManager.addAreaFile(
-							areaPid, managementInfo.getDirectory(), activeVersion, managementInfo.getVersions()
-					);
-					areasAndVersionsMap.put(areaPid, activeVersion);
-				}
-				catch(Exception ex) {
-					final String errorMessage =
-							"Der Konfigurationsbereich mit der Pid " + managementInfo.getPid() + " konnte der Konfiguration nicht hinzugefgt werden.";
-					_debug.error(errorMessage, ex);
-					throw new IllegalStateException(errorMessage, ex);
-				}
-				manualGc();
+				areasAndVersionsMap.put(managementInfo.getPid(), managementInfo.getActiveVersion().getVersion());
 			}// for, ber alle Bereiche der Datei
 
 			// alle Konfigurationsbereiche, die eine neue Version erhalten haben, werden, wenn zulssig, reorganisiert.
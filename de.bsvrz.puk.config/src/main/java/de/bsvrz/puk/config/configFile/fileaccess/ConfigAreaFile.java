@@ -38,6 +38,8 @@ import java.io.*;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterOutputStream;
 
@@ -160,27 +162,18 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 	 */
 	private final Set<SystemObjectInformationInterface> _modifiedObjects = new HashSet<SystemObjectInformationInterface>();
 
-	/**
-	 * Speichert alle (dynamisch und Konf.) aktuellen Objekte, als Schlssel dient die Id.
-	 * <p/>
-	 * WARNUNG: Beim Zugriff mit .get() muss der Key auf long gecastet werden (.get((long) XXX)) !!!
-	 */
-	private final Map<Long, SystemObjectInformationInterface> _actualObjects = new HashMap<Long, SystemObjectInformationInterface>();
+	/** Speichert alle (dynamisch und Konf.) aktuellen Objekte, als Schlssel dient die Id. */
+	private final LongObjectMap<SystemObjectInformationInterface> _actualObjects = new LongObjectMap<SystemObjectInformationInterface>();
 
-	/**
-	 * Speichert alle Objekte, die in Zukunft aktuell werden, als Schlssel dient die Id.
-	 * <p/>
-	 * WARNUNG: Beim Zugriff mit .get() muss der Key auf long gecastet werden (.get((long) XXX)) !!!
-	 */
-	private final Map<Long, SystemObjectInformationInterface> _newObjects = new HashMap<Long, SystemObjectInformationInterface>();
+	/** Speichert alle Objekte, die in Zukunft aktuell werden, als Schlssel dient die Id. */
+	private final LongObjectMap<SystemObjectInformationInterface> _newObjects = new LongObjectMap<SystemObjectInformationInterface>();
 
 	/**
 	 * Speichert alle ungltig markierte Objekte, die sich in der Mischmenge befinden. Schlssel = Id, Value = Objekte mit dem das ungltige Objekt angefordert
-	 * werden kann.
-	 * <p/>
-	 * WARNUNG: Beim Zugriff mit .get() muss der Key auf long gecastet werden (.get((long) XXX)) !!!
+	 * werden kann. Die Dateipositionen werden als {@link FilePointer} gespeichert, da diese Objekte bei einer Reorganisation auch an anderen Stellen angepasst
+	 * werden.
 	 */
-	private final Map<Long, ObjectReference> _oldObjectsId = new HashMap<Long, ObjectReference>();
+	private final LongObjectMap<ObjectReference> _oldObjectsId = new LongObjectMap<ObjectReference>();
 
 	/**
 	 * Speichert zu einer Pid (Key = HashCode Integer), alle Dateipositionen der alten Objekte, die sich in der Mischmenge befinden. Bei einer Reorganisation
@@ -204,6 +197,27 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 	 */
 	private final Object _restructureLock = new Object();
 
+	/**
+	 * Wenn die System-Property <code>config.mapped.read</code> gesetzt ist, werden die nGa-Bereiche, der dyn. nGa-Bereich und die Indizes zum Lesen in den
+	 * Speicher eingeblendet (siehe {@link MappedAreaFileRegion}). Objekte aus diesen Bereichen werden dann ohne Sperre auf die Datei geladen.
+	 */
+	private static final boolean USE_MAPPED_READ = System.getProperty("config.mapped.read") != null;
+
+	/**
+	 * Eingeblendeter Teil der Datei oder <code>null</code>, falls er noch nicht eingeblendet wurde oder durch eine Reorganisation ungltig geworden ist.
+	 * Zugriffe erfolgen unter der Lesesperre von {@link #_mappedRegionLock}.
+	 */
+	private volatile MappedAreaFileRegion _mappedRegion = null;
+
+	/** Wird <code>true</code>, wenn das Einblenden fehlgeschlagen ist. Es wird dann bis zur nchsten Reorganisation nur der bisherige Lesezugriff benutzt. */
+	private boolean _mappedRegionFailed = false;
+
+	/**
+	 * Lesende Zugriffe auf {@link #_mappedRegion} fordern die Lesesperre an. Die Schreibsperre wird beim Austausch der Dateien am Ende einer Reorganisation
+	 * angefordert, damit kein Leser mehr auf den alten Dateiinhalt und die alten Headerpositionen zugreift.
+	 */
+	private final ReadWriteLock _mappedRegionLock = new ReentrantReadWriteLock();
+
 	/**
 	 * Stellt das Objekt dar, das den Konfigurationsbereich reprsentiert. Das Objekt wird entweder beim laden der Mischmenge ber die Pid des
 	 * Konfigurationsbereichs gefunden oder es wird ein neuer Bereich angelegt. Dann wird das Objekt erst mit {@link #createConfigurationObject} erzeugt, auch in
@@ -658,6 +672,13 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 			flush();
 		}
 		finally {
+			_mappedRegionLock.writeLock().lock();
+			try {
+				releaseMappedRegion();
+			}
+			finally {
+				_mappedRegionLock.writeLock().unlock();
+			}
 			// Datei wieder freigeben
 			_areaFileLock.unlock();
 		}
@@ -2088,6 +2109,19 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 	 * @throws de.bsvrz.sys.funclib.dataSerializer.NoSuchVersionException
 	 */
 	SystemObjectInformation loadObjectFromFile(FilePointer filePosition) throws IOException, NoSuchVersionException {
+		if(USE_MAPPED_READ) {
+			_mappedRegionLock.readLock().lock();
+			try {
+				final MappedAreaFileRegion mappedRegion = getMappedRegion();
+				final long position = filePosition.getAbsoluteFilePosition();
+				if(mappedRegion != null && mappedRegion.contains(position)) {
+					return loadObjectFromMappedRegion(mappedRegion, position);
+				}
+			}
+			finally {
+				_mappedRegionLock.readLock().unlock();
+			}
+		}
 		synchronized(_configAreaFile) {
 			final BufferedRandomAccessFile file = new BufferedRandomAccessFile(_configAreaFile, "r");
 			// try fr finally und close
@@ -2109,6 +2143,47 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 		}
 	}
 
+	/**
+	 * Ldt ein Objekt aus dem eingeblendeten Teil der Datei. Es wird keine Sperre auf die Datei angefordert.
+	 *
+	 * @param mappedRegion     Eingeblendeter Teil der Datei
+	 * @param absolutePosition Absolute Position in der Datei, an der das Objekt beginnt
+	 *
+	 * @return Objekt, das aus der Datei erzeugt wurde oder null falls sich dort eine Lcke befindet
+	 *
+	 * @throws IOException
+	 * @throws NoSuchVersionException
+	 */
+	private SystemObjectInformation loadObjectFromMappedRegion(final MappedAreaFileRegion mappedRegion, final long absolutePosition)
+			throws IOException, NoSuchVersionException {
+		final MappedAreaFileRegion.Reader reader = mappedRegion.createReader(absolutePosition);
+		final BinaryObject binaryObject = BinaryObject.fromDataInput(reader);
+		return (SystemObjectInformation) binaryObject.toSystemObjectInfo(this, reader.getFilePointer());
+	}
+
+	/**
+	 * Liefert den eingeblendeten Teil der Datei und blendet ihn beim ersten Aufruf nach dem Laden bzw. nach einer Reorganisation ein. Der Aufrufer muss die
+	 * Lesesperre von {@link #_mappedRegionLock} halten.
+	 *
+	 * @return Eingeblendeter Teil der Datei oder <code>null</code>, falls es keinen unvernderlichen Teil gibt oder das Einblenden nicht mglich ist.
+	 */
+	private MappedAreaFileRegion getMappedRegion() {
+		MappedAreaFileRegion mappedRegion = _mappedRegion;
+		if(mappedRegion != null) return mappedRegion;
+		synchronized(_mappedRegionLock) {
+			if(_mappedRegion == null && !_mappedRegionFailed) {
+				try {
+					_mappedRegion = MappedAreaFileRegion.map(_configAreaFile, _headerEnd, _startIdIndex, _startPidHashCodeIndex, _startMixedSet);
+				}
+				catch(IOException e) {
+					_debug.warning("Die Datei " + _configAreaFile + " konnte nicht in den Speicher eingeblendet werden, es wird normal gelesen", e);
+				}
+				_mappedRegionFailed = _mappedRegion == null;
+			}
+			return _mappedRegion;
+		}
+	}
+
 	/**
 	 * Ldt ein Objekt aus einer Datei und setzt im Objekt fileIterator die Position, an der das nchste Objekt gefunden werden kann (relative Position bezogen auf
 	 * den Header).
@@ -2883,6 +2958,34 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 	}
 
 	public void swapFiles(final RestructureInfo restructureInfo, final File configAreaNewName) throws IOException {
+		// Leser auf den eingeblendeten Teil der Datei mssen fertig sein, bevor die Datei ersetzt wird und sich die Headerpositionen ndern.
+		_mappedRegionLock.writeLock().lock();
+		try {
+			// Unter Windows kann eine eingeblendete Datei nicht umbenannt oder gelscht werden
+			releaseMappedRegion();
+			swapFilesUnmapped(restructureInfo, configAreaNewName);
+		}
+		finally {
+			_mappedRegionLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Verwirft den eingeblendeten Teil der Datei und gibt die Einblendung frei. Der Aufrufer muss die Schreibsperre von {@link #_mappedRegionLock} halten, damit
+	 * kein Leser mehr auf den Puffer zugreift. Beim nchsten Lesezugriff wird die Datei neu eingeblendet.
+	 */
+	private void releaseMappedRegion() {
+		synchronized(_mappedRegionLock) {
+			final MappedAreaFileRegion mappedRegion = _mappedRegion;
+			_mappedRegion = null;
+			_mappedRegionFailed = false;
+			if(mappedRegion != null && !mappedRegion.unmap()) {
+				_debug.warning("Die Einblendung der Datei " + _configAreaFile + " konnte nicht freigegeben werden, sie wird erst bei der Garbage-Collection freigegeben");
+			}
+		}
+	}
+
+	private void swapFilesUnmapped(final RestructureInfo restructureInfo, final File configAreaNewName) throws IOException {
 		// Die original Datei in Name.configold umbennen
 		final String originalFileName = _configAreaFile.getAbsolutePath();
 		final File oldConfigFile = new File(originalFileName);
@@ -2952,13 +3055,11 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 		// In dem Objekt, das alle ConfigFiles verwaltet wird ebenfalls eine Map mit Id's
 		// fr die alten Objekte gefhrt, diese muss ebenfalls entfernt werden
 		synchronized(_oldObjectsId) {
-			Iterator<Map.Entry<Long, ObjectReference>> iterator = _oldObjectsId.entrySet().iterator();
-			while(iterator.hasNext()) {
-				final Map.Entry<Long, ObjectReference> entry = iterator.next();
+			for(final long id : _oldObjectsId.keys()) {
 				// Transiente, gelschte Objekte beibehalten
-				if(entry.getValue() instanceof FilePointer) {
-					_fileManager.removeObject(entry.getKey());
-					iterator.remove();
+				if(_oldObjectsId.get(id) instanceof FilePointer) {
+					_fileManager.removeObject(id);
+					_oldObjectsId.remove(id);
 				}
 			}
 		}
@@ -3103,7 +3204,7 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 			// ungltige Objekte knnen auch in der aktiven Version sein, darum <=
 			while(consideredOldVersion <= _activeVersion) {
 
-				Long[] keysLong = _oldObjectsId.keySet().toArray(new Long[_oldObjectsId.keySet().size()]);
+				final long[] keysLong = _oldObjectsId.keys();
 				// Es wird ein neuer nGa Bereich erzeugt
 
 				// boolean ob ein Element zu dem Block hinzugefgt wurde. wenn ja, dann dateipostion in map
@@ -3132,7 +3233,7 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 					);
 				}
 
-				for(final Long idOldObject : keysLong) {
+				for(final long idOldObject : keysLong) {
 					
 
 					// Das Objekt anfordern, es werden nur Konfigurationsobjekte betrachtet.
@@ -3227,11 +3328,11 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 		final List<SortObject> dynamicObjects = new ArrayList<SortObject>();
 
 		synchronized(_oldObjectsId) {
-			final Long[] keysLong = _oldObjectsId.keySet().toArray(new Long[_oldObjectsId.keySet().size()]);
+			final long[] keysLong = _oldObjectsId.keys();
 
 			// Liste, in der die Objekte gespeichert werden, diese wird spter in ein Array umgewandelt
 
-			for(Long idOldObject : keysLong) {
+			for(long idOldObject : keysLong) {
 				ObjectReference reference = _oldObjectsId.get(idOldObject);
 				if(reference instanceof FilePointer) {  // falls es sich um kein transientes Objekt handelt
 					long filePosition = ((FilePointer) reference).getAbsoluteFilePosition();
@@ -3400,7 +3501,7 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 		return restructureInfo;
 	}
 
-	private void writeCurrentObjects(final BufferedRandomAccessFile newConfigAreaFile, final RestructureInfo restructureInfo, final Map<Long, SystemObjectInformationInterface> objectMap) throws IOException {
+	private void writeCurrentObjects(final BufferedRandomAccessFile newConfigAreaFile, final RestructureInfo restructureInfo, final LongObjectMap<SystemObjectInformationInterface> objectMap) throws IOException {
 		// Diese Methode wird einmal fr _allObjects und einmal fr _newObjects aufgerufen. Die Synchronisation darauf ist OK.
 		//noinspection SynchronizationOnLocalVariableOrMethodParameter
 		synchronized(objectMap) {
@@ -3595,6 +3696,18 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 	 * @throws IllegalStateException Zu einer Id wurden zwei Elemente gefunden
 	 */
 	private List<SystemObjectInformationInterface> binarySearch(long value, boolean searchId) throws NoSuchVersionException, IOException {
+		if(USE_MAPPED_READ && !isInMixedSet(value, searchId)) {
+			_mappedRegionLock.readLock().lock();
+			try {
+				final MappedAreaFileRegion mappedRegion = getMappedRegion();
+				if(mappedRegion != null) {
+					return binarySearch(mappedRegion, value, searchId);
+				}
+			}
+			finally {
+				_mappedRegionLock.readLock().unlock();
+			}
+		}
 		// Wenn reorganisiert wird, dann muss gewartet werden, weil die Datei umgestellt wird
 		synchronized(_restructureLock) {
 			synchronized(_configAreaFile) {
@@ -3612,6 +3725,59 @@ public class ConfigAreaFile implements ConfigurationAreaFile, HeaderInfo {
 		} // synch restructereLock
 	}
 
+	/**
+	 * Prft, ob sich zu einer Id bzw. einem Pid-HashCode alte Objekte in der Mischmenge befinden, die nicht ber die Indizes gefunden werden.
+	 *
+	 * @param value    Id oder HashCode der Pid
+	 * @param searchId true = Id, false = HashCode der Pid
+	 *
+	 * @return <code>true</code>, falls die Mischmenge Eintrge enthlt
+	 */
+	private boolean isInMixedSet(final long value, final boolean searchId) {
+		if(searchId) {
+			synchronized(_oldObjectsId) {
+				return _oldObjectsId.containsKey(value);
+			}
+		}
+		else {
+			synchronized(_oldObjectsPid) {
+				return _oldObjectsPid.containsKey((int) value);
+			}
+		}
+	}
+
+	/**
+	 * Sucht ber die Indizes des eingeblendeten Teils der Datei nach Objekten, ohne eine Sperre auf die Datei anzufordern. Objekte aus der Mischmenge werden
+	 * nicht bercksichtigt, siehe {@link #isInMixedSet(long, boolean)}.
+	 *
+	 * @param mappedRegion Eingeblendeter Teil der Datei
+	 * @param value        Id oder HashCode der Pid
+	 * @param searchId     true = Id, false = HashCode der Pid
+	 *
+	 * @return Liste mit den gefundenen Objekten oder <code>null</code>, falls kein Objekt gefunden werden konnte
+	 */
+	private List<SystemObjectInformationInterface> binarySearch(final MappedAreaFileRegion mappedRegion, final long value, final boolean searchId)
+			throws NoSuchVersionException, IOException {
+		final List<SystemObjectInformationInterface> searchResult = new ArrayList<SystemObjectInformationInterface>();
+		if(searchId) {
+			final long position = mappedRegion.findId(value);
+			if(position != MappedAreaFileRegion.NOT_FOUND) {
+				searchResult.add(loadObjectFromMappedRegion(mappedRegion, FilePointer.fromRelativePosition(position, this).getAbsoluteFilePosition()));
+			}
+		}
+		else {
+			for(Long position : mappedRegion.findPidHashCode((int) value)) {
+				searchResult.add(loadObjectFromMappedRegion(mappedRegion, FilePointer.fromRelativePosition(position, this).getAbsoluteFilePosition()));
+			}
+		}
+		if(searchResult.size() > 0) {
+			return searchResult;
+		}
+		else {
+			return null;
+		}
+	}
+
 	private List<SystemObjectInformationInterface> binarySearch(final BufferedRandomAccessFile file, final long value, final boolean searchId) throws NoSuchVersionException, IOException {
 		// Liste, die alle Objekte speichert, die dem geforderten value entsprechen
 		final List<SystemObjectInformationInterface> searchResult = new ArrayList<SystemObjectInformationInterface>();
@@ -22,6 +22,7 @@ package de.bsvrz.puk.config.configFile.fileaccess;
 
 
 import de.bsvrz.dav.daf.main.config.DynamicObjectType;
+import de.bsvrz.puk.config.main.managementfile.ConfigurationAreaManagementInfo;
 import de.bsvrz.puk.config.main.managementfile.VersionInfo;
 import de.bsvrz.sys.funclib.dataSerializer.NoSuchVersionException;
 import de.bsvrz.sys.funclib.debug.Debug;
@@ -29,6 +30,10 @@ import de.bsvrz.sys.funclib.debug.Debug;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Diese Methode stellt Konfigurationsbereiche zur Verfgung und verwaltet den Zugriff auf diese. Der Zugriff bezieht sich dabei auf die Dateien selber
@@ -43,14 +48,23 @@ public class ConfigFileManager implements ConfigurationFileManager {
 	/** DebugLogger fr Debug-Ausgaben */
 	private static final Debug _debug = Debug.getLogger();
 
+	/**
+	 * Anzahl der Threads, mit denen {@link #addAreaFiles(List)} die Dateien der Konfigurationsbereiche ldt. Kann mit der System-Property
+	 * <code>config.load.threads</code> vorgegeben werden, ohne Angabe wird die Anzahl der verfgbaren Prozessoren benutzt. Bei <code>1</code> werden die
+	 * Bereiche nacheinander geladen.
+	 */
+	private static final int LOAD_THREADS = Integer.getInteger("config.load.threads", Runtime.getRuntime().availableProcessors());
+
 
 	/**
 	 * Speichert "alle" Objekte, aller Konfigurationsbereiche. Als Schlssel dient die ID. Es werden die Objekte gespeichert, die sich in der Mischmenge des
 	 * jeweiligen Bereichs befinden. Aktuelle und zuknftig aktuelle Objekte stehen direkt als Objekt zur Verfgung (ConfigurationObjectInfo und
 	 * DynamicObjectInfo), Objekte die als "ungltig" markiert sind, aber sich trotzdem noch in der Mischmenge befinden, werden nur mit der Dateiposition und einem
 	 * ConfigAreaFile-Objekt gespeichert. Dadurch knnen sie, falls ntig, nachgeladen werden.
+	 * <p/>
+	 * Lesende Zugriffe erfolgen ohne Sperre, siehe {@link LongObjectMap}.
 	 */
-	private final Map<Long, Object> _idMap = new HashMap<Long, Object>();
+	private final LongObjectMap<Object> _idMap = new LongObjectMap<Object>();
 
 	/**
 	 * Speichert alle aktiven Objekte, aller Konfigurationsbereiche. Als Schlssel dient die Pid (String). Das Rckgabeobjekt ist das Objekt, das zu der Pid
@@ -145,6 +159,120 @@ public class ConfigFileManager implements ConfigurationFileManager {
 	@Override
 	public ConfigurationAreaFile addAreaFile(String configurationAreaPid, File configurationAreaDir, short activeVersion, List<VersionInfo> localVersionTimes)
 			throws IllegalArgumentException, IOException, NoSuchVersionException {
+		final LoadedAreaFile loadedAreaFile = loadAreaFile(configurationAreaPid, configurationAreaDir, activeVersion, localVersionTimes);
+		registerAreaFile(loadedAreaFile);
+		logIdMapUsage("nach dem Laden von " + configurationAreaPid);
+		return loadedAreaFile._areaFile;
+	}
+
+	/**
+	 * Fgt der aktuellen Konfiguration mehrere Konfigurationsbereiche hinzu. Die Dateien der Bereiche werden parallel geladen (siehe
+	 * <code>config.load.threads</code>), anschlieend werden die Objekte der Bereiche in der Reihenfolge der bergebenen Liste in die Datenstrukturen dieses
+	 * Objekts eingetragen. Das Ergebnis entspricht damit dem Aufruf von {@link #addAreaFile(String, File, short, List)} fr jeden Bereich in dieser Reihenfolge.
+	 * <p/>
+	 * Kann ein Bereich nicht geladen werden, so werden die brigen Bereiche trotzdem eingetragen, damit sie mit {@link #close()} wieder freigegeben werden.
+	 * Danach wird eine Ausnahme fr den ersten fehlerhaften Bereich der Liste erzeugt.
+	 *
+	 * @param managementInfos Verwaltungsinformationen der Bereiche, die geladen werden sollen
+	 *
+	 * @return die hinzugefgten Konfigurationsbereiche in der Reihenfolge der bergebenen Liste
+	 *
+	 * @throws IllegalStateException Falls ein Konfigurationsbereich nicht geladen werden konnte. Die Ursache ist als <code>cause</code> enthalten.
+	 */
+	@Override
+	public List<ConfigurationAreaFile> addAreaFiles(final List<ConfigurationAreaManagementInfo> managementInfos) throws IllegalStateException {
+		final long startTime = System.currentTimeMillis();
+
+		final List<Callable<LoadedAreaFile>> loadTasks = new ArrayList<Callable<LoadedAreaFile>>(managementInfos.size());
+		for(final ConfigurationAreaManagementInfo managementInfo : managementInfos) {
+			loadTasks.add(
+					new Callable<LoadedAreaFile>() {
+						@Override
+						public LoadedAreaFile call() throws Exception {
+							return loadAreaFile(
+									managementInfo.getPid(), managementInfo.getDirectory(), managementInfo.getActiveVersion().getVersion(), managementInfo.getVersions()
+							);
+						}
+					}
+			);
+		}
+
+		final List<Future<LoadedAreaFile>> results;
+		final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(LOAD_THREADS, loadTasks.size())));
+		try {
+			results = pool.invokeAll(loadTasks);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		// Die Bereiche werden unabhngig von der Ladereihenfolge in der Reihenfolge der Verwaltungsdaten eingetragen, damit bei gleichen Pids in
+		// verschiedenen Bereichen immer dasselbe Objekt in den Pid-Maps steht.
+		final List<ConfigurationAreaFile> areaFiles = new ArrayList<ConfigurationAreaFile>(managementInfos.size());
+		IllegalStateException firstError = null;
+		for(int i = 0; i < results.size(); i++) {
+			final String configurationAreaPid = managementInfos.get(i).getPid();
+			try {
+				final LoadedAreaFile loadedAreaFile = getLoadResult(results.get(i));
+				registerAreaFile(loadedAreaFile);
+				areaFiles.add(loadedAreaFile._areaFile);
+			}
+			catch(Exception e) {
+				if(firstError == null) {
+					firstError = new IllegalStateException(
+							"Der Konfigurationsbereich mit der Pid " + configurationAreaPid + " konnte der Konfiguration nicht hinzugefgt werden.", e
+					);
+				}
+			}
+		}
+		if(firstError != null) throw firstError;
+
+		_debug.info(
+				areaFiles.size() + " Konfigurationsbereiche mit " + pool.getParallelism() + " Threads geladen, Dauer in Millisekunden",
+				(System.currentTimeMillis() - startTime)
+		);
+		logIdMapUsage("nach dem Laden aller Konfigurationsbereiche");
+		return areaFiles;
+	}
+
+	/**
+	 * Liefert das Ergebnis eines beendeten Ladevorgangs.
+	 *
+	 * @param result Ergebnis aus {@link #addAreaFiles(List)}
+	 *
+	 * @return Geladener Bereich
+	 *
+	 * @throws Exception Die Ausnahme, mit der der Ladevorgang abgebrochen wurde
+	 */
+	private static LoadedAreaFile getLoadResult(final Future<LoadedAreaFile> result) throws Exception {
+		try {
+			return result.get();
+		}
+		catch(ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if(cause instanceof Exception) throw (Exception)cause;
+			if(cause instanceof Error) throw (Error)cause;
+			throw e;
+		}
+	}
+
+	/**
+	 * Ldt die Datei eines Konfigurationsbereichs einschlielich der Mischobjektmenge. Die Objekte werden noch nicht in die Datenstrukturen dieses Objekts
+	 * eingetragen (mit Ausnahme der Objekte aus Simulationen), deshalb kann diese Methode fr verschiedene Bereiche parallel aufgerufen werden.
+	 *
+	 * @param configurationAreaPid die Pid des Konfigurationsbereichs
+	 * @param configurationAreaDir das Verzeichnis, in dem die Konfigurationsdatei gespeichert wurde
+	 * @param activeVersion        die aktuelle Version des Konfigurationsbereichs
+	 * @param localVersionTimes    Aktivierungszeitpunkte der Versionen, siehe {@link #addAreaFile(String, File, short, List)}
+	 *
+	 * @return Geladener Bereich, der mit {@link #registerAreaFile(LoadedAreaFile)} eingetragen werden muss
+	 *
+	 * @throws IllegalStateException Datei existiert nicht
+	 */
+	private LoadedAreaFile loadAreaFile(String configurationAreaPid, File configurationAreaDir, short activeVersion, List<VersionInfo> localVersionTimes)
+			throws IOException, NoSuchVersionException {
+		final long startTime = System.currentTimeMillis();
+
 		// Datei laden
 		final String fileName = configurationAreaPid + ".config";
 		final File areaFile = new File(configurationAreaDir, fileName);
@@ -155,6 +283,27 @@ public class ConfigFileManager implements ConfigurationFileManager {
 		// Diese Datei wurde mit createAreaFile erzeugt, also existiert ein Header
 		configurationAreaFile = new ConfigAreaFile(areaFile, activeVersion, this, localVersionTimes);
 
+		// Alle Objekte, die sich in der Mischobjektmenge befinden anfragen
+		final Collection<Object> allMixedObjects = configurationAreaFile.getMixedObjectSetObjects();
+
+		_debug.info(
+				"Konfigurationsbereich " + configurationAreaPid + " mit " + allMixedObjects.size() + " Objekten in der Mischmenge geladen, Dauer in Millisekunden",
+				(System.currentTimeMillis() - startTime)
+		);
+		return new LoadedAreaFile(configurationAreaPid, configurationAreaFile, allMixedObjects);
+	}
+
+	/**
+	 * Trgt einen geladenen Konfigurationsbereich und die Objekte seiner Mischobjektmenge in die Datenstrukturen dieses Objekts ein.
+	 *
+	 * @param loadedAreaFile Mit {@link #loadAreaFile} geladener Bereich
+	 *
+	 * @throws IllegalArgumentException Falls der Konfigurationsbereich mit der Pid bereits zur Konfiguration hinzugefgt wurde.
+	 */
+	private void registerAreaFile(final LoadedAreaFile loadedAreaFile) {
+		final String configurationAreaPid = loadedAreaFile._pid;
+		final ConfigAreaFile configurationAreaFile = loadedAreaFile._areaFile;
+
 		// berprfen, ob der Konfigurationsbereich bereits der Konfiguration hinzugefgt wurde
 		synchronized(_configurationFiles) {
 			// Falls der Eintrag bereits existiert, wird eine Fehlermeldung geworfen, falls nicht, wird er gespeichert.
@@ -166,8 +315,7 @@ public class ConfigFileManager implements ConfigurationFileManager {
 			}
 		}
 
-		// Alle Objekte, die sich in der Mischobjektmenge befinden anfragen
-		final Collection<Object> allMixedObjects = configurationAreaFile.getMixedObjectSetObjects();
+		final Collection<Object> allMixedObjects = loadedAreaFile._mixedObjects;
 
 //		System.out.println("gre Mixed: " + allMixedObjects.size());
 //		System.out.println("");
@@ -227,10 +375,19 @@ public class ConfigFileManager implements ConfigurationFileManager {
 			}
 		}
 
-//		System.out.println("Gre der Id Map: " + _idMap.size());
-//		System.out.println("");
+	}
 
-		return configurationAreaFile;
+	/**
+	 * Gibt die Gre und den Speicherbedarf des Id-Index aus.
+	 *
+	 * @param when Zeitpunkt fr die Ausgabe
+	 */
+	private void logIdMapUsage(final String when) {
+		final int idMapSize = _idMap.size();
+		_debug.fine(
+				"Id-Index " + when + ": " + idMapSize + " Objekte, ca. " + _idMap.getMemoryUsage() + " Bytes (als HashMap ca. "
+				+ LongObjectMap.estimateHashMapMemoryUsage(idMapSize) + " Bytes)"
+		);
 	}
 
 	/**
@@ -302,10 +459,7 @@ public class ConfigFileManager implements ConfigurationFileManager {
 
 	@Override
 	public SystemObjectInformationInterface getObject(long id) {
-		Object unknownObject;
-		synchronized(_idMap) {
-			unknownObject = _idMap.get(id);
-		}
+		final Object unknownObject = _idMap.get(id);
 		if(unknownObject == null || (unknownObject instanceof LoadInformations)) {
 			// Das Objekt wurde nur teilweise geladen oder befindet sich in einer Datei
 
@@ -323,12 +477,10 @@ public class ConfigFileManager implements ConfigurationFileManager {
 	 * @param id Id des Objekts, das entfernt werden soll
 	 */
 	void removeObject(long id) {
-		synchronized(_idMap) {
-			if(_idMap.remove(id) == null) {
-				_debug.info(
-						"Es sollte eine Id entfernt werden, die nicht in der entsprechenden Map gespeichert war: " + id + " Gre der Map: " + _idMap.size()
-				);
-			}
+		if(_idMap.remove(id) == null) {
+			_debug.info(
+					"Es sollte eine Id entfernt werden, die nicht in der entsprechenden Map gespeichert war: " + id + " Gre der Map: " + _idMap.size()
+			);
 		}
 	}
 
@@ -346,10 +498,7 @@ public class ConfigFileManager implements ConfigurationFileManager {
 	}
 
 	public SystemObjectInformationInterface getActiveObject(long id) {
-		final Object unknownObject;
-		synchronized(_idMap) {
-			unknownObject = _idMap.get(id);
-		}
+		final Object unknownObject = _idMap.get(id);
 		if(unknownObject != null) {
 			// Es muss geprft werden, ob sich das Objekt vollstndig im Speicher befinden, wenn nicht muss es geladen
 			// werden
@@ -438,10 +587,7 @@ public class ConfigFileManager implements ConfigurationFileManager {
 	 */
 	public SystemObjectInformationInterface getOldObject(long id) {
 		// Gucken, ob das Objekt im Speicher ist, wenn nicht, alle Bereiche anfragen
-		final Object oldObject;
-		synchronized(_idMap) {
-			oldObject = _idMap.get(id);
-		}
+		final Object oldObject = _idMap.get(id);
 
 		if(oldObject != null) {
 			
@@ -659,15 +805,11 @@ public class ConfigFileManager implements ConfigurationFileManager {
 
 
 	private void putObjectId(SystemObjectInformationInterface object) {
-		synchronized(_idMap) {
-			_idMap.put(object.getID(), object);
-		}
+		_idMap.put(object.getID(), object);
 	}
 
-	private void putObjectId(Long id, LoadInformations object) {
-		synchronized(_idMap) {
-			_idMap.put(id, object);
-		}
+	private void putObjectId(long id, LoadInformations object) {
+		_idMap.put(id, object);
 	}
 
 	/**
@@ -782,6 +924,23 @@ public class ConfigFileManager implements ConfigurationFileManager {
 		}
 	}
 
+	/** Ergebnis von {@link ConfigFileManager#loadAreaFile}: ein geladener, aber noch nicht eingetragener Konfigurationsbereich. */
+	private static final class LoadedAreaFile {
+
+		private final String _pid;
+
+		private final ConfigAreaFile _areaFile;
+
+		/** Objekte der Mischobjektmenge, siehe {@link ConfigAreaFile#getMixedObjectSetObjects()} */
+		private final Collection<Object> _mixedObjects;
+
+		private LoadedAreaFile(final String pid, final ConfigAreaFile areaFile, final Collection<Object> mixedObjects) {
+			_pid = pid;
+			_areaFile = areaFile;
+			_mixedObjects = mixedObjects;
+		}
+	}
+
 	/**
 	 * Speichert eine Pid zusammen mit einer Simulationsvariante fr die Verwaltung der Simulationsspezifischen Pids
 	 */
@@ -20,6 +20,7 @@
 
 package de.bsvrz.puk.config.configFile.fileaccess;
 
+import de.bsvrz.puk.config.main.managementfile.ConfigurationAreaManagementInfo;
 import de.bsvrz.puk.config.main.managementfile.VersionInfo;
 import de.bsvrz.sys.funclib.dataSerializer.NoSuchVersionException;
 
@@ -75,6 +76,18 @@ public interface ConfigurationFileManager {
 	ConfigurationAreaFile addAreaFile(String configurationAreaPid, File configurationAreaDir, short activeVersion, List<VersionInfo> localVersionTimes)
 			throws IllegalArgumentException, IOException, NoSuchVersionException;
 
+	/**
+	 * Der aktuellen Konfiguration werden die angegebenen Konfigurationsbereiche hinzugefgt. Die Dateien der Bereiche knnen dabei parallel geladen werden, das
+	 * Ergebnis entspricht aber dem Aufruf von {@link #addAreaFile} fr jeden Bereich in der Reihenfolge der Liste.
+	 *
+	 * @param managementInfos Verwaltungsinformationen der Bereiche, die geladen werden sollen
+	 *
+	 * @return die hinzugefgten Konfigurationsbereiche in der Reihenfolge der bergebenen Liste
+	 *
+	 * @throws IllegalStateException Falls ein Konfigurationsbereich nicht geladen werden konnte. Die Ursache ist als <code>cause</code> enthalten.
+	 */
+	List<ConfigurationAreaFile> addAreaFiles(List<ConfigurationAreaManagementInfo> managementInfos) throws IllegalStateException;
+
 	/**
 	 * Diese Methode gibt ein Objekt zurck, das den Konfigurationsbereich darstellt.
 	 *
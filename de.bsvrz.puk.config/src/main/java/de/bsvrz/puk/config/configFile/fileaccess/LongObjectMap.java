@@ -0,0 +1,282 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.puk.config.
+ * 
+ * de.bsvrz.puk.config is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.puk.config is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.puk.config; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.puk.config.configFile.fileaccess;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Speicherplatzsparende Zuordnung von Objekt-Ids zu Objekten. Die Ids werden ohne Boxing in einer Hashtabelle mit offener Adressierung gespeichert, so dass je
+ * Eintrag nur die Id selbst und eine Objektreferenz Speicher belegen. Eine {@link java.util.HashMap} bentigt zustzlich ein <code>Long</code>-Objekt und
+ * einen Map-Eintrag je Objekt.
+ * <p/>
+ * Lesende Zugriffe ({@link #get}, {@link #containsKey}, {@link #size}) erfolgen ohne Sperre und knnen parallel zu nderungen ausgefhrt werden. nderungen
+ * werden ber die Sperre dieses Objekts serialisiert. Aufrufer, die mehrere Zugriffe atomar ausfhren mssen, knnen weiterhin auf dieses Objekt
+ * synchronisieren.
+ * <p/>
+ * Ein einmal belegter Platz der Tabelle behlt seine Id, bis die Tabelle neu aufgebaut wird. Entfernte Eintrge werden nur als gelscht markiert und beim
+ * nchsten Vergrern der Tabelle entfernt. Die neue Tabelle wird vollstndig aufgebaut, bevor sie verffentlicht wird.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+final class LongObjectMap<V> {
+
+	/** Markierung fr einen gespeicherten <code>null</code>-Wert. */
+	private static final Object NULL_VALUE = new Object();
+
+	/** Markierung fr einen entfernten Eintrag. */
+	private static final Object REMOVED = new Object();
+
+	/** Minimale Gre der Tabelle. */
+	private static final int MIN_CAPACITY = 16;
+
+	/** Aktuelle Tabelle. Wird bei Vergrerung durch eine neue, vollstndig aufgebaute Tabelle ersetzt. */
+	private volatile Table _table = new Table(MIN_CAPACITY);
+
+	/** Anzahl der gespeicherten Eintrge. */
+	private volatile int _size = 0;
+
+	/** Anzahl der belegten Pltze einschlielich der als gelscht markierten Eintrge. */
+	private int _usedSlots = 0;
+
+	/**
+	 * Bestimmt das zu einer Id gespeicherte Objekt.
+	 *
+	 * @param key Id
+	 *
+	 * @return Gespeichertes Objekt oder <code>null</code>, wenn zu der Id kein Objekt gespeichert ist.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(final long key) {
+		final Object value = _table.find(key);
+		if(value == null || value == NULL_VALUE || value == REMOVED) return null;
+		return (V)value;
+	}
+
+	/**
+	 * Prft, ob zu einer Id ein Eintrag gespeichert ist.
+	 *
+	 * @param key Id
+	 *
+	 * @return <code>true</code>, wenn ein Eintrag gespeichert ist, sonst <code>false</code>.
+	 */
+	public boolean containsKey(final long key) {
+		final Object value = _table.find(key);
+		return value != null && value != REMOVED;
+	}
+
+	/**
+	 * Speichert ein Objekt unter einer Id. Ein bisher unter der Id gespeichertes Objekt wird ersetzt.
+	 *
+	 * @param key   Id
+	 * @param value Zu speicherndes Objekt
+	 *
+	 * @return Bisher unter der Id gespeichertes Objekt oder <code>null</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized V put(final long key, final V value) {
+		final Object storedValue = (value == null ? NULL_VALUE : value);
+		final Table table = _table;
+		final int slot = table.slotFor(key);
+		final Object oldValue = table._values.get(slot);
+		if(oldValue == null) {
+			// Die Id wird vor dem Wert eingetragen, damit lesende Threads mit dem Wert auch die Id sehen
+			table._keys.set(slot, key);
+			table._values.set(slot, storedValue);
+			_usedSlots++;
+			_size++;
+			if(_usedSlots > table.getMaxUsedSlots()) rebuild(_size);
+			return null;
+		}
+		table._values.set(slot, storedValue);
+		if(oldValue == REMOVED) {
+			_size++;
+			return null;
+		}
+		return oldValue == NULL_VALUE ? null : (V)oldValue;
+	}
+
+	/**
+	 * Entfernt den Eintrag zu einer Id.
+	 *
+	 * @param key Id
+	 *
+	 * @return Bisher unter der Id gespeichertes Objekt oder <code>null</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized V remove(final long key) {
+		final Table table = _table;
+		final int slot = table.slotFor(key);
+		final Object oldValue = table._values.get(slot);
+		if(oldValue == null || oldValue == REMOVED) return null;
+		table._values.set(slot, REMOVED);
+		_size--;
+		return oldValue == NULL_VALUE ? null : (V)oldValue;
+	}
+
+	/** Entfernt alle Eintrge. */
+	public synchronized void clear() {
+		_table = new Table(MIN_CAPACITY);
+		_usedSlots = 0;
+		_size = 0;
+	}
+
+	/**
+	 * Bestimmt die Anzahl der gespeicherten Eintrge.
+	 *
+	 * @return Anzahl Eintrge
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Liefert die Ids aller aktuell gespeicherten Eintrge. Das Array ist eine Kopie und wird von spteren nderungen nicht beeinflusst.
+	 *
+	 * @return Ids in beliebiger Reihenfolge
+	 */
+	public synchronized long[] keys() {
+		final Table table = _table;
+		final long[] result = new long[_size];
+		int count = 0;
+		for(int i = 0; i < table.getCapacity(); i++) {
+			final Object value = table._values.get(i);
+			if(value != null && value != REMOVED) result[count++] = table._keys.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Liefert alle aktuell gespeicherten Objekte. Die Liste ist eine Kopie und wird von spteren nderungen nicht beeinflusst.
+	 *
+	 * @return Objekte in beliebiger Reihenfolge
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized List<V> values() {
+		final Table table = _table;
+		final List<V> result = new ArrayList<V>(_size);
+		for(int i = 0; i < table.getCapacity(); i++) {
+			final Object value = table._values.get(i);
+			if(value != null && value != REMOVED) result.add(value == NULL_VALUE ? null : (V)value);
+		}
+		return result;
+	}
+
+	/**
+	 * Schtzt den Speicherbedarf der Tabelle ohne die gespeicherten Objekte ab.
+	 *
+	 * @return Speicherbedarf in Bytes
+	 */
+	public long getMemoryUsage() {
+		// 8 Byte je Id und hchstens 8 Byte je Referenz, zuzglich Array-Kpfe
+		return 16L * _table.getCapacity() + 64;
+	}
+
+	/**
+	 * Schtzt den Speicherbedarf einer {@link java.util.HashMap} mit <code>Long</code>-Schlsseln ohne die gespeicherten Objekte ab. Die Methode dient zum
+	 * Vergleich mit {@link #getMemoryUsage()}.
+	 *
+	 * @param size Anzahl Eintrge
+	 *
+	 * @return Speicherbedarf in Bytes
+	 */
+	public static long estimateHashMapMemoryUsage(final int size) {
+		// Je Eintrag ein Map.Entry (32 Byte), ein Long (16 Byte) und bei Fllgrad 0,75 durchschnittlich 1,33 bis 2,67 Tabellenpltze
+		long tableSize = 16;
+		while(tableSize * 3 / 4 < size) tableSize *= 2;
+		return 48L * size + 8L * tableSize + 64;
+	}
+
+	private void rebuild(final int size) {
+		int capacity = MIN_CAPACITY;
+		while(capacity / 2 < size) capacity *= 2;
+		final Table oldTable = _table;
+		final Table newTable = new Table(capacity);
+		for(int i = 0; i < oldTable.getCapacity(); i++) {
+			final Object value = oldTable._values.get(i);
+			if(value == null || value == REMOVED) continue;
+			final long key = oldTable._keys.get(i);
+			final int slot = newTable.slotFor(key);
+			newTable._keys.set(slot, key);
+			newTable._values.set(slot, value);
+		}
+		_table = newTable;
+		_usedSlots = size;
+	}
+
+	private static int hash(final long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		h ^= h >>> 32;
+		return (int)(h ^ (h >>> 16));
+	}
+
+	/** Hashtabelle mit linearer Sondierung. Ein Platz ist frei, solange kein Wert eingetragen ist. */
+	private static final class Table {
+
+		private final AtomicLongArray _keys;
+
+		private final AtomicReferenceArray<Object> _values;
+
+		private final int _mask;
+
+		private Table(final int capacity) {
+			_keys = new AtomicLongArray(capacity);
+			_values = new AtomicReferenceArray<Object>(capacity);
+			_mask = capacity - 1;
+		}
+
+		int getCapacity() {
+			return _mask + 1;
+		}
+
+		/** Maximale Anzahl belegter Pltze, bevor die Tabelle neu aufgebaut wird (Fllgrad 0,75). */
+		int getMaxUsedSlots() {
+			return getCapacity() / 4 * 3;
+		}
+
+		/**
+		 * Sucht den Wert zu einer Id ohne Sperre. Der Wert wird vor der Id gelesen. Da schreibende Threads die Id vor dem Wert eintragen und eine eingetragene Id
+		 * nicht mehr gendert wird, gehrt die gelesene Id immer zu einem gelesenen Wert.
+		 */
+		Object find(final long key) {
+			int slot = hash(key) & _mask;
+			while(true) {
+				final Object value = _values.get(slot);
+				if(value == null) return null;
+				if(_keys.get(slot) == key) return value;
+				slot = (slot + 1) & _mask;
+			}
+		}
+
+		/** Bestimmt den Platz, an dem die Id gespeichert ist oder gespeichert werden kann. Darf nur unter der Sperre der Map aufgerufen werden. */
+		int slotFor(final long key) {
+			int slot = hash(key) & _mask;
+			while(_values.get(slot) != null && _keys.get(slot) != key) {
+				slot = (slot + 1) & _mask;
+			}
+			return slot;
+		}
+	}
+}
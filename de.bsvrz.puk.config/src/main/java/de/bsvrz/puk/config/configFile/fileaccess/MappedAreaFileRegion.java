@@ -0,0 +1,338 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.puk.config.
+ * 
+ * de.bsvrz.puk.config is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.puk.config is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.puk.config; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+
+package de.bsvrz.puk.config.configFile.fileaccess;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only in den Speicher eingeblendeter Teil einer Konfigurationsbereichsdatei. Eingeblendet werden die Bereiche, die sich nach einer Reorganisation bis
+ * zur nchsten Reorganisation nicht mehr verschieben: die nGa-Bereiche, der dyn. nGa-Bereich sowie der Id- und der Pid-Index. Die Mischmenge am Ende der Datei
+ * wird nicht eingeblendet.
+ * <p/>
+ * Jeder lesende Zugriff arbeitet auf einer eigenen Sicht ({@link ByteBuffer#duplicate()}) des gemeinsamen Puffers, so dass beliebig viele Threads ohne
+ * gegenseitige Sperren Objekte dekodieren und die Indizes durchsuchen knnen. Die Dateipositionen des Headers werden beim Einblenden bernommen; ein Objekt
+ * dieser Klasse ist deshalb nur bis zur nchsten Reorganisation der Datei gltig und muss danach verworfen werden.
+ * <p/>
+ * Vor dem Umbenennen oder Lschen der Datei muss die Einblendung mit {@link #unmap()} freigegeben werden, weil Windows eingeblendete Dateien sonst nicht
+ * freigibt. Danach darf nicht mehr auf das Objekt zugegriffen werden.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+final class MappedAreaFileRegion {
+
+	/** Rckgabewert von {@link #findId(long)}, falls die Id nicht im Id-Index enthalten ist. */
+	static final long NOT_FOUND = Long.MIN_VALUE;
+
+	/** Instanz von <code>sun.misc.Unsafe</code> zum Freigeben von Einblendungen ab Java 9, sonst <code>null</code> */
+	private static final Object _unsafe;
+
+	/** Methode <code>sun.misc.Unsafe.invokeCleaner(ByteBuffer)</code> ab Java 9, sonst <code>null</code> */
+	private static final Method _invokeCleaner;
+
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+		}
+		catch(Exception ignored) {
+			// Java 8, es wird beim Freigeben direkt der Cleaner des Puffers verwendet
+			invokeCleaner = null;
+			unsafe = null;
+		}
+		_unsafe = unsafe;
+		_invokeCleaner = invokeCleaner;
+	}
+
+	/** Eingeblendeter Bereich der Datei, Position 0 entspricht dem Headerende. */
+	private final MappedByteBuffer _buffer;
+
+	/** Absolute Dateiposition des Headerendes */
+	private final long _headerEnd;
+
+	/** Position des Id-Index relativ zum Headerende */
+	private final int _startIdIndex;
+
+	/** Position des Pid-Index relativ zum Headerende */
+	private final int _startPidHashCodeIndex;
+
+	/** Position der Mischmenge relativ zum Headerende, entspricht der Gre des eingeblendeten Bereichs */
+	private final int _startMixedSet;
+
+	private MappedAreaFileRegion(
+			final MappedByteBuffer buffer, final long headerEnd, final int startIdIndex, final int startPidHashCodeIndex, final int startMixedSet) {
+		_buffer = buffer;
+		_headerEnd = headerEnd;
+		_startIdIndex = startIdIndex;
+		_startPidHashCodeIndex = startPidHashCodeIndex;
+		_startMixedSet = startMixedSet;
+	}
+
+	/**
+	 * Blendet den unvernderlichen Teil der angegebenen Datei in den Speicher ein.
+	 *
+	 * @param file                  Datei des Konfigurationsbereichs
+	 * @param headerEnd             Absolute Dateiposition des Headerendes
+	 * @param startIdIndex          Position des Id-Index relativ zum Headerende
+	 * @param startPidHashCodeIndex Position des Pid-Index relativ zum Headerende
+	 * @param startMixedSet         Position der Mischmenge relativ zum Headerende
+	 *
+	 * @return Eingeblendeter Bereich oder <code>null</code>, falls die Datei noch nicht reorganisiert wurde (es also keinen unvernderlichen Teil gibt) oder der
+	 *         Bereich zu gro ist, um in einem Puffer eingeblendet zu werden.
+	 *
+	 * @throws IOException Fehler beim Zugriff auf die Datei
+	 */
+	static MappedAreaFileRegion map(
+			final File file, final long headerEnd, final long startIdIndex, final long startPidHashCodeIndex, final long startMixedSet) throws IOException {
+		if(startMixedSet <= 0 || startMixedSet > Integer.MAX_VALUE) return null;
+		final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			// Die Einblendung bleibt auch nach dem Schlieen der Datei gltig
+			final MappedByteBuffer buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, headerEnd, startMixedSet);
+			return new MappedAreaFileRegion(buffer, headerEnd, (int)startIdIndex, (int)startPidHashCodeIndex, (int)startMixedSet);
+		}
+		finally {
+			randomAccessFile.close();
+		}
+	}
+
+	/**
+	 * Gibt die Einblendung sofort frei, statt auf die Garbage-Collection des Puffers zu warten. Der Aufrufer muss sicherstellen, dass kein Thread mehr auf diesen
+	 * Bereich zugreift, ein spterer Zugriff wrde auf nicht mehr eingeblendeten Speicher erfolgen.
+	 *
+	 * @return <code>true</code>, wenn die Einblendung freigegeben wurde, <code>false</code>, wenn die Laufzeitumgebung das Freigeben nicht untersttzt. Die
+	 *         Einblendung wird dann erst bei der Garbage-Collection freigegeben.
+	 */
+	boolean unmap() {
+		try {
+			if(_invokeCleaner != null) {
+				_invokeCleaner.invoke(_unsafe, _buffer);
+			}
+			else {
+				final Method cleanerMethod = _buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				final Object cleaner = cleanerMethod.invoke(_buffer);
+				if(cleaner == null) return false;
+				cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+			return true;
+		}
+		catch(Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Prft, ob sich die angegebene Dateiposition im eingeblendeten Bereich befindet.
+	 *
+	 * @param absolutePosition Absolute Dateiposition
+	 *
+	 * @return <code>true</code>, falls an der Position gelesen werden kann, sonst <code>false</code>
+	 */
+	boolean contains(final long absolutePosition) {
+		return absolutePosition >= _headerEnd && absolutePosition < _headerEnd + _startMixedSet;
+	}
+
+	/**
+	 * Erzeugt einen Leser, der ab der angegebenen Dateiposition liest. Der Leser darf nur von einem Thread benutzt werden.
+	 *
+	 * @param absolutePosition Absolute Dateiposition, siehe {@link #contains(long)}
+	 *
+	 * @return Leser
+	 */
+	Reader createReader(final long absolutePosition) {
+		final ByteBuffer view = _buffer.duplicate();
+		view.position((int)(absolutePosition - _headerEnd));
+		return new Reader(view);
+	}
+
+	/**
+	 * Sucht eine Id im Id-Index.
+	 *
+	 * @param id Gesuchte Id
+	 *
+	 * @return Relative Dateiposition des Objekts, wie sie im Index gespeichert ist (siehe {@link FilePointer#fromRelativePosition(long, ConfigAreaFile)}), oder
+	 *         {@link #NOT_FOUND}
+	 */
+	long findId(final long id) {
+		int low = 0;
+		int high = (_startPidHashCodeIndex - _startIdIndex) / 16 - 1;
+		while(low <= high) {
+			final int middle = (low + high) >>> 1;
+			final int entry = _startIdIndex + middle * 16;
+			final long valueFromIndex = _buffer.getLong(entry);
+			if(valueFromIndex < id) {
+				low = middle + 1;
+			}
+			else if(valueFromIndex > id) {
+				high = middle - 1;
+			}
+			else {
+				return _buffer.getLong(entry + 8);
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Sucht alle Eintrge zu einem Pid-HashCode im Pid-Index.
+	 *
+	 * @param pidHashCode Gesuchter HashCode der Pid
+	 *
+	 * @return Relative Dateipositionen der Objekte, wie sie im Index gespeichert sind. Wurde kein Eintrag gefunden, ist die Liste leer.
+	 */
+	List<Long> findPidHashCode(final int pidHashCode) {
+		// Ersten Eintrag suchen, dessen HashCode nicht kleiner als der gesuchte ist
+		int low = 0;
+		int high = (_startMixedSet - _startPidHashCodeIndex) / 12;
+		while(low < high) {
+			final int middle = (low + high) >>> 1;
+			if(_buffer.getInt(_startPidHashCodeIndex + middle * 12) < pidHashCode) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		final List<Long> result = new ArrayList<Long>();
+		for(int entry = _startPidHashCodeIndex + low * 12; entry < _startMixedSet; entry += 12) {
+			if(_buffer.getInt(entry) != pidHashCode) break;
+			result.add(_buffer.getLong(entry + 4));
+		}
+		return result;
+	}
+
+	/**
+	 * Liest ab einer Position im eingeblendeten Bereich. Die Methode {@link #getFilePointer()} liefert wie bei {@link
+	 * de.bsvrz.dav.daf.util.BufferedRandomAccessFile} die absolute Dateiposition.
+	 */
+	final class Reader implements DataInput {
+
+		private final ByteBuffer _view;
+
+		private Reader(final ByteBuffer view) {
+			_view = view;
+		}
+
+		/**
+		 * Liefert die absolute Dateiposition, an der als nchstes gelesen wird.
+		 *
+		 * @return Absolute Dateiposition
+		 */
+		long getFilePointer() {
+			return _headerEnd + _view.position();
+		}
+
+		private void require(final int length) throws EOFException {
+			if(_view.remaining() < length) {
+				throw new EOFException("Lesen ber das Ende des eingeblendeten Bereichs bei Position " + getFilePointer());
+			}
+		}
+
+		public void readFully(final byte[] b) throws IOException {
+			readFully(b, 0, b.length);
+		}
+
+		public void readFully(final byte[] b, final int off, final int len) throws IOException {
+			require(len);
+			_view.get(b, off, len);
+		}
+
+		public int skipBytes(final int n) throws IOException {
+			final int skipped = Math.max(0, Math.min(n, _view.remaining()));
+			_view.position(_view.position() + skipped);
+			return skipped;
+		}
+
+		public boolean readBoolean() throws IOException {
+			return readByte() != 0;
+		}
+
+		public byte readByte() throws IOException {
+			require(1);
+			return _view.get();
+		}
+
+		public int readUnsignedByte() throws IOException {
+			return readByte() & 0xff;
+		}
+
+		public short readShort() throws IOException {
+			require(2);
+			return _view.getShort();
+		}
+
+		public int readUnsignedShort() throws IOException {
+			return readShort() & 0xffff;
+		}
+
+		public char readChar() throws IOException {
+			require(2);
+			return _view.getChar();
+		}
+
+		public int readInt() throws IOException {
+			require(4);
+			return _view.getInt();
+		}
+
+		public long readLong() throws IOException {
+			require(8);
+			return _view.getLong();
+		}
+
+		public float readFloat() throws IOException {
+			require(4);
+			return _view.getFloat();
+		}
+
+		public double readDouble() throws IOException {
+			require(8);
+			return _view.getDouble();
+		}
+
+		public String readLine() throws IOException {
+			throw new UnsupportedOperationException("readLine wird nicht untersttzt");
+		}
+
+		public String readUTF() throws IOException {
+			return DataInputStream.readUTF(this);
+		}
+	}
+}
@@ -42,7 +42,6 @@ import de.bsvrz.puk.config.main.simulation.ConfigSimulationObject;
 import de.bsvrz.puk.config.main.simulation.SimulationHandler;
 import de.bsvrz.puk.config.util.async.AsyncRequest;
 import de.bsvrz.puk.config.util.async.AsyncRequestCompletion;
-import de.bsvrz.sys.funclib.concurrent.UnboundedQueue;
 import de.bsvrz.sys.funclib.dataSerializer.Deserializer;
 import de.bsvrz.sys.funclib.dataSerializer.Serializer;
 import de.bsvrz.sys.funclib.dataSerializer.SerializingFactory;
@@ -53,6 +52,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Diese Klasse nimmt Konfigurationsanfragen entgegen und leitet sie entsprechend an die Konfiguration weiter. Muss die Konfiguration eine Antwort auf die
@@ -65,6 +71,39 @@ public class ConfigurationQueryManager implements SimulationHandler {
 
 	private static final Debug _debug = Debug.getLogger();
 
+	/**
+	 * Anzahl der Threads, die Konfigurationsanfragen aller Applikationen bearbeiten. Der Wert kann mit der System-Property
+	 * <code>config.query.threads</code> vorgegeben werden.
+	 */
+	private static final int QUERY_THREADS = Math.max(
+			1, Integer.getInteger("config.query.threads", Math.max(4, 2 * Runtime.getRuntime().availableProcessors()))
+	);
+
+	/**
+	 * Maximale Anzahl lesender Anfragen einer Applikation, die gleichzeitig bearbeitet werden. Dadurch kann eine einzelne Applikation mit vielen Anfragen den
+	 * Thread-Pool nicht fr die anderen Applikationen blockieren. Der Wert kann mit der System-Property <code>config.query.readsPerSender</code> vorgegeben
+	 * werden.
+	 */
+	private static final int MAX_PARALLEL_READS_PER_SENDER = Math.max(1, Integer.getInteger("config.query.readsPerSender", 4));
+
+	/** Zeitabstand in Millisekunden, in dem geprft wird, ob die anfragenden Applikationen noch verbunden sind. */
+	private static final long CONNECTION_CHECK_INTERVAL = 60000;
+
+	/**
+	 * Lesende Anfragen, die den Zustand des QueryHandlers verndern (An- und Abmeldungen von Beobachtern). Diese Anfragen werden wie schreibende Anfragen in
+	 * der Reihenfolge ihres Eingangs und exklusiv bearbeitet, alle anderen lesenden Anfragen einer Applikation werden parallel bearbeitet.
+	 */
+	private static final Set<String> ORDERED_READ_QUERIES = new HashSet<String>(
+			Arrays.asList(
+					"DynamischeMengeBeobachterAnmelden",
+					"DynamischeMengeBeobachterAbmelden",
+					"DynamischeKollektionAnmeldung",
+					"DynamischeKollektionAbmeldung",
+					"KommunikationszustandAnmeldung",
+					"KommunikationszustandAbmeldung"
+			)
+	);
+
 	private ClientDavInterface _connection;
 
 	private final ConfigDataModel _localConfiguration;
@@ -75,6 +114,28 @@ public class ConfigurationQueryManager implements SimulationHandler {
 
 	private final Map<SystemObject, ConfigurationQueryManager.QueryHandler> _querySender2queryHandlerMap = new HashMap<SystemObject, QueryHandler>();
 
+	/**
+	 * Gemeinsamer Thread-Pool, in dem die Anfragen aller QueryHandler bearbeitet werden. Die Threads sind Daemon-Threads und werden nach einer Minute ohne
+	 * Auftrge beendet, damit der Pool das Beenden der Konfiguration nicht verhindert.
+	 */
+	private final ThreadPoolExecutor _queryExecutor = new ThreadPoolExecutor(
+			QUERY_THREADS, QUERY_THREADS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+				private final AtomicInteger _threadNumber = new AtomicInteger();
+
+				public Thread newThread(final Runnable runnable) {
+					final Thread thread = new Thread(runnable, "QueryHandler(Konfiguration)-" + _threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			}
+	);
+
+	/** Fhrt die regelmige Prfung der Verbindungen und die Ausgabe der Statistik aus. */
+	private ScheduledExecutorService _maintenanceExecutor;
+
+	/** Kennzahlen zur Bearbeitung der Konfigurationsanfragen je Anfragetyp. */
+	private final QueryStatistics _queryStatistics = new QueryStatistics();
+
 	/**
 	 * Speichert zu einem SystemObjekt, das eine Simulation darstellt, ein Java Objekt, das eine Simulation aus Sicht der Konfiguration, darstellt.
 	 * <p/>
@@ -136,6 +197,15 @@ public class ConfigurationQueryManager implements SimulationHandler {
 		return _foreignObjectManager;
 	}
 
+	/**
+	 * Liefert die Kennzahlen zur Bearbeitung der Konfigurationsanfragen je Anfragetyp.
+	 *
+	 * @return Kennzahlen je Anfragetyp
+	 */
+	public QueryStatistics getQueryStatistics() {
+		return _queryStatistics;
+	}
+
 	public ConfigurationQueryManager(
 			ClientDavInterface connection,
 			ConfigDataModel localConfiguration,
@@ -144,6 +214,7 @@ public class ConfigurationQueryManager implements SimulationHandler {
 			final File foreignObjectCacheFile) {
 		_connection = connection;
 		_localConfiguration = localConfiguration;
+		_queryExecutor.allowCoreThreadTimeOut(true);
 
 		// Die alte ConfigApp setzt diesen Wert. Die neue ConfigurationApp kann den Wert aus dem Datenmodell beziehen.
 		if(localAuthority != null) {
@@ -214,6 +285,7 @@ public class ConfigurationQueryManager implements SimulationHandler {
 			// Senke fr Konfigurationsbereichsoperationen
 			_connection.subscribeReceiver(new QueryReceiver(), _localAuthority, _dataDescriptionArea, ReceiveOptions.normal(), ReceiverRole.drain());
 			_foreignObjectManager.start();
+			startMaintenance();
 		}
 		catch(ConfigurationException e) {
 			e.printStackTrace();
@@ -221,6 +293,53 @@ public class ConfigurationQueryManager implements SimulationHandler {
 		}
 	}
 
+	/**
+	 * Startet die regelmige Prfung, ob die anfragenden Applikationen noch verbunden sind, und die Ausgabe der Kennzahlen zur Bearbeitung der
+	 * Konfigurationsanfragen.
+	 */
+	private void startMaintenance() {
+		_maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactory() {
+					public Thread newThread(final Runnable runnable) {
+						final Thread thread = new Thread(runnable, "QueryHandler(Konfiguration)-Wartung");
+						thread.setDaemon(true);
+						return thread;
+					}
+				}
+		);
+		_maintenanceExecutor.scheduleWithFixedDelay(
+				new Runnable() {
+					private long _lastCount = 0;
+
+					public void run() {
+						try {
+							final List<QueryHandler> handlers;
+							synchronized(_querySender2queryHandlerMap) {
+								handlers = new ArrayList<QueryHandler>(_querySender2queryHandlerMap.values());
+							}
+							for(QueryHandler handler : handlers) {
+								handler.checkConnection();
+							}
+							long count = 0;
+							for(QueryStatistics.Entry entry : _queryStatistics.getEntries()) {
+								count += entry.getCount();
+							}
+							if(count != _lastCount) {
+								_lastCount = count;
+								_debug.fine(
+										_queryStatistics + "\nQueryHandler: " + handlers.size() + ", aktive Threads: " + _queryExecutor.getActiveCount()
+										+ ", Auftrge im Thread-Pool: " + _queryExecutor.getQueue().size()
+								);
+							}
+						}
+						catch(RuntimeException e) {
+							_debug.warning("Fehler bei der Prfung der Verbindungen zu anfragenden Applikationen", e);
+						}
+					}
+				}, CONNECTION_CHECK_INTERVAL, CONNECTION_CHECK_INTERVAL, TimeUnit.MILLISECONDS
+		);
+	}
+
 	private void detachHandler(final SystemObject querySender) {
 //		System.out.println("QueryHandler abgemeldet fr " + querySender);
 		synchronized(_querySender2queryHandlerMap) {
@@ -466,18 +585,39 @@ public class ConfigurationQueryManager implements SimulationHandler {
 	}
 
 
-	private class QueryHandler implements Runnable {
+	/**
+	 * Bearbeitet die Konfigurationsanfragen einer Applikation. Die Anfragen werden im gemeinsamen Thread-Pool <code>_queryExecutor</code> bearbeitet. Lesende
+	 * Anfragen werden parallel bearbeitet, alle anderen Anfragen (schreibende Anfragen, Benutzer- und Bereichsverwaltung sowie An- und Abmeldungen von
+	 * Beobachtern) werden in der Reihenfolge ihres Eingangs und exklusiv bearbeitet, d.h. erst nachdem alle vorher eingegangenen Anfragen bearbeitet wurden und
+	 * bevor spter eingegangene Anfragen bearbeitet werden.
+	 */
+	private class QueryHandler {
 
 		private final SystemObject _querySender;
 
 		/** <code>true</code>, wenn der Kommunikationspartner eine normale Applikation ist; <code>false</code>, wenn der Kommunikationspartner eine andere Konfiguration ist */
 		private boolean _isRequestFromApplication;
 
-		Thread _worker;
+		/** Lockt die Zugriffe auf <code>_pendingTasks</code>, <code>_runningReadTasks</code>, <code>_exclusiveTaskRunning</code> und <code>_detached</code>. */
+		Object _lock = new Object();
 
-		UnboundedQueue<ResultData> _queries = new UnboundedQueue<ResultData>();
+		/** Eingegangene Auftrge, die noch nicht an den Thread-Pool bergeben wurden, in der Reihenfolge ihres Eingangs. */
+		private final ArrayDeque<QueryTask> _pendingTasks = new ArrayDeque<QueryTask>();
 
-		Object _lock = new Object();
+		/** Anzahl der lesenden Auftrge dieses Handlers, die gerade im Thread-Pool bearbeitet werden. */
+		private int _runningReadTasks = 0;
+
+		/** <code>true</code>, whrend ein exklusiv zu bearbeitender Auftrag dieses Handlers im Thread-Pool bearbeitet wird. */
+		private boolean _exclusiveTaskRunning = false;
+
+		/** <code>true</code>, wenn eine Prfung der Verbindung beauftragt, aber noch nicht ausgefhrt wurde. */
+		private boolean _connectionCheckPending = false;
+
+		/** <code>true</code>, nachdem sich der Handler abgemeldet hat. Danach eingehende Anfragen werden verworfen. */
+		private boolean _detached = false;
+
+		/** <code>true</code>, sobald die Sender fr die Antworten angemeldet und die Listener auf dynamische Typen registriert wurden. */
+		private volatile boolean _initialized = false;
 
 		/** Lockt die Zugriffe auf den Publisher. */
 		private Object _lockPublisher = new Object();
@@ -492,16 +632,16 @@ public class ConfigurationQueryManager implements SimulationHandler {
 		private Set<DynamicObject> _monitoredDynamicObject = Collections.synchronizedSet(new HashSet<DynamicObject>());
 
 		/** Objekt, das den Versand von Konfigurationsanfragen(die Antwort darauf) bernimmt. */
-		private final SenderReceiverCommunication _senderReplyReadTasks;
+		private SenderReceiverCommunication _senderReplyReadTasks;
 
 		/** Objekt, das den Versand von Konfigurationsanfragen(die Antwort darauf) bernimmt. */
-		private final SenderReceiverCommunication _senderReplyWriteTasks;
+		private SenderReceiverCommunication _senderReplyWriteTasks;
 
 		/** Objekt, das den Versand von Konfigurationsanfragen(die Antwort darauf) bernimmt. */
-		private final SenderReceiverCommunication _senderReplyAreaTasks;
+		private SenderReceiverCommunication _senderReplyAreaTasks;
 
 		/** Objekt, das den Versand von Konfigurationsanfragen(die Antwort darauf) bernimmt. */
-		private final SenderReceiverCommunication _senderReplyUserAdministrationTask;
+		private SenderReceiverCommunication _senderReplyUserAdministrationTask;
 
 		/** Datenidentifikation fr lesende Konfigurationsanfragen. Die Simulationsvariante wird beachtet. */
 		private final DataDescription _dataDescriptionReadLocal;
@@ -544,7 +684,9 @@ public class ConfigurationQueryManager implements SimulationHandler {
 		private HashMap<PublishingCommunicationStateListener, PublishingCommunicationStateListener> _communicationChangedHandlers = new HashMap<PublishingCommunicationStateListener, PublishingCommunicationStateListener>();
 
 		/**
-		 * Bearbeitet Konfigurationsanfragen und reicht diese an das Datenmodell weiter und verschickt anschlieend die Antwort.
+		 * Bearbeitet Konfigurationsanfragen und reicht diese an das Datenmodell weiter und verschickt anschlieend die Antwort. Die Anmeldung der Sender fr die
+		 * Antworten erfolgt erst bei der Bearbeitung der ersten Anfrage im Thread-Pool, damit der Empfang von Anfragen anderer Applikationen nicht verzgert
+		 * wird.
 		 *
 		 * @param querySender       Applikation, die die Anfragen gestellt hat
 		 * @param simulationVariant Simulationsvariante, mit der die Antworten angemeldet werden. Ist die Simulationsvariante > 0, so muss auch das Objekt
@@ -557,8 +699,6 @@ public class ConfigurationQueryManager implements SimulationHandler {
 			_isRequestFromApplication = _querySender instanceof ClientApplication;
 			_debug.fine("QueryHandler fr " + _querySender + ", isRequestFromApplication: " + _isRequestFromApplication);
 			_simulationVariant = simulationVariant;
-			_worker = new Thread(this);
-			_worker.start();
 			if(simulationVariant > 0 && simulationObject == null) throw new IllegalStateException("Fr eine Simulation wurde kein Simulationsobjekt angegeben");
 			_simulationObject = simulationObject;
 
@@ -580,21 +720,24 @@ public class ConfigurationQueryManager implements SimulationHandler {
 				_dataDescriptionAreaLocal = _dataDescriptionArea;
 				_dataDescriptionUserLocal = _dataDescriptionUser;
 			}
+		}
 
+		/** Meldet die Sender fr die Antworten an und registriert die Listener auf nderungen bei dynamischen Typen. */
+		private void initialize() {
 			try {
 				// 4 Kanle, die Antworten der Konfiguration zurckschicken
 
 				// Auf welches Objekt soll sich angemeldet werden (_querySender)
 				// Wer verschickt diese Nachricht (_localAuthority)
-				_senderReplyWriteTasks = new ConfigurationAnswerWriteTasks(_connection, _querySender, _localAuthority, simulationVariant);
+				_senderReplyWriteTasks = new ConfigurationAnswerWriteTasks(_connection, _querySender, _localAuthority, _simulationVariant);
 
 				// Auf welches Objekt soll sich angemeldet werden (_querySender)
 				// Wer verschickt diese Nachricht (_localAuthority)
-				_senderReplyReadTasks = new ConfigurationAnswerReadTasks(_connection, _querySender, _localAuthority, simulationVariant);
+				_senderReplyReadTasks = new ConfigurationAnswerReadTasks(_connection, _querySender, _localAuthority, _simulationVariant);
 
 				// Simulationen drfen weder Benutzer ndern noch Konfigurationsbereiche steuern. Aus diesem Grund werden keine Sender fr
 				// diesen Fall angemeldet.
-				if(simulationVariant > 0) {
+				if(_simulationVariant > 0) {
 					// Auf die nicht initialisierten Objekte wird bei Simulationen nicht Zugegriffen, da die Simulation
 					// ber die Datenidentifikation identifiziert werden kann.
 					_senderReplyUserAdministrationTask = null;
@@ -721,1231 +864,1367 @@ public class ConfigurationQueryManager implements SimulationHandler {
 		}
 
 		private void handleQuery(ResultData resultData) {
-			_queries.put(resultData);
+			String queryType;
+			try {
+				queryType = resultData.getData().getScaledValue("nachrichtenTyp").getValueText();
+			}
+			catch(RuntimeException e) {
+				// Die Anfrage wird trotzdem eingereiht, damit der Fehler bei der Bearbeitung gemeldet wird
+				queryType = "Unbekannt";
+			}
+			final boolean exclusive = !resultData.getDataDescription().equals(_dataDescriptionReadLocal) || ORDERED_READ_QUERIES.contains(queryType);
+			addTask(new QueryTask(resultData, queryType, exclusive));
 		}
 
-		public void run() {
-			Thread.currentThread().setName("QueryHandler(Konfiguration) fuer " + _querySender);
-			while(true) {
-				try {
-					ResultData resultData = null;
-//					do {
-					while(resultData == null) {
-						// Es wird alle 60 Sekunden geprft, ob die Verbindung noch vorhanden ist
-						resultData = _queries.poll(60000);
-						synchronized(_lock) {
-							// Es werden nur noch die neuen Anfrageschnittstellen untersttzt -> Die vier Sendesteuerungen mssen vorhanden sein.
-							// Nur wenn beide Flle negativ sind, kann der Thread, der sich um die Anfragen kmmert beendet werden
-							// (Es gab einmal eine positive Sendesteuerung und jetzt nicht mehr).
-							if(((_senderReplyAreaTasks != null
-							     && _senderReplyAreaTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.Connected
-							     && _senderReplyAreaTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.NotYetConnected) && (
-									_senderReplyReadTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.Connected
-									&& _senderReplyReadTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.NotYetConnected) && (
-									_senderReplyUserAdministrationTask != null
-									&& _senderReplyUserAdministrationTask.getConnectionState() != SenderReceiverCommunication.ConnectionState.Connected
-									&& _senderReplyUserAdministrationTask.getConnectionState() != SenderReceiverCommunication.ConnectionState.NotYetConnected)
-							                                                                                                                      && (
-									_senderReplyWriteTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.Connected
-									&& _senderReplyWriteTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.NotYetConnected))) {
-
-								// Alles abmelden
-								detachSelf();
+		/** Beauftragt die Prfung, ob die anfragende Applikation noch verbunden ist. Die Prfung wird exklusiv im Thread-Pool ausgefhrt. */
+		private void checkConnection() {
+			synchronized(_lock) {
+				if(_connectionCheckPending) return;
+				_connectionCheckPending = true;
+			}
+			addTask(new QueryTask(null, null, true));
+		}
 
-								_debug.fine(
-										"QueryHandlerWorker ist fertig und beendet sich. Anfragende Applikation, die keine Antworten mehr erhlt: "
-										+ _querySender
-								);
+		private void addTask(final QueryTask task) {
+			synchronized(_lock) {
+				if(_detached) {
+					task.discard();
+					_debug.fine("Anfrage an abgemeldeten QueryHandler wird verworfen", _querySender);
+					return;
+				}
+				_pendingTasks.add(task);
+				dispatchTasks();
+			}
+		}
+
+		/**
+		 * bergibt wartende Auftrge an den Thread-Pool, soweit es die Reihenfolgebedingungen zulassen. Vor der Initialisierung des Handlers werden alle Auftrge
+		 * exklusiv bearbeitet. Muss mit <code>_lock</code> synchronisiert aufgerufen werden.
+		 */
+		private void dispatchTasks() {
+			while(!_detached && !_exclusiveTaskRunning) {
+				final QueryTask task = _pendingTasks.peek();
+				if(task == null) return;
+				if(task._exclusive || !_initialized) {
+					if(_runningReadTasks > 0) return;
+					_exclusiveTaskRunning = true;
+					task._runExclusive = true;
+				}
+				else {
+					if(_runningReadTasks >= MAX_PARALLEL_READS_PER_SENDER) return;
+					_runningReadTasks++;
+				}
+				_pendingTasks.poll();
+				_queryExecutor.execute(task);
+			}
+		}
+
+		private void taskFinished(final QueryTask task) {
+			synchronized(_lock) {
+				if(task._runExclusive) {
+					_exclusiveTaskRunning = false;
+				}
+				else {
+					_runningReadTasks--;
+				}
+				dispatchTasks();
+			}
+		}
+
+		/** Verwirft alle wartenden Auftrge und verhindert die Annahme weiterer Auftrge. */
+		private void discardTasks() {
+			synchronized(_lock) {
+				_detached = true;
+				for(QueryTask task : _pendingTasks) {
+					task.discard();
+				}
+				_pendingTasks.clear();
+			}
+		}
+
+		/**
+		 * Prft, ob die anfragende Applikation noch verbunden ist. Wenn das nicht der Fall ist, meldet sich der Handler ab. Wird exklusiv im Thread-Pool
+		 * ausgefhrt.
+		 */
+		private void processConnectionCheck() {
+			synchronized(_lock) {
+				_connectionCheckPending = false;
+			}
+			if(!_initialized) return;
+			// Es werden nur noch die neuen Anfrageschnittstellen untersttzt -> Die vier Sendesteuerungen mssen vorhanden sein.
+			// Nur wenn beide Flle negativ sind, kann der Handler, der sich um die Anfragen kmmert beendet werden
+			// (Es gab einmal eine positive Sendesteuerung und jetzt nicht mehr).
+			if(((_senderReplyAreaTasks != null
+			     && _senderReplyAreaTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.Connected
+			     && _senderReplyAreaTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.NotYetConnected) && (
+					_senderReplyReadTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.Connected
+					&& _senderReplyReadTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.NotYetConnected) && (
+					_senderReplyUserAdministrationTask != null
+					&& _senderReplyUserAdministrationTask.getConnectionState() != SenderReceiverCommunication.ConnectionState.Connected
+					&& _senderReplyUserAdministrationTask.getConnectionState() != SenderReceiverCommunication.ConnectionState.NotYetConnected)
+			                                                                                                      && (
+					_senderReplyWriteTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.Connected
+					&& _senderReplyWriteTasks.getConnectionState() != SenderReceiverCommunication.ConnectionState.NotYetConnected))) {
+
+				// Alles abmelden
+				discardTasks();
+				detachSelf();
+
+				_debug.fine(
+						"QueryHandler ist fertig und beendet sich. Anfragende Applikation, die keine Antworten mehr erhlt: " + _querySender
+				);
+			}
+		}
+
+		/** Auftrag zur Bearbeitung einer Anfrage oder zur Prfung der Verbindung im gemeinsamen Thread-Pool. */
+		private class QueryTask implements Runnable {
+
+			/** Anfrage oder <code>null</code>, wenn die Verbindung geprft werden soll. */
+			private final ResultData _resultData;
+
+			/** Kennzahlen des Anfragetyps oder <code>null</code> bei der Prfung der Verbindung. */
+			private final QueryStatistics.Entry _statistics;
+
+			/** <code>true</code>, wenn der Auftrag exklusiv und in der Reihenfolge des Eingangs bearbeitet werden muss. */
+			private final boolean _exclusive;
+
+			/** <code>true</code>, wenn der Auftrag exklusiv an den Thread-Pool bergeben wurde. Zugriff nur mit <code>_lock</code> synchronisiert. */
+			private boolean _runExclusive = false;
+
+			private final long _queuedTime = System.nanoTime();
+
+			private QueryTask(final ResultData resultData, final String queryType, final boolean exclusive) {
+				_resultData = resultData;
+				_exclusive = exclusive;
+				_statistics = queryType == null ? null : _queryStatistics.getEntry(queryType);
+				if(_statistics != null) _statistics.queued();
+			}
+
+			private void discard() {
+				if(_statistics != null) _statistics.discarded();
+			}
+
+			public void run() {
+				final long startedTime = System.nanoTime();
+				if(_statistics != null) _statistics.started();
+				try {
+					if(_resultData == null) {
+						processConnectionCheck();
+					}
+					else {
+						if(!_initialized) {
+							try {
+								initialize();
+								_initialized = true;
+							}
+							catch(RuntimeException e) {
+								_debug.warning("QueryHandler fr " + _querySender + " konnte nicht angemeldet werden", e);
+								discardTasks();
+								detachHandler(_querySender);
 								return;
 							}
 						}
+						processQuery(_resultData);
 					}
-//					while(resultData == null);
-
-					final Data query = resultData.getData();
-
-					
+				}
+				catch(RuntimeException e) {
+					_debug.error("Fehler bei der Bearbeitung einer Konfigurationsanfrage von " + _querySender, e);
+				}
+				finally {
+					if(_statistics != null) _statistics.finished(_queuedTime, startedTime);
+					taskFinished(this);
+				}
+			}
+		}
 
+		/**
+		 * Bearbeitet eine Konfigurationsanfrage und verschickt anschlieend die Antwort. Die Methode wird von einem Thread des gemeinsamen Thread-Pools
+		 * aufgerufen.
+		 *
+		 * @param resultData Datensatz mit der Anfrage
+		 */
+		private void processQuery(final ResultData resultData) {
+			try {
+				final Data query = resultData.getData();
 
-					final int queryIndex = query.getScaledValue("anfrageIndex").intValue();
-					String queryType = query.getScaledValue("nachrichtenTyp").getValueText();
-					final byte[] queryMessage = query.getUnscaledArray("daten").getByteArray();
-					_debug.finer("queryIndex = " + queryIndex);
-					_debug.finer("queryType = " + queryType);
-					//_debug.fine("queryMessage = " + queryMessage);
-					Deserializer deserializer = SerializingFactory.createDeserializer(2, new ByteArrayInputStream(queryMessage));
+				final int queryIndex = query.getScaledValue("anfrageIndex").intValue();
+				String queryType = query.getScaledValue("nachrichtenTyp").getValueText();
+				final byte[] queryMessage = query.getUnscaledArray("daten").getByteArray();
+				_debug.finer("queryIndex = " + queryIndex);
+				_debug.finer("queryType = " + queryType);
+				//_debug.fine("queryMessage = " + queryMessage);
+				Deserializer deserializer = SerializingFactory.createDeserializer(2, new ByteArrayInputStream(queryMessage));
 
-					_debug.fine("Konfiguration empfngt Auftrag: " + resultData.getDataDescription() + " AnfrageTyp: " + queryType);
+				_debug.fine("Konfiguration empfngt Auftrag: " + resultData.getDataDescription() + " AnfrageTyp: " + queryType);
 
-					// Enthlt die serialisierte Nachricht(byte-Array), die verschickt werden muss
-					ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
-					Serializer serializer = SerializingFactory.createSerializer(2, byteArrayStream);
+				// Enthlt die serialisierte Nachricht(byte-Array), die verschickt werden muss
+				ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
+				Serializer serializer = SerializingFactory.createSerializer(2, byteArrayStream);
 
-					if(resultData.getDataDescription().equals(_dataDescriptionReadLocal)) {
-						// Lesende Anfrage
-						// Wenn ein Beobachter angemeldet wird, muss keine Antwort verschickt werden
+				if(resultData.getDataDescription().equals(_dataDescriptionReadLocal)) {
+					// Lesende Anfrage
+					// Wenn ein Beobachter angemeldet wird, muss keine Antwort verschickt werden
 
-						// Speichert welche Antwort verschickt wird (Spezialfall Beobachter, dort wird keine Nachricht verschickt).
-						// Die Variable kann mit "" initialisiert werden, da immer (auch Exception) ein String gesetzt wird.
-						String messageType = "";
+					// Speichert welche Antwort verschickt wird (Spezialfall Beobachter, dort wird keine Nachricht verschickt).
+					// Die Variable kann mit "" initialisiert werden, da immer (auch Exception) ein String gesetzt wird.
+					String messageType = "";
 
-						boolean sendData = true;
-						try {
-							if(queryType.equals("ObjektAnfrageMitId")) {
-								// Diese Anfrage wird aktuell nur fr den ForeinRequestmanager verwendet und ist veraltet.
-								// Applikationen verwenden ObjektAnfrageMitIdNeu
-								long id = deserializer.readLong();
-								SystemObject object = _localConfiguration.getObject(id);
-								writeSystemObject(serializer, object, id, "");
-								messageType = "ObjektAntwort";
-							}
-							else if(queryType.equals("ObjektAnfrageMitPid")) {
-								// Diese Anfrage wird aktuell vermutlich gar nicht verwendet und ist veraltet.
-								String pid = deserializer.readString();
-								SystemObject object = _localConfiguration.getObject(pid, _simulationVariant);
-								writeSystemObject(serializer, object, 0, pid);
-								messageType = "ObjektAntwort";
-							}
-							else if(queryType.equals("ObjekteAnfragenMitIds")) {
-								int num = deserializer.readInt();
-								long[] ids = new long[num];
-								for(int i = 0; i < num; i++){
-									ids[i] = deserializer.readLong();
-								}
-								final List<SystemObject> objects = _localConfiguration.getObjects(ids);
-								boolean needsRemoteRequest = false;
-								for(SystemObject systemObject : objects) {
-									if(systemObject == null){
-										needsRemoteRequest = true;
-										break;
-									}
+					boolean sendData = true;
+					try {
+						if(queryType.equals("ObjektAnfrageMitId")) {
+							// Diese Anfrage wird aktuell nur fr den ForeinRequestmanager verwendet und ist veraltet.
+							// Applikationen verwenden ObjektAnfrageMitIdNeu
+							long id = deserializer.readLong();
+							SystemObject object = _localConfiguration.getObject(id);
+							writeSystemObject(serializer, object, id, "");
+							messageType = "ObjektAntwort";
+						}
+						else if(queryType.equals("ObjektAnfrageMitPid")) {
+							// Diese Anfrage wird aktuell vermutlich gar nicht verwendet und ist veraltet.
+							String pid = deserializer.readString();
+							SystemObject object = _localConfiguration.getObject(pid, _simulationVariant);
+							writeSystemObject(serializer, object, 0, pid);
+							messageType = "ObjektAntwort";
+						}
+						else if(queryType.equals("ObjekteAnfragenMitIds")) {
+							int num = deserializer.readInt();
+							long[] ids = new long[num];
+							for(int i = 0; i < num; i++){
+								ids[i] = deserializer.readLong();
+							}
+							final List<SystemObject> objects = _localConfiguration.getObjects(ids);
+							boolean needsRemoteRequest = false;
+							for(SystemObject systemObject : objects) {
+								if(systemObject == null){
+									needsRemoteRequest = true;
+									break;
 								}
-								if(needsRemoteRequest){
-									final AsyncIdsToObjectsRequest asyncIdsToObjectsRequest = new AsyncIdsToObjectsRequest(
-											_localConfiguration, _foreignObjectManager, ids
-									);
-									asyncIdsToObjectsRequest.setCompletion(new AsyncRequestCompletion() {
-										                                       @Override
-										                                       public void requestCompleted(final AsyncRequest asyncRequest) {
-											                                       try {
-												                                       final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-												                                       Serializer serializer = SerializingFactory.createSerializer(2, stream);
-												                                       SystemObject[] objects = ((AsyncIdsToObjectsRequest) asyncRequest)
-														                                       .getObjects();
-												                                       serializer.writeInt(objects.length);
-												                                       for(SystemObject systemObject : objects) {
-													                                       DafSerializerUtil.writeObject(serializer, systemObject);
-												                                       }
-												                                       _senderReplyReadTasks.sendData(
-														                                       "AntwortObjekte", stream.toByteArray(), queryIndex);
-											                                       }
-											                                       catch(Exception e) {
-												                                       e.printStackTrace(System.out);
-												                                       _debug.error("Fehler beim asynchronen Versand einer Konfigurationsantwort: ", e);
+							}
+							if(needsRemoteRequest){
+								final AsyncIdsToObjectsRequest asyncIdsToObjectsRequest = new AsyncIdsToObjectsRequest(
+										_localConfiguration, _foreignObjectManager, ids
+								);
+								asyncIdsToObjectsRequest.setCompletion(new AsyncRequestCompletion() {
+									                                       @Override
+									                                       public void requestCompleted(final AsyncRequest asyncRequest) {
+										                                       try {
+											                                       final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+											                                       Serializer serializer = SerializingFactory.createSerializer(2, stream);
+											                                       SystemObject[] objects = ((AsyncIdsToObjectsRequest) asyncRequest)
+													                                       .getObjects();
+											                                       serializer.writeInt(objects.length);
+											                                       for(SystemObject systemObject : objects) {
+												                                       DafSerializerUtil.writeObject(serializer, systemObject);
 											                                       }
+											                                       _senderReplyReadTasks.sendData(
+													                                       "AntwortObjekte", stream.toByteArray(), queryIndex);
 										                                       }
-									                                       });
-									asyncIdsToObjectsRequest.startProcessing();
-									continue; // Antwort asynchron senden
-								}
-								serializer.writeInt(objects.size());
-								for(SystemObject systemObject : objects) {
-									DafSerializerUtil.writeObject(serializer, systemObject);
-								}
-								messageType = "AntwortObjekte";
+										                                       catch(Exception e) {
+											                                       e.printStackTrace(System.out);
+											                                       _debug.error("Fehler beim asynchronen Versand einer Konfigurationsantwort: ", e);
+										                                       }
+									                                       }
+								                                       });
+								asyncIdsToObjectsRequest.startProcessing();
+								return; // Antwort asynchron senden
+							}
+							serializer.writeInt(objects.size());
+							for(SystemObject systemObject : objects) {
+								DafSerializerUtil.writeObject(serializer, systemObject);
 							}
-							else if(queryType.equals("ObjekteAnfragenMitPids")) {
-								int num = deserializer.readInt();
-								String[] pids = new String[num];
-								for(int i = 0; i < num; i++){
-									pids[i] = deserializer.readString();
+							messageType = "AntwortObjekte";
+						}
+						else if(queryType.equals("ObjekteAnfragenMitPids")) {
+							int num = deserializer.readInt();
+							String[] pids = new String[num];
+							for(int i = 0; i < num; i++){
+								pids[i] = deserializer.readString();
+							}
+							final List<SystemObject> objects = _localConfiguration.getObjects(pids, _simulationVariant);
+							serializer.writeInt(objects.size());
+							for(SystemObject systemObject : objects) {
+								DafSerializerUtil.writeObject(serializer, systemObject);
+							}
+							messageType = "AntwortObjekte";
+						}
+						else if(queryType.equals("ObjekteAnfragenMitTyp")) {
+							long id = deserializer.readLong();
+							SystemObject object = _localConfiguration.getObject(id);
+							if(object instanceof SystemObjectType) {
+								SystemObjectType type = (SystemObjectType) object;
+								List<SystemObject> elements;
+								if(type instanceof DynamicObjectType) {
+									DynamicObjectType dynamicObjectType = (DynamicObjectType) type;
+									elements = dynamicObjectType.getElements(_simulationVariant);
 								}
-								final List<SystemObject> objects = _localConfiguration.getObjects(pids, _simulationVariant);
-								serializer.writeInt(objects.size());
-								for(SystemObject systemObject : objects) {
-									DafSerializerUtil.writeObject(serializer, systemObject);
+								else {
+									elements = type.getElements();
 								}
-								messageType = "AntwortObjekte";
-							}
-							else if(queryType.equals("ObjekteAnfragenMitTyp")) {
-								long id = deserializer.readLong();
-								SystemObject object = _localConfiguration.getObject(id);
-								if(object instanceof SystemObjectType) {
-									SystemObjectType type = (SystemObjectType) object;
-									List<SystemObject> elements;
-									if(type instanceof DynamicObjectType) {
-										DynamicObjectType dynamicObjectType = (DynamicObjectType) type;
-										elements = dynamicObjectType.getElements(_simulationVariant);
-									}
-									else {
-										elements = type.getElements();
-									}
-									serializer.writeInt(elements.size());
-									for(SystemObject element : elements) {
-										DafSerializerUtil.writeObject(serializer, element);
-									}
-									messageType = "AntwortObjekte";
+								serializer.writeInt(elements.size());
+								for(SystemObject element : elements) {
+									DafSerializerUtil.writeObject(serializer, element);
 								}
+								messageType = "AntwortObjekte";
 							}
-							else if(queryType.equals("DynamischeMengeAlleElementeAnfrage")) {
-								final MutableSet set = (MutableSet)deserializer.readObjectReference(_localConfiguration);
+						}
+						else if(queryType.equals("DynamischeMengeAlleElementeAnfrage")) {
+							final MutableSet set = (MutableSet)deserializer.readObjectReference(_localConfiguration);
 
-								// Zu beachten:  Das Simulationobjekt ist bei Simulationsvariante <= 0 <code>null</code>, bei Simulationen ist das Objekt vorhanden
+							// Zu beachten:  Das Simulationobjekt ist bei Simulationsvariante <= 0 <code>null</code>, bei Simulationen ist das Objekt vorhanden
 
-								// Bei der Anfrage mssen 3 Flle unterschieden werden:
-								// 1) Keine Simulation -> Anfrage ganz normal stellen
-								// 2) Simulation, aber der Typ der Menge befindet sich nicht in den speziell zu behandelnden Mengen -> Anfrage normal stellen
-								// 3) Simulation und der Typ der Menge muss speziell behandelt werden -> Anfrage an die Menge, aber unter Bercksichtigung der Simulationsvariante
+							// Bei der Anfrage mssen 3 Flle unterschieden werden:
+							// 1) Keine Simulation -> Anfrage ganz normal stellen
+							// 2) Simulation, aber der Typ der Menge befindet sich nicht in den speziell zu behandelnden Mengen -> Anfrage normal stellen
+							// 3) Simulation und der Typ der Menge muss speziell behandelt werden -> Anfrage an die Menge, aber unter Bercksichtigung der Simulationsvariante
 
-								// true = Die Elemente einer Menge mssen unter Bercksichtigung der Simulationsvariante angefordert werden; false = Die Elemente
-								// knnen ganz normal angefordert werden
+							// true = Die Elemente einer Menge mssen unter Bercksichtigung der Simulationsvariante angefordert werden; false = Die Elemente
+							// knnen ganz normal angefordert werden
 
-								final boolean requestWithSimulationVariant;
-								if(_simulationVariant <= 0) {
-									// 1)
-									requestWithSimulationVariant = false;
-								}
-								else if(_simulationObject.isSpecialTreatedSetType((ObjectSetType)set.getType())) {
-									// Es handelt sich um eine Simulation und der Typ der Menge ist an der Simulationsstrecke als "speziell zu behandelnde Menge"
-									// aufgelistet.
-									// 3)
-									requestWithSimulationVariant = true;
+							final boolean requestWithSimulationVariant;
+							if(_simulationVariant <= 0) {
+								// 1)
+								requestWithSimulationVariant = false;
+							}
+							else if(_simulationObject.isSpecialTreatedSetType((ObjectSetType)set.getType())) {
+								// Es handelt sich um eine Simulation und der Typ der Menge ist an der Simulationsstrecke als "speziell zu behandelnde Menge"
+								// aufgelistet.
+								// 3)
+								requestWithSimulationVariant = true;
+							}
+							else {
+								// 2)
+								requestWithSimulationVariant = false;
+							}
+
+							long startTime = deserializer.readLong();
+							long endTime = deserializer.readLong();
+							boolean validDuringEntirePeriod = deserializer.readBoolean();
+							// Fallunterscheidung, welches getElements aufgerufen werden muss
+							List resultList = new LinkedList();
+							if(startTime == Long.MAX_VALUE && endTime == Long.MAX_VALUE) {
+								// Muss bei den Elementen die Simulationsvariante bercksichtigt werden
+								if(requestWithSimulationVariant) {
+									resultList = ((ConfigMutableSet)set).getElementsWithSimulationVariant(_simulationVariant);
 								}
 								else {
-									// 2)
-									requestWithSimulationVariant = false;
+									resultList = set.getElements();
 								}
-
-								long startTime = deserializer.readLong();
-								long endTime = deserializer.readLong();
-								boolean validDuringEntirePeriod = deserializer.readBoolean();
-								// Fallunterscheidung, welches getElements aufgerufen werden muss
-								List resultList = new LinkedList();
-								if(startTime == Long.MAX_VALUE && endTime == Long.MAX_VALUE) {
-									// Muss bei den Elementen die Simulationsvariante bercksichtigt werden
-									if(requestWithSimulationVariant) {
-										resultList = ((ConfigMutableSet)set).getElementsWithSimulationVariant(_simulationVariant);
-									}
-									else {
-										resultList = set.getElements();
-									}
-								}
-								else if(startTime == endTime) {
-									// Muss bei den Elementen die Simulationsvariante bercksichtigt werden
-									if(requestWithSimulationVariant) {
-										resultList = ((ConfigMutableSet)set).getElementsWithSimulationVariant(startTime, _simulationVariant);
-									}
-									else {
-										resultList = set.getElements(startTime);
-									}
+							}
+							else if(startTime == endTime) {
+								// Muss bei den Elementen die Simulationsvariante bercksichtigt werden
+								if(requestWithSimulationVariant) {
+									resultList = ((ConfigMutableSet)set).getElementsWithSimulationVariant(startTime, _simulationVariant);
 								}
-								else if(validDuringEntirePeriod) {
-									// Muss bei den Elementen die Simulationsvariante bercksichtigt werden
-									if(requestWithSimulationVariant) {
-										resultList = ((ConfigMutableSet)set).getElementsDuringPeriod(startTime, endTime, _simulationVariant);
-									}
-									else {
-										resultList = set.getElementsDuringPeriod(startTime, endTime);
-									}
+								else {
+									resultList = set.getElements(startTime);
 								}
-								else if(!validDuringEntirePeriod) {
-									// Muss bei den Elementen die Simulationsvariante bercksichtigt werden
-									if(requestWithSimulationVariant) {
-										resultList = ((ConfigMutableSet)set).getElementsInPeriod(startTime, endTime, _simulationVariant);
-									}
-									else {
-										resultList = set.getElementsInPeriod(startTime, endTime);
-									}
+							}
+							else if(validDuringEntirePeriod) {
+								// Muss bei den Elementen die Simulationsvariante bercksichtigt werden
+								if(requestWithSimulationVariant) {
+									resultList = ((ConfigMutableSet)set).getElementsDuringPeriod(startTime, endTime, _simulationVariant);
 								}
-
-								serializer.writeInt(resultList.size());	// speichert die Lnge der Antwort
-								for(Iterator iterator = resultList.iterator(); iterator.hasNext();) {
-									SystemObject systemObject = (SystemObject)iterator.next();
-									serializer.writeObjectReference(systemObject);
+								else {
+									resultList = set.getElementsDuringPeriod(startTime, endTime);
 								}
-								messageType = "DynamischeMengeAlleElementeAntwort";
 							}
-							else if(queryType.equals("DynamischeMengeBeobachterAnmelden")) {
-								MutableSet set = (MutableSet)deserializer.readObjectReference(_localConfiguration);
-								long time = deserializer.readLong();	// Zeit auslesen
-								if(_publisher == null) _publisher = new MutableSetChangePublisher();
-
-								if(_simulationVariant <= 0) {
-									// der Zeitstempel wird momentan nicht bentigt, deshalb wird er nicht weitergereicht
-									set.addChangeListener(_publisher /*, time*/);
+							else if(!validDuringEntirePeriod) {
+								// Muss bei den Elementen die Simulationsvariante bercksichtigt werden
+								if(requestWithSimulationVariant) {
+									resultList = ((ConfigMutableSet)set).getElementsInPeriod(startTime, endTime, _simulationVariant);
 								}
 								else {
-									// der Zeitstempel wird momentan nicht bentigt, deshalb wird er nicht weitergereicht
-									((ConfigMutableSet)set).addChangeListener(_publisher, _simulationVariant /*, time*/);
-								}
-								synchronized(_lockPublisher) {
-									if(_publisherSets == null) _publisherSets = new HashSet<MutableSet>();
-									_publisherSets.add(set);
+									resultList = set.getElementsInPeriod(startTime, endTime);
 								}
-								sendData = false;
 							}
-							else if(queryType.equals("DynamischeMengeBeobachterAbmelden")) {
-								MutableSet set = (MutableSet)deserializer.readObjectReference(_localConfiguration);
 
-								set.removeChangeListener(_publisher);
-								synchronized(_lockPublisher) {
-									if(_publisherSets != null) {
-										_publisherSets.remove(set);
-									}
+							serializer.writeInt(resultList.size());	// speichert die Lnge der Antwort
+							for(Iterator iterator = resultList.iterator(); iterator.hasNext();) {
+								SystemObject systemObject = (SystemObject)iterator.next();
+								serializer.writeObjectReference(systemObject);
+							}
+							messageType = "DynamischeMengeAlleElementeAntwort";
+						}
+						else if(queryType.equals("DynamischeMengeBeobachterAnmelden")) {
+							MutableSet set = (MutableSet)deserializer.readObjectReference(_localConfiguration);
+							long time = deserializer.readLong();	// Zeit auslesen
+							if(_publisher == null) _publisher = new MutableSetChangePublisher();
+
+							if(_simulationVariant <= 0) {
+								// der Zeitstempel wird momentan nicht bentigt, deshalb wird er nicht weitergereicht
+								set.addChangeListener(_publisher /*, time*/);
+							}
+							else {
+								// der Zeitstempel wird momentan nicht bentigt, deshalb wird er nicht weitergereicht
+								((ConfigMutableSet)set).addChangeListener(_publisher, _simulationVariant /*, time*/);
+							}
+							synchronized(_lockPublisher) {
+								if(_publisherSets == null) _publisherSets = new HashSet<MutableSet>();
+								_publisherSets.add(set);
+							}
+							sendData = false;
+						}
+						else if(queryType.equals("DynamischeMengeBeobachterAbmelden")) {
+							MutableSet set = (MutableSet)deserializer.readObjectReference(_localConfiguration);
+
+							set.removeChangeListener(_publisher);
+							synchronized(_lockPublisher) {
+								if(_publisherSets != null) {
+									_publisherSets.remove(set);
 								}
-								sendData = false;
-							}
-							else if(queryType.equals("DynamischeKollektionAnmeldung")) {
-								final SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
-								final MutableCollection mutableCollection = ((MutableCollection)systemObject);
-								short externalSimVariant = deserializer.readShort();
-								short internalSimVariant = getInternalSimVariant(externalSimVariant, mutableCollection);
-								PublishingMutableCollectionChangeListener handler;
-
-								ForeignMutableCollectionProxy foreignCollectionProxy = _foreignObjectManager.getForeignMutableCollectionProxy(internalSimVariant, mutableCollection);
-								handler = new PublishingMutableCollectionChangeListener(_querySender, mutableCollection, externalSimVariant, internalSimVariant, foreignCollectionProxy, queryIndex);
-								synchronized(_mutableCollectionChangeHandlers) {
-									if(_mutableCollectionChangeHandlers.put(handler, handler) == null) {
-										if(foreignCollectionProxy == null) {
-											mutableCollection.addChangeListener(internalSimVariant, handler);
-										}
-										else {
-											foreignCollectionProxy.addChangeListener(handler);
-											sendData = false;
-										}
+							}
+							sendData = false;
+						}
+						else if(queryType.equals("DynamischeKollektionAnmeldung")) {
+							final SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
+							final MutableCollection mutableCollection = ((MutableCollection)systemObject);
+							short externalSimVariant = deserializer.readShort();
+							short internalSimVariant = getInternalSimVariant(externalSimVariant, mutableCollection);
+							PublishingMutableCollectionChangeListener handler;
+
+							ForeignMutableCollectionProxy foreignCollectionProxy = _foreignObjectManager.getForeignMutableCollectionProxy(internalSimVariant, mutableCollection);
+							handler = new PublishingMutableCollectionChangeListener(_querySender, mutableCollection, externalSimVariant, internalSimVariant, foreignCollectionProxy, queryIndex);
+							synchronized(_mutableCollectionChangeHandlers) {
+								if(_mutableCollectionChangeHandlers.put(handler, handler) == null) {
+									if(foreignCollectionProxy == null) {
+										mutableCollection.addChangeListener(internalSimVariant, handler);
 									}
-								}
-								if(sendData) {
-									final Collection<SystemObject> elements = mutableCollection.getElements(internalSimVariant);
-									messageType = "DynamischeKollektionElemente";
-									serializer.writeObjectReference(systemObject);
-									serializer.writeShort(externalSimVariant);
-									serializer.writeInt(elements.size());
-									for(SystemObject element : elements) {
-										serializer.writeObjectReference(element);
+									else {
+										foreignCollectionProxy.addChangeListener(handler);
+										sendData = false;
 									}
 								}
 							}
-							else if(queryType.equals("DynamischeKollektionAbmeldung")) {
-								final SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
-								final MutableCollection mutableCollection = ((MutableCollection)systemObject);
-								short externalSimVariant = deserializer.readShort();
-								PublishingMutableCollectionChangeListener handler;
-								synchronized(_mutableCollectionChangeHandlers) {
-									handler = _mutableCollectionChangeHandlers.remove(new PublishingMutableCollectionChangeListener(_querySender, mutableCollection, externalSimVariant, (short)0, null, 0));
-									if(handler != null) {
-										final ForeignMutableCollectionProxy collectionProxy = handler.getForeignMutableCollectionProxy();
-										if(collectionProxy==null) {
-											mutableCollection.removeChangeListener(handler.getInternalSimVariant(), handler);
-										}
-										else {
-											collectionProxy.removeChangeListener(handler);
-										}
-									}
+							if(sendData) {
+								final Collection<SystemObject> elements = mutableCollection.getElements(internalSimVariant);
+								messageType = "DynamischeKollektionElemente";
+								serializer.writeObjectReference(systemObject);
+								serializer.writeShort(externalSimVariant);
+								serializer.writeInt(elements.size());
+								for(SystemObject element : elements) {
+									serializer.writeObjectReference(element);
 								}
-								sendData = false;
 							}
-							else if(queryType.equals("KommunikationszustandAnmeldung")) {
-								long systemObjectId = deserializer.readLong();
-								SystemObject object = _localConfiguration.getObject(systemObjectId);
-								int communicationState = -2;
-								ForeignConfigRequester foreignConfigRequester = null;
-								if(object instanceof MutableSet) {
-									MutableSet mutableSet = (MutableSet)object;
-									final String managementPid = _foreignObjectManager.getElementsManagementPid(mutableSet);
-									if(managementPid.equals(_localAuthority.getPid())) {
-										communicationState = -1;
+						}
+						else if(queryType.equals("DynamischeKollektionAbmeldung")) {
+							final SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
+							final MutableCollection mutableCollection = ((MutableCollection)systemObject);
+							short externalSimVariant = deserializer.readShort();
+							PublishingMutableCollectionChangeListener handler;
+							synchronized(_mutableCollectionChangeHandlers) {
+								handler = _mutableCollectionChangeHandlers.remove(new PublishingMutableCollectionChangeListener(_querySender, mutableCollection, externalSimVariant, (short)0, null, 0));
+								if(handler != null) {
+									final ForeignMutableCollectionProxy collectionProxy = handler.getForeignMutableCollectionProxy();
+									if(collectionProxy==null) {
+										mutableCollection.removeChangeListener(handler.getInternalSimVariant(), handler);
 									}
 									else {
-										foreignConfigRequester = _foreignObjectManager.getForeignConfigRequester(mutableSet);
+										collectionProxy.removeChangeListener(handler);
 									}
 								}
-								else if(object==null) {
-									object= _foreignObjectManager.getRemoteObject(systemObjectId);
-									if(object instanceof ForeignDynamicObject) {
-										ForeignDynamicObject foreignDynamicObject = (ForeignDynamicObject)object;
-										foreignConfigRequester = foreignDynamicObject.getForeignConfigRequester();
-									}
+							}
+							sendData = false;
+						}
+						else if(queryType.equals("KommunikationszustandAnmeldung")) {
+							long systemObjectId = deserializer.readLong();
+							SystemObject object = _localConfiguration.getObject(systemObjectId);
+							int communicationState = -2;
+							ForeignConfigRequester foreignConfigRequester = null;
+							if(object instanceof MutableSet) {
+								MutableSet mutableSet = (MutableSet)object;
+								final String managementPid = _foreignObjectManager.getElementsManagementPid(mutableSet);
+								if(managementPid.equals(_localAuthority.getPid())) {
+									communicationState = -1;
 								}
 								else {
-									communicationState = -1;
+									foreignConfigRequester = _foreignObjectManager.getForeignConfigRequester(mutableSet);
 								}
-								if(foreignConfigRequester != null) {
-									final PublishingCommunicationStateListener listener = new PublishingCommunicationStateListener(_querySender, object, foreignConfigRequester);
-									synchronized(_communicationChangedHandlers) {
-										if(_communicationChangedHandlers.put(listener, listener) == null) {
-											foreignConfigRequester.addCommunicationStateListener(listener);
-										}
-										communicationState = foreignConfigRequester.isCommunicatorConnected() ? 1 : 0;
+							}
+							else if(object==null) {
+								object= _foreignObjectManager.getRemoteObject(systemObjectId);
+								if(object instanceof ForeignDynamicObject) {
+									ForeignDynamicObject foreignDynamicObject = (ForeignDynamicObject)object;
+									foreignConfigRequester = foreignDynamicObject.getForeignConfigRequester();
+								}
+							}
+							else {
+								communicationState = -1;
+							}
+							if(foreignConfigRequester != null) {
+								final PublishingCommunicationStateListener listener = new PublishingCommunicationStateListener(_querySender, object, foreignConfigRequester);
+								synchronized(_communicationChangedHandlers) {
+									if(_communicationChangedHandlers.put(listener, listener) == null) {
+										foreignConfigRequester.addCommunicationStateListener(listener);
 									}
+									communicationState = foreignConfigRequester.isCommunicatorConnected() ? 1 : 0;
 								}
-								messageType = "KommunikationszustandRckmeldung";
-								serializer.writeObjectReference(object);
-								serializer.writeByte(communicationState);
 							}
-							else if(queryType.equals("KommunikationszustandAbmeldung")) {
+							messageType = "KommunikationszustandRckmeldung";
+							serializer.writeObjectReference(object);
+							serializer.writeByte(communicationState);
+						}
+						else if(queryType.equals("KommunikationszustandAbmeldung")) {
+							long systemObjectId = deserializer.readLong();
+							SystemObject object = _localConfiguration.getObject(systemObjectId);
+							if(object==null) {
+								object= _foreignObjectManager.getRemoteObject(systemObjectId);
+							}
+							if(object != null) {
+								PublishingCommunicationStateListener listener = new PublishingCommunicationStateListener(_querySender, object, null);
+								synchronized(_communicationChangedHandlers) {
+									listener = _communicationChangedHandlers.remove(listener);
+									if(listener != null) listener.getForeignConfigRequester().removeCommunicationStateListener(listener);
+								}
+							}
+							sendData = false;
+						}
+						else if(queryType.equals("DatensatzAnfrage")) {
+							long attributeGroupUsageId = deserializer.readLong();
+							AttributeGroupUsage attributeGroupUsage = (AttributeGroupUsage)_localConfiguration.getObject(attributeGroupUsageId);
+							if(attributeGroupUsage==null) {
+								_debug.warning(
+										"Datensatzanfrage mit unbekannter Attributgruppenverwendung ID: " + attributeGroupUsageId + " von " + _querySender
+								);
+							}
+							else {
+								_debug.finer("attributeGroupUsage.getPidOrId()", attributeGroupUsage.getPidOrId());
+							}
+							int numberOfObjects = deserializer.readInt();
+							serializer.writeInt(numberOfObjects);
+							final ByteArrayOutputStream dataOutputStream = new ByteArrayOutputStream();
+							Serializer dataSerializer = SerializingFactory.createSerializer(serializer.getVersion(), dataOutputStream);
+							for(int i = 0; i < numberOfObjects; ++i) {
 								long systemObjectId = deserializer.readLong();
 								SystemObject object = _localConfiguration.getObject(systemObjectId);
 								if(object==null) {
 									object= _foreignObjectManager.getRemoteObject(systemObjectId);
-								}
-								if(object != null) {
-									PublishingCommunicationStateListener listener = new PublishingCommunicationStateListener(_querySender, object, null);
-									synchronized(_communicationChangedHandlers) {
-										listener = _communicationChangedHandlers.remove(listener);
-										if(listener != null) listener.getForeignConfigRequester().removeCommunicationStateListener(listener);
+									if(object==null) {
+										object= _foreignObjectManager.getCachedForeignObject(systemObjectId);
 									}
 								}
-								sendData = false;
-							}
-							else if(queryType.equals("DatensatzAnfrage")) {
-								long attributeGroupUsageId = deserializer.readLong();
-								AttributeGroupUsage attributeGroupUsage = (AttributeGroupUsage)_localConfiguration.getObject(attributeGroupUsageId);
-								if(attributeGroupUsage==null) {
-									_debug.warning(
-											"Datensatzanfrage mit unbekannter Attributgruppenverwendung ID: " + attributeGroupUsageId + " von " + _querySender
-									);
+//								final ConfigSystemObject configSystemObject = ((ConfigSystemObject)object);
+//								// Version des Serialisierers, mit dem der nachfolgende Datensatz serialisiert wurde, als Byte versenden
+//								// serializer.writeByte(configSystemObject.getSerializerVersion());
+//								byte[] dataBytes = configSystemObject.getConfigurationDataBytes(attributeGroupUsage);
+//								if(dataBytes == null || dataBytes.length == 0) {
+//									serializer.writeInt(0);
+//								}
+//								else {
+//									serializer.writeInt(dataBytes.length);
+//									serializer.writeBytes(dataBytes);
+//								}
+
+
+								Data configData = ((object == null || attributeGroupUsage == null) ? null : object.getConfigurationData(attributeGroupUsage));
+								if(configData == null) {
+									serializer.writeInt(0);
 								}
 								else {
-									_debug.finer("attributeGroupUsage.getPidOrId()", attributeGroupUsage.getPidOrId());
-								}
-								int numberOfObjects = deserializer.readInt();
-								serializer.writeInt(numberOfObjects);
-								final ByteArrayOutputStream dataOutputStream = new ByteArrayOutputStream();
-								Serializer dataSerializer = SerializingFactory.createSerializer(serializer.getVersion(), dataOutputStream);
-								for(int i = 0; i < numberOfObjects; ++i) {
-									long systemObjectId = deserializer.readLong();
-									SystemObject object = _localConfiguration.getObject(systemObjectId);
-									if(object==null) {
-										object= _foreignObjectManager.getRemoteObject(systemObjectId);
-										if(object==null) {
-											object= _foreignObjectManager.getCachedForeignObject(systemObjectId);
-										}
-									}
-//									final ConfigSystemObject configSystemObject = ((ConfigSystemObject)object);
-//									// Version des Serialisierers, mit dem der nachfolgende Datensatz serialisiert wurde, als Byte versenden
-//									// serializer.writeByte(configSystemObject.getSerializerVersion());
-//									byte[] dataBytes = configSystemObject.getConfigurationDataBytes(attributeGroupUsage);
-//									if(dataBytes == null || dataBytes.length == 0) {
-//										serializer.writeInt(0);
-//									}
-//									else {
-//										serializer.writeInt(dataBytes.length);
-//										serializer.writeBytes(dataBytes);
-//									}
-
-
-									Data configData = ((object == null || attributeGroupUsage == null) ? null : object.getConfigurationData(attributeGroupUsage));
-									if(configData == null) {
-										serializer.writeInt(0);
-									}
-									else {
-										// Aus dem Data-Objekt wird mit einem eigenen Serializer ein ByteArray erzeugt,
-										// damit die Lnge bestimmt werden kann.
-										// Stream wird bei jedem Schleifendurchlauf wiederverwendet und deshalb mit reset() initialisiert
-										dataOutputStream.reset();
-										dataSerializer.writeData(configData);
-										byte[] dataBytes = dataOutputStream.toByteArray();
-										serializer.writeInt(dataBytes.length);
-										serializer.writeBytes(dataBytes);
-									}
+									// Aus dem Data-Objekt wird mit einem eigenen Serializer ein ByteArray erzeugt,
+									// damit die Lnge bestimmt werden kann.
+									// Stream wird bei jedem Schleifendurchlauf wiederverwendet und deshalb mit reset() initialisiert
+									dataOutputStream.reset();
+									dataSerializer.writeData(configData);
+									byte[] dataBytes = dataOutputStream.toByteArray();
+									serializer.writeInt(dataBytes.length);
+									serializer.writeBytes(dataBytes);
 								}
-								messageType = "DatensatzAntwort";
 							}
-							else if(queryType.equals("ObjekteAnfragenMitPidUndZeitbereich")) {
-								// Pid, Startzeitpunkt und Endzeitpunkt aulesen
-								final String pid = deserializer.readString();
-								final long startTime = deserializer.readLong();
-								final long endTime = deserializer.readLong();
+							messageType = "DatensatzAntwort";
+						}
+						else if(queryType.equals("ObjekteAnfragenMitPidUndZeitbereich")) {
+							// Pid, Startzeitpunkt und Endzeitpunkt aulesen
+							final String pid = deserializer.readString();
+							final long startTime = deserializer.readLong();
+							final long endTime = deserializer.readLong();
 
-								final Collection<SystemObject> result = _localConfiguration.getObjects(pid, startTime, endTime, _simulationVariant);
+							final Collection<SystemObject> result = _localConfiguration.getObjects(pid, startTime, endTime, _simulationVariant);
 
-								// Antwort serialisieren
+							// Antwort serialisieren
 
-								// Aufbau Antwort:
-								// Anzahl Referenzen, int
-								//      Referenzen auf SystemObjekte
+							// Aufbau Antwort:
+							// Anzahl Referenzen, int
+							//      Referenzen auf SystemObjekte
 
-								serializer.writeInt(result.size());
-								for(SystemObject systemObject : result) {
-									serializer.writeObjectReference(systemObject);
-								}
-								messageType = "AntwortObjekteAnfragenMitPidUndZeitbereich";
+							serializer.writeInt(result.size());
+							for(SystemObject systemObject : result) {
+								serializer.writeObjectReference(systemObject);
 							}
-							else if(queryType.equals("AktiveVersionKonfigurationsbereich")) {
-								// Das bergebene Objekt ist ein Konfigurationsbereich
-								final ConfigurationArea configurationArea = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
+							messageType = "AntwortObjekteAnfragenMitPidUndZeitbereich";
+						}
+						else if(queryType.equals("AktiveVersionKonfigurationsbereich")) {
+							// Das bergebene Objekt ist ein Konfigurationsbereich
+							final ConfigurationArea configurationArea = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
 
-								// Aktive Version anfragen und den short-Wert verschicken
-								final short activeVersion = _localConfiguration.getActiveVersion(configurationArea);
-								serializer.writeShort(activeVersion);
+							// Aktive Version anfragen und den short-Wert verschicken
+							final short activeVersion = _localConfiguration.getActiveVersion(configurationArea);
+							serializer.writeShort(activeVersion);
 
-								messageType = "AntwortAktiveVersionKonfigurationsbereich";
-							}
-							else if(queryType.equals("VersionInArbeitKonfigurationsbereich")) {
-								// Das bergebene Objekt ist ein Konfigurationsbereich
-								final ConfigurationArea configurationArea = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
+							messageType = "AntwortAktiveVersionKonfigurationsbereich";
+						}
+						else if(queryType.equals("VersionInArbeitKonfigurationsbereich")) {
+							// Das bergebene Objekt ist ein Konfigurationsbereich
+							final ConfigurationArea configurationArea = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
 
-								// modifizierbare Version anfragen und den short-Wert verschicken
-								final short modifiableVersion = configurationArea.getModifiableVersion();
-								serializer.writeShort(modifiableVersion);
+							// modifizierbare Version anfragen und den short-Wert verschicken
+							final short modifiableVersion = configurationArea.getModifiableVersion();
+							serializer.writeShort(modifiableVersion);
 
-								messageType = "AntwortVersionInArbeitKonfigurationsbereich";
-							}
-							else if(queryType.equals("ObjekteMitBereichUndTypAnfragen")) {
-								// Konfigurationsbereiche einlesen. Die Zahl -99 wird als <code>null</code> interpretiert und dient als Wildcard.
-								final int numberOfConfigurationAreas = deserializer.readInt();
-								// Bereiche, die geprft werden sollen
-								final Collection<ConfigurationArea> configurationAreas;
+							messageType = "AntwortVersionInArbeitKonfigurationsbereich";
+						}
+						else if(queryType.equals("ObjekteMitBereichUndTypAnfragen")) {
+							// Konfigurationsbereiche einlesen. Die Zahl -99 wird als <code>null</code> interpretiert und dient als Wildcard.
+							final int numberOfConfigurationAreas = deserializer.readInt();
+							// Bereiche, die geprft werden sollen
+							final Collection<ConfigurationArea> configurationAreas;
 
-								if(numberOfConfigurationAreas >= 0) {
-									configurationAreas = new ArrayList<ConfigurationArea>(numberOfConfigurationAreas);
-									for(int nr = 0; nr < numberOfConfigurationAreas; nr++) {
-										configurationAreas.add((ConfigurationArea)deserializer.readObjectReference(_localConfiguration));
-									}
-								}
-								else {
-									// Wildcard fr Bereiche
-									configurationAreas = null;
+							if(numberOfConfigurationAreas >= 0) {
+								configurationAreas = new ArrayList<ConfigurationArea>(numberOfConfigurationAreas);
+								for(int nr = 0; nr < numberOfConfigurationAreas; nr++) {
+									configurationAreas.add((ConfigurationArea)deserializer.readObjectReference(_localConfiguration));
 								}
+							}
+							else {
+								// Wildcard fr Bereiche
+								configurationAreas = null;
+							}
 
-								// Typen einlesen. Die Zahl -99 wird als <code>null</code> interpretiert und dient als Wildcard.
-								final int numberOfTypes = deserializer.readInt();
-								// Typen, die geprft werden sollen
-								final Collection<SystemObjectType> systemObjectTypes;
+							// Typen einlesen. Die Zahl -99 wird als <code>null</code> interpretiert und dient als Wildcard.
+							final int numberOfTypes = deserializer.readInt();
+							// Typen, die geprft werden sollen
+							final Collection<SystemObjectType> systemObjectTypes;
 
-								if(numberOfTypes >= 0) {
-									systemObjectTypes = new ArrayList<SystemObjectType>(numberOfTypes);
+							if(numberOfTypes >= 0) {
+								systemObjectTypes = new ArrayList<SystemObjectType>(numberOfTypes);
 
-									for(int nr = 0; nr < numberOfTypes; nr++) {
-										systemObjectTypes.add((SystemObjectType)deserializer.readObjectReference(_localConfiguration));
-									}
-								}
-								else {
-									// Wildcard fr Typen
-									systemObjectTypes = null;
+								for(int nr = 0; nr < numberOfTypes; nr++) {
+									systemObjectTypes.add((SystemObjectType)deserializer.readObjectReference(_localConfiguration));
 								}
+							}
+							else {
+								// Wildcard fr Typen
+								systemObjectTypes = null;
+							}
 
-								// Zeitspezifikation einlesen
-								final ObjectTimeSpecification objectTimeSpecification = deserializeObjectTimeSpecification(deserializer);
+							// Zeitspezifikation einlesen
+							final ObjectTimeSpecification objectTimeSpecification = deserializeObjectTimeSpecification(deserializer);
 
-								final Collection<SystemObject> result = _localConfiguration.getObjects(
-										configurationAreas, systemObjectTypes, objectTimeSpecification, _simulationVariant
-								);
-
-								// Die Antwort wird wie folgt kodiert:
-								// Anzahl Referenzen, int
-								//      Referenzen
+							final Collection<SystemObject> result = _localConfiguration.getObjects(
+									configurationAreas, systemObjectTypes, objectTimeSpecification, _simulationVariant
+							);
 
-								serializer.writeInt(result.size());
-								for(SystemObject systemObject : result) {
-									serializer.writeObjectReference(systemObject);
-								}
+							// Die Antwort wird wie folgt kodiert:
+							// Anzahl Referenzen, int
+							//      Referenzen
 
-								messageType = "AntwortObjekteMitBereichUndTypAnfragen";
+							serializer.writeInt(result.size());
+							for(SystemObject systemObject : result) {
+								serializer.writeObjectReference(systemObject);
 							}
-							else if(queryType.equals("ObjekteDirekterTyp")) {
-								// Einen bestimmten Bereich nach Objekte bestimmter Typen anfragen
 
-								// Bereich, in dem die Daten gesucht werden sollen
-								final ConfigurationArea configurationArea = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
+							messageType = "AntwortObjekteMitBereichUndTypAnfragen";
+						}
+						else if(queryType.equals("ObjekteDirekterTyp")) {
+							// Einen bestimmten Bereich nach Objekte bestimmter Typen anfragen
 
-								final int numberOfTypes = deserializer.readInt();
-								final Collection<SystemObjectType> systemObjectTypes = new ArrayList<SystemObjectType>(numberOfTypes);
+							// Bereich, in dem die Daten gesucht werden sollen
+							final ConfigurationArea configurationArea = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
 
-								for(int nr = 0; nr < numberOfTypes; nr++) {
-									systemObjectTypes.add((SystemObjectType)deserializer.readObjectReference(_localConfiguration));
-								}
+							final int numberOfTypes = deserializer.readInt();
+							final Collection<SystemObjectType> systemObjectTypes = new ArrayList<SystemObjectType>(numberOfTypes);
 
-								// Zeit auslesen
-								final ObjectTimeSpecification objectTimeSpecification = deserializeObjectTimeSpecification(deserializer);
+							for(int nr = 0; nr < numberOfTypes; nr++) {
+								systemObjectTypes.add((SystemObjectType)deserializer.readObjectReference(_localConfiguration));
+							}
 
-								// Anfrage stellen und Antwort verschicken
-								final Collection<SystemObject> result = configurationArea.getDirectObjects(systemObjectTypes, objectTimeSpecification);
+							// Zeit auslesen
+							final ObjectTimeSpecification objectTimeSpecification = deserializeObjectTimeSpecification(deserializer);
 
-								serializer.writeInt(result.size());
+							// Anfrage stellen und Antwort verschicken
+							final Collection<SystemObject> result = configurationArea.getDirectObjects(systemObjectTypes, objectTimeSpecification);
 
-								for(SystemObject systemObject : result) {
-									serializer.writeObjectReference(systemObject);
-								}
-								messageType = "AntwortObjekteDirekterTyp";
-							}
-							else if(queryType.equals("NeueObjekteEinesBereichsAnfordern")) {
+							serializer.writeInt(result.size());
 
-								// Es sollen alle neuen Objekte eines Bereichs angefragt werden
+							for(SystemObject systemObject : result) {
+								serializer.writeObjectReference(systemObject);
+							}
+							messageType = "AntwortObjekteDirekterTyp";
+						}
+						else if(queryType.equals("NeueObjekteEinesBereichsAnfordern")) {
 
-								final ConfigurationArea area = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
+							// Es sollen alle neuen Objekte eines Bereichs angefragt werden
 
-								// Das Antworttelegramm besitzt folgenden Aufbau:
-								// 1) Anzahl Elemente, int (Ist kein Objekt vorhanden, so wird 0 eingetragen)
-								//      2) Objektreferenzen auf die neuen Objekte
+							final ConfigurationArea area = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
 
-								final Collection<SystemObject> newObjects = area.getNewObjects();
+							// Das Antworttelegramm besitzt folgenden Aufbau:
+							// 1) Anzahl Elemente, int (Ist kein Objekt vorhanden, so wird 0 eingetragen)
+							//      2) Objektreferenzen auf die neuen Objekte
 
-								serializer.writeInt(newObjects.size());
+							final Collection<SystemObject> newObjects = area.getNewObjects();
 
-								for(SystemObject newObject : newObjects) {
-									serializer.writeObjectReference(newObject);
-								}
+							serializer.writeInt(newObjects.size());
 
-								messageType = "AntwortNeueObjekteEinesBereichsAnfordern";
+							for(SystemObject newObject : newObjects) {
+								serializer.writeObjectReference(newObject);
 							}
-							else if(queryType.equals("ElementeEinerMengeZeit")) {
-								final ObjectSet set = (ObjectSet)deserializer.readObjectReference(_localConfiguration);
 
-								// Zeit, in der die Objekte gltig sein sollen
-								final ObjectTimeSpecification objectTimeSpecification = deserializeObjectTimeSpecification(deserializer);
-
-								final List<SystemObject> result;
-								if(objectTimeSpecification.getType() == TimeSpecificationType.VALID_AT_TIME) {
-									result = set.getElements(objectTimeSpecification.getTime());
-								}
-								else if(objectTimeSpecification.getType() == TimeSpecificationType.VALID_DURING_PERIOD) {
-									result = set.getElementsDuringPeriod(objectTimeSpecification.getStartTime(), objectTimeSpecification.getEndTime());
-								}
-								else if(objectTimeSpecification.getType() == TimeSpecificationType.VALID_IN_PERIOD) {
-									result = set.getElementsInPeriod(objectTimeSpecification.getStartTime(), objectTimeSpecification.getEndTime());
-								}
-								else {
-									throw new IllegalStateException("Anfrage unbekannten Typs: " + objectTimeSpecification.getType());
-								}
+							messageType = "AntwortNeueObjekteEinesBereichsAnfordern";
+						}
+						else if(queryType.equals("ElementeEinerMengeZeit")) {
+							final ObjectSet set = (ObjectSet)deserializer.readObjectReference(_localConfiguration);
 
-								messageType = "AntwortElementeEinerMengeZeit";
+							// Zeit, in der die Objekte gltig sein sollen
+							final ObjectTimeSpecification objectTimeSpecification = deserializeObjectTimeSpecification(deserializer);
 
-								serializeObjectList(serializer, result);
+							final List<SystemObject> result;
+							if(objectTimeSpecification.getType() == TimeSpecificationType.VALID_AT_TIME) {
+								result = set.getElements(objectTimeSpecification.getTime());
+							}
+							else if(objectTimeSpecification.getType() == TimeSpecificationType.VALID_DURING_PERIOD) {
+								result = set.getElementsDuringPeriod(objectTimeSpecification.getStartTime(), objectTimeSpecification.getEndTime());
+							}
+							else if(objectTimeSpecification.getType() == TimeSpecificationType.VALID_IN_PERIOD) {
+								result = set.getElementsInPeriod(objectTimeSpecification.getStartTime(), objectTimeSpecification.getEndTime());
+							}
+							else {
+								throw new IllegalStateException("Anfrage unbekannten Typs: " + objectTimeSpecification.getType());
 							}
-							else if(queryType.equals("ElementeEinerMengeVersion")) {
 
-								// Menge, von der die Elemente angefordert werden sollen
-								final ConfigNonMutableSet set = (ConfigNonMutableSet)deserializer.readObjectReference(_localConfiguration);
+							messageType = "AntwortElementeEinerMengeZeit";
 
-								final KindOfVersion kindOfVersion = KindOfVersion.getInstance(deserializer.readByte());
+							serializeObjectList(serializer, result);
+						}
+						else if(queryType.equals("ElementeEinerMengeVersion")) {
 
-								List<SystemObject> result;
+							// Menge, von der die Elemente angefordert werden sollen
+							final ConfigNonMutableSet set = (ConfigNonMutableSet)deserializer.readObjectReference(_localConfiguration);
 
-								if(kindOfVersion == KindOfVersion.IN_ALL_VERSIONS || kindOfVersion == KindOfVersion.IN_ANY_VERSIONS) {
-									// die Versionen sind in beiden Fllen gespeichert
-									final short fromVersion = deserializer.readShort();
-									final short toVersion = deserializer.readShort();
+							final KindOfVersion kindOfVersion = KindOfVersion.getInstance(deserializer.readByte());
 
-									if(kindOfVersion == KindOfVersion.IN_ALL_VERSIONS) {
+							List<SystemObject> result;
 
-										result = set.getElementsInAllVersions(fromVersion, toVersion);
-									}
-									else {
-										result = set.getElementsInAnyVersions(fromVersion, toVersion);
-									}
-								}
-								else if(kindOfVersion == KindOfVersion.IN_VERSION) {
-									final short version = deserializer.readShort();
-									result = set.getElementsInVersion(version);
-								}
-								else if(kindOfVersion == KindOfVersion.IN_NEXT_VERSION) {
-									// Fr diesen Fall muss nichts weiter ausgelesen werden
-									result = set.getElementsInModifiableVersion();
+							if(kindOfVersion == KindOfVersion.IN_ALL_VERSIONS || kindOfVersion == KindOfVersion.IN_ANY_VERSIONS) {
+								// die Versionen sind in beiden Fllen gespeichert
+								final short fromVersion = deserializer.readShort();
+								final short toVersion = deserializer.readShort();
+
+								if(kindOfVersion == KindOfVersion.IN_ALL_VERSIONS) {
+
+									result = set.getElementsInAllVersions(fromVersion, toVersion);
 								}
 								else {
-									throw new IllegalStateException("Unbekannte Versionsanfrage: " + kindOfVersion);
+									result = set.getElementsInAnyVersions(fromVersion, toVersion);
 								}
-								serializeObjectList(serializer, result);
-								messageType = "AntwortElementeEinerMengeVersion";
+							}
+							else if(kindOfVersion == KindOfVersion.IN_VERSION) {
+								final short version = deserializer.readShort();
+								result = set.getElementsInVersion(version);
+							}
+							else if(kindOfVersion == KindOfVersion.IN_NEXT_VERSION) {
+								// Fr diesen Fall muss nichts weiter ausgelesen werden
+								result = set.getElementsInModifiableVersion();
 							}
 							else {
-								final String errorMessage = "Unbekannter nachrichtenTyp: " + queryType;
-								serializer.writeString(errorMessage);
-								messageType = "FehlerAntwort";
-								_debug.warning("Bearbeitung von einer Konfigurationsanfrage fehlgeschlagen", errorMessage);
+								throw new IllegalStateException("Unbekannte Versionsanfrage: " + kindOfVersion);
 							}
+							serializeObjectList(serializer, result);
+							messageType = "AntwortElementeEinerMengeVersion";
 						}
-						catch(Exception e) {
-							// Es ist zu einem Fehler gekommen
-							messageType = generateErrorReply(serializer, e);
+						else {
+							final String errorMessage = "Unbekannter nachrichtenTyp: " + queryType;
+							serializer.writeString(errorMessage);
+							messageType = "FehlerAntwort";
+							_debug.warning("Bearbeitung von einer Konfigurationsanfrage fehlgeschlagen", errorMessage);
 						}
+					}
+					catch(Exception e) {
+						// Es ist zu einem Fehler gekommen
+						messageType = generateErrorReply(serializer, e);
+					}
 
-						if(sendData) {
-							assert !"".equals(messageType) : "Unbekannter Messagetype";
-							_debug.finer(
-									"Die Antwort auf die Anfrage " + queryType + " mit Index " + queryIndex + " wird verschickt. Empfangsobjekt: "
-									+ _querySender.getNameOrPidOrId() + " KonfigurationsAnfrageLesend"
-							);
-							_senderReplyReadTasks.sendData(messageType, byteArrayStream.toByteArray(), queryIndex);
-//							System.out.println("Read verschickt antwort auf " + _replyDataDescriptionRead);
-//							// Antwort auf die Anfrage verschicken
-//							sendReply(reply, byteArrayStream.toByteArray(), _replyDataDescriptionRead);
-						}
+					if(sendData) {
+						assert !"".equals(messageType) : "Unbekannter Messagetype";
+						_debug.finer(
+								"Die Antwort auf die Anfrage " + queryType + " mit Index " + queryIndex + " wird verschickt. Empfangsobjekt: "
+								+ _querySender.getNameOrPidOrId() + " KonfigurationsAnfrageLesend"
+						);
+						_senderReplyReadTasks.sendData(messageType, byteArrayStream.toByteArray(), queryIndex);
+//						System.out.println("Read verschickt antwort auf " + _replyDataDescriptionRead);
+//						// Antwort auf die Anfrage verschicken
+//						sendReply(reply, byteArrayStream.toByteArray(), _replyDataDescriptionRead);
 					}
-					else if(resultData.getDataDescription().equals(_dataDescriptionWriteLocal)) {
+				}
+				else if(resultData.getDataDescription().equals(_dataDescriptionWriteLocal)) {
 
-						// Bestimmt den Typ der Antwort
-						String messageType = "";
-						// Schreibende Anfrage
-						try {
-							if(queryType.equals("DynamischeMengeElementendern") || queryType.equals("KonfigurierendeMengeElementendern")) {
-
-								final ObjectSet set;
-
-								// Soll eine dynamische oder eine konfigurierende Menge gendert werden. Da auf dem Interface gearbeitet wird,
-								// ist nur die Objektzuweisung wichtig.
-								// Es wird auch sofort der richtige Antworttyp des Telegramms festgelegt.
-								if(queryType.equals("DynamischeMengeElementendern")) {
-									set = (MutableSet)deserializer.readObjectReference(_localConfiguration);
-									// Im Fehlerfall wird der Typ erneut gesetzt
-									messageType = "DynamischeMengeElementeAntwort";
-
-									// Bei dynamischen Mengen muss die Simulation bercksichtigt werden. Es gibt drei Flle:
-									// 1) Es handelt sich um keine Simulation (Simvariante <= 0) -> Elemente der Menge ndern
-									// 2) Es handelt sich um eine Simulation (Simvariante > 0) und der Typ der zu ndernden Menge wurde an der Simulationsstrecke
-									// angegeben -> Elemente der Menge ndern
-									// 3) Es handelt sich um eine Simulation und der Typ der zu ndernden Menge wurde nicht an der Simulationsstrecke angegeben
-									// -> Fehler, die Menge darf nicht gendert werden
-
-									// Anmerkung: Das _simulationObject darf <code>null</code> sein, wenn die Simulationsvariante <= 0 ist.
-									if(_simulationVariant <= 0) {
-										// Es handelt sich um keine Simulation
-										handleChangeElementsRequest(deserializer, serializer, set, true, false);
-									}
-									else if(_simulationObject.isSpecialTreatedSetType((ObjectSetType)set.getType())) {
-										// Es ist eine Simulation und die Menge darf gendert werden
-										handleChangeElementsRequest(deserializer, serializer, set, true, true);
-									}
-									else {
-										// Es ist eine Simulation, aber der Typ der Menge ist nicht an der Simulationsstrecke vermerkt. Also
-										// darf die Simulation nicht ndernd auf die dynamische Menge zugreifen.
-										// Da eine Exception geworfen wird, wird der messageType entsprechend gendert.
-										throw new ConfigurationChangeException(
-												"Die Menge " + set.getPid() + " darf durch die Simulation " + _simulationObject.getSimulationObject().getPid()
-												+ " mit Simulationsvariante " + _simulationVariant + " nicht gendert werden."
-										);
-									}
+					// Bestimmt den Typ der Antwort
+					String messageType = "";
+					// Schreibende Anfrage
+					try {
+						if(queryType.equals("DynamischeMengeElementendern") || queryType.equals("KonfigurierendeMengeElementendern")) {
+
+							final ObjectSet set;
+
+							// Soll eine dynamische oder eine konfigurierende Menge gendert werden. Da auf dem Interface gearbeitet wird,
+							// ist nur die Objektzuweisung wichtig.
+							// Es wird auch sofort der richtige Antworttyp des Telegramms festgelegt.
+							if(queryType.equals("DynamischeMengeElementendern")) {
+								set = (MutableSet)deserializer.readObjectReference(_localConfiguration);
+								// Im Fehlerfall wird der Typ erneut gesetzt
+								messageType = "DynamischeMengeElementeAntwort";
+
+								// Bei dynamischen Mengen muss die Simulation bercksichtigt werden. Es gibt drei Flle:
+								// 1) Es handelt sich um keine Simulation (Simvariante <= 0) -> Elemente der Menge ndern
+								// 2) Es handelt sich um eine Simulation (Simvariante > 0) und der Typ der zu ndernden Menge wurde an der Simulationsstrecke
+								// angegeben -> Elemente der Menge ndern
+								// 3) Es handelt sich um eine Simulation und der Typ der zu ndernden Menge wurde nicht an der Simulationsstrecke angegeben
+								// -> Fehler, die Menge darf nicht gendert werden
+
+								// Anmerkung: Das _simulationObject darf <code>null</code> sein, wenn die Simulationsvariante <= 0 ist.
+								if(_simulationVariant <= 0) {
+									// Es handelt sich um keine Simulation
+									handleChangeElementsRequest(deserializer, serializer, set, true, false);
+								}
+								else if(_simulationObject.isSpecialTreatedSetType((ObjectSetType)set.getType())) {
+									// Es ist eine Simulation und die Menge darf gendert werden
+									handleChangeElementsRequest(deserializer, serializer, set, true, true);
 								}
 								else {
-									set = (NonMutableSet)deserializer.readObjectReference(_localConfiguration);
-									messageType = "KonfigurierendeMengeElementeAntwort";
-									// Bei konfigurierenden Mengen spielt die Simulationsvariante keine Rolle.
-									// Aufruf der Methode:  considerSimulationVariant = false kann auch weggelassen werden.
-									handleChangeElementsRequest(deserializer, serializer, set, false, false);
+									// Es ist eine Simulation, aber der Typ der Menge ist nicht an der Simulationsstrecke vermerkt. Also
+									// darf die Simulation nicht ndernd auf die dynamische Menge zugreifen.
+									// Da eine Exception geworfen wird, wird der messageType entsprechend gendert.
+									throw new ConfigurationChangeException(
+											"Die Menge " + set.getPid() + " darf durch die Simulation " + _simulationObject.getSimulationObject().getPid()
+											+ " mit Simulationsvariante " + _simulationVariant + " nicht gendert werden."
+									);
 								}
 							}
-							else if(queryType.equals("KonfigurierendenDatensatzFestlegen")) {
+							else {
+								set = (NonMutableSet)deserializer.readObjectReference(_localConfiguration);
+								messageType = "KonfigurierendeMengeElementeAntwort";
+								// Bei konfigurierenden Mengen spielt die Simulationsvariante keine Rolle.
+								// Aufruf der Methode:  considerSimulationVariant = false kann auch weggelassen werden.
+								handleChangeElementsRequest(deserializer, serializer, set, false, false);
+							}
+						}
+						else if(queryType.equals("KonfigurierendenDatensatzFestlegen")) {
+
+							// Das bergebene Byte-Array ist wie folgt aufgebaut:
+
+							// Id der Attributgruppenverwendung, long
+							// Id des Systemobjekts, long
+							// Lnge des folgenden byte-Arrays, int
+							// Datensatz als byte-Array. Ein byte-Array der Lnge 0 wird als <code>null</code> interpretiert
+
+							// ATG-Verwendung
+							final AttributeGroupUsage attributeGroupUsage = (AttributeGroupUsage)_localConfiguration.getObject(deserializer.readLong());
+							// SystemObject an dem der Datensatz hinzugefgt werden soll
+							final SystemObject object = _localConfiguration.getObject(deserializer.readLong());
+
+							// Lnge des folgenden byte-Arrays
+							final int dataByteSize = deserializer.readInt();
+							// Konfigurierender Datensatz, der an das Objekt gehngt werden soll
+							final Data data;
+							if(dataByteSize > 0) {
+								data = deserializer.readData(attributeGroupUsage.getAttributeGroup());
+							}
+							else {
+								data = null;
+							}
+							object.setConfigurationData(attributeGroupUsage, data);
+							// Die Gegenseite erkennt, dass alles geklappt hat.
+							// Bei "false" wird versucht den Fehlertext auszulesen
+							serializer.writeBoolean(true);
+							messageType = "KonfigurierendenDatensatzFestlegenAntwort";
+						}
+						else if(queryType.equals("ObjektAnlegen")) {
+							// Es muss entweder ein dynamische Objekte oder ein Konfigurationsobjekt angelegt werden
 
-								// Das bergebene Byte-Array ist wie folgt aufgebaut:
+							// true = Es soll ein Konfiguraitonsobjekt angelegt werden
+							final boolean configurationObject = deserializer.readBoolean();
+							// Bereich, in dem das neue Objekt angelegt werden soll
+							final ConfigurationArea configurationArea = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
+							// Pid des Objekts
+							final String pid = deserializer.readString();
+							// Name des Objekts
+							final String name = deserializer.readString();
 
-								// Id der Attributgruppenverwendung, long
-								// Id des Systemobjekts, long
-								// Lnge des folgenden byte-Arrays, int
-								// Datensatz als byte-Array. Ein byte-Array der Lnge 0 wird als <code>null</code> interpretiert
+							// Das neu erzeugte Objekt
+							final SystemObject newObject;
 
-								// ATG-Verwendung
-								final AttributeGroupUsage attributeGroupUsage = (AttributeGroupUsage)_localConfiguration.getObject(deserializer.readLong());
-								// SystemObject an dem der Datensatz hinzugefgt werden soll
-								final SystemObject object = _localConfiguration.getObject(deserializer.readLong());
+							if(configurationObject) {
+								// Type des Konfigurationsobjekts einlesen
+								final ConfigurationObjectType type = (ConfigurationObjectType)deserializer.readObjectReference(_localConfiguration);
+								// Mengen, die angefgt werden sollen, auslesen
 
-								// Lnge des folgenden byte-Arrays
-								final int dataByteSize = deserializer.readInt();
-								// Konfigurierender Datensatz, der an das Objekt gehngt werden soll
-								final Data data;
-								if(dataByteSize > 0) {
-									data = deserializer.readData(attributeGroupUsage.getAttributeGroup());
-								}
-								else {
-									data = null;
-								}
-								object.setConfigurationData(attributeGroupUsage, data);
-								// Die Gegenseite erkennt, dass alles geklappt hat.
-								// Bei "false" wird versucht den Fehlertext auszulesen
-								serializer.writeBoolean(true);
-								messageType = "KonfigurierendenDatensatzFestlegenAntwort";
-							}
-							else if(queryType.equals("ObjektAnlegen")) {
-								// Es muss entweder ein dynamische Objekte oder ein Konfigurationsobjekt angelegt werden
-
-								// true = Es soll ein Konfiguraitonsobjekt angelegt werden
-								final boolean configurationObject = deserializer.readBoolean();
-								// Bereich, in dem das neue Objekt angelegt werden soll
-								final ConfigurationArea configurationArea = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
-								// Pid des Objekts
-								final String pid = deserializer.readString();
-								// Name des Objekts
-								final String name = deserializer.readString();
-
-								// Das neu erzeugte Objekt
-								final SystemObject newObject;
-
-								if(configurationObject) {
-									// Type des Konfigurationsobjekts einlesen
-									final ConfigurationObjectType type = (ConfigurationObjectType)deserializer.readObjectReference(_localConfiguration);
-									// Mengen, die angefgt werden sollen, auslesen
-
-									// Anzahl Mengen, die angefgt werden soll. Die Zahl "-99" stellt den Wert <code>null</code> dar
-									final int numberOfSets = deserializer.readInt();
-
-									final List<ObjectSet> sets;
-
-									if(numberOfSets >= 0) {
-										sets = new ArrayList<ObjectSet>(numberOfSets);
-
-										for(int nr = 0; nr < numberOfSets; nr++) {
-											sets.add((ObjectSet)deserializer.readObjectReference(_localConfiguration));
-										}
-									}
-									else {
-										sets = null;
-									}
+								// Anzahl Mengen, die angefgt werden soll. Die Zahl "-99" stellt den Wert <code>null</code> dar
+								final int numberOfSets = deserializer.readInt();
 
-									newObject = configurationArea.createConfigurationObject(type, pid, name, sets);
-								}
-								else {
+								final List<ObjectSet> sets;
 
-									final DynamicObjectType type = (DynamicObjectType)deserializer.readObjectReference(_localConfiguration);
+								if(numberOfSets >= 0) {
+									sets = new ArrayList<ObjectSet>(numberOfSets);
 
-									// Das neue Objekt anlegen, da bei diesem Auftrag keine Datenstze mit bertragen werden, wird eine leere Liste bergeben.
-									// An dieser Stelle wird festgelegt, dass die alte Methode benutzt werden soll. Diese prft derzeit nicht, ob alle
-									// bentigten Datenstze an dem neuen Objekt vorhanden sind, auch wenn diese vorhanden sein mssen.
-									newObject = createDynamicObject(
-											(ConfigConfigurationArea)configurationArea, type, pid, name, new ArrayList<DataAndATGUsageInformation>(), true
-									);
+									for(int nr = 0; nr < numberOfSets; nr++) {
+										sets.add((ObjectSet)deserializer.readObjectReference(_localConfiguration));
+									}
 								}
-								serializer.writeObjectReference(newObject);
-								messageType = "AntwortObjektAnlegen";
+								else {
+									sets = null;
+								}
+
+								newObject = configurationArea.createConfigurationObject(type, pid, name, sets);
 							}
-							else if(queryType.equals("DynamischesObjektMitKonfigurierendenDatensaetzenAnlegen")) {
-								// Dynamisches Objekt anlegen und sofort konfigurierende Datenstze speichern
+							else {
 
-								final ConfigurationArea configArea = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
-								final String pid = deserializer.readString();
-								final String name = deserializer.readString();
 								final DynamicObjectType type = (DynamicObjectType)deserializer.readObjectReference(_localConfiguration);
 
-								final int numberOfDataSets = deserializer.readInt();
+								// Das neue Objekt anlegen, da bei diesem Auftrag keine Datenstze mit bertragen werden, wird eine leere Liste bergeben.
+								// An dieser Stelle wird festgelegt, dass die alte Methode benutzt werden soll. Diese prft derzeit nicht, ob alle
+								// bentigten Datenstze an dem neuen Objekt vorhanden sind, auch wenn diese vorhanden sein mssen.
+								newObject = createDynamicObject(
+										(ConfigConfigurationArea)configurationArea, type, pid, name, new ArrayList<DataAndATGUsageInformation>(), true
+								);
+							}
+							serializer.writeObjectReference(newObject);
+							messageType = "AntwortObjektAnlegen";
+						}
+						else if(queryType.equals("DynamischesObjektMitKonfigurierendenDatensaetzenAnlegen")) {
+							// Dynamisches Objekt anlegen und sofort konfigurierende Datenstze speichern
 
-								final List<DataAndATGUsageInformation> dataSets = new ArrayList<DataAndATGUsageInformation>();
+							final ConfigurationArea configArea = (ConfigurationArea)deserializer.readObjectReference(_localConfiguration);
+							final String pid = deserializer.readString();
+							final String name = deserializer.readString();
+							final DynamicObjectType type = (DynamicObjectType)deserializer.readObjectReference(_localConfiguration);
 
-								// Simulationsvariantenspezifische deserialisierung
-								SimulationLookup simulationLookup = new SimulationLookup(_localConfiguration, _simulationVariant);
+							final int numberOfDataSets = deserializer.readInt();
 
-								for(int nr = 0; nr < numberOfDataSets; nr++) {
-									final AttributeGroupUsage usage = (AttributeGroupUsage)deserializer.readObjectReference(_localConfiguration);
-									final Data data = deserializer.readData(usage.getAttributeGroup(), simulationLookup);
-									final DataAndATGUsageInformation dataSet = new DataAndATGUsageInformation(usage, data);
-									dataSets.add(dataSet);
-								}
+							final List<DataAndATGUsageInformation> dataSets = new ArrayList<DataAndATGUsageInformation>();
 
-								// Es soll die neue create-Methode benutzt werden. Also wird auch geprft, ob alle bentigten Datenstze
-								// vorhanden sind.
-								final DynamicObject newObject = createDynamicObject(
-										(ConfigConfigurationArea)configArea, type, pid, name, dataSets, false
-								);
+							// Simulationsvariantenspezifische deserialisierung
+							SimulationLookup simulationLookup = new SimulationLookup(_localConfiguration, _simulationVariant);
 
-								serializer.writeObjectReference(newObject);
-								messageType = "AntwortObjektAnlegen";
+							for(int nr = 0; nr < numberOfDataSets; nr++) {
+								final AttributeGroupUsage usage = (AttributeGroupUsage)deserializer.readObjectReference(_localConfiguration);
+								final Data data = deserializer.readData(usage.getAttributeGroup(), simulationLookup);
+								final DataAndATGUsageInformation dataSet = new DataAndATGUsageInformation(usage, data);
+								dataSets.add(dataSet);
 							}
-							else if(queryType.equals("ObjektKopieren")) {
 
-								// Das bergebene Byte-Array besitzt folgenden aufbau:
-								// 1) Referenz auf das zu kopierende Objekt
-								// 2) Gre der Map, die angelegt werden muss
-								// 3) Je Eintrag in die Map die 2 Werte;
-								// 4) Pid, die ersetzt werden soll (String)
-								// 5) Pid, die die bestehnde Pid ersetzt (String)
+							// Es soll die neue create-Methode benutzt werden. Also wird auch geprft, ob alle bentigten Datenstze
+							// vorhanden sind.
+							final DynamicObject newObject = createDynamicObject(
+									(ConfigConfigurationArea)configArea, type, pid, name, dataSets, false
+							);
 
-								// Objekt das kopiert werden soll
-								final SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
+							serializer.writeObjectReference(newObject);
+							messageType = "AntwortObjektAnlegen";
+						}
+						else if(queryType.equals("ObjektKopieren")) {
 
-								final int numberOfEntries = deserializer.readInt();
+							// Das bergebene Byte-Array besitzt folgenden aufbau:
+							// 1) Referenz auf das zu kopierende Objekt
+							// 2) Gre der Map, die angelegt werden muss
+							// 3) Je Eintrag in die Map die 2 Werte;
+							// 4) Pid, die ersetzt werden soll (String)
+							// 5) Pid, die die bestehnde Pid ersetzt (String)
 
-								final Map<String, String> substitutePids = new HashMap<String, String>(numberOfEntries);
+							// Objekt das kopiert werden soll
+							final SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
 
-								for(int nr = 0; nr < numberOfEntries; nr++) {
-									final String key = deserializer.readString();
-									final String value = deserializer.readString();
+							final int numberOfEntries = deserializer.readInt();
 
-									substitutePids.put(key, value);
-								}
+							final Map<String, String> substitutePids = new HashMap<String, String>(numberOfEntries);
 
-								if(systemObject instanceof ConfigurationObject) {
-									final ConfigurationObject configurationObject = (ConfigurationObject)systemObject;
-									final SystemObject clonedObject = configurationObject.duplicate(substitutePids);
+							for(int nr = 0; nr < numberOfEntries; nr++) {
+								final String key = deserializer.readString();
+								final String value = deserializer.readString();
 
-									serializer.writeObjectReference(clonedObject);
-									messageType = "AntwortObjektKopieren";
-								}
-								else {
-									// Wenn es auch mglich ist dynamische Objekte zu kopieren, dann muss nur noch dieser Fall betrachtet werden, weil
-									// die Methode dann an dem SystemObject Interface gefordert wird.
-									throw new UnsupportedOperationException(
-											"Derzeit knnen nur Konfigurationsobjekte kopiert werden. Vom Objekt " + systemObject.getPid()
-											+ " kann keine Kopie erstellt werden, da es kein Konfigurationsobjekt ist."
-									);
-								}
+								substitutePids.put(key, value);
 							}
-							else if(queryType.equals("ObjektMengenBearbeiten")) {
-								// Das Telegramm besitzt folgenden Aufbau
-								// Objekt, dessen Mengen gendert werden sollen
-								// Menge, die gendert werden soll
-								// boolean, true = Menge hinzufgen; false = Menge entfernen
 
-								final ConfigurationObject configObject = (ConfigurationObject)deserializer.readObjectReference(_localConfiguration);
-								final ObjectSet set = (ObjectSet)deserializer.readObjectReference(_localConfiguration);
-								final boolean addSet = deserializer.readBoolean();
-
-								if(addSet) {
-									configObject.addSet(set);
-								}
-								else {
-									configObject.removeSet(set);
-								}
+							if(systemObject instanceof ConfigurationObject) {
+								final ConfigurationObject configurationObject = (ConfigurationObject)systemObject;
+								final SystemObject clonedObject = configurationObject.duplicate(substitutePids);
 
-								// Die Antwort signalisiert, dass die nderungen vorgenommen wurden. Kommt es zu einem Fehler, so
-								// wird die Exception in einem anderen Telegramm bertragen.
-								messageType = "AntwortObjektMengenBearbeiten";
+								serializer.writeObjectReference(clonedObject);
+								messageType = "AntwortObjektKopieren";
 							}
-							else if(queryType.equals("ObjektLschen")){
-								SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
-								systemObject.invalidate();
-								messageType = "AntwortObjektLschen";
-								if(systemObject instanceof DynamicObject) {
-									serializer.writeLong(((DynamicObject) systemObject).getNotValidSince());
-								}
-								else {
-									serializer.writeLong(0);
-								}
+							else {
+								// Wenn es auch mglich ist dynamische Objekte zu kopieren, dann muss nur noch dieser Fall betrachtet werden, weil
+								// die Methode dann an dem SystemObject Interface gefordert wird.
+								throw new UnsupportedOperationException(
+										"Derzeit knnen nur Konfigurationsobjekte kopiert werden. Vom Objekt " + systemObject.getPid()
+										+ " kann keine Kopie erstellt werden, da es kein Konfigurationsobjekt ist."
+								);
 							}
-							else if(queryType.equals("ObjektWiederherstellen")){
-								SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
-								if(systemObject instanceof ConfigurationObject) {
-									ConfigurationObject configurationObject = (ConfigurationObject) systemObject;
-									configurationObject.revalidate();
-									messageType = "AntwortObjektWiederherstellen";
-								}
-								else {
-									throw new ConfigurationChangeException("Nur konfigurierende Objekte knnen wiederhergestellt werden.");
-								}
+						}
+						else if(queryType.equals("ObjektMengenBearbeiten")) {
+							// Das Telegramm besitzt folgenden Aufbau
+							// Objekt, dessen Mengen gendert werden sollen
+							// Menge, die gendert werden soll
+							// boolean, true = Menge hinzufgen; false = Menge entfernen
+
+							final ConfigurationObject configObject = (ConfigurationObject)deserializer.readObjectReference(_localConfiguration);
+							final ObjectSet set = (ObjectSet)deserializer.readObjectReference(_localConfiguration);
+							final boolean addSet = deserializer.readBoolean();
+
+							if(addSet) {
+								configObject.addSet(set);
 							}
-							else if(queryType.equals("ObjektNamenndern")){
-								SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
-								systemObject.setName(deserializer.readString());
-								messageType = "AntwortObjektNamenndern";
+							else {
+								configObject.removeSet(set);
 							}
-							else if(queryType.equals("KonfigurationsnderungVerweigert")) {
-								final String errorMessage = "Konfigurationsnderung wurde wegen fehlender Rechte nicht ausgefhrt: " + deserializer.readString();;
-								serializer.writeString(errorMessage);
-								messageType = "KonfigurationsnderungVerweigert";
+
+							// Die Antwort signalisiert, dass die nderungen vorgenommen wurden. Kommt es zu einem Fehler, so
+							// wird die Exception in einem anderen Telegramm bertragen.
+							messageType = "AntwortObjektMengenBearbeiten";
+						}
+						else if(queryType.equals("ObjektLschen")){
+							SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
+							systemObject.invalidate();
+							messageType = "AntwortObjektLschen";
+							if(systemObject instanceof DynamicObject) {
+								serializer.writeLong(((DynamicObject) systemObject).getNotValidSince());
 							}
 							else {
-								final String errorMessage = "Unbekannter nachrichtenTyp: " + queryType;
-								serializer.writeString(errorMessage);
-								messageType = "FehlerAntwort";
-								_debug.warning("Bearbeitung von einer Konfigurationsanfrage fehlgeschlagen", errorMessage);
+								serializer.writeLong(0);
 							}
 						}
-						catch(ConfigurationChangeException e) {
-							// Die Konfiguration weigert sich den Schreibvorgang durchzufhren.
-							// Ein Grund dafr knnten mangelnde Rechte sein.
-							// Es ist zu einem Fehler gekommen
-//							e.printStackTrace();
-							final String errorMessage = "Fehler beim Versuch Daten der Konfiguration zu ndern: " + e;
+						else if(queryType.equals("ObjektWiederherstellen")){
+							SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
+							if(systemObject instanceof ConfigurationObject) {
+								ConfigurationObject configurationObject = (ConfigurationObject) systemObject;
+								configurationObject.revalidate();
+								messageType = "AntwortObjektWiederherstellen";
+							}
+							else {
+								throw new ConfigurationChangeException("Nur konfigurierende Objekte knnen wiederhergestellt werden.");
+							}
+						}
+						else if(queryType.equals("ObjektNamenndern")){
+							SystemObject systemObject = deserializer.readObjectReference(_localConfiguration);
+							systemObject.setName(deserializer.readString());
+							messageType = "AntwortObjektNamenndern";
+						}
+						else if(queryType.equals("KonfigurationsnderungVerweigert")) {
+							final String errorMessage = "Konfigurationsnderung wurde wegen fehlender Rechte nicht ausgefhrt: " + deserializer.readString();;
 							serializer.writeString(errorMessage);
 							messageType = "KonfigurationsnderungVerweigert";
-							_debug.warning("Fehler beim Versuch Daten der Konfiguration zu ndern", e);
 						}
-						catch(Exception e) {
-							// Es ist zu einem Fehler gekommen
-							messageType = generateErrorReply(serializer, e);
+						else {
+							final String errorMessage = "Unbekannter nachrichtenTyp: " + queryType;
+							serializer.writeString(errorMessage);
+							messageType = "FehlerAntwort";
+							_debug.warning("Bearbeitung von einer Konfigurationsanfrage fehlgeschlagen", errorMessage);
 						}
-						// Antwort auf die Anfrage verschicken
-						_senderReplyWriteTasks.sendData(messageType, byteArrayStream.toByteArray(), queryIndex);
-						_debug.finer(
-								"Die Antwort auf die Anfrage " + queryType + " mit Index " + queryIndex + " wird verschickt. Empfangsobjekt: "
-								+ _querySender.getNameOrPidOrId() + " KonfigurationsAnfrageSchreibend"
-						);
 					}
-					else if((_dataDescriptionUserLocal.getSimulationVariant() <= 0) && (resultData.getDataDescription().equals(_dataDescriptionUserLocal))) {
-						// Benutzerverwaltungsanfrage, diese drfen nicht von Simulationen angestossen werden
+					catch(ConfigurationChangeException e) {
+						// Die Konfiguration weigert sich den Schreibvorgang durchzufhren.
+						// Ein Grund dafr knnten mangelnde Rechte sein.
+						// Es ist zu einem Fehler gekommen
+//						e.printStackTrace();
+						final String errorMessage = "Fehler beim Versuch Daten der Konfiguration zu ndern: " + e;
+						serializer.writeString(errorMessage);
+						messageType = "KonfigurationsnderungVerweigert";
+						_debug.warning("Fehler beim Versuch Daten der Konfiguration zu ndern", e);
+					}
+					catch(Exception e) {
+						// Es ist zu einem Fehler gekommen
+						messageType = generateErrorReply(serializer, e);
+					}
+					// Antwort auf die Anfrage verschicken
+					_senderReplyWriteTasks.sendData(messageType, byteArrayStream.toByteArray(), queryIndex);
+					_debug.finer(
+							"Die Antwort auf die Anfrage " + queryType + " mit Index " + queryIndex + " wird verschickt. Empfangsobjekt: "
+							+ _querySender.getNameOrPidOrId() + " KonfigurationsAnfrageSchreibend"
+					);
+				}
+				else if((_dataDescriptionUserLocal.getSimulationVariant() <= 0) && (resultData.getDataDescription().equals(_dataDescriptionUserLocal))) {
+					// Benutzerverwaltungsanfrage, diese drfen nicht von Simulationen angestossen werden
 
-						// Speichert den Antworttyp der Nachricht
-						String messageType = "";
+					// Speichert den Antworttyp der Nachricht
+					String messageType = "";
 
-						try {
-							if("AuftragBenutzerverwaltung".equals(queryType)) {
-								// Es soll (eines der unten aufgefhrten Aktionen):
-								// - ein neuer Benutzer angelegt
-								// - ein Einmal-Passwort angelegt
-								// - die Rechte eines bestehenden Benutzers gendert
-								// - das Passwort eines Benutzers gendert werden
-								// - ein Benutzer gelscht werden
-								// - Einmalpasswrter gelscht werden odr deren verbleibende Anzahl ermittelt werden
-								// - geprft werden, ob ein Benutzer Admin-Rechte hat.
-								// Werden neue Aufgaben ergnzt, sollte der Kommentar erweitert werden
-
-								// Das bergebene Byte-Array enthlt:
-								// Benutzername des Benutzers, der den Auftrag anstt (String)
-								// Benutztes Verschlsslungsverfahren (String)
-								// Lnge des Byte-Arrays, das den verschlsselten Auftrag enthlt (int)
-								// Byte-Array, das den verschlsselten Auftrag enthlt (byte[])
-
-								final String username = deserializer.readString();
-								final String usedEncryptionProcessName = deserializer.readString();
-								final int lengthOfData = deserializer.readInt();
-								final byte[] encryptedTask = deserializer.readBytes(lengthOfData);
-
-								serializer.writeInt(_authentication.processTask(username, encryptedTask, usedEncryptionProcessName));
-								messageType = "AuftragBenutzerverwaltungAntwort";
-							}
-							else if("AuftragZufallstext".equals(queryType)) {
-								// Beauftragt die Benutzerverwaltung einen Zufallstext zu generieren
-
-								// Der Zufallstext wird wie folgt gespeichert:
-								// Lnge des Textes (int)
-								// Zufallstext (byte[])
-
-								byte[] randomText = _authentication.getText();
-								serializer.writeInt(randomText.length);
-								serializer.writeBytes(randomText);
-								messageType = "AuftragZufallstextAntwort";
-							}
-							else {
-								final String errorMessage = "Unbekannter nachrichtenTyp: " + queryType;
-								serializer.writeString(errorMessage);
-								messageType = "FehlerAntwort";
-								_debug.warning("Bearbeitung von einer Konfigurationsanfrage fehlgeschlagen", errorMessage);
-							}
+					try {
+						if("AuftragBenutzerverwaltung".equals(queryType)) {
+							// Es soll (eines der unten aufgefhrten Aktionen):
+							// - ein neuer Benutzer angelegt
+							// - ein Einmal-Passwort angelegt
+							// - die Rechte eines bestehenden Benutzers gendert
+							// - das Passwort eines Benutzers gendert werden
+							// - ein Benutzer gelscht werden
+							// - Einmalpasswrter gelscht werden odr deren verbleibende Anzahl ermittelt werden
+							// - geprft werden, ob ein Benutzer Admin-Rechte hat.
+							// Werden neue Aufgaben ergnzt, sollte der Kommentar erweitert werden
+
+							// Das bergebene Byte-Array enthlt:
+							// Benutzername des Benutzers, der den Auftrag anstt (String)
+							// Benutztes Verschlsslungsverfahren (String)
+							// Lnge des Byte-Arrays, das den verschlsselten Auftrag enthlt (int)
+							// Byte-Array, das den verschlsselten Auftrag enthlt (byte[])
+
+							final String username = deserializer.readString();
+							final String usedEncryptionProcessName = deserializer.readString();
+							final int lengthOfData = deserializer.readInt();
+							final byte[] encryptedTask = deserializer.readBytes(lengthOfData);
+
+							serializer.writeInt(_authentication.processTask(username, encryptedTask, usedEncryptionProcessName));
+							messageType = "AuftragBenutzerverwaltungAntwort";
 						}
-						catch(ConfigurationTaskException e) {
-							// Die Konfiguration lehnt es ab den Auftrag zu bearbeiten
-							final String errorMessage = "Die Konfiguration lehnt den Auftrag ab: " + e;
-							serializer.writeString(errorMessage);
-							messageType = "KonfigurationsauftragVerweigert";
+						else if("AuftragZufallstext".equals(queryType)) {
+							// Beauftragt die Benutzerverwaltung einen Zufallstext zu generieren
+
+							// Der Zufallstext wird wie folgt gespeichert:
+							// Lnge des Textes (int)
+							// Zufallstext (byte[])
+
+							byte[] randomText = _authentication.getText();
+							serializer.writeInt(randomText.length);
+							serializer.writeBytes(randomText);
+							messageType = "AuftragZufallstextAntwort";
 						}
-						catch(Exception e) {
-							// Es ist zu einem Fehler gekommen
-							messageType = generateErrorReply(serializer, e);
+						else {
+							final String errorMessage = "Unbekannter nachrichtenTyp: " + queryType;
+							serializer.writeString(errorMessage);
+							messageType = "FehlerAntwort";
+							_debug.warning("Bearbeitung von einer Konfigurationsanfrage fehlgeschlagen", errorMessage);
 						}
-						// Antwort auf die Anfrage verschicken
-						_senderReplyUserAdministrationTask.sendData(messageType, byteArrayStream.toByteArray(), queryIndex);
-						_debug.finer(
-								"Die Antwort auf die Anfrage " + queryType + " mit Index " + queryIndex + " wird verschickt. Empfangsobjekt: "
-								+ _querySender.getNameOrPidOrId() + " Benutzerverwaltung"
-						);
 					}
-					else if((_dataDescriptionAreaLocal.getSimulationVariant() <= 0) && (resultData.getDataDescription().equals(_dataDescriptionAreaLocal))) {
-						// Auftrag fr Konfigurationsbereiche, diese knnen nicht durch Simulationen angestossen werden
-						// Speichert den Antworttyp der Nachricht
-						String messageType = "";
+					catch(ConfigurationTaskException e) {
+						// Die Konfiguration lehnt es ab den Auftrag zu bearbeiten
+						final String errorMessage = "Die Konfiguration lehnt den Auftrag ab: " + e;
+						serializer.writeString(errorMessage);
+						messageType = "KonfigurationsauftragVerweigert";
+					}
+					catch(Exception e) {
+						// Es ist zu einem Fehler gekommen
+						messageType = generateErrorReply(serializer, e);
+					}
+					// Antwort auf die Anfrage verschicken
+					_senderReplyUserAdministrationTask.sendData(messageType, byteArrayStream.toByteArray(), queryIndex);
+					_debug.finer(
+							"Die Antwort auf die Anfrage " + queryType + " mit Index " + queryIndex + " wird verschickt. Empfangsobjekt: "
+							+ _querySender.getNameOrPidOrId() + " Benutzerverwaltung"
+					);
+				}
+				else if((_dataDescriptionAreaLocal.getSimulationVariant() <= 0) && (resultData.getDataDescription().equals(_dataDescriptionAreaLocal))) {
+					// Auftrag fr Konfigurationsbereiche, diese knnen nicht durch Simulationen angestossen werden
+					// Speichert den Antworttyp der Nachricht
+					String messageType = "";
 
-						try {
-							if("BereichePrfen".equals(queryType)) {
-								ConsistencyCheckResultInterface consistencyCheckResultInterface = _localConfiguration.checkConsistency(
-										createAreaAndVersion(deserializer)
-								);
-								// Die Antwort zusammenfassen
-								transferConsistencyCheckResult(consistencyCheckResultInterface, serializer);
-								messageType = "BereichePrfenAntwort";
-							}
-							else if("BereicheAktivieren".equals(queryType)) {
-								ConsistencyCheckResultInterface consistencyCheckResultInterface = _localConfiguration.activateConfigurationAreas(
-										createAreaAndVersion(deserializer)
-								);
-								transferConsistencyCheckResult(consistencyCheckResultInterface, serializer);
-								messageType = "BereicheAktivierenAntwort";
-							}
-							else if("BereicheFreigabeZurbernahme".equals(queryType)) {
-								ConsistencyCheckResultInterface consistencyCheckResultInterface = _localConfiguration.releaseConfigurationAreasForTransfer(
-										createAreaAndVersion(deserializer)
-								);
-								transferConsistencyCheckResult(consistencyCheckResultInterface, serializer);
-								messageType = "BereicheFreigabeZurbernahmeAntwort";
-							}
-							else if("BereicheFreigabeZurAktivierung".equals(queryType)) {
-								_localConfiguration.releaseConfigurationAreasForActivation(createAreaAndVersion(deserializer));
-								// Irgendwas zurckgeben. Die positive Antwort wird nicht ausgewertet, der Fehlerfall (Fehlemeldung) ist von intresse.
-								serializer.writeBoolean(true);
-								messageType = "BereicheFreigabeZurAktivierungAntwort";
-							}
-							else if("AlleBereicheAnfordern".equals(queryType)) {
-								// Ein Benutzer fordert alle Konfigurtionsbereiche an, auch die, die nur in den Verwaltungsdateien
-								// gespeichert sind und nicht aktiv sind.
+					try {
+						if("BereichePrfen".equals(queryType)) {
+							ConsistencyCheckResultInterface consistencyCheckResultInterface = _localConfiguration.checkConsistency(
+									createAreaAndVersion(deserializer)
+							);
+							// Die Antwort zusammenfassen
+							transferConsistencyCheckResult(consistencyCheckResultInterface, serializer);
+							messageType = "BereichePrfenAntwort";
+						}
+						else if("BereicheAktivieren".equals(queryType)) {
+							ConsistencyCheckResultInterface consistencyCheckResultInterface = _localConfiguration.activateConfigurationAreas(
+									createAreaAndVersion(deserializer)
+							);
+							transferConsistencyCheckResult(consistencyCheckResultInterface, serializer);
+							messageType = "BereicheAktivierenAntwort";
+						}
+						else if("BereicheFreigabeZurbernahme".equals(queryType)) {
+							ConsistencyCheckResultInterface consistencyCheckResultInterface = _localConfiguration.releaseConfigurationAreasForTransfer(
+									createAreaAndVersion(deserializer)
+							);
+							transferConsistencyCheckResult(consistencyCheckResultInterface, serializer);
+							messageType = "BereicheFreigabeZurbernahmeAntwort";
+						}
+						else if("BereicheFreigabeZurAktivierung".equals(queryType)) {
+							_localConfiguration.releaseConfigurationAreasForActivation(createAreaAndVersion(deserializer));
+							// Irgendwas zurckgeben. Die positive Antwort wird nicht ausgewertet, der Fehlerfall (Fehlemeldung) ist von intresse.
+							serializer.writeBoolean(true);
+							messageType = "BereicheFreigabeZurAktivierungAntwort";
+						}
+						else if("AlleBereicheAnfordern".equals(queryType)) {
+							// Ein Benutzer fordert alle Konfigurtionsbereiche an, auch die, die nur in den Verwaltungsdateien
+							// gespeichert sind und nicht aktiv sind.
 
-								// Der Deserialisierer enthlt keine Informationen, die ausgelesen werden mssen
+							// Der Deserialisierer enthlt keine Informationen, die ausgelesen werden mssen
 
-								// Die Bereiche anfordern. Es werden nur die Ids gebraucht. ber diese kann sich
-								// der Empfnger die Map selbst zusammenbauen (Objekt mit Id anfordern, dann steht das Objekt und die Pid zur Verfgung).
-								final Collection<ConfigurationArea> allConfigurationAreas = _localConfiguration.getAllConfigurationAreas().values();
+							// Die Bereiche anfordern. Es werden nur die Ids gebraucht. ber diese kann sich
+							// der Empfnger die Map selbst zusammenbauen (Objekt mit Id anfordern, dann steht das Objekt und die Pid zur Verfgung).
+							final Collection<ConfigurationArea> allConfigurationAreas = _localConfiguration.getAllConfigurationAreas().values();
 
-								// Aufbau der Daten:
-								// Anzahl Ids (int)
-								// Anzahl viele Long-Werte, die jeweils einer Id eines Bereichs entsprechen
+							// Aufbau der Daten:
+							// Anzahl Ids (int)
+							// Anzahl viele Long-Werte, die jeweils einer Id eines Bereichs entsprechen
 
-								serializer.writeInt(allConfigurationAreas.size());
+							serializer.writeInt(allConfigurationAreas.size());
 
-								for(ConfigurationArea configurationArea : allConfigurationAreas) {
-									serializer.writeLong(configurationArea.getId());
-								}
-								// Antwort Kennzeichnen
-								messageType = "AlleBereicheAnfordernAntwort";
-							}
-							else if("BereichAnlegen".equals(queryType)) {
-								// Neuen Bereich anlegen
-
-								// Den Namen auslesen
-								final String name = deserializer.readString();
-								// Pid
-								final String pid = deserializer.readString();
-								// Pid des Konfigurationsverantwortlichen
-								final String authorityPid = deserializer.readString();
-
-								// Den Bereich anlegen, wird eine Exception geworfen, wird diese gefangen und
-								// als Antwort verschickt. Kann der Bereich angelegt werden, wird die Id verschickt.
-								final ConfigurationArea newConfigurationArea = _localConfiguration.createConfigurationArea(
-										name, pid, authorityPid
-								);
-								// Id des neuen Bereichs. Damit kann der Empfnger das Objekt anfordern, auch wenn es noch nicht
-								// aktiv ist
-								serializer.writeLong(newConfigurationArea.getId());
-								messageType = "BereichAnlegenAntwort";
+							for(ConfigurationArea configurationArea : allConfigurationAreas) {
+								serializer.writeLong(configurationArea.getId());
 							}
-							else if("BereicheImportieren".equals(queryType) || "BereicheExportieren".equals(queryType)) {
-
-								// In beiden Fllen muss ein Pfad und eine Anzahl Pids ausgelesen werden
-
-								// Verzeichnis der Versorgungsdateien
-								final String pathString = deserializer.readString();
-								// Verzeichnis der Versorgungsdateien
-								File maintenanceFile = new File(pathString);
+							// Antwort Kennzeichnen
+							messageType = "AlleBereicheAnfordernAntwort";
+						}
+						else if("BereichAnlegen".equals(queryType)) {
+							// Neuen Bereich anlegen
+
+							// Den Namen auslesen
+							final String name = deserializer.readString();
+							// Pid
+							final String pid = deserializer.readString();
+							// Pid des Konfigurationsverantwortlichen
+							final String authorityPid = deserializer.readString();
+
+							// Den Bereich anlegen, wird eine Exception geworfen, wird diese gefangen und
+							// als Antwort verschickt. Kann der Bereich angelegt werden, wird die Id verschickt.
+							final ConfigurationArea newConfigurationArea = _localConfiguration.createConfigurationArea(
+									name, pid, authorityPid
+							);
+							// Id des neuen Bereichs. Damit kann der Empfnger das Objekt anfordern, auch wenn es noch nicht
+							// aktiv ist
+							serializer.writeLong(newConfigurationArea.getId());
+							messageType = "BereichAnlegenAntwort";
+						}
+						else if("BereicheImportieren".equals(queryType) || "BereicheExportieren".equals(queryType)) {
 
-								// Wieviele Pids
-								final int numberOfPids = deserializer.readInt();
-								final Collection<String> configurationAreaPids = new ArrayList<String>(numberOfPids);
+							// In beiden Fllen muss ein Pfad und eine Anzahl Pids ausgelesen werden
 
-								for(int nr = 0; nr < numberOfPids; nr++) {
-									configurationAreaPids.add(deserializer.readString());
-								}
+							// Verzeichnis der Versorgungsdateien
+							final String pathString = deserializer.readString();
+							// Verzeichnis der Versorgungsdateien
+							File maintenanceFile = new File(pathString);
 
-								// Was soll gemacht werden, import oder export
-								if("BereicheImportieren".equals(queryType)) {
-									_localConfiguration.importConfigurationAreas(maintenanceFile, configurationAreaPids);
-									messageType = "BereicheImportierenAntwort";
-								}
-								else {
-									_localConfiguration.exportConfigurationAreas(maintenanceFile, configurationAreaPids);
-									messageType = "BereicheExportierenAntwort";
-								}
+							// Wieviele Pids
+							final int numberOfPids = deserializer.readInt();
+							final Collection<String> configurationAreaPids = new ArrayList<String>(numberOfPids);
 
-								// Irgendwas zurckgeben. Die positive Antwort wird nicht ausgewertet, der Fehlerfall (Fehlermeldung) ist von Interesse.
-								serializer.writeBoolean(true);
+							for(int nr = 0; nr < numberOfPids; nr++) {
+								configurationAreaPids.add(deserializer.readString());
 							}
-							else if("BereicheFreigabeZurAktivierungOhneKVAktivierung".equals(queryType)) {
-								// Es sollen Bereiche zur Aktivierung freigegeben werden, ohne das diese vorher durch den KV aktiviert wurden
-
-								// Bereiche und Versionen auslesen
-								final Collection<ConfigAreaAndVersion> configAreaAndVersions = createAreaAndVersion(deserializer);
 
-								final ConsistencyCheckResultInterface consistencyCheckResult = _localConfiguration.releaseConfigurationAreasForActivationWithoutCAActivation(
-										configAreaAndVersions
-								);
-
-								transferConsistencyCheckResult(consistencyCheckResult, serializer);
-								messageType = "AntwortBereicheFreigabeZurAktivierungOhneKVAktivierung";
-							}
-							else if("BackupKonfigurationsdaten".equals(queryType)) {
-								// Sicherungsauftrag der Konfigurationsdateien
-								String targetDir = deserializer.readString();
-								ConfigurationAuthority configurationAuthority = null;
-								if(deserializer.getInputStream().available() != 0) {
-									configurationAuthority = (ConfigurationAuthority) deserializer.readObjectReference(
-											_localConfiguration
-									);
-								}
-								final ConfigFileBackupTask fileBackupTask = new ConfigFileBackupTask(
-										(ConfigAuthentication) _authentication,
-										_localConfiguration,
-										targetDir,
-										configurationAuthority,
-										_senderReplyAreaTasks,
-										queryIndex
-								);
-								serializer.writeInt(ConfigFileBackupTask.BACKUP_STATE_INITIALIZING);
-								serializer.writeString(fileBackupTask.getTargetPath());
-								fileBackupTask.startAsync();
-								messageType = "AntwortBackupKonfigurationsdaten";
+							// Was soll gemacht werden, import oder export
+							if("BereicheImportieren".equals(queryType)) {
+								_localConfiguration.importConfigurationAreas(maintenanceFile, configurationAreaPids);
+								messageType = "BereicheImportierenAntwort";
 							}
 							else {
-								final String errorMessage = "Unbekannter nachrichtenTyp: " + queryType;
-								serializer.writeString(errorMessage);
-								messageType = "FehlerAntwort";
-								_debug.warning("Bearbeitung von einer Konfigurationsanfrage fehlgeschlagen", errorMessage);
+								_localConfiguration.exportConfigurationAreas(maintenanceFile, configurationAreaPids);
+								messageType = "BereicheExportierenAntwort";
 							}
+
+							// Irgendwas zurckgeben. Die positive Antwort wird nicht ausgewertet, der Fehlerfall (Fehlermeldung) ist von Interesse.
+							serializer.writeBoolean(true);
 						}
-						catch(ConfigurationChangeException e) {
-							// Die Konfiguration verweigert es den Auftrag(Konfigurationsnderungen) auszufhren, weil gegen Randbediengungen
-							// verstoen wurden, die fr den Auftrag gelten muten.
-							// Davon muss die Gegenseite informatiert werden.
-							final String reason = "Die Konfiguration kann die Konfigurationsnderung nicht ausfhren: " + e;
-							serializer.writeString(reason);
-							messageType = "KonfigurationsnderungVerweigert";
+						else if("BereicheFreigabeZurAktivierungOhneKVAktivierung".equals(queryType)) {
+							// Es sollen Bereiche zur Aktivierung freigegeben werden, ohne das diese vorher durch den KV aktiviert wurden
+
+							// Bereiche und Versionen auslesen
+							final Collection<ConfigAreaAndVersion> configAreaAndVersions = createAreaAndVersion(deserializer);
+
+							final ConsistencyCheckResultInterface consistencyCheckResult = _localConfiguration.releaseConfigurationAreasForActivationWithoutCAActivation(
+									configAreaAndVersions
+							);
+
+							transferConsistencyCheckResult(consistencyCheckResult, serializer);
+							messageType = "AntwortBereicheFreigabeZurAktivierungOhneKVAktivierung";
 						}
-						catch(ConfigurationTaskException e) {
-							// Die Konfiguration verweigert es den Auftrag auszufhren, weil gegen Randbediengungen
-							// verstoen wurden, die fr den Auftrag gelten muten.
-							// Davon muss die Gegenseite informatiert werden.
-							final String reason = "Die Konfiguration kann den Auftrag nicht ausfhren: " + e;
-							serializer.writeString(reason);
-							messageType = "KonfigurationsauftragVerweigert";
+						else if("BackupKonfigurationsdaten".equals(queryType)) {
+							// Sicherungsauftrag der Konfigurationsdateien
+							String targetDir = deserializer.readString();
+							ConfigurationAuthority configurationAuthority = null;
+							if(deserializer.getInputStream().available() != 0) {
+								configurationAuthority = (ConfigurationAuthority) deserializer.readObjectReference(
+										_localConfiguration
+								);
+							}
+							final ConfigFileBackupTask fileBackupTask = new ConfigFileBackupTask(
+									(ConfigAuthentication) _authentication,
+									_localConfiguration,
+									targetDir,
+									configurationAuthority,
+									_senderReplyAreaTasks,
+									queryIndex
+							);
+							serializer.writeInt(ConfigFileBackupTask.BACKUP_STATE_INITIALIZING);
+							serializer.writeString(fileBackupTask.getTargetPath());
+							fileBackupTask.startAsync();
+							messageType = "AntwortBackupKonfigurationsdaten";
 						}
-						catch(Exception e) {
-							// Es ist zu einem Fehler gekommen
-							messageType = generateErrorReply(serializer, e);
+						else {
+							final String errorMessage = "Unbekannter nachrichtenTyp: " + queryType;
+							serializer.writeString(errorMessage);
+							messageType = "FehlerAntwort";
+							_debug.warning("Bearbeitung von einer Konfigurationsanfrage fehlgeschlagen", errorMessage);
 						}
-						// Antwort auf die Anfrage verschicken
-						_senderReplyAreaTasks.sendData(messageType, byteArrayStream.toByteArray(), queryIndex);
-						_debug.finer(
-								"Die Antwort auf die Anfrage " + queryType + " mit Index " + queryIndex + " wird verschickt. Empfangsobjekt: "
-								+ _querySender.getNameOrPidOrId() + " Konfigurationsbereichverwaltung"
+					}
+					catch(ConfigurationChangeException e) {
+						// Die Konfiguration verweigert es den Auftrag(Konfigurationsnderungen) auszufhren, weil gegen Randbediengungen
+						// verstoen wurden, die fr den Auftrag gelten muten.
+						// Davon muss die Gegenseite informatiert werden.
+						final String reason = "Die Konfiguration kann die Konfigurationsnderung nicht ausfhren: " + e;
+						serializer.writeString(reason);
+						messageType = "KonfigurationsnderungVerweigert";
+					}
+					catch(ConfigurationTaskException e) {
+						// Die Konfiguration verweigert es den Auftrag auszufhren, weil gegen Randbediengungen
+						// verstoen wurden, die fr den Auftrag gelten muten.
+						// Davon muss die Gegenseite informatiert werden.
+						final String reason = "Die Konfiguration kann den Auftrag nicht ausfhren: " + e;
+						serializer.writeString(reason);
+						messageType = "KonfigurationsauftragVerweigert";
+					}
+					catch(Exception e) {
+						// Es ist zu einem Fehler gekommen
+						messageType = generateErrorReply(serializer, e);
+					}
+					// Antwort auf die Anfrage verschicken
+					_senderReplyAreaTasks.sendData(messageType, byteArrayStream.toByteArray(), queryIndex);
+					_debug.finer(
+							"Die Antwort auf die Anfrage " + queryType + " mit Index " + queryIndex + " wird verschickt. Empfangsobjekt: "
+							+ _querySender.getNameOrPidOrId() + " Konfigurationsbereichverwaltung"
+					);
+				}
+				else {
+					// Unbekannter Anfragetyp. Die Exception wird weiter unten gefangen und nur ausgegeben.
+
+					if(_dataDescriptionReadLocal.getSimulationVariant() <= 0) {
+						// Es handelt sich nicht um eine Simulation
+						final StringBuffer errorText = new StringBuffer("Unbekannter Konfigurationsanfragetype: " + "\n");
+						errorText.append(resultData.getDataDescription() + "\n");
+						errorText.append("Untersttzte Anfragetypen: " + "\n");
+						errorText.append(_dataDescriptionReadLocal + "\n");
+						errorText.append(_dataDescriptionWriteLocal + "\n");
+						errorText.append(_dataDescriptionUserLocal + "\n");
+						errorText.append(_dataDescriptionAreaLocal + "\n");
+						_debug.error(errorText.toString());
+
+						throw new IllegalArgumentException(
+								"Der Typ der Konfigurationsanfrage ist unbekannt: " + resultData.getDataDescription() + " Art der Anfrage:" + queryType
+								+ " Index der Anfrage " + queryIndex + " Empfangsobjekt " + _querySender
 						);
 					}
 					else {
-						// Unbekannter Anfragetyp. Die Exception wird weiter unten gefangen und nur ausgegeben.
-
-						if(_dataDescriptionReadLocal.getSimulationVariant() <= 0) {
-							// Es handelt sich nicht um eine Simulation
-							final StringBuffer errorText = new StringBuffer("Unbekannter Konfigurationsanfragetype: " + "\n");
-							errorText.append(resultData.getDataDescription() + "\n");
-							errorText.append("Untersttzte Anfragetypen: " + "\n");
-							errorText.append(_dataDescriptionReadLocal + "\n");
-							errorText.append(_dataDescriptionWriteLocal + "\n");
-							errorText.append(_dataDescriptionUserLocal + "\n");
-							errorText.append(_dataDescriptionAreaLocal + "\n");
-							_debug.error(errorText.toString());
-
-							throw new IllegalArgumentException(
-									"Der Typ der Konfigurationsanfrage ist unbekannt: " + resultData.getDataDescription() + " Art der Anfrage:" + queryType
-									+ " Index der Anfrage " + queryIndex + " Empfangsobjekt " + _querySender
-							);
-						}
-						else {
-							// Es handelt sich um eine Simulation, entweder ist der Anfragetyp unbekannt oder eine Simulation versucht
-							// eine Aktion, die ihr nicht gestattet ist (Benutzer anlegen, Konfigurationsbereiche manipulieren)
+						// Es handelt sich um eine Simulation, entweder ist der Anfragetyp unbekannt oder eine Simulation versucht
+						// eine Aktion, die ihr nicht gestattet ist (Benutzer anlegen, Konfigurationsbereiche manipulieren)
 
-							final StringBuffer errorText = new StringBuffer(
-									"Unbekannter Konfigurationsanfragetyp oder unerlaubte Aktion einer Simulation: " + "\n"
-							);
-							errorText.append(resultData.getDataDescription() + "\n");
-							errorText.append("Untersttzte Anfragetypen: " + "\n");
-							errorText.append(_dataDescriptionReadLocal + "\n");
-							errorText.append(_dataDescriptionWriteLocal + "\n");
-							_debug.error(errorText.toString());
-
-							throw new IllegalArgumentException(
-									"Der Typ der Konfigurationsanfrage ist unbekannt oder fr Simulationen nicht zugelassen: " + resultData.getDataDescription()
-									+ " Art der Anfrage:" + queryType + " Index der Anfrage " + queryIndex + " Empfangsobjekt " + _querySender
-							);
-						}
+						final StringBuffer errorText = new StringBuffer(
+								"Unbekannter Konfigurationsanfragetyp oder unerlaubte Aktion einer Simulation: " + "\n"
+						);
+						errorText.append(resultData.getDataDescription() + "\n");
+						errorText.append("Untersttzte Anfragetypen: " + "\n");
+						errorText.append(_dataDescriptionReadLocal + "\n");
+						errorText.append(_dataDescriptionWriteLocal + "\n");
+						_debug.error(errorText.toString());
+
+						throw new IllegalArgumentException(
+								"Der Typ der Konfigurationsanfrage ist unbekannt oder fr Simulationen nicht zugelassen: " + resultData.getDataDescription()
+								+ " Art der Anfrage:" + queryType + " Index der Anfrage " + queryIndex + " Empfangsobjekt " + _querySender
+						);
 					}
 				}
-				catch(Exception e) {
-					e.printStackTrace();
-					_debug.error("Fehler beim Versenden einer Antwort", e);
-				}
-			}// while(true)
+			}
+			catch(Exception e) {
+				e.printStackTrace();
+				_debug.error("Fehler beim Versenden einer Antwort", e);
+			}
 		}
 
 		@Deprecated
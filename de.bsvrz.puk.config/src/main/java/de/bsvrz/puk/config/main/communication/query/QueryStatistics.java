@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015 by Kappich Systemberatung Aachen
+ * 
+ * This file is part of de.bsvrz.puk.config.
+ * 
+ * de.bsvrz.puk.config is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ * 
+ * de.bsvrz.puk.config is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with de.bsvrz.puk.config; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package de.bsvrz.puk.config.main.communication.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sammelt Kennzahlen zur Bearbeitung von Konfigurationsanfragen getrennt nach Anfragetyp. Je Anfragetyp werden die Anzahl der bearbeiteten Anfragen, die
+ * Anzahl der aktuell wartenden Anfragen (Warteschlangentiefe) sowie die Durchlaufzeit vom Eingang bis zum Ende der Bearbeitung und die reine Bearbeitungszeit
+ * erfasst. Alle Methoden knnen ohne weitere Synchronisierung von beliebigen Threads aufgerufen werden.
+ *
+ * @author Kappich Systemberatung
+ * @version $Revision: 0000 $
+ */
+public class QueryStatistics {
+
+	private final ConcurrentHashMap<String, Entry> _entries = new ConcurrentHashMap<String, Entry>();
+
+	/**
+	 * Liefert die Kennzahlen zu einem Anfragetyp. Falls noch keine Kennzahlen vorhanden sind, werden sie angelegt.
+	 *
+	 * @param queryType Anfragetyp, beispielsweise <code>ObjekteAnfragenMitIds</code>
+	 *
+	 * @return Kennzahlen des Anfragetyps
+	 */
+	Entry getEntry(final String queryType) {
+		Entry entry = _entries.get(queryType);
+		if(entry == null) {
+			final Entry newEntry = new Entry(queryType);
+			entry = _entries.putIfAbsent(queryType, newEntry);
+			if(entry == null) entry = newEntry;
+		}
+		return entry;
+	}
+
+	/**
+	 * Liefert die Kennzahlen aller bisher aufgetretenen Anfragetypen sortiert nach dem Namen des Anfragetyps.
+	 *
+	 * @return Kennzahlen je Anfragetyp
+	 */
+	public List<Entry> getEntries() {
+		final List<Entry> entries = new ArrayList<Entry>(_entries.values());
+		Collections.sort(
+				entries, new Comparator<Entry>() {
+					public int compare(final Entry o1, final Entry o2) {
+						return o1.getQueryType().compareTo(o2.getQueryType());
+					}
+				}
+		);
+		return entries;
+	}
+
+	/**
+	 * Bestimmt die Summe der aktuell wartenden Anfragen aller Anfragetypen.
+	 *
+	 * @return Anzahl wartender Anfragen
+	 */
+	public int getPending() {
+		int pending = 0;
+		for(Entry entry : _entries.values()) {
+			pending += entry.getPending();
+		}
+		return pending;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder result = new StringBuilder("Statistik der Konfigurationsanfragen (Anzahl, wartend, max. wartend, mittlere/max. Durchlaufzeit in ms, mittlere Bearbeitungszeit in ms):");
+		for(Entry entry : getEntries()) {
+			result.append("\n").append(entry);
+		}
+		return result.toString();
+	}
+
+	private static void updateMaximum(final AtomicLong maximum, final long value) {
+		long current = maximum.get();
+		while(value > current && !maximum.compareAndSet(current, value)) {
+			current = maximum.get();
+		}
+	}
+
+	/** Kennzahlen eines Anfragetyps. */
+	public static final class Entry {
+
+		private final String _queryType;
+
+		/** Anzahl der vollstndig bearbeiteten Anfragen. */
+		private final AtomicLong _count = new AtomicLong();
+
+		/** Anzahl der Anfragen, die eingegangen sind, deren Bearbeitung aber noch nicht begonnen hat. */
+		private final AtomicInteger _pending = new AtomicInteger();
+
+		private final AtomicLong _maxPending = new AtomicLong();
+
+		/** Summe der Zeiten vom Eingang bis zum Ende der Bearbeitung in Nanosekunden. */
+		private final AtomicLong _totalLatency = new AtomicLong();
+
+		private final AtomicLong _maxLatency = new AtomicLong();
+
+		/** Summe der reinen Bearbeitungszeiten in Nanosekunden. */
+		private final AtomicLong _totalExecutionTime = new AtomicLong();
+
+		private Entry(final String queryType) {
+			_queryType = queryType;
+		}
+
+		/** Vermerkt den Eingang einer Anfrage. */
+		void queued() {
+			updateMaximum(_maxPending, _pending.incrementAndGet());
+		}
+
+		/** Vermerkt, dass eine eingegangene Anfrage verworfen wurde, ohne bearbeitet zu werden. */
+		void discarded() {
+			_pending.decrementAndGet();
+		}
+
+		/** Vermerkt den Beginn der Bearbeitung einer Anfrage. */
+		void started() {
+			_pending.decrementAndGet();
+		}
+
+		/**
+		 * Vermerkt das Ende der Bearbeitung einer Anfrage.
+		 *
+		 * @param queuedTime  Zeitpunkt des Eingangs der Anfrage (in Nanosekunden wie von {@link System#nanoTime()} geliefert)
+		 * @param startedTime Zeitpunkt des Beginns der Bearbeitung (in Nanosekunden wie von {@link System#nanoTime()} geliefert)
+		 */
+		void finished(final long queuedTime, final long startedTime) {
+			final long now = System.nanoTime();
+			final long latency = now - queuedTime;
+			_count.incrementAndGet();
+			_totalLatency.addAndGet(latency);
+			_totalExecutionTime.addAndGet(now - startedTime);
+			updateMaximum(_maxLatency, latency);
+		}
+
+		public String getQueryType() {
+			return _queryType;
+		}
+
+		public long getCount() {
+			return _count.get();
+		}
+
+		public int getPending() {
+			return _pending.get();
+		}
+
+		public long getMaxPending() {
+			return _maxPending.get();
+		}
+
+		public double getAverageLatencyMillis() {
+			final long count = _count.get();
+			return count == 0 ? 0 : _totalLatency.get() / 1e6 / count;
+		}
+
+		public double getMaxLatencyMillis() {
+			return _maxLatency.get() / 1e6;
+		}
+
+		public double getAverageExecutionTimeMillis() {
+			final long count = _count.get();
+			return count == 0 ? 0 : _totalExecutionTime.get() / 1e6 / count;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(
+					"%-40s %8d %6d %6d %10.2f %10.2f %10.2f",
+					_queryType,
+					getCount(),
+					getPending(),
+					getMaxPending(),
+					getAverageLatencyMillis(),
+					getMaxLatencyMillis(),
+					getAverageExecutionTimeMillis()
+			);
+		}
+	}
+}